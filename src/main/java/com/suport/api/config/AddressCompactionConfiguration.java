@@ -0,0 +1,40 @@
+package com.suport.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.suport.api.repository.AddressRepository;
+import com.suport.api.service.AddressCompactor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Superseded address cleanup: {@link AddressCompactor} runs once at startup
+ * while {@code api.address-compaction.enabled} is set, which is meant to be
+ * switched on for a single deployment. The bean exists either way, so a
+ * compaction can also be run on demand. {@code unstamped-max-id} opts in to
+ * the orphans left before client updates stamped the rows they dropped.
+ */
+@Configuration
+public class AddressCompactionConfiguration {
+
+    @Value("${api.address-compaction.enabled:false}")
+    private boolean enabled;
+
+    @Value("${api.address-compaction.batch-size:1000}")
+    private int batchSize;
+
+    // 0 keeps every unstamped row
+    @Value("${api.address-compaction.unstamped-max-id:0}")
+    private long unstampedMaxId;
+
+    @Bean
+    public AddressCompactor addressCompactor(AddressRepository addressRepository, MeterRegistry meterRegistry) {
+        AddressCompactor compactor = new AddressCompactor(addressRepository, batchSize, unstampedMaxId, meterRegistry);
+        if (enabled) {
+            compactor.start();
+        }
+        return compactor;
+    }
+}
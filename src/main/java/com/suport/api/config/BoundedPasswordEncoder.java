@@ -0,0 +1,119 @@
+package com.suport.api.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.suport.api.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the hashing and checking of passwords (BCrypt, deliberately slow) on
+ * {@code threads} dedicated threads with room for {@code queueCapacity}
+ * waiting requests. A request thread waits for its own hash, so at most
+ * threads + queue request threads are ever busy with passwords and a login
+ * storm cannot take the rest of the pool from the other endpoints. Past that
+ * the call fails at once with {@link ServiceUnavailableException} (503 and
+ * Retry-After) instead of queueing without bound.
+ *
+ * <p>Exports the hash time as {@value #HASHING} tagged by operation, the
+ * rejections as {@value #REJECTED} and the queue depth and busy threads as
+ * {@value #QUEUED} and {@value #ACTIVE}.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    public static final String HASHING = "auth.password-hashing";
+    public static final String REJECTED = "auth.password-hashing.rejected";
+    public static final String QUEUED = "auth.password-hashing.queued";
+    public static final String ACTIVE = "auth.password-hashing.active";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodes;
+    private final Timer matches;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        AtomicInteger created = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + created.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.encodes = Timer.builder(HASHING).tag("operation", "encode")
+            .description("Time to hash a password, not counting the wait for a thread")
+            .register(meterRegistry);
+        this.matches = Timer.builder(HASHING).tag("operation", "matches")
+            .description("Time to check a password against its hash, not counting the wait for a thread")
+            .register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED)
+            .description("Password hashes refused because every thread and queue slot was taken")
+            .register(meterRegistry);
+        Gauge.builder(QUEUED, executor, pool -> pool.getQueue().size())
+            .description("Password hashes waiting for a thread")
+            .register(meterRegistry);
+        Gauge.builder(ACTIVE, executor, ThreadPoolExecutor::getActiveCount)
+            .description("Threads hashing a password right now")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodes, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matches, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer timer, Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(hashing));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing saturated, {} waiting; request refused", executor.getQueue().size());
+            throw new ServiceUnavailableException("Too many password checks in progress, try again shortly");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for the password check");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,37 @@
+package com.suport.api.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.suport.api.repository.ClientRepository;
+import com.suport.api.repository.TaskRepository;
+import com.suport.api.service.ClientPurger;
+import com.suport.api.service.TaskSearchIndex;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Background removal of soft-deleted clients: {@link ClientPurger} deletes
+ * {@code api.client-purge.chunk-size} tasks per transaction and sweeps again
+ * every {@code api.client-purge.interval}.
+ */
+@Configuration
+public class ClientPurgeConfiguration {
+
+    @Value("${api.client-purge.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${api.client-purge.interval:1m}")
+    private Duration interval;
+
+    @Bean
+    public ClientPurger clientPurger(ClientRepository clientRepository, TaskRepository taskRepository, TaskSearchIndex taskSearchIndex,
+        MeterRegistry meterRegistry) {
+        ClientPurger purger = new ClientPurger(clientRepository, taskRepository, taskSearchIndex, chunkSize, interval, meterRegistry);
+        purger.start();
+        return purger;
+    }
+}
@@ -0,0 +1,22 @@
+package com.suport.api.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.suport.api.repository.ClientRepository;
+import com.suport.api.service.ClientSuggestIndex;
+
+/**
+ * Type-ahead client lookup: {@link ClientSuggestIndex} is loaded from the
+ * database in the background at startup and kept current by ClientService.
+ */
+@Configuration
+public class ClientSuggestConfiguration {
+
+    @Bean
+    public ClientSuggestIndex clientSuggestIndex(ClientRepository clientRepository) {
+        ClientSuggestIndex index = new ClientSuggestIndex(clientRepository);
+        index.start();
+        return index;
+    }
+}
@@ -0,0 +1,32 @@
+package com.suport.api.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Appends listeners that feed {@link RequestQueryCounts} with every entity
+ * Hibernate loads and every lazy collection it initializes.
+ */
+class QueryCountingIntegrator implements Integrator {
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+
+        listeners.appendListeners(EventType.POST_LOAD,
+            (PostLoadEventListener) event -> RequestQueryCounts.entityLoaded(event.getPersister().getEntityName()));
+        listeners.appendListeners(EventType.INIT_COLLECTION,
+            (InitializeCollectionEventListener) event -> RequestQueryCounts.collectionFetched(event.getCollection().getRole()));
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.suport.api.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Counts the statements each session prepares. Hibernate creates one per
+ * session from {@code hibernate.session.events.auto}, hence the public
+ * no-arg constructor.
+ */
+public class QueryCountingSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        RequestQueryCounts.statementPrepared();
+    }
+}
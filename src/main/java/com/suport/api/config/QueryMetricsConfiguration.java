@@ -0,0 +1,53 @@
+package com.suport.api.config;
+
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-request Hibernate metrics: statements, entity loads and collection
+ * fetches of every request, security filters included, tagged by controller
+ * method. Tests assert budgets on them through {@code QueryBudget}.
+ */
+@Configuration
+public class QueryMetricsConfiguration {
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public QueryMetricsConfiguration(
+        MeterRegistry meterRegistry,
+        @Value("${api.query-metrics.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryCountingSessionListener.class.getName());
+            properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(new QueryCountingIntegrator()));
+        };
+    }
+
+    // just ahead of the security chain, so the queries of its filters are counted too
+    @Bean
+    public FilterRegistrationBean<QueryMetricsFilter> queryMetricsFilter() {
+        FilterRegistrationBean<QueryMetricsFilter> registration =
+            new FilterRegistrationBean<>(new QueryMetricsFilter(meterRegistry, nPlusOneThreshold));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
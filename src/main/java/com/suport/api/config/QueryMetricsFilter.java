@@ -0,0 +1,98 @@
+package com.suport.api.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records what Hibernate did for each request as {@code hibernate.request.*}
+ * summaries tagged with the handler, e.g. {@code TaskController.findAll}, or
+ * {@code none} when the request never reached one. Registered ahead of the
+ * security chain, so the queries its filters run are counted too; the handler
+ * is only known once the chain returns. A lazy collection role initialized, or
+ * an entity type loaded by separate statements (to-one proxies), at least
+ * {@code n-plus-one-threshold} times in one request is logged and counted as a
+ * suspected N+1.
+ */
+@Slf4j
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS = "hibernate.request.statements";
+    public static final String ENTITY_LOADS = "hibernate.request.entity.loads";
+    public static final String COLLECTION_FETCHES = "hibernate.request.collection.fetches";
+    public static final String N_PLUS_ONE = "hibernate.request.n_plus_one";
+    public static final String HANDLER_TAG = "handler";
+    public static final String NO_HANDLER = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public QueryMetricsFilter(MeterRegistry meterRegistry, int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    // records after the body was written, so lazy loads during serialization are included
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+
+        RequestQueryCounts.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            record(request, RequestQueryCounts.stop());
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryCounts counts) {
+        String name = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod
+            ? handlerName(handlerMethod)
+            : NO_HANDLER;
+        summary(STATEMENTS, name, "statements").record(counts.statements());
+        summary(ENTITY_LOADS, name, "entities").record(counts.entityLoads());
+        summary(COLLECTION_FETCHES, name, "collections").record(counts.collectionFetches());
+
+        reportNPlusOne(name, counts.collectionFetchesByRole(), "initialized");
+        reportNPlusOne(name, counts.entityLoadStatementsByType(), "loaded by separate statements");
+    }
+
+    private void reportNPlusOne(String name, Map<String, Long> fetchesByRole, String what) {
+        fetchesByRole.forEach((role, fetches) -> {
+            if (fetches >= nPlusOneThreshold) {
+                log.warn("Possible N+1 in {}: {} {} {} times in one request", name, role, what, fetches);
+                Counter.builder(N_PLUS_ONE)
+                    .description("Requests that initialized one collection role, or loaded one entity type by separate "
+                        + "statements, at least n-plus-one-threshold times")
+                    .tag(HANDLER_TAG, name)
+                    .tag("role", role)
+                    .register(meterRegistry)
+                    .increment();
+            }
+        });
+    }
+
+    public static String handlerName(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+
+    private DistributionSummary summary(String meter, String handler, String unit) {
+        return DistributionSummary.builder(meter)
+            .description("Hibernate work per request, by controller method")
+            .baseUnit(unit)
+            .tag(HANDLER_TAG, handler)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,105 @@
+package com.suport.api.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Optional read replica, enabled with {@code api.datasource.replica.enabled}.
+ * The primary pool keeps reading {@code spring.datasource.*}; the replica pool
+ * reads {@code api.datasource.replica.*}. Both are Hikari beans named
+ * {@code primary} and {@code replica}, so actuator exports
+ * {@code hikaricp.connections.*} per pool. Without the flag Spring Boot
+ * configures the single data source as before.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "api.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadWriteDataSourceConfiguration {
+
+    @Value("${api.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${api.datasource.replica.username:}")
+    private String replicaUsername;
+
+    @Value("${api.datasource.replica.password:}")
+    private String replicaPassword;
+
+    @Value("${api.datasource.replica.lag-query}")
+    private String lagQuery;
+
+    @Value("${api.datasource.replica.max-lag:5s}")
+    private Duration maxLag;
+
+    @Value("${api.datasource.replica.check-interval:2s}")
+    private Duration checkInterval;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("api.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLag, checkInterval);
+        monitor.start();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        ReplicaLagMonitor replicaLagMonitor) {
+
+        return new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+    }
+
+    @Bean
+    public MeterBinder replicaLagMetrics(ReplicaLagMonitor replicaLagMonitor) {
+        return registry -> {
+            Gauge.builder("datasource.replica.lag", replicaLagMonitor, ReplicaLagMonitor::getLagMillis)
+                .description("Last measured replication lag, -1 when the replica could not be queried")
+                .baseUnit("milliseconds")
+                .register(registry);
+            Gauge.builder("datasource.replica.usable", replicaLagMonitor, monitor -> monitor.isReplicaUsable() ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(registry);
+        };
+    }
+}
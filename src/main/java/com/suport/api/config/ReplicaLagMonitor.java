@@ -0,0 +1,91 @@
+package com.suport.api.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import com.suport.api.scheduling.PeriodicTask;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls the replica for its replication lag and tells the routing data source
+ * whether read-only transactions may use it. A replica lagging more than
+ * {@code maxLag}, or one that cannot be queried, is skipped until a later
+ * check passes. Until the first check succeeds every read goes to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    public static final long UNKNOWN_LAG = -1;
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final PeriodicTask scheduler;
+
+    private volatile long lagMillis = UNKNOWN_LAG;
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration checkInterval) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.scheduler = new PeriodicTask("replica-lag-monitor", checkInterval, this::check);
+    }
+
+    public void start() {
+        scheduler.start(Duration.ZERO);
+    }
+
+    /**
+     * Runs the lag query once and updates the routing decision.
+     */
+    public void check() {
+        boolean wasUsable = replicaUsable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+
+            lagMillis = resultSet.next() ? resultSet.getLong(1) : UNKNOWN_LAG;
+            replicaUsable = lagMillis != UNKNOWN_LAG && lagMillis <= maxLag.toMillis();
+            if (wasUsable && !replicaUsable) {
+                log.warn("Replica lag of {} ms is above {}; reads go to the primary", lagMillis, maxLag);
+            }
+        } catch (SQLException e) {
+            lagMillis = UNKNOWN_LAG;
+            replicaUsable = false;
+            if (wasUsable) {
+                log.warn("Replica lag check failed; reads go to the primary", e);
+            }
+        } catch (RuntimeException e) {
+            // an unexpected failure must not leave reads on the replica
+            lagMillis = UNKNOWN_LAG;
+            replicaUsable = false;
+            log.error("Unexpected error checking the replica lag", e);
+        }
+        if (!wasUsable && replicaUsable) {
+            log.info("Replica lag of {} ms is within {}; read-only transactions use the replica", lagMillis, maxLag);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Last measured lag in milliseconds, or {@link #UNKNOWN_LAG} when the replica could not be queried.
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    @Override
+    public void close() {
+        scheduler.close();
+    }
+}
@@ -0,0 +1,85 @@
+package com.suport.api.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What Hibernate did on the current request thread: prepared statements,
+ * loaded entities and initialized collections. To spot N+1 fetches it also
+ * keeps the collections per role, and per entity type how many separate
+ * statements loaded it: a list read loads many tasks with one statement, while
+ * lazy to-one proxies initialized one by one take a statement each.
+ * Counting only happens between {@link #start()} and {@link #stop()}, so work
+ * outside a web request (jobs, tests without MVC) is never recorded.
+ */
+public final class RequestQueryCounts {
+
+    private static final ThreadLocal<RequestQueryCounts> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long entityLoads;
+    private long collectionFetches;
+    private final Map<String, Long> collectionFetchesByRole = new HashMap<>();
+    private final Map<String, Long> entityLoadStatementsByType = new HashMap<>();
+    // the statement count when each type was last loaded
+    private final Map<String, Long> lastLoadStatementByType = new HashMap<>();
+
+    private RequestQueryCounts() {
+    }
+
+    static void start() {
+        CURRENT.set(new RequestQueryCounts());
+    }
+
+    static RequestQueryCounts stop() {
+        RequestQueryCounts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+
+    static void statementPrepared() {
+        RequestQueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    static void entityLoaded(String entityName) {
+        RequestQueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+            Long previous = counts.lastLoadStatementByType.put(entityName, counts.statements);
+            if (previous == null || previous != counts.statements) {
+                counts.entityLoadStatementsByType.merge(entityName, 1L, Long::sum);
+            }
+        }
+    }
+
+    static void collectionFetched(String role) {
+        RequestQueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.collectionFetches++;
+            counts.collectionFetchesByRole.merge(role, 1L, Long::sum);
+        }
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    public long entityLoads() {
+        return entityLoads;
+    }
+
+    public long collectionFetches() {
+        return collectionFetches;
+    }
+
+    public Map<String, Long> collectionFetchesByRole() {
+        return Map.copyOf(collectionFetchesByRole);
+    }
+
+    public Map<String, Long> entityLoadStatementsByType() {
+        return Map.copyOf(entityLoadStatementsByType);
+    }
+}
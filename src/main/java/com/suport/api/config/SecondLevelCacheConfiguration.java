@@ -0,0 +1,76 @@
+package com.suport.api.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.suport.api.domain.CacheRegions;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Local Caffeine-backed JCache regions for the Hibernate second-level cache.
+ * Size and TTL come from {@code api.cache.*}; hits, misses and evictions of
+ * every region are exported through Micrometer as {@code cache.*} meters.
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+
+    @Value("${api.cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${api.cache.time-to-live:10m}")
+    private Duration timeToLive;
+
+    @Bean
+    public CacheManager entityCacheManager() {
+        // a manager of its own per application context, so contexts never share cached rows
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:api:entity-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : CacheRegions.ALL) {
+            cacheManager.createCache(region, regionConfiguration());
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager entityCacheManager) {
+        return registry -> CacheRegions.ALL.forEach(
+            region -> JCacheMetrics.monitor(registry, entityCacheManager.getCache(region)));
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        // Hibernate already stores disassembled state, copying it again buys nothing
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -1,5 +1,6 @@
 package com.suport.api.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,12 +14,20 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfiguration {
 
     private final SecurityFilter securityFilter;
 
+    @Value("${api.security.password-hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${api.security.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
     public SecurityConfiguration(SecurityFilter securityFilter){
         this.securityFilter = securityFilter;
     }
@@ -31,7 +40,7 @@ public class SecurityConfiguration {
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> auth
         .requestMatchers( "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
-        .requestMatchers(HttpMethod.POST, "/auth/login" ).permitAll()
+        .requestMatchers(HttpMethod.POST, "/auth/login", "/auth/refresh" ).permitAll()
         .anyRequest().authenticated())
         .exceptionHandling(ex -> ex.authenticationEntryPoint(authEntryPoint))
         .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
@@ -39,9 +48,11 @@ public class SecurityConfiguration {
 
     }
 
+    // BCrypt runs on its own bounded pool, see BoundedPasswordEncoder; login checks passwords through this bean too
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder(10);
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry){
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(10), threads, hashingQueueCapacity, meterRegistry);
     }
 
     @Bean
@@ -2,29 +2,49 @@ package com.suport.api.config;
 
 import java.io.IOException;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.suport.api.domain.UserModel;
 import com.suport.api.exceptions.TokenValidationException;
-import com.suport.api.repository.UserModelRepository;
+import com.suport.api.service.TokenRevocations;
+import com.suport.api.service.TokenVersions;
+import com.suport.api.service.UserDetailsCache;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Authenticates requests carrying a bearer token. With
+ * {@code api.security.stateless} on, the user is built from the role and
+ * token version claims of the token and the users table is never read; a
+ * token without a role claim (issued before the claims existed) still goes
+ * through {@link UserDetailsCache}. In both modes a token whose version is
+ * behind {@link TokenVersions}, or that {@link TokenRevocations} holds, was
+ * revoked and is rejected, and so is a refresh token.
+ */
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
-    private final UserModelRepository userModelRepository;
+    private final UserDetailsCache userDetailsCache;
     private final TokenService tokenService;
+    private final TokenVersions tokenVersions;
+    private final TokenRevocations tokenRevocations;
+    private final boolean stateless;
 
-    public SecurityFilter(UserModelRepository userModelRepository,TokenService tokenService ) {
-        this.userModelRepository = userModelRepository;
+    public SecurityFilter(UserDetailsCache userDetailsCache,TokenService tokenService, TokenVersions tokenVersions,
+        TokenRevocations tokenRevocations, @Value("${api.security.stateless:false}") boolean stateless) {
+        this.userDetailsCache = userDetailsCache;
         this.tokenService = tokenService;
+        this.tokenVersions = tokenVersions;
+        this.tokenRevocations = tokenRevocations;
+        this.stateless = stateless;
     }
 
     @Override
@@ -36,10 +56,21 @@ public class SecurityFilter extends OncePerRequestFilter {
         var token = recoverToken(request);
         if (token != null) {
 
-            var login =  tokenService.tokenValidation(token);
+            var verified = tokenService.validate(token);
+            if (verified.refresh()) {
+                throw new TokenValidationException("Refresh tokens only work with /auth/refresh");
+            }
+            // both checks stay in memory unless the token may have been revoked
+            if (!tokenVersions.isCurrent(verified.subject(), verified.tokenVersion())
+                || tokenRevocations.isRevoked(verified.id())) {
+                throw new TokenValidationException("Token was revoked");
+            }
 
-             UserDetails user = userModelRepository.findByLogin(login)
-            .orElseThrow(() -> new TokenValidationException("User not found for token"));
+            UserDetails user = stateless && verified.role() != null
+                ? UserModel.builder().login(verified.subject()).role(verified.role()).tokenVersion(verified.tokenVersion()).build()
+                // cached: this lookup runs on every authenticated request
+                : userDetailsCache.findByLogin(verified.subject())
+                    .orElseThrow(() -> new TokenValidationException("User not found for token"));
 
             var authentication = new UsernamePasswordAuthenticationToken(user,null , user.getAuthorities());
             
@@ -55,4 +86,4 @@ public class SecurityFilter extends OncePerRequestFilter {
             }
             return null;
         }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.suport.api.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.suport.api.repository.TaskRepository;
+import com.suport.api.service.TaskArchiver;
+import com.suport.api.service.TaskSearchIndex;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hot/cold split of tasks: {@link TaskArchiver} runs every
+ * {@code api.archive.interval} while {@code api.archive.enabled} is set. The
+ * bean exists either way, so an archival can also be run on demand.
+ */
+@Configuration
+public class TaskArchiveConfiguration {
+
+    @Value("${api.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${api.archive.closed-for:90d}")
+    private Duration closedFor;
+
+    @Value("${api.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${api.archive.interval:1h}")
+    private Duration interval;
+
+    @Bean
+    public TaskArchiver taskArchiver(TaskRepository taskRepository, TaskSearchIndex taskSearchIndex, MeterRegistry meterRegistry) {
+        TaskArchiver archiver = new TaskArchiver(taskRepository, taskSearchIndex, closedFor, batchSize, interval, meterRegistry);
+        if (enabled) {
+            archiver.start();
+        }
+        return archiver;
+    }
+}
@@ -0,0 +1,57 @@
+package com.suport.api.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.suport.api.repository.TaskRepository;
+import com.suport.api.service.TaskSearchIndex;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Full-text search over tasks: {@link TaskSearchIndex} lives in
+ * {@code api.search.index-path}, or in memory when it is blank, and is rebuilt
+ * in the background at startup while {@code api.search.rebuild-on-start} is set.
+ */
+@Configuration
+public class TaskSearchConfiguration {
+
+    @Value("${api.search.index-path:}")
+    private String indexPath;
+
+    @Value("${api.search.rebuild-on-start:true}")
+    private boolean rebuildOnStart;
+
+    // 0 uses one thread per core
+    @Value("${api.search.rebuild-threads:0}")
+    private int rebuildThreads;
+
+    @Bean
+    public TaskSearchIndex taskSearchIndex(TaskRepository taskRepository, MeterRegistry meterRegistry) {
+        int threads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+        TaskSearchIndex index = new TaskSearchIndex(taskRepository, directory(), threads, meterRegistry);
+        if (rebuildOnStart) {
+            index.start();
+        }
+        return index;
+    }
+
+    private Directory directory() {
+        if (indexPath.isBlank()) {
+            return new ByteBuffersDirectory();
+        }
+        try {
+            return FSDirectory.open(Path.of(indexPath));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the task search index at " + indexPath, e);
+        }
+    }
+}
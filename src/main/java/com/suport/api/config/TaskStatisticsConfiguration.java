@@ -0,0 +1,31 @@
+package com.suport.api.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.suport.api.repository.TaskRepository;
+import com.suport.api.service.TaskStatistics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Task counts behind {@code GET /tasks/stats}: {@link TaskStatistics} is
+ * filled by a recount at startup and recounted every
+ * {@code api.task-stats.reconcile-interval}.
+ */
+@Configuration
+public class TaskStatisticsConfiguration {
+
+    @Value("${api.task-stats.reconcile-interval:5m}")
+    private Duration reconcileInterval;
+
+    @Bean
+    public TaskStatistics taskStatistics(TaskRepository taskRepository, MeterRegistry meterRegistry) {
+        TaskStatistics statistics = new TaskStatistics(taskRepository, reconcileInterval, meterRegistry);
+        statistics.start();
+        return statistics;
+    }
+}
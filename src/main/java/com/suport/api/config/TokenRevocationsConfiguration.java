@@ -0,0 +1,39 @@
+package com.suport.api.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.suport.api.repository.RevokedTokenRepository;
+import com.suport.api.service.TokenRevocations;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Single revoked tokens checked by {@link SecurityFilter}:
+ * {@link TokenRevocations} is rebuilt from {@code revoked_tokens} at startup
+ * and every {@code api.security.token-revocations.refresh-interval}, with a
+ * filter sized for {@code expected-revocations} at {@code false-positive-rate}.
+ */
+@Configuration
+public class TokenRevocationsConfiguration {
+
+    @Value("${api.security.token-revocations.expected-revocations:100000}")
+    private long expectedRevocations;
+
+    @Value("${api.security.token-revocations.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${api.security.token-revocations.refresh-interval:1m}")
+    private Duration refreshInterval;
+
+    @Bean
+    public TokenRevocations tokenRevocations(RevokedTokenRepository revokedTokenRepository, MeterRegistry meterRegistry) {
+        TokenRevocations tokenRevocations = new TokenRevocations(
+            revokedTokenRepository, expectedRevocations, falsePositiveRate, refreshInterval, meterRegistry);
+        tokenRevocations.start();
+        return tokenRevocations;
+    }
+}
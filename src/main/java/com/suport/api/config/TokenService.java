@@ -1,34 +1,108 @@
 package com.suport.api.config;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.auth0.jwt.interfaces.Claim;
 import com.suport.api.domain.UserModel;
+import com.suport.api.enums.UserRole;
 import com.suport.api.exceptions.TokenGenerationException;
 import com.suport.api.exceptions.TokenValidationException;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Signs and verifies the bearer tokens. The algorithm and the verifier are
+ * built once and shared, both are thread-safe. A token that passed
+ * verification is remembered by its SHA-256 hash, with its subject and
+ * expiry, for {@code api.security.token-cache.time-to-live} or until it
+ * expires, whichever comes first; the same bearer token on the next request
+ * then skips the signature check and the parsing. Invalid tokens are never
+ * remembered. Hits and misses are exported as {@code cache.*} meters tagged
+ * {@code cache=tokens}.
+ *
+ * <p>Tokens also carry the user's role ({@value #ROLE_CLAIM}) and token
+ * version ({@value #VERSION_CLAIM}), so {@link SecurityFilter} can build the
+ * authentication from the token alone when {@code api.security.stateless} is
+ * on. Tokens issued before these claims existed have no role and version 0.
+ *
+ * <p>Every token has an id ({@code jti}) so it can be revoked on its own,
+ * see {@link com.suport.api.service.TokenRevocations}. Access tokens live for
+ * {@code api.security.token.expiration-minutes}; refresh tokens, marked by
+ * {@value #TYPE_CLAIM}={@value #REFRESH_TYPE}, live for
+ * {@code refresh-expiration-minutes} and are only accepted by
+ * {@code POST /auth/refresh}.
+ */
 @Service
 @Slf4j
 public class TokenService {
 
-    @Value("${api.security.token.secretKey}")
-    private String secretKey;
+    public static final String CACHE_NAME = "tokens";
+    public static final String ROLE_CLAIM = "role";
+    public static final String VERSION_CLAIM = "ver";
+    public static final String TYPE_CLAIM = "typ";
+    public static final String REFRESH_TYPE = "refresh";
 
-    @Value("${api.security.token.issuer}")
-    private String issuer;
+    /**
+     * What a token that passed verification says about its user.
+     */
+    public record VerifiedToken(String subject, UserRole role, long tokenVersion, String id, boolean refresh, Instant expiresAt) {
+    }
 
-    @Value("${api.security.token.expiration-minutes}")
-    private long expirationMinutes;
+    private final String issuer;
+    private final long expirationMinutes;
+    private final long refreshExpirationMinutes;
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public TokenService(
+        @Value("${api.security.token.secretKey}") String secretKey,
+        @Value("${api.security.token.issuer}") String issuer,
+        @Value("${api.security.token.expiration-minutes:15}") long expirationMinutes,
+        @Value("${api.security.token.refresh-expiration-minutes:10080}") long refreshExpirationMinutes,
+        @Value("${api.security.token-cache.maximum-size:10000}") long cacheMaximumSize,
+        @Value("${api.security.token-cache.time-to-live:1m}") Duration cacheTimeToLive,
+        MeterRegistry meterRegistry) {
+
+        // an access token living as long as the refresh token would make refreshing pointless
+        if (expirationMinutes >= refreshExpirationMinutes) {
+            throw new IllegalArgumentException("api.security.token.expiration-minutes (" + expirationMinutes
+                + ") must be shorter than refresh-expiration-minutes (" + refreshExpirationMinutes + ")");
+        }
+        this.issuer = issuer;
+        this.expirationMinutes = expirationMinutes;
+        this.refreshExpirationMinutes = refreshExpirationMinutes;
+        this.algorithm = Algorithm.HMAC256(secretKey);
+        this.verifier = JWT.require(algorithm).withIssuer(issuer).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(cacheMaximumSize)
+            .expireAfter(expiry(cacheTimeToLive))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, CACHE_NAME);
+    }
 
     // =============================
     // CREATE TOKEN
@@ -36,44 +110,105 @@ public class TokenService {
 
     public String createToken(UserModel userModel){
         try {
-
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
-            String token = JWT.create()
+            return JWT.create()
                     .withIssuer(issuer)
                     .withSubject(userModel.getLogin())
-                    .withExpiresAt(generateExpirationTime())
+                    .withJWTId(UUID.randomUUID().toString())
+                    .withClaim(ROLE_CLAIM, userModel.getRole() == null ? null : userModel.getRole().name())
+                    .withClaim(VERSION_CLAIM, userModel.getTokenVersion())
+                    .withExpiresAt(generateExpirationTime(expirationMinutes))
                     .sign(algorithm);
-
-            return token;
         } catch (JWTCreationException e) {
             throw new TokenGenerationException("Error generating JWT token", e);
         }
 
     }
 
-    private Instant generateExpirationTime(){
-        return LocalDateTime.now().plusMinutes(expirationMinutes).toInstant(ZoneOffset.of("-03:00"));
+    // carries no role: POST /auth/refresh reads the user again before issuing the next access token
+    public String createRefreshToken(UserModel userModel){
+        try {
+            return JWT.create()
+                    .withIssuer(issuer)
+                    .withSubject(userModel.getLogin())
+                    .withJWTId(UUID.randomUUID().toString())
+                    .withClaim(TYPE_CLAIM, REFRESH_TYPE)
+                    .withClaim(VERSION_CLAIM, userModel.getTokenVersion())
+                    .withExpiresAt(generateExpirationTime(refreshExpirationMinutes))
+                    .sign(algorithm);
+        } catch (JWTCreationException e) {
+            throw new TokenGenerationException("Error generating JWT refresh token", e);
+        }
+
+    }
+
+    private Instant generateExpirationTime(long minutes){
+        return LocalDateTime.now().plusMinutes(minutes).toInstant(ZoneOffset.of("-03:00"));
 
     }
 
     // =============================
-    // TOKEN VALIDATION 
+    // TOKEN VALIDATION
     // =============================
 
-   public String tokenValidation(String token){
-    log.info(" o token gerado e tentando validar"+token);
+    public VerifiedToken validate(String token){
+        String key = hash(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        // the cache drops an entry at its expiry, but not to the millisecond
+        if (verified == null || !verified.expiresAt().isAfter(Instant.now())) {
+            verified = verify(token);
+            verifiedTokens.put(key, verified);
+        }
+        return verified;
+    }
+
+    private VerifiedToken verify(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
-          return  JWT.require(algorithm)
-                .withIssuer(issuer)
-                .build()
-                .verify(token)
-                .getSubject();
-            
-        } catch (JWTVerificationException e) {
+            DecodedJWT decoded = verifier.verify(token);
+            Instant expiresAt = decoded.getExpiresAtAsInstant();
+            Claim role = decoded.getClaim(ROLE_CLAIM);
+            Claim version = decoded.getClaim(VERSION_CLAIM);
+            return new VerifiedToken(decoded.getSubject(),
+                role.isMissing() || role.isNull() ? null : UserRole.valueOf(role.asString()),
+                version.isMissing() || version.isNull() ? 0 : version.asLong(),
+                decoded.getId(),
+                REFRESH_TYPE.equals(decoded.getClaim(TYPE_CLAIM).asString()),
+                expiresAt != null ? expiresAt : Instant.MAX);
+        } catch (JWTVerificationException | IllegalArgumentException e) {
+            log.debug("Rejected bearer token: {}", e.getMessage());
             throw new TokenValidationException("Invalid JWT token",e);
         }
+    }
 
-   }
+    // the raw bearer tokens are not kept in memory, only their hashes
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // each entry lives for the configured time or until its token expires, whichever comes first
+    private static Expiry<String, VerifiedToken> expiry(Duration timeToLive) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                Duration untilExpiry = Duration.between(Instant.now(), token.expiresAt());
+                return untilExpiry.isNegative() ? 0 : (untilExpiry.compareTo(timeToLive) < 0 ? untilExpiry : timeToLive).toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, token, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
 
 }
@@ -0,0 +1,32 @@
+package com.suport.api.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.suport.api.repository.UserModelRepository;
+import com.suport.api.service.TokenVersions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Token revocation checked by {@link SecurityFilter}: {@link TokenVersions}
+ * is filled at startup and re-read every
+ * {@code api.security.token-versions.refresh-interval}, which bounds how long
+ * a revocation made on another instance takes to reach this one.
+ */
+@Configuration
+public class TokenVersionsConfiguration {
+
+    @Value("${api.security.token-versions.refresh-interval:30s}")
+    private Duration refreshInterval;
+
+    @Bean
+    public TokenVersions tokenVersions(UserModelRepository userModelRepository, MeterRegistry meterRegistry) {
+        TokenVersions tokenVersions = new TokenVersions(userModelRepository, refreshInterval, meterRegistry);
+        tokenVersions.start();
+        return tokenVersions;
+    }
+}
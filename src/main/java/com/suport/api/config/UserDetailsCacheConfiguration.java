@@ -0,0 +1,32 @@
+package com.suport.api.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.suport.api.repository.UserModelRepository;
+import com.suport.api.service.UserDetailsCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Users resolved by {@link SecurityFilter}: {@link UserDetailsCache} holds up
+ * to {@code api.security.user-cache.maximum-size} of them for
+ * {@code api.security.user-cache.time-to-live} each.
+ */
+@Configuration
+public class UserDetailsCacheConfiguration {
+
+    @Value("${api.security.user-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${api.security.user-cache.time-to-live:5m}")
+    private Duration timeToLive;
+
+    @Bean
+    public UserDetailsCache userDetailsCache(UserModelRepository userModelRepository, MeterRegistry meterRegistry) {
+        return new UserDetailsCache(userModelRepository, maximumSize, timeToLive, meterRegistry);
+    }
+}
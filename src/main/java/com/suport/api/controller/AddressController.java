@@ -1,13 +1,14 @@
 package com.suport.api.controller;
 
-import com.suport.api.domain.Address;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.suport.api.dtos.request.AddressRequestDTO;
 import com.suport.api.dtos.response.AddressResponseDTO;
-import com.suport.api.mappers.AddressMapper;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.service.AddressService;
+import com.suport.api.service.JsonMergePatch;
 
 import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,11 +16,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/addresses")
 public class AddressController {
@@ -104,8 +104,7 @@ public class AddressController {
     })
     @GetMapping("/{id}")
     public ResponseEntity<AddressResponseDTO> findById(@PathVariable Long id) {
-        Address address = addressService.findByIdOrThrowBadRequestException(id);
-        return ResponseEntity.ok(AddressMapper.createAddressResponseDTO(address));
+        return ResponseEntity.ok(addressService.findResponseByIdOrThrowBadRequestException(id));
     }
 
     // =============================
@@ -113,7 +112,7 @@ public class AddressController {
     // =============================
     @Operation(
         summary = "List all addresses",
-        description = "Returns a list of all addresses in the database",
+        description = "Returns a page of addresses ordered by ID. Pass the returned nextCursor as 'after' to get the next page",
         security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses(value = {
@@ -122,7 +121,7 @@ public class AddressController {
             description = "Addresses retrieved successfully",
             content = @Content(
                 mediaType = "application/json",
-                array = @ArraySchema(schema = @Schema(implementation = AddressResponseDTO.class))
+                schema = @Schema(implementation = CursorPageResponseDTO.class)
             )
         ),
         @ApiResponse(
@@ -137,8 +136,12 @@ public class AddressController {
         )
     })
     @GetMapping
-    public ResponseEntity<List<AddressResponseDTO>> findAll() {
-        return ResponseEntity.ok(addressService.findAll());
+    public ResponseEntity<CursorPageResponseDTO<AddressResponseDTO>> findAll(
+        @Parameter(description = "Cursor returned as 'nextCursor' by the previous page")
+        @RequestParam(required = false) String after,
+        @Parameter(description = "Page size (default 50, max 200)")
+        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(addressService.findAll(after, limit));
     }
 
     // =============================
@@ -179,6 +182,50 @@ public class AddressController {
         return ResponseEntity.ok(addressService.update(body, id));
     }
 
+    @Operation(
+        summary = "Patch address by ID",
+        description = "Applies a JSON merge patch (RFC 7386) to the address: only the members present in the body "
+            + "are changed, null clears a member, and only the changed columns are written",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Members of the address to change, e.g. {\"number\": \"42\"}",
+            required = true,
+            content = @Content(
+                mediaType = JsonMergePatch.MEDIA_TYPE,
+                schema = @Schema(implementation = AddressRequestDTO.class)
+            )
+        )
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Address patched successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AddressResponseDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Address not found, or the patched address is invalid",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    @PatchMapping(value = "/{id}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<AddressResponseDTO> patch(@RequestBody JsonNode patch, @PathVariable Long id) {
+        return ResponseEntity.ok(addressService.patch(patch, id));
+    }
+
     // =============================
     // DELETE
     // =============================
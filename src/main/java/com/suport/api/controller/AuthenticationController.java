@@ -2,23 +2,29 @@ package com.suport.api.controller;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.suport.api.config.TokenService;
 import com.suport.api.domain.UserModel;
 import com.suport.api.dtos.request.AuthenticationDTO;
+import com.suport.api.dtos.request.RefreshTokenDTO;
 import com.suport.api.dtos.request.RegisterDTO;
 import com.suport.api.dtos.response.LoginResponseDTO;
 import com.suport.api.repository.UserModelRepository;
+import com.suport.api.service.AuthorizationService;
+import com.suport.api.service.UserDetailsCache;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -41,16 +47,28 @@ public class AuthenticationController {
 
     private TokenService tokenService;
 
+    private UserDetailsCache userDetailsCache;
+
+    private AuthorizationService authorizationService;
+
+    private PasswordEncoder passwordEncoder;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationController.class);
 
     public AuthenticationController(
         AuthenticationManager authenticationManager,
         UserModelRepository userModelRepository,
-        TokenService tokenService
+        TokenService tokenService,
+        UserDetailsCache userDetailsCache,
+        AuthorizationService authorizationService,
+        PasswordEncoder passwordEncoder
         ){
         this.authenticationManager = authenticationManager;
         this.userModelRepository = userModelRepository;
         this.tokenService = tokenService;
+        this.userDetailsCache = userDetailsCache;
+        this.authorizationService = authorizationService;
+        this.passwordEncoder = passwordEncoder;
 
     }
 
@@ -60,7 +78,7 @@ public class AuthenticationController {
 
     @Operation(
         summary = "Login",
-        description = "Authenticates a user and returns a JWT Token."
+        description = "Authenticates a user and returns a short-lived JWT access token and a refresh token."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -81,6 +99,11 @@ public class AuthenticationController {
             description = "Unauthorized: invalid credentials or invalid/expired token.",
             content = @Content
         ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many password checks in progress; retry after the Retry-After header.",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "500",
             description = "Internal server error.",
@@ -94,10 +117,89 @@ public class AuthenticationController {
         var usernamePassword  = new UsernamePasswordAuthenticationToken(data.login(), data.password());
         var auth = authenticationManager.authenticate(usernamePassword);
 
-        String token = tokenService.createToken((UserModel) auth.getPrincipal());
+        UserModel user = (UserModel) auth.getPrincipal();
+        String token = tokenService.createToken(user);
         logger.info("Login successful for user {}", data.login());
 
-        return ResponseEntity.ok(new LoginResponseDTO(token));
+        return ResponseEntity.ok(new LoginResponseDTO(token, tokenService.createRefreshToken(user)));
+    }
+
+
+    // =============================
+    // REFRESH TOKEN
+    // =============================
+
+    @Operation(
+        summary = "Refresh",
+        description = "Exchanges a refresh token for a new access token and refresh token. Each refresh token works once."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "New tokens issued.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = LoginResponseDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input data (e.g. missing refresh token).",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid, expired, revoked or already used refresh token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error.",
+            content = @Content
+        )
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refresh(@RequestBody @Valid RefreshTokenDTO data){
+        return ResponseEntity.ok(authorizationService.refresh(data.refreshToken()));
+    }
+
+    // =============================
+    // LOGOUT
+    // =============================
+
+    @Operation(
+        summary = "Logout",
+        description = "Revokes the access token of the request and, when given, its refresh token.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "204",
+            description = "Tokens revoked.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "The refresh token belongs to another user.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error.",
+            content = @Content
+        )
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+        @RequestBody(required = false) RefreshTokenDTO data){
+        authorizationService.logout(authorization.replace("Bearer ", ""), data == null ? null : data.refreshToken());
+
+        return ResponseEntity.noContent().build();
     }
 
 
@@ -139,6 +241,11 @@ public class AuthenticationController {
             description = "Conflict: username already exists.",
             content = @Content
         ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many password checks in progress; retry after the Retry-After header.",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "500",
             description = "Internal server error.",
@@ -157,13 +264,59 @@ public class AuthenticationController {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("Username already exists " +data.login());
         }
 
-          String encryptedPassword = new BCryptPasswordEncoder().encode(data.password());
+          String encryptedPassword = passwordEncoder.encode(data.password());
           UserModel userModel = new UserModel(data.login(), encryptedPassword, data.role());
         
         userModelRepository.save(userModel);
+        userDetailsCache.evict(data.login());
         logger.info("User created successfully: {}", data.login());
 
         return ResponseEntity.status(HttpStatus.CREATED).body("User created successfully!");
     }
 
+    // =============================
+    // REVOKE TOKENS
+    // =============================
+
+    @Operation(
+        summary = "Revoke tokens",
+        description = "Invalidates every token issued to the user so far; the user has to log in again.",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "204",
+            description = "Tokens revoked.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "No user with the given login.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden: only administrators can revoke tokens.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error.",
+            content = @Content
+        )
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/revoke/{login}")
+    public ResponseEntity<Void> revoke(@PathVariable String login){
+        long tokenVersion = authorizationService.revokeTokens(login);
+        logger.info("Tokens of user {} revoked, now at version {}", login, tokenVersion);
+
+        return ResponseEntity.noContent().build();
+    }
+
 }
@@ -1,13 +1,17 @@
 package com.suport.api.controller;
 
-import com.suport.api.domain.Client;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.suport.api.dtos.request.ClientRequestCreateDTO;
 import com.suport.api.dtos.request.ClientRequestUpdateDTO;
+import com.suport.api.dtos.response.ClientDeletionResponseDTO;
 import com.suport.api.dtos.response.ClientResponseDTO;
-import com.suport.api.mappers.ClientMapper;
+import com.suport.api.dtos.response.ClientSuggestionResponseDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.service.ClientService;
+import com.suport.api.service.JsonMergePatch;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -16,10 +20,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -107,8 +114,8 @@ public class ClientController {
     })
     @GetMapping("/{id}")
     public ResponseEntity<ClientResponseDTO> findById(@PathVariable Long id) {
-        Client client = clientService.findByIdOrThrowBadRequestException(id);
-        return ResponseEntity.ok(ClientMapper.toResponseDTO(client));
+        ClientResponseDTO response = clientService.findResponseByIdOrThrowBadRequestException(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(response.version())).body(response);
     }
 
     // =============================
@@ -116,7 +123,7 @@ public class ClientController {
     // =============================
     @Operation(
         summary = "List all clients",
-        description = "Returns a list of all clients in the database",
+        description = "Returns a page of clients ordered by ID. Pass the returned nextCursor as 'after' to get the next page",
         security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses(value = {
@@ -125,7 +132,7 @@ public class ClientController {
             description = "Clients retrieved successfully",
             content = @Content(
                 mediaType = "application/json",
-                array = @ArraySchema(schema = @Schema(implementation = ClientResponseDTO.class))
+                schema = @Schema(implementation = CursorPageResponseDTO.class)
             )
         ),
         @ApiResponse(
@@ -140,8 +147,55 @@ public class ClientController {
         )
     })
     @GetMapping
-    public ResponseEntity<List<ClientResponseDTO>> findAll() {
-        return ResponseEntity.ok(clientService.findAll());
+    public ResponseEntity<CursorPageResponseDTO<ClientResponseDTO>> findAll(
+        @Parameter(description = "Cursor returned as 'nextCursor' by the previous page")
+        @RequestParam(required = false) String after,
+        @Parameter(description = "Page size (default 50, max 200)")
+        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(clientService.findAll(after, limit));
+    }
+
+    // =============================
+    // SUGGEST
+    // =============================
+    @Operation(
+        summary = "Suggest clients by prefix",
+        description = "Type-ahead lookup of clients whose name (any word), email or tax ID starts with the prefix. "
+            + "Case and accents are ignored and the tax ID matches on its digits alone. Name matches come first, then email, then tax ID",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Matching clients, possibly none",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = ClientSuggestionResponseDTO.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Empty prefix or invalid limit",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ClientSuggestionResponseDTO>> suggest(
+        @Parameter(description = "Start of a name word, email or tax ID", example = "goo")
+        @RequestParam String prefix,
+        @Parameter(description = "Maximum number of suggestions (default 10, max 50)")
+        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(clientService.suggest(prefix, limit));
     }
 
     // =============================
@@ -211,6 +265,11 @@ public class ClientController {
             description = "Client not found",
             content = @Content
         ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "If-Match does not match the current version, or the client was modified concurrently",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "401",
             description = "Unauthorized: invalid credentials or invalid/expired token.",
@@ -223,8 +282,67 @@ public class ClientController {
         )
     })
     @PutMapping("/{id}")
-    public ResponseEntity<ClientResponseDTO> update(@RequestBody @Valid ClientRequestUpdateDTO body, @PathVariable Long id) {
-        return ResponseEntity.ok(clientService.update(body, id));
+    public ResponseEntity<ClientResponseDTO> update(
+        @RequestBody @Valid ClientRequestUpdateDTO body,
+        @PathVariable Long id,
+        @Parameter(description = "ETag returned by a previous read; the update fails with 412 if the client changed since")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ClientResponseDTO response = clientService.update(body, id, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(response.version())).body(response);
+    }
+
+    @Operation(
+        summary = "Patch client by ID",
+        description = "Applies a JSON merge patch (RFC 7386) to the client: only the members present in the body "
+            + "are changed, null clears a member, and only the changed columns are written",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Members of the client to change, e.g. {\"phone\": \"(11) 1111-1111\"}",
+            required = true,
+            content = @Content(
+                mediaType = JsonMergePatch.MEDIA_TYPE,
+                schema = @Schema(implementation = ClientRequestUpdateDTO.class)
+            )
+        )
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Client patched successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ClientResponseDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Client not found, or the patched client is invalid",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "If-Match does not match the current version, or the client was modified concurrently",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    @PatchMapping(value = "/{id}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ClientResponseDTO> patch(
+        @RequestBody JsonNode patch,
+        @PathVariable Long id,
+        @Parameter(description = "ETag returned by a previous read; the patch fails with 412 if the client changed since")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ClientResponseDTO response = clientService.patch(patch, id, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(response.version())).body(response);
     }
 
     // =============================
@@ -232,13 +350,15 @@ public class ClientController {
     // =============================
     @Operation(
         summary = "Delete client by ID",
-        description = "Deletes the client identified by the given ID",
+        description = "Marks the client as deleted and answers right away; from then on it is no longer found. "
+            + "Its tasks, address and the client itself are removed in the background; "
+            + "follow the Location header to see the progress",
         security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses(value = {
         @ApiResponse(
-            responseCode = "204",
-            description = "Client deleted successfully"
+            responseCode = "202",
+            description = "Client deleted; its data is being removed"
         ),
         @ApiResponse(
             responseCode = "400",
@@ -259,6 +379,43 @@ public class ClientController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteById(@PathVariable Long id) {
         clientService.deleteById(id);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.accepted()
+            .location(URI.create("/clients/" + id + "/deletion"))
+            .build();
+    }
+
+    @Operation(
+        summary = "Get the deletion progress of a client",
+        description = "Returns how many tasks of a deleted client are still to be removed, and whether nothing is left",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Deletion progress",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ClientDeletionResponseDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "The client exists and was not deleted",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<ClientDeletionResponseDTO> findDeletionProgress(@PathVariable Long id) {
+        return ResponseEntity.ok(clientService.findDeletionProgress(id));
     }
 }
@@ -0,0 +1,41 @@
+package com.suport.api.controller;
+
+import com.suport.api.exceptions.BadRequestException;
+import com.suport.api.exceptions.PreconditionFailedException;
+
+/**
+ * Strong ETags built from the entity {@code @Version}, and the {@code If-Match}
+ * header turned back into the version the caller expects to overwrite.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the version carried by {@code If-Match}, or null when the header
+     * is absent or {@code *} (any current version).
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        // If-Match uses strong comparison, a weak tag never matches
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("If-Match needs a strong ETag, got " + ifMatch);
+        }
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new BadRequestException("Invalid If-Match header: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+}
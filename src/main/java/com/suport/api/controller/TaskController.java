@@ -1,31 +1,48 @@
 package com.suport.api.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.suport.api.domain.Task;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.suport.api.dtos.request.TaskRequestCreateDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.dtos.response.TaskResponseDTO;
-import com.suport.api.mappers.TaskMapper;
+import com.suport.api.dtos.response.TaskSearchHitDTO;
+import com.suport.api.dtos.response.TaskStatsResponseDTO;
+import com.suport.api.enums.TaskPriority;
+import com.suport.api.enums.TaskStatus;
+import com.suport.api.repository.filter.TaskFilter;
+import com.suport.api.repository.filter.TaskSort;
+import com.suport.api.service.JsonMergePatch;
 import com.suport.api.service.TaskService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/tasks")
@@ -80,12 +97,48 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    @Operation(
+        summary = "Create Tasks in batch",
+        description = "Creates up to 5000 Tasks in a single call and transaction. If any item is invalid nothing is persisted",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Tasks created successfully",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = TaskResponseDTO.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input data, empty batch or more than 5000 tasks",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskResponseDTO>> saveAll(@RequestBody List<@Valid TaskRequestCreateDTO> dtos){
+        List<TaskResponseDTO> response = taskService.saveAll(dtos);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     // =============================
     // READ (BY ID)
     // =============================
     @Operation(
         summary = "Get Task by ID",
-        description = "Returns the Task identified by the given ID",
+        description = "Returns the Task identified by the given ID. Archived tasks are only found with includeArchived=true",
         security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses(value = {
@@ -114,9 +167,12 @@ public class TaskController {
         )
     })
     @GetMapping("/{id}")
-     public ResponseEntity<TaskResponseDTO> findById(@PathVariable Long id){
-         Task task = taskService.findByIdOrThrowBadRequestException(id);
-        return ResponseEntity.ok().body(TaskMapper.toResponseDTO(task));
+     public ResponseEntity<TaskResponseDTO> findById(
+        @PathVariable Long id,
+        @Parameter(description = "Also look the task up among the archived ones (closed long ago, read-only)")
+        @RequestParam(defaultValue = "false") boolean includeArchived){
+        TaskResponseDTO response = taskService.findResponseByIdOrThrowBadRequestException(id, includeArchived);
+        return ResponseEntity.ok().eTag(EntityTags.of(response.version())).body(response);
     }
 
     // =============================
@@ -124,7 +180,9 @@ public class TaskController {
     // =============================
     @Operation(
         summary = "List all Task",
-        description = "Returns a list of all Task in the database",
+        description = "Returns a page of Task, optionally filtered by status, priority, client, technician and creation range, "
+            + "ordered by ID or by creation time. Pass the returned nextCursor as 'after', with the same filters and sort, to get the next page. "
+            + "Tasks closed long ago are archived and only listed with includeArchived=true",
         security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses(value = {
@@ -133,23 +191,171 @@ public class TaskController {
             description = "Task retrieved successfully",
             content = @Content(
                 mediaType = "application/json",
-                array = @ArraySchema(schema = @Schema(implementation = TaskResponseDTO.class))
+                schema = @Schema(implementation = CursorPageResponseDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid filter, sort, cursor or limit",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    @GetMapping
+    public ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> findAll(
+        @Parameter(description = "Only tasks with this status")
+        @RequestParam(required = false) TaskStatus status,
+        @Parameter(description = "Only tasks with this priority")
+        @RequestParam(required = false) TaskPriority priority,
+        @Parameter(description = "Only tasks of this client")
+        @RequestParam(required = false) Long clientId,
+        @Parameter(description = "Only tasks assigned to this technician")
+        @RequestParam(required = false) Long technicianId,
+        @Parameter(description = "Only tasks created at or after this instant (ISO-8601)", example = "2025-01-01T00:00:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+        @Parameter(description = "Only tasks created before this instant (ISO-8601)", example = "2025-02-01T00:00:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+        @Parameter(description = "Sort field: id (default) or createdAt")
+        @RequestParam(required = false) String sort,
+        @Parameter(description = "Sort direction: asc (default) or desc")
+        @RequestParam(required = false) String direction,
+        @Parameter(description = "Cursor returned as 'nextCursor' by the previous page")
+        @RequestParam(required = false) String after,
+        @Parameter(description = "Page size (default 50, max 200)")
+        @RequestParam(required = false) Integer limit,
+        @Parameter(description = "Also list archived tasks (closed long ago, read-only)")
+        @RequestParam(defaultValue = "false") boolean includeArchived) {
+        TaskFilter filter = new TaskFilter(status, priority, clientId, technicianId, createdFrom, createdTo);
+        return ResponseEntity.ok().body(taskService.findAll(filter, TaskSort.of(sort, direction), after, limit, includeArchived));
+    }
+
+    // =============================
+    // STATS
+    // =============================
+    @Operation(
+        summary = "Task counts",
+        description = "Counts of every task, archived ones included, per status, priority, client and technician. "
+            + "Served from counters kept up to date on every task write, without reading the tasks table; "
+            + "archival does not change them, and tasks deleted in bulk leave them at the next recount (reconciledAt)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Task counts",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = TaskStatsResponseDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponseDTO> stats() {
+        return ResponseEntity.ok().body(taskService.stats());
+    }
+
+    // =============================
+    // SEARCH
+    // =============================
+    @Operation(
+        summary = "Search Tasks by text",
+        description = "Full-text search over task titles and descriptions, best match first; a title match weighs more than a description match. "
+            + "Plain words must all match; \"phrases\", -exclusions, a|b alternatives and prefix* terms are supported. "
+            + "Pass the returned nextCursor as 'after', with the same q, to get the next page. Archived tasks are not searched",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Matching tasks with highlighted titles and description passages",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = CursorPageResponseDTO.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Empty query, invalid cursor or limit",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageResponseDTO<TaskSearchHitDTO>> search(
+        @Parameter(description = "Words to look for in the title and description", example = "printer jammed")
+        @RequestParam String q,
+        @Parameter(description = "Cursor returned as 'nextCursor' by the previous page")
+        @RequestParam(required = false) String after,
+        @Parameter(description = "Page size (default 50, max 200)")
+        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok().body(taskService.search(q, after, limit));
+    }
+
+    @Operation(
+        summary = "Rebuild the Task search index",
+        description = "Starts re-indexing every task from the database in the background, reading in parallel, "
+            + "and dropping entries of tasks archived or deleted in bulk. Answers right away; searches keep working while it runs. Admin only",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Rebuild started"
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "A rebuild is already running",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "401",
             description = "Unauthorized: invalid credentials or invalid/expired token.",
             content = @Content
         ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden: only admins can rebuild the index",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "500",
             description = "Internal server error",
             content = @Content
         )
     })
-     @GetMapping
-     public ResponseEntity<List<TaskResponseDTO>> findAll(){
-        return ResponseEntity.ok().body(taskService.findAll());
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        taskService.rebuildSearchIndex();
+        return ResponseEntity.accepted().build();
     }
 
     // =============================
@@ -182,6 +388,11 @@ public class TaskController {
             description = "Task not found",
             content = @Content
         ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "If-Match does not match the current version, or the task was modified concurrently",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "401",
             description = "Unauthorized: invalid credentials or invalid/expired token.",
@@ -194,8 +405,154 @@ public class TaskController {
         )
     })
     @PutMapping("/{id}")
-    public ResponseEntity<TaskResponseDTO> update(@RequestBody TaskRequestCreateDTO dto,@PathVariable Long id){
-        return ResponseEntity.ok().body( taskService.update(dto, id));
+    public ResponseEntity<TaskResponseDTO> update(
+        @RequestBody TaskRequestCreateDTO dto,
+        @PathVariable Long id,
+        @Parameter(description = "ETag returned by a previous read; the update fails with 412 if the task changed since")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        TaskResponseDTO response = taskService.update(dto, id, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(response.version())).body(response);
+    }
+
+    @Operation(
+        summary = "Patch task by ID",
+        description = "Applies a JSON merge patch (RFC 7386) to the task: only the members present in the body "
+            + "are changed, null clears a member, and only the changed columns are written",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Members of the task to change, e.g. {\"status\": \"IN_PROGRESS\"}",
+            required = true,
+            content = @Content(
+                mediaType = JsonMergePatch.MEDIA_TYPE,
+                schema = @Schema(implementation = TaskRequestCreateDTO.class)
+            )
+        )
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Task patched successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = TaskResponseDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Task not found, or the patched task is invalid",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "If-Match does not match the current version, or the task was modified concurrently",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    @PatchMapping(value = "/{id}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TaskResponseDTO> patch(
+        @RequestBody JsonNode patch,
+        @PathVariable Long id,
+        @Parameter(description = "ETag returned by a previous read; the patch fails with 412 if the task changed since")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        TaskResponseDTO response = taskService.patch(patch, id, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(response.version())).body(response);
+    }
+
+    // =============================
+    // TECHNICIANS
+    // =============================
+    @Operation(
+        summary = "Assign a Technician to a Task",
+        description = "Adds one technician to the task, keeping the others. Needs no If-Match: "
+            + "a concurrent change to the same task is retried on the server",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Technician assigned successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = TaskResponseDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Task or Technician not found",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "The task kept changing concurrently and every retry lost",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    @PostMapping("/{id}/technicians/{technicianId}")
+    public ResponseEntity<TaskResponseDTO> addTechnician(@PathVariable Long id, @PathVariable Long technicianId){
+        TaskResponseDTO response = taskService.addTechnician(id, technicianId);
+        return ResponseEntity.ok().eTag(EntityTags.of(response.version())).body(response);
+    }
+
+    @Operation(
+        summary = "Unassign a Technician from a Task",
+        description = "Removes one technician from the task, keeping the others. Needs no If-Match: "
+            + "a concurrent change to the same task is retried on the server",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Technician unassigned successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = TaskResponseDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Task not found",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "The task kept changing concurrently and every retry lost",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    @DeleteMapping("/{id}/technicians/{technicianId}")
+    public ResponseEntity<TaskResponseDTO> removeTechnician(@PathVariable Long id, @PathVariable Long technicianId){
+        TaskResponseDTO response = taskService.removeTechnician(id, technicianId);
+        return ResponseEntity.ok().eTag(EntityTags.of(response.version())).body(response);
     }
 
     // =============================
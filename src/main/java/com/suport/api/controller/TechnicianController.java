@@ -1,26 +1,30 @@
 package com.suport.api.controller;
 
-import java.util.List;
-
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.suport.api.domain.Technician;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.suport.api.dtos.request.TechnicianRequestDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.dtos.response.TechnicianResponseDTO;
-import com.suport.api.mappers.TechnicianMapper;
+import com.suport.api.service.JsonMergePatch;
 import com.suport.api.service.TechnicianService;
 
 import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -110,8 +114,8 @@ public class TechnicianController {
     })
     @GetMapping("/{id}")
      public ResponseEntity<TechnicianResponseDTO> findById(@PathVariable Long id){
-         Technician technician = technicianService.findByIdOrThrowBadRequestException(id);
-        return ResponseEntity.ok().body(TechnicianMapper.toResponseDTO(technician));
+        TechnicianResponseDTO response = technicianService.findResponseByIdOrThrowBadRequestException(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(response.version())).body(response);
     }
 
     // =============================
@@ -119,7 +123,7 @@ public class TechnicianController {
     // =============================
     @Operation(
         summary = "List all Technician",
-        description = "Returns a list of all Technician in the database",
+        description = "Returns a page of Technician ordered by ID. Pass the returned nextCursor as 'after' to get the next page",
         security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses(value = {
@@ -128,7 +132,7 @@ public class TechnicianController {
             description = "Technician retrieved successfully",
             content = @Content(
                 mediaType = "application/json",
-                array = @ArraySchema(schema = @Schema(implementation = TechnicianResponseDTO.class))
+                schema = @Schema(implementation = CursorPageResponseDTO.class)
             )
         ),
         @ApiResponse(
@@ -142,9 +146,13 @@ public class TechnicianController {
             content = @Content
         )
     })
-     @GetMapping
-     public ResponseEntity<List<TechnicianResponseDTO>> findAll(){
-        return ResponseEntity.ok().body(technicianService.findAll());
+    @GetMapping
+    public ResponseEntity<CursorPageResponseDTO<TechnicianResponseDTO>> findAll(
+        @Parameter(description = "Cursor returned as 'nextCursor' by the previous page")
+        @RequestParam(required = false) String after,
+        @Parameter(description = "Page size (default 50, max 200)")
+        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok().body(technicianService.findAll(after, limit));
     }
 
     // =============================
@@ -177,6 +185,11 @@ public class TechnicianController {
             description = "Technician not found",
             content = @Content
         ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "If-Match does not match the current version, or the technician was modified concurrently",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "401",
             description = "Unauthorized: invalid credentials or invalid/expired token.",
@@ -189,8 +202,67 @@ public class TechnicianController {
         )
     })
     @PutMapping("/{id}")
-    public ResponseEntity<TechnicianResponseDTO> update(@RequestBody TechnicianRequestDTO dto,@PathVariable Long id){
-        return ResponseEntity.ok().body( technicianService.update(dto, id));
+    public ResponseEntity<TechnicianResponseDTO> update(
+        @RequestBody TechnicianRequestDTO dto,
+        @PathVariable Long id,
+        @Parameter(description = "ETag returned by a previous read; the update fails with 412 if the technician changed since")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        TechnicianResponseDTO response = technicianService.update(dto, id, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(response.version())).body(response);
+    }
+
+    @Operation(
+        summary = "Patch technician by ID",
+        description = "Applies a JSON merge patch (RFC 7386) to the technician: only the members present in the body "
+            + "are changed, null clears a member, and only the changed columns are written",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Members of the technician to change, e.g. {\"phone\": \"(11) 1111-1111\"}",
+            required = true,
+            content = @Content(
+                mediaType = JsonMergePatch.MEDIA_TYPE,
+                schema = @Schema(implementation = TechnicianRequestDTO.class)
+            )
+        )
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Technician patched successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = TechnicianResponseDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Technician not found, or the patched technician is invalid",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "If-Match does not match the current version, or the technician was modified concurrently",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized: invalid credentials or invalid/expired token.",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    @PatchMapping(value = "/{id}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TechnicianResponseDTO> patch(
+        @RequestBody JsonNode patch,
+        @PathVariable Long id,
+        @Parameter(description = "ETag returned by a previous read; the patch fails with 412 if the technician changed since")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        TechnicianResponseDTO response = technicianService.patch(patch, id, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(response.version())).body(response);
     }
 
     // =============================
@@ -1,13 +1,15 @@
 package com.suport.api.domain;
 
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.suport.api.domain.generator.PooledSequence;
 
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.OneToOne;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,10 +20,12 @@ import lombok.experimental.SuperBuilder;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ADDRESSES)
+@DynamicUpdate
 public class Address {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "address_seq")
     private Long id;
 
     private String street;
@@ -32,7 +36,10 @@ public class Address {
     private String state;
     private String postalCode;
 
-    @OneToOne(mappedBy = "address", fetch = FetchType.LAZY)
-    @JoinColumn(name = "address_id")
-    private Client client;
+    // set when the client holding this address drops it; AddressCompactor
+    // deletes only these rows, never addresses created on their own
+    private LocalDateTime supersededAt;
+
+    // no inverse Client mapping: Client owns address_id, and an inverse
+    // one-to-one cannot be proxied, so every address load would select clients
 }
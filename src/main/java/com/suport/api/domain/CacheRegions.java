@@ -0,0 +1,21 @@
+package com.suport.api.domain;
+
+import java.util.List;
+
+/**
+ * Names of the Hibernate second-level cache regions. The cache manager
+ * creates exactly these regions, so an entity mapped to an unknown region
+ * fails at startup instead of silently running uncached.
+ */
+public final class CacheRegions {
+
+    public static final String TECHNICIANS = "technicians";
+    public static final String CLIENTS = "clients";
+    public static final String ADDRESSES = "addresses";
+    public static final String TASK_TECHNICIANS = "task-technicians";
+
+    public static final List<String> ALL = List.of(TECHNICIANS, CLIENTS, ADDRESSES, TASK_TECHNICIANS);
+
+    private CacheRegions() {
+    }
+}
@@ -4,9 +4,13 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.suport.api.domain.generator.PooledSequence;
 import com.suport.api.enums.ClientType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -24,12 +28,14 @@ import lombok.ToString;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "clients")
+@DynamicUpdate
 @ToString(onlyExplicitlyIncluded = true)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CLIENTS)
 public class Client {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "clients_seq")
     private Long id;
 
     @ToString.Include
@@ -41,7 +47,8 @@ public class Client {
     private String taxId;
     private String phone;
     
-    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // orphanRemoval deletes the address row once the client lets go of it
+    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id")
     private Address address;  
 
@@ -52,9 +59,17 @@ public class Client {
     @OneToMany(mappedBy = "client", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Task> tasks = new HashSet<>();
 
+    // checked on every update; exposed to clients as the ETag of the resource
+    @Version
+    private Long version;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    // set by DELETE /clients/{id}; the client is gone for the API from then on
+    // and ClientPurger removes its rows in the background
+    private LocalDateTime deletedAt;
 }
@@ -0,0 +1,44 @@
+package com.suport.api.domain;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The id of a token revoked before it expired. Rows are only inserted and
+ * deleted, never updated, so every save is an insert: revoking the same token
+ * twice fails on the primary key, which is how a refresh token is made
+ * single-use across instances.
+ */
+@Getter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "revoked_tokens")
+public class RevokedToken implements Persistable<String> {
+
+    @Id
+    private String jti;
+
+    // UTC
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Override
+    public String getId() {
+        return jti;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -4,9 +4,13 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.suport.api.domain.generator.PooledSequence;
 import com.suport.api.enums.TaskPriority;
 import com.suport.api.enums.TaskStatus;
 
@@ -14,14 +18,15 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -35,10 +40,12 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "tasks" )
+// UPDATEs list only the changed columns; most writes change the status alone
+@DynamicUpdate
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "tasks_seq")
     private Long id;
 
     private String title;
@@ -56,6 +63,7 @@ public class Task {
     private Client client;
 
     @Builder.Default
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TASK_TECHNICIANS)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "task_technicians",
@@ -64,10 +72,28 @@ public class Task {
     )
     private Set<Technician> technicians = new HashSet<>();
 
+    // checked on every update; exposed to clients as the ETag of the resource
+    @Version
+    private Long version;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // when the task reached CLOSED or COMPLETED; the archival job moves tasks
+    // closed for longer than api.archive.closed-for into tasks_archive
+    private LocalDateTime closedAt;
+
+    @PrePersist
+    @PreUpdate
+    void trackClosedAt() {
+        if (status == null || !status.isTerminal()) {
+            closedAt = null;
+        } else if (closedAt == null) {
+            closedAt = LocalDateTime.now();
+        }
+    }
+
 }
@@ -4,17 +4,20 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.suport.api.domain.generator.PooledSequence;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -30,12 +33,14 @@ import lombok.ToString;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "technicians" )
+@DynamicUpdate
 @ToString(onlyExplicitlyIncluded = true)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TECHNICIANS)
 public class Technician  {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "technicians_seq")
     private Long id;
 
     @ToString.Include
@@ -49,6 +54,10 @@ public class Technician  {
     @ManyToMany(mappedBy = "technicians", fetch = FetchType.LAZY)
     private Set<Task> tasks = new HashSet<>();
 
+    // checked on every update; exposed to clients as the ETag of the resource
+    @Version
+    private Long version;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -7,14 +7,13 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.suport.api.domain.generator.PooledSequence;
 import com.suport.api.enums.UserRole;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -33,7 +32,7 @@ import lombok.Setter;
 public class UserModel implements UserDetails{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "users_seq")
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -44,6 +43,10 @@ public class UserModel implements UserDetails{
     @Enumerated(EnumType.STRING)
     private UserRole role;
 
+    // tokens issued with an older version are rejected, see TokenVersions
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion;
+
     public UserModel(String login, String password, UserRole role){
         this.login = login;
         this.password = password;
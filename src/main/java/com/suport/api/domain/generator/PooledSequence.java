@@ -0,0 +1,30 @@
+package com.suport.api.domain.generator;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates ids from a database sequence with the pooled optimizer, so
+ * Hibernate can keep JDBC insert batching on (IDENTITY columns disable it).
+ * The allocation size is read from {@code api.id.allocation-size}.
+ *
+ * <p>The sequences are part of the versioned schema: V1 creates them for new
+ * databases and V8 ({@code db/vendor/*}) for databases baselined at V1,
+ * starting above the highest id already in each table. Both create them with
+ * increment 50; a different allocation size needs a migration that alters
+ * the increment to match.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface PooledSequence {
+
+    /** Name of the database sequence backing the ids. */
+    String name();
+}
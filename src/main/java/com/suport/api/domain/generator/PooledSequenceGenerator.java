@@ -0,0 +1,47 @@
+package com.suport.api.domain.generator;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+public class PooledSequenceGenerator extends SequenceStyleGenerator implements AnnotationBasedGenerator<PooledSequence> {
+
+    public static final String ALLOCATION_SIZE_SETTING = "api.id.allocation-size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private String sequenceName;
+    private int allocationSize = DEFAULT_ALLOCATION_SIZE;
+
+    // Hibernate asks Spring for the generator instance, so it needs a no-arg
+    // constructor and receives the annotation here, before configure()
+    @Override
+    public void initialize(PooledSequence config, Member member, GeneratorCreationContext context) {
+        this.sequenceName = config.name();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+            .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        if (allocationSize < 1) {
+            throw new MappingException(ALLOCATION_SIZE_SETTING + " must be greater than zero");
+        }
+
+        parameters.put(SEQUENCE_PARAM, sequenceName);
+        parameters.put(OPT_PARAM, "pooled");
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    protected int determineIncrementSize(Properties parameters) {
+        return allocationSize;
+    }
+}
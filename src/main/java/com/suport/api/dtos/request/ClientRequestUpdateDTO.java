@@ -3,6 +3,7 @@ package com.suport.api.dtos.request;
 import com.suport.api.enums.ClientType;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -28,6 +29,8 @@ public record ClientRequestUpdateDTO(
     @Schema(description = "Phone number", example = "(00) 0000-0000")
     String phone,
 
+    // also checked when a merge patch is applied, so a partial address never reaches the row
+    @Valid
     @Schema(description = "Client address.")
     AddressRequestDTO address,
 
@@ -0,0 +1,16 @@
+package com.suport.api.dtos.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record ClientDeletionResponseDTO(
+
+    @Schema(description = "Client id", example = "1")
+    Long clientId,
+
+    @Schema(description = "Tasks of the client, hot and archived, still waiting to be removed", example = "1200")
+    long remainingTasks,
+
+    @Schema(description = "True once the client, its tasks and its address are all gone", example = "false")
+    boolean completed
+
+) {}
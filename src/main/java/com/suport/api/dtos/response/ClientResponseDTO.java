@@ -26,6 +26,18 @@ public record ClientResponseDTO(
     AddressResponseDTO address,
 
     @Schema(description = "Type of client: INDIVIDUAL or COMPANY", example = "INDIVIDUAL")
-    ClientType type
+    ClientType type,
 
-){}
+    @Schema(description = "Version of the client, also sent as ETag; send it back in If-Match to update", example = "3")
+    Long version
+
+){
+
+    // flat form used by the JPQL constructor expression, which cannot build the nested address itself
+    public ClientResponseDTO(Long id, String name, String email, String taxId, String phone,
+            Long addressId, String street, String number, String state, String city, ClientType type, Long version) {
+        this(id, name, email, taxId, phone,
+            addressId != null ? new AddressResponseDTO(addressId, street, number, state, city) : null,
+            type, version);
+    }
+}
@@ -0,0 +1,19 @@
+package com.suport.api.dtos.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record ClientSuggestionResponseDTO(
+
+    @Schema(description = "Client id", example = "1")
+    Long id,
+
+    @Schema(description = "Client name", example = "Google")
+    String name,
+
+    @Schema(description = "Client email", example = "example@gmail.com")
+    String email,
+
+    @Schema(description = "Client tax ID, as it was registered", example = "12.345.678/0001-00")
+    String taxId
+
+) {}
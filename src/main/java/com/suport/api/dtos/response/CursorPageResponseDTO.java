@@ -0,0 +1,18 @@
+package com.suport.api.dtos.response;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record CursorPageResponseDTO<T>(
+
+    @Schema(description = "Items of the current page, ordered by ID")
+    List<T> content,
+
+    @Schema(description = "Opaque cursor to send as 'after' to fetch the next page. Null on the last page", example = "MTA0")
+    String nextCursor,
+
+    @Schema(description = "Whether there are more items after this page", example = "true")
+    boolean hasNext
+
+) {}
@@ -28,6 +28,9 @@ public record TaskResponseDTO(
     Long clientId, 
 
     @Schema(description = "Receives technician IDs in (format Set)", example = "[2,7]")
-    Set<Long> technicianIds
+    Set<Long> technicianIds,
+
+    @Schema(description = "Version of the task, also sent as ETag; send it back in If-Match to update", example = "3")
+    Long version
 
 ) {}
@@ -0,0 +1,20 @@
+package com.suport.api.dtos.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record TaskSearchHitDTO(
+
+    @Schema(description = "The matching task, as currently stored")
+    TaskResponseDTO task,
+
+    @Schema(description = "Relevance of the match; hits are ordered by it, best first", example = "3.41")
+    float score,
+
+    @Schema(description = "Title with the matched words in <b> tags, HTML escaped", example = "Printer <b>jammed</b> on floor 2")
+    String titleHighlight,
+
+    @Schema(description = "Up to two description passages with the matched words in <b> tags, HTML escaped; null when the task has no description",
+        example = "Paper keeps getting <b>jammed</b> in tray 1")
+    String descriptionHighlight
+
+) {}
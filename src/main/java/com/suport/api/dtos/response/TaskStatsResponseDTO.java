@@ -0,0 +1,31 @@
+package com.suport.api.dtos.response;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.suport.api.enums.TaskPriority;
+import com.suport.api.enums.TaskStatus;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record TaskStatsResponseDTO(
+
+    @Schema(description = "Tasks, archived ones included", example = "1250")
+    long total,
+
+    @Schema(description = "Tasks per status, every status listed", example = "{\"OPEN\": 400, \"IN_PROGRESS\": 350, \"COMPLETED\": 300, \"CLOSED\": 200}")
+    Map<TaskStatus, Long> byStatus,
+
+    @Schema(description = "Tasks per priority, every priority listed", example = "{\"LOW\": 500, \"MEDIUM\": 450, \"HIGH\": 200, \"URGENT\": 100}")
+    Map<TaskPriority, Long> byPriority,
+
+    @Schema(description = "Tasks per client id; clients without tasks are left out", example = "{\"1\": 800, \"2\": 450}")
+    Map<Long, Long> byClient,
+
+    @Schema(description = "Assigned tasks per technician id; technicians without tasks are left out", example = "{\"7\": 120, \"9\": 95}")
+    Map<Long, Long> byTechnician,
+
+    @Schema(description = "When the counts were last recounted from the database; null until the first recount ends", example = "2025-01-01T12:00:00")
+    LocalDateTime reconciledAt
+
+) {}
@@ -12,7 +12,10 @@ public record TechnicianResponseDTO(
     String name,
     
     @Schema(description = "Phone number", example = "(00) 0000-0000")
-    String phone
+    String phone,
+
+    @Schema(description = "Version of the technician, also sent as ETag; send it back in If-Match to update", example = "3")
+    Long version
 
 ) {
 } 
@@ -7,5 +7,10 @@ public enum TaskStatus {
     OPEN,
     IN_PROGRESS,
     COMPLETED,
-    CLOSED
-}
\ No newline at end of file
+    CLOSED;
+
+    // no more work is expected; such tasks are eventually archived
+    public boolean isTerminal() {
+        return this == COMPLETED || this == CLOSED;
+    }
+}
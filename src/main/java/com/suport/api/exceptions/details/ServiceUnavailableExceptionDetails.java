@@ -0,0 +1,12 @@
+package com.suport.api.exceptions.details;
+
+import com.suport.api.exceptions.defaultExceptionDetails.ExceptionDetails;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@SuperBuilder
+public class ServiceUnavailableExceptionDetails extends ExceptionDetails {
+
+}
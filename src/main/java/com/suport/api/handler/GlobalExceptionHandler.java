@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -17,14 +18,23 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import com.suport.api.exceptions.BadRequestException;
+import com.suport.api.exceptions.ConflictException;
+import com.suport.api.exceptions.PreconditionFailedException;
+import com.suport.api.exceptions.ServiceUnavailableException;
 import com.suport.api.exceptions.TokenGenerationException;
 import com.suport.api.exceptions.TokenValidationException;
 import com.suport.api.exceptions.defaultExceptionDetails.ExceptionDetails;
 import com.suport.api.exceptions.details.BadRequestExceptionDetails;
+import com.suport.api.exceptions.details.ConflictExceptionDetails;
+import com.suport.api.exceptions.details.PreconditionFailedExceptionDetails;
+import com.suport.api.exceptions.details.ServiceUnavailableExceptionDetails;
 import com.suport.api.exceptions.details.TokenGenerationExceptionDetails;
 import com.suport.api.exceptions.details.TokenValidationExceptionDetails;
 import com.suport.api.exceptions.details.ValidationExceptionDetails;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
@@ -43,6 +53,60 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         );
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<PreconditionFailedExceptionDetails> handlePreconditionFailedException(PreconditionFailedException exception) {
+        return preconditionFailed(exception);
+    }
+
+    // the row changed between our read and our write (a lost race on If-Match,
+    // or a retried commutative change that kept losing)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<PreconditionFailedExceptionDetails> handleOptimisticLockingFailure(OptimisticLockingFailureException exception) {
+        return preconditionFailed(exception);
+    }
+
+    private ResponseEntity<PreconditionFailedExceptionDetails> preconditionFailed(RuntimeException exception) {
+        return new ResponseEntity<>(
+            PreconditionFailedExceptionDetails.builder()
+                .timestamp(LocalDateTime.now())
+                .title("Precondition Failed - The resource was modified, fetch it again and retry")
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .message(exception.getMessage())
+                .details(exception.getClass().getName())
+                .build(),
+            HttpStatus.PRECONDITION_FAILED
+        );
+    }
+
+    // a valid request that clashes with work already in progress; retry once it is done
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ConflictExceptionDetails> handleConflictException(ConflictException exception) {
+        return new ResponseEntity<>(
+            ConflictExceptionDetails.builder()
+                .timestamp(LocalDateTime.now())
+                .title("Conflict - The request clashes with work in progress, retry later")
+                .status(HttpStatus.CONFLICT.value())
+                .message(exception.getMessage())
+                .details(exception.getClass().getName())
+                .build(),
+            HttpStatus.CONFLICT
+        );
+    }
+
+    // shed load (e.g. the password hashing threads are all taken); the client retries shortly
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ServiceUnavailableExceptionDetails> handleServiceUnavailable(ServiceUnavailableException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(ServiceUnavailableExceptionDetails.builder()
+                .timestamp(LocalDateTime.now())
+                .title("Service Unavailable - Too busy, retry shortly")
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message(exception.getMessage())
+                .details(exception.getClass().getName())
+                .build());
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
         MethodArgumentNotValidException exception,
@@ -72,6 +136,31 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         );
     }
 
+    // a merged PATCH document is validated in the service, after the request was bound
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ValidationExceptionDetails> handleConstraintViolation(ConstraintViolationException exception) {
+        List<ConstraintViolation<?>> violations = List.copyOf(exception.getConstraintViolations());
+        String fieldsMessage = violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .collect(Collectors.joining(","));
+        String fields = violations.stream()
+            .map(violation -> violation.getPropertyPath().toString())
+            .collect(Collectors.joining(","));
+
+        return new ResponseEntity<>(
+            ValidationExceptionDetails.builder()
+                .timestamp(LocalDateTime.now())
+                .title("Field validation error - Check the documentation")
+                .status(HttpStatus.BAD_REQUEST.value())
+                .details(exception.getClass().getName())
+                .fields(fields)
+                .fieldsMessage(fieldsMessage)
+                .message(exception.getMessage())
+                .build(),
+            HttpStatus.BAD_REQUEST
+        );
+    }
+
     @Override
     protected ResponseEntity<Object> handleExceptionInternal(
         Exception exception,
@@ -1,6 +1,7 @@
 package com.suport.api.mappers;
 
 import com.suport.api.domain.Address;
+import com.suport.api.dtos.request.AddressRequestDTO;
 import com.suport.api.dtos.response.AddressResponseDTO;
 
 public class AddressMapper {
@@ -14,4 +15,33 @@ public class AddressMapper {
         address.getCity()
     );
     }
+
+    public static AddressRequestDTO toRequestDTO(Address address){
+        return new AddressRequestDTO(
+        address.getStreet(),
+        address.getNumber(),
+        address.getState(),
+        address.getCity(),
+        address.getPostalCode(),
+        address.getComplement(),
+        address.getDistrict()
+    );
+    }
+
+    public static Address toEntity(AddressRequestDTO dto){
+        Address address = new Address();
+        copyInto(dto, address);
+        return address;
+    }
+
+    // writes every field; an unchanged value leaves the column out of a dynamic update
+    public static void copyInto(AddressRequestDTO dto, Address address){
+        address.setStreet(dto.street());
+        address.setNumber(dto.number());
+        address.setState(dto.state());
+        address.setCity(dto.city());
+        address.setPostalCode(dto.postalCode());
+        address.setComplement(dto.complement());
+        address.setDistrict(dto.district());
+    }
 }
@@ -1,6 +1,9 @@
 package com.suport.api.mappers;
 
 import com.suport.api.domain.Client;
+import com.suport.api.dtos.request.AddressRequestDTO;
+import com.suport.api.dtos.request.ClientRequestCreateDTO;
+import com.suport.api.dtos.request.ClientRequestUpdateDTO;
 import com.suport.api.dtos.response.AddressResponseDTO;
 import com.suport.api.dtos.response.ClientResponseDTO;
 
@@ -20,9 +23,49 @@ public class ClientMapper {
             client.getTaxId(),
             client.getPhone(),
             addressResponseDTO,
-            client.getType()
+            client.getType(),
+            client.getVersion()
         );
     }
 
-   
+    public static ClientRequestUpdateDTO toRequestUpdateDTO(Client client) {
+        AddressRequestDTO addressRequestDTO = client.getAddress() != null
+            ? AddressMapper.toRequestDTO(client.getAddress())
+            : null;
+
+        return new ClientRequestUpdateDTO(
+            client.getName(),
+            client.getEmail(),
+            client.getTaxId(),
+            client.getPhone(),
+            addressRequestDTO,
+            client.getType(),
+            null,
+            null
+        );
+    }
+
+    public static Client toEntity(ClientRequestCreateDTO dto) {
+        Client client = new Client();
+        client.setName(dto.name());
+        client.setEmail(dto.email());
+        client.setTaxId(dto.taxId());
+        client.setPhone(dto.phone());
+        client.setType(dto.type());
+
+        if (dto.address() != null) {
+            client.setAddress(AddressMapper.toEntity(dto.address()));
+        }
+        return client;
+    }
+
+    // the address is left to the caller, which decides between replacing and patching it
+    public static void copyInto(ClientRequestUpdateDTO dto, Client client) {
+        client.setName(dto.name());
+        client.setEmail(dto.email());
+        client.setTaxId(dto.taxId());
+        client.setPhone(dto.phone());
+        client.setType(dto.type());
+    }
+
 }
@@ -5,7 +5,9 @@ import java.util.stream.Collectors;
 
 import com.suport.api.domain.Task;
 import com.suport.api.domain.Technician;
+import com.suport.api.dtos.request.TaskRequestCreateDTO;
 import com.suport.api.dtos.response.TaskResponseDTO;
+import com.suport.api.repository.projection.TaskRow;
 
 public class TaskMapper {
 
@@ -25,10 +27,50 @@ public class TaskMapper {
             task.getStatus(),
             task.getPriority(),
             clientId,
-            technicianIds
-        
+            technicianIds,
+            task.getVersion()
         );
         
     }
 
+    public static TaskResponseDTO toResponseDTO(TaskRow row, Set<Long> technicianIds) {
+        return new TaskResponseDTO(
+            row.id(),
+            row.title(),
+            row.description(),
+            row.status(),
+            row.priority(),
+            row.clientId(),
+            technicianIds,
+            row.version()
+        );
+    }
+
+    public static TaskRequestCreateDTO toRequestDTO(Task task) {
+        return new TaskRequestCreateDTO(
+            task.getTitle(),
+            task.getDescription(),
+            task.getStatus(),
+            task.getPriority(),
+            task.getClient() != null ? task.getClient().getId() : null,
+            task.getTechnicians().stream()
+                .map(Technician::getId)
+                .collect(Collectors.toSet())
+        );
+    }
+
+    // client and technicians are resolved by the service, which owns the lookups
+    public static Task toEntity(TaskRequestCreateDTO dto) {
+        Task task = new Task();
+        copyInto(dto, task);
+        return task;
+    }
+
+    public static void copyInto(TaskRequestCreateDTO dto, Task task) {
+        task.setTitle(dto.title());
+        task.setDescription(dto.description());
+        task.setStatus(dto.status());
+        task.setPriority(dto.priority());
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.suport.api.mappers;
 
 import com.suport.api.domain.Technician;
+import com.suport.api.dtos.request.TechnicianRequestDTO;
 import com.suport.api.dtos.response.TechnicianResponseDTO;
 
 public class TechnicianMapper {
@@ -8,9 +9,28 @@ public class TechnicianMapper {
     public static TechnicianResponseDTO toResponseDTO(Technician technician){
       return  new  TechnicianResponseDTO(
             technician.getId(),
+            technician.getName(),
+            technician.getPhone(),
+            technician.getVersion()
+      );
+    }
+
+    public static TechnicianRequestDTO toRequestDTO(Technician technician){
+      return new TechnicianRequestDTO(
             technician.getName(),
             technician.getPhone()
       );
     }
 
+    public static Technician toEntity(TechnicianRequestDTO dto){
+      Technician technician = new Technician();
+      copyInto(dto, technician);
+      return technician;
+    }
+
+    public static void copyInto(TechnicianRequestDTO dto, Technician technician){
+      technician.setName(dto.name());
+      technician.setPhone(dto.phone());
+    }
+
 }
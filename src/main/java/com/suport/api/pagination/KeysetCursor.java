@@ -0,0 +1,147 @@
+package com.suport.api.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Limit;
+
+import com.suport.api.dtos.response.CursorPageResponseDTO;
+import com.suport.api.exceptions.BadRequestException;
+
+/**
+ * Keyset (seek) pagination helpers shared by the list endpoints.
+ * The cursor is the Base64 encoded ID of the last row of a page, so the next
+ * page is read with {@code WHERE id > :lastId ORDER BY id LIMIT :n} over the
+ * primary key index instead of an OFFSET scan. Pages sorted by a timestamp
+ * carry the timestamp too, see {@link Position}.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private static final char SEPARATOR = '|';
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Last row of a page sorted by a timestamp: the timestamp and the ID that
+     * breaks ties between rows with the same timestamp. {@code value} is null
+     * when the cursor came from a page sorted by ID.
+     */
+    public record Position(LocalDateTime value, long id) {
+    }
+
+    public static String encode(Long id) {
+        return encodePayload(String.valueOf(id));
+    }
+
+    public static String encode(LocalDateTime value, Long id) {
+        return encodePayload(value.toString() + SEPARATOR + id);
+    }
+
+    /**
+     * Returns the last seen ID carried by the cursor, or 0 for the first page.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return parseId(decodePayload(cursor), cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Returns the position carried by the cursor, or null for the first page.
+     */
+    public static Position decodePosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = decodePayload(cursor);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return new Position(null, parseId(raw, cursor));
+            }
+            return new Position(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                parseId(raw.substring(separator + 1), cursor));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static String encodePayload(String raw) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodePayload(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    private static long parseId(String raw, String cursor) {
+        long id = Long.parseLong(raw);
+        if (id < 0) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+        return id;
+    }
+
+    public static int boundedLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be greater than zero");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * One extra row is fetched so we know whether a next page exists
+     * without running a COUNT query.
+     */
+    public static Limit probe(int limit) {
+        return Limit.of(limit + 1);
+    }
+
+    public static <E, R> CursorPageResponseDTO<R> toPage(
+        List<E> rows,
+        int limit,
+        Function<E, Long> idOf,
+        Function<E, R> mapper) {
+
+        return toPageWithCursor(rows, limit, row -> encode(idOf.apply(row)), mapper);
+    }
+
+    /**
+     * Same as {@link #toPage} for pages whose cursor is more than the row ID.
+     */
+    public static <E, R> CursorPageResponseDTO<R> toPageWithCursor(
+        List<E> rows,
+        int limit,
+        Function<E, String> cursorOf,
+        Function<E, R> mapper) {
+
+        boolean hasNext = rows.size() > limit;
+        List<E> pageRows = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+
+        return new CursorPageResponseDTO<>(
+            pageRows.stream().map(mapper).toList(),
+            nextCursor,
+            hasNext
+        );
+    }
+}
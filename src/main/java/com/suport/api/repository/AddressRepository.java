@@ -1,10 +1,30 @@
 package com.suport.api.repository;
 
 import com.suport.api.domain.Address;
+import com.suport.api.dtos.response.AddressResponseDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface AddressRepository extends JpaRepository<Address,Long> {
+public interface AddressRepository extends JpaRepository<Address,Long>, AddressRepositoryCustom {
+
+    @Query("""
+        select new com.suport.api.dtos.response.AddressResponseDTO(a.id, a.street, a.number, a.state, a.city)
+        from Address a where a.id > :id order by a.id
+        """)
+    List<AddressResponseDTO> findResponsesByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    @Query("""
+        select new com.suport.api.dtos.response.AddressResponseDTO(a.id, a.street, a.number, a.state, a.city)
+        from Address a where a.id = :id
+        """)
+    Optional<AddressResponseDTO> findResponseById(@Param("id") Long id);
 
 }
@@ -0,0 +1,11 @@
+package com.suport.api.repository;
+
+public interface AddressRepositoryCustom {
+
+    // deletes up to batchSize address rows a client dropped and no client
+    // points at, lowest ids first, in one transaction; returns how many went.
+    // Unreferenced rows with an id up to unstampedMaxId go too, stamped or not
+    // (0 keeps every unstamped row)
+    int deleteSuperseded(int batchSize, long unstampedMaxId);
+
+}
@@ -0,0 +1,44 @@
+package com.suport.api.repository;
+
+import java.util.List;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.suport.api.domain.Address;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class AddressRepositoryCustomImpl implements AddressRepositoryCustom {
+
+    // unstamped rows up to :unstampedMaxId are the orphans left before client updates stamped them
+    private static final String SUPERSEDED =
+        "(a.superseded_at is not null or a.id <= :unstampedMaxId)"
+            + " and not exists (select 1 from clients c where c.address_id = a.id)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int deleteSuperseded(int batchSize, long unstampedMaxId) {
+        List<?> ids = entityManager.createNativeQuery(
+                "select a.id from address a where " + SUPERSEDED + " order by a.id limit :batchSize")
+                .setParameter("batchSize", batchSize)
+                .setParameter("unstampedMaxId", unstampedMaxId)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // the check is repeated on delete: a client may have taken one of the rows since the select
+        return entityManager.createNativeQuery(
+                "delete from address a where a.id in (:ids) and " + SUPERSEDED)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Address.class)
+                .setParameter("ids", ids.stream().map(id -> ((Number) id).longValue()).toList())
+                .setParameter("unstampedMaxId", unstampedMaxId)
+                .executeUpdate();
+    }
+}
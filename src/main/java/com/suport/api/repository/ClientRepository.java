@@ -1,11 +1,58 @@
 package com.suport.api.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.suport.api.domain.Client;
+import com.suport.api.dtos.response.ClientResponseDTO;
+import com.suport.api.repository.projection.ClientSuggestRow;
 
 @Repository
-public interface ClientRepository extends JpaRepository<Client,Long> {
+public interface ClientRepository extends JpaRepository<Client,Long>, ClientRepositoryCustom {
+
+    @Query("""
+        select new com.suport.api.dtos.response.ClientResponseDTO(
+            c.id, c.name, c.email, c.taxId, c.phone, a.id, a.street, a.number, a.state, a.city, c.type, c.version)
+        from Client c left join c.address a where c.id > :id and c.deletedAt is null order by c.id
+        """)
+    List<ClientResponseDTO> findResponsesByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    @Query("""
+        select new com.suport.api.dtos.response.ClientResponseDTO(
+            c.id, c.name, c.email, c.taxId, c.phone, a.id, a.street, a.number, a.state, a.city, c.type, c.version)
+        from Client c left join c.address a where c.id = :id and c.deletedAt is null
+        """)
+    Optional<ClientResponseDTO> findResponseById(@Param("id") Long id);
+
+    // one bulk update instead of loading the client and its tasks; bumping the
+    // version makes concurrent updates of the client fail with 412
+    @Modifying
+    @Transactional
+    @Query("""
+        update Client c set c.deletedAt = :deletedAt, c.version = c.version + 1
+        where c.id = :id and c.deletedAt is null
+        """)
+    int softDeleteById(@Param("id") Long id, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Query("select c.id from Client c where c.deletedAt is not null order by c.deletedAt, c.id")
+    List<Long> findDeletedIds(Limit limit);
+
+    boolean existsByIdAndDeletedAtIsNull(Long id);
+
+    // read a batch at a time when the type-ahead index is loaded
+    @Query("""
+        select new com.suport.api.repository.projection.ClientSuggestRow(c.id, c.name, c.email, c.taxId, c.version)
+        from Client c where c.id > :id and c.deletedAt is null order by c.id
+        """)
+    List<ClientSuggestRow> findSuggestRowsByIdGreaterThan(@Param("id") Long id, Limit limit);
 
 }
@@ -0,0 +1,18 @@
+package com.suport.api.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.suport.api.domain.Client;
+
+public interface ClientRepositoryCustom {
+
+    // findAllById always runs a query; this serves cached clients from the
+    // second-level cache and loads only the misses, in one statement
+    List<Client> loadAllById(Collection<Long> ids);
+
+    // deletes a soft-deleted client and its address once its tasks are gone;
+    // false when the client does not exist or was not deleted
+    boolean purgeDeleted(Long clientId);
+
+}
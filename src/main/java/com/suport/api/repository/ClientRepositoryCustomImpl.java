@@ -0,0 +1,63 @@
+package com.suport.api.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.suport.api.domain.Address;
+import com.suport.api.domain.Client;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class ClientRepositoryCustomImpl implements ClientRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Client> loadAllById(Collection<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Client.class)
+                .with(CacheMode.NORMAL)
+                .enableOrderedReturn(false)
+                .multiLoad(List.copyOf(ids))
+                .stream()
+                // missing ids come back as null entries, callers only see what exists
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public boolean purgeDeleted(Long clientId) {
+        List<?> addressIds = entityManager.createNativeQuery(
+                "select address_id from clients where id = :id and deleted_at is not null")
+                .setParameter("id", clientId)
+                .getResultList();
+        if (addressIds.isEmpty()) {
+            return false;
+        }
+
+        // the client references the address, so it goes first
+        entityManager.createNativeQuery("delete from clients where id = :id")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Client.class)
+                .setParameter("id", clientId)
+                .executeUpdate();
+        if (addressIds.get(0) != null) {
+            entityManager.createNativeQuery("delete from address where id = :id")
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedEntityClass(Address.class)
+                    .setParameter("id", ((Number) addressIds.get(0)).longValue())
+                    .executeUpdate();
+        }
+        return true;
+    }
+}
@@ -1,13 +1,106 @@
 package com.suport.api.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.suport.api.domain.Task;
+import com.suport.api.repository.projection.TaskCountRow;
+import com.suport.api.repository.projection.TaskRow;
+import com.suport.api.repository.projection.TaskTechnicianRow;
+import com.suport.api.repository.projection.TaskTextRow;
+import com.suport.api.repository.projection.TechnicianTaskCountRow;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task,Long>{
+public interface TaskRepository extends JpaRepository<Task,Long>, TaskRepositoryCustom {
+
+    // Reads project straight into rows: the scalar columns of the task(s) first,
+    // then their technician ids from the join table. Nothing is hydrated into
+    // the persistence context on GET requests; list reads go through findRows.
+    @Query("""
+        select new com.suport.api.repository.projection.TaskRow(
+            t.id, t.title, t.description, t.status, t.priority, t.client.id, t.version, t.createdAt)
+        from Task t where t.id = :id
+        """)
+    Optional<TaskRow> findRowById(@Param("id") Long id);
+
+    @Query("""
+        select new com.suport.api.repository.projection.TaskTechnicianRow(t.id, tech.id)
+        from Task t join t.technicians tech where t.id in :ids
+        """)
+    List<TaskTechnicianRow> findTechnicianRowsByTaskIdIn(@Param("ids") Collection<Long> ids);
+
+    // search hits come back from the index as ids, in rank order
+    @Query("""
+        select new com.suport.api.repository.projection.TaskRow(
+            t.id, t.title, t.description, t.status, t.priority, t.client.id, t.version, t.createdAt)
+        from Task t where t.id in :ids
+        """)
+    List<TaskRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // one id range of a search index rebuild, read a batch at a time
+    @Query("""
+        select new com.suport.api.repository.projection.TaskTextRow(t.id, t.title, t.description)
+        from Task t where t.id > :after and t.id <= :upTo order by t.id
+        """)
+    List<TaskTextRow> findTextRows(@Param("after") long after, @Param("upTo") long upTo, Limit limit);
+
+    @Query("select coalesce(max(t.id), 0) from Task t")
+    long findMaxId();
+
+    // recounts behind the task statistics, hot and archived tasks together; one
+    // statement each, so a task archived while it runs is counted exactly once.
+    // A few rows per client, never one per task
+    @Query("""
+        select new com.suport.api.repository.projection.TaskCountRow(t.status, t.priority, t.clientId, count(*))
+        from (
+            select h.status as status, h.priority as priority, h.client.id as clientId from Task h
+            union all
+            select a.status as status, a.priority as priority, a.client.id as clientId from ArchivedTask a
+        ) t
+        group by t.status, t.priority, t.clientId
+        """)
+    List<TaskCountRow> countByStatusPriorityAndClient();
+
+    @Query("""
+        select new com.suport.api.repository.projection.TechnicianTaskCountRow(t.technicianId, count(*))
+        from (
+            select tech.id as technicianId from Task h join h.technicians tech
+            union all
+            select tech.id as technicianId from ArchivedTask a join a.technicians tech
+        ) t
+        group by t.technicianId
+        """)
+    List<TechnicianTaskCountRow> countByTechnician();
+
+    // archived tasks are read-only and read only when explicitly asked for
+    @Query("""
+        select new com.suport.api.repository.projection.TaskRow(
+            t.id, t.title, t.description, t.status, t.priority, t.client.id, t.version, t.createdAt)
+        from ArchivedTask t where t.id = :id
+        """)
+    Optional<TaskRow> findArchivedRowById(@Param("id") Long id);
+
+    @Query("""
+        select new com.suport.api.repository.projection.TaskTechnicianRow(t.id, tech.id)
+        from ArchivedTask t join t.technicians tech where t.id in :ids
+        """)
+    List<TaskTechnicianRow> findArchivedTechnicianRowsByTaskIdIn(@Param("ids") Collection<Long> ids);
+
+    long countByClientId(Long clientId);
+
+    @Query("select count(t) from ArchivedTask t where t.client.id = :clientId")
+    long countArchivedByClientId(@Param("clientId") Long clientId);
 
-    
+    // loads the entity for write paths, where the technicians are replaced
+    @EntityGraph(attributePaths = "technicians")
+    Optional<Task> findWithTechniciansById(Long id);
 
 }
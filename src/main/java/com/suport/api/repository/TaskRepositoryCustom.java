@@ -0,0 +1,32 @@
+package com.suport.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+
+import com.suport.api.pagination.KeysetCursor;
+import com.suport.api.repository.filter.TaskFilter;
+import com.suport.api.repository.filter.TaskSort;
+import com.suport.api.repository.projection.TaskRow;
+
+public interface TaskRepositoryCustom {
+
+    // the WHERE clause depends on which filters are set, so it is built with the
+    // criteria API; rows after the given position (null for the first page)
+    List<TaskRow> findRows(TaskFilter filter, TaskSort sort, KeysetCursor.Position after, Limit limit);
+
+    // the same query over tasks_archive
+    List<TaskRow> findArchivedRows(TaskFilter filter, TaskSort sort, KeysetCursor.Position after, Limit limit);
+
+    // moves up to batchSize tasks closed before the cutoff, oldest first, together
+    // with their task_technicians rows into the archive tables in one transaction;
+    // returns the ids moved, so callers repeat while batchSize of them come back
+    List<Long> archiveClosedBefore(LocalDateTime cutoff, int batchSize, LocalDateTime archivedAt);
+
+    // deletes up to chunkSize tasks of a soft-deleted client with their join
+    // rows, hot tasks first and archived ones once none are left; returns their
+    // ids, always none for a client that is not deleted
+    List<Long> deleteChunkOfDeletedClient(Long clientId, int chunkSize);
+
+}
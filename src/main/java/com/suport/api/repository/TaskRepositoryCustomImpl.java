@@ -0,0 +1,189 @@
+package com.suport.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.suport.api.domain.ArchivedTask;
+import com.suport.api.domain.Task;
+import com.suport.api.pagination.KeysetCursor;
+import com.suport.api.repository.filter.TaskFilter;
+import com.suport.api.repository.filter.TaskSort;
+import com.suport.api.repository.projection.TaskRow;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final String TASK_TECHNICIANS_ROLE = Task.class.getName() + ".technicians";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskRow> findRows(TaskFilter filter, TaskSort sort, KeysetCursor.Position after, Limit limit) {
+        return findRows(Task.class, filter, sort, after, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskRow> findArchivedRows(TaskFilter filter, TaskSort sort, KeysetCursor.Position after, Limit limit) {
+        return findRows(ArchivedTask.class, filter, sort, after, limit);
+    }
+
+    @Override
+    @Transactional
+    public List<Long> archiveClosedBefore(LocalDateTime cutoff, int batchSize, LocalDateTime archivedAt) {
+        entityManager.flush();
+        // the rows stay locked until the batch commits, so a task reopened in the
+        // meantime waits and then fails its version check instead of being lost
+        List<?> selected = entityManager.createNativeQuery(
+                "select id from tasks where closed_at < :cutoff order by closed_at, id limit :batchSize for update")
+                .setParameter("cutoff", cutoff)
+                .setParameter("batchSize", batchSize)
+                .getResultList();
+        List<Long> ids = selected.stream().map(id -> ((Number) id).longValue()).toList();
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        nativeUpdate("""
+            insert into tasks_archive
+                (id, client_id, created_at, updated_at, closed_at, archived_at, description, priority, status, title, version)
+            select id, client_id, created_at, updated_at, closed_at, :archivedAt, description, priority, status, title, version
+            from tasks where id in (:ids)
+            """, "tasks_archive", ids).setParameter("archivedAt", archivedAt).executeUpdate();
+        nativeUpdate("""
+            insert into task_technicians_archive (task_id, technician_id)
+            select task_id, technician_id from task_technicians where task_id in (:ids)
+            """, "task_technicians_archive", ids).executeUpdate();
+        nativeUpdate("delete from task_technicians where task_id in (:ids)", "task_technicians", ids).executeUpdate();
+        nativeUpdate("delete from tasks where id in (:ids)", "tasks", ids).executeUpdate();
+
+        entityManager.clear();
+        org.hibernate.Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(org.hibernate.Cache.class);
+        ids.forEach(id -> cache.evictCollectionData(TASK_TECHNICIANS_ROLE, id));
+        return ids;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> deleteChunkOfDeletedClient(Long clientId, int chunkSize) {
+        List<Long> deleted = deleteChunkOfDeletedClient("tasks", "task_technicians", clientId, chunkSize);
+        return !deleted.isEmpty() ? deleted : deleteChunkOfDeletedClient("tasks_archive", "task_technicians_archive", clientId, chunkSize);
+    }
+
+    private List<Long> deleteChunkOfDeletedClient(String taskTable, String joinTable, Long clientId, int chunkSize) {
+        List<?> selected = entityManager.createNativeQuery(
+                "select id from " + taskTable + " where client_id = :clientId"
+                    + " and exists (select 1 from clients where id = :clientId and deleted_at is not null)"
+                    + " order by id limit :chunkSize")
+                .setParameter("clientId", clientId)
+                .setParameter("chunkSize", chunkSize)
+                .getResultList();
+        List<Long> ids = selected.stream().map(id -> ((Number) id).longValue()).toList();
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        nativeUpdate("delete from " + joinTable + " where task_id in (:ids)", joinTable, ids).executeUpdate();
+        nativeUpdate("delete from " + taskTable + " where id in (:ids)", taskTable, ids).executeUpdate();
+
+        org.hibernate.Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(org.hibernate.Cache.class);
+        ids.forEach(id -> cache.evictCollectionData(TASK_TECHNICIANS_ROLE, id));
+        return ids;
+    }
+
+    // each statement names the one table it touches, so Hibernate invalidates
+    // that space only instead of wiping every cache region
+    private NativeQuery<?> nativeUpdate(String sql, String querySpace, List<Long> ids) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(querySpace)
+                .setParameter("ids", ids);
+    }
+
+    // Task and ArchivedTask share attribute names, so one query serves both tables
+    private List<TaskRow> findRows(Class<?> entity, TaskFilter filter, TaskSort sort, KeysetCursor.Position after, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskRow> query = cb.createQuery(TaskRow.class);
+        Root<?> task = query.from(entity);
+
+        query.select(cb.construct(TaskRow.class,
+            task.get("id"), task.get("title"), task.get("description"),
+            task.get("status"), task.get("priority"), task.get("client").get("id"), task.get("version"), task.get("createdAt")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.status() != null) {
+            predicates.add(cb.equal(task.get("status"), filter.status()));
+        }
+        if (filter.priority() != null) {
+            predicates.add(cb.equal(task.get("priority"), filter.priority()));
+        }
+        if (filter.clientId() != null) {
+            predicates.add(cb.equal(task.get("client").get("id"), filter.clientId()));
+        }
+        if (filter.technicianId() != null) {
+            // exists instead of a join, so a task is never repeated in the page
+            Subquery<Long> assigned = query.subquery(Long.class);
+            Root<?> assignedTask = assigned.from(entity);
+            Join<?, ?> technician = assignedTask.join("technicians");
+            assigned.select(assignedTask.get("id")).where(
+                cb.equal(assignedTask.get("id"), task.get("id")),
+                cb.equal(technician.get("id"), filter.technicianId()));
+            predicates.add(cb.exists(assigned));
+        }
+        if (filter.createdFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(task.get("createdAt"), filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            predicates.add(cb.lessThan(task.get("createdAt"), filter.createdTo()));
+        }
+        if (after != null) {
+            predicates.add(seek(cb, task, sort, after));
+        }
+
+        Path<Long> id = task.get("id");
+        if (sort.field() == TaskSort.Field.ID) {
+            query.orderBy(sort.descending() ? cb.desc(id) : cb.asc(id));
+        } else {
+            Path<LocalDateTime> value = task.get(sort.field().attribute());
+            query.orderBy(
+                sort.descending() ? cb.desc(value) : cb.asc(value),
+                sort.descending() ? cb.desc(id) : cb.asc(id));
+        }
+
+        return entityManager.createQuery(query.where(predicates.toArray(Predicate[]::new)))
+                .setMaxResults(limit.max())
+                .getResultList();
+    }
+
+    // (value, id) > (lastValue, lastId) written out, since row value comparison
+    // is not part of the criteria API
+    private static Predicate seek(CriteriaBuilder cb, Root<?> task, TaskSort sort, KeysetCursor.Position after) {
+        Path<Long> id = task.get("id");
+        Predicate idAfter = sort.descending() ? cb.lessThan(id, after.id()) : cb.greaterThan(id, after.id());
+        if (sort.field() == TaskSort.Field.ID) {
+            return idAfter;
+        }
+
+        Path<LocalDateTime> value = task.get(sort.field().attribute());
+        Predicate valueAfter = sort.descending()
+            ? cb.lessThan(value, after.value())
+            : cb.greaterThan(value, after.value());
+        return cb.or(valueAfter, cb.and(cb.equal(value, after.value()), idAfter));
+    }
+}
@@ -1,11 +1,30 @@
 package com.suport.api.repository;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.suport.api.domain.Technician;
+import com.suport.api.dtos.response.TechnicianResponseDTO;
 
 @Repository
-public interface TechnicianRepository  extends JpaRepository<Technician,Long> {
+public interface TechnicianRepository  extends JpaRepository<Technician,Long>, TechnicianRepositoryCustom {
+
+    @Query("""
+        select new com.suport.api.dtos.response.TechnicianResponseDTO(t.id, t.name, t.phone, t.version)
+        from Technician t where t.id > :id order by t.id
+        """)
+    List<TechnicianResponseDTO> findResponsesByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    @Query("""
+        select new com.suport.api.dtos.response.TechnicianResponseDTO(t.id, t.name, t.phone, t.version)
+        from Technician t where t.id = :id
+        """)
+    Optional<TechnicianResponseDTO> findResponseById(@Param("id") Long id);
 
 }
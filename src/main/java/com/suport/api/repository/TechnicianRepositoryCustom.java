@@ -0,0 +1,19 @@
+package com.suport.api.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.suport.api.domain.Technician;
+
+public interface TechnicianRepositoryCustom {
+
+    // findAllById always runs a query; this serves cached technicians from the
+    // second-level cache and loads only the misses, in one statement
+    List<Technician> loadAllById(Collection<Long> ids);
+
+    // task_technicians is owned by Task, so JPQL cannot reach it; one native
+    // delete removes every join row regardless of how many tasks reference it,
+    // and a second one the rows of archived tasks
+    int detachFromAllTasks(Long technicianId);
+
+}
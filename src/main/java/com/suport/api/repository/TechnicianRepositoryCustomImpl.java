@@ -0,0 +1,60 @@
+package com.suport.api.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.suport.api.domain.Task;
+import com.suport.api.domain.Technician;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class TechnicianRepositoryCustomImpl implements TechnicianRepositoryCustom {
+
+    private static final String TASK_TECHNICIANS_ROLE = Task.class.getName() + ".technicians";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Technician> loadAllById(Collection<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Technician.class)
+                .with(CacheMode.NORMAL)
+                .enableOrderedReturn(false)
+                .multiLoad(List.copyOf(ids))
+                .stream()
+                // missing ids come back as null entries, callers only see what exists
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public int detachFromAllTasks(Long technicianId) {
+        entityManager.flush();
+        // a native statement without query spaces makes Hibernate wipe every cache
+        // region; the join table belongs to no entity, so the synchronized space
+        // matches nothing and only the collection region is evicted below
+        int detached = detach("task_technicians", technicianId) + detach("task_technicians_archive", technicianId);
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().unwrap(org.hibernate.Cache.class)
+                .evictCollectionData(TASK_TECHNICIANS_ROLE);
+        return detached;
+    }
+
+    private int detach(String joinTable, Long technicianId) {
+        return entityManager.createNativeQuery("delete from " + joinTable + " where technician_id = :technicianId")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(joinTable)
+                .setParameter("technicianId", technicianId)
+                .executeUpdate();
+    }
+}
@@ -1,12 +1,32 @@
 package com.suport.api.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.suport.api.domain.UserModel;
+import com.suport.api.repository.projection.TokenVersionRow;
 
 public interface UserModelRepository extends JpaRepository<UserModel,Long> {
    Optional<UserDetails> findByLogin(String login);
+
+   // a bulk update, so two concurrent revocations both count
+   @Modifying
+   @Query("update UserModel u set u.tokenVersion = u.tokenVersion + 1 where u.login = :login")
+   int incrementTokenVersion(@Param("login") String login);
+
+   @Query("select u.tokenVersion from UserModel u where u.login = :login")
+   Optional<Long> findTokenVersionByLogin(@Param("login") String login);
+
+   // only users that ever had their tokens revoked; everyone else is at version 0
+   @Query("""
+       select new com.suport.api.repository.projection.TokenVersionRow(u.login, u.tokenVersion)
+       from UserModel u where u.tokenVersion > 0
+       """)
+   List<TokenVersionRow> findRevokedTokenVersions();
 }
@@ -0,0 +1,23 @@
+package com.suport.api.repository.filter;
+
+import java.time.LocalDateTime;
+
+import com.suport.api.enums.TaskPriority;
+import com.suport.api.enums.TaskStatus;
+
+/**
+ * Optional criteria of a task search; {@code null} fields are not applied.
+ * The creation range is half-open: {@code createdFrom <= createdAt < createdTo}.
+ */
+public record TaskFilter(
+    TaskStatus status,
+    TaskPriority priority,
+    Long clientId,
+    Long technicianId,
+    LocalDateTime createdFrom,
+    LocalDateTime createdTo
+) {
+
+    public static final TaskFilter NONE = new TaskFilter(null, null, null, null, null, null);
+
+}
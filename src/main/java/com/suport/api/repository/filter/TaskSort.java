@@ -0,0 +1,53 @@
+package com.suport.api.repository.filter;
+
+import java.util.Locale;
+
+import com.suport.api.exceptions.BadRequestException;
+
+/**
+ * Order of a task search. The ID is always the last sort key, so rows with the
+ * same creation time still have a stable order to seek from.
+ */
+public record TaskSort(Field field, boolean descending) {
+
+    public static final TaskSort DEFAULT = new TaskSort(Field.ID, false);
+
+    public enum Field {
+        ID("id"),
+        CREATED_AT("createdAt");
+
+        private final String attribute;
+
+        Field(String attribute) {
+            this.attribute = attribute;
+        }
+
+        public String attribute() {
+            return attribute;
+        }
+    }
+
+    public static TaskSort of(String field, String direction) {
+        Field sortField = Field.ID;
+        if (field != null && !field.isBlank()) {
+            sortField = null;
+            for (Field candidate : Field.values()) {
+                if (candidate.attribute.equalsIgnoreCase(field)) {
+                    sortField = candidate;
+                }
+            }
+            if (sortField == null) {
+                throw new BadRequestException("Invalid sort: " + field + ". Valid values: id, createdAt");
+            }
+        }
+
+        if (direction == null || direction.isBlank()) {
+            return new TaskSort(sortField, false);
+        }
+        return switch (direction.toLowerCase(Locale.ROOT)) {
+            case "asc" -> new TaskSort(sortField, false);
+            case "desc" -> new TaskSort(sortField, true);
+            default -> throw new BadRequestException("Invalid direction: " + direction + ". Valid values: asc, desc");
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.suport.api.repository.projection;
+
+/**
+ * The columns of a live client the type-ahead index is built from; the
+ * version lets the index ignore a row older than what it already holds.
+ */
+public record ClientSuggestRow(
+    Long id,
+    String name,
+    String email,
+    String taxId,
+    Long version
+) {}
@@ -0,0 +1,14 @@
+package com.suport.api.repository.projection;
+
+import com.suport.api.enums.TaskPriority;
+import com.suport.api.enums.TaskStatus;
+
+/**
+ * How many tasks share one status, priority and client.
+ */
+public record TaskCountRow(
+    TaskStatus status,
+    TaskPriority priority,
+    Long clientId,
+    Long count
+) {}
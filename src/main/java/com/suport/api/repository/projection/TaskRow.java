@@ -0,0 +1,22 @@
+package com.suport.api.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.suport.api.enums.TaskPriority;
+import com.suport.api.enums.TaskStatus;
+
+/**
+ * Scalar columns of a task, read with a constructor expression so list and
+ * detail reads never hydrate a managed {@code Task}. {@code createdAt} is not
+ * part of the response; it is the seek key of pages sorted by creation time.
+ */
+public record TaskRow(
+    Long id,
+    String title,
+    String description,
+    TaskStatus status,
+    TaskPriority priority,
+    Long clientId,
+    Long version,
+    LocalDateTime createdAt
+) {}
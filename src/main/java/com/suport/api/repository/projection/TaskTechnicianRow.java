@@ -0,0 +1,9 @@
+package com.suport.api.repository.projection;
+
+/**
+ * One row of the task_technicians join table.
+ */
+public record TaskTechnicianRow(
+    Long taskId,
+    Long technicianId
+) {}
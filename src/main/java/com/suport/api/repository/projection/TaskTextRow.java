@@ -0,0 +1,10 @@
+package com.suport.api.repository.projection;
+
+/**
+ * The searchable text of a task, all a full-text index rebuild needs to read.
+ */
+public record TaskTextRow(
+    Long id,
+    String title,
+    String description
+) {}
@@ -0,0 +1,9 @@
+package com.suport.api.repository.projection;
+
+/**
+ * How many tasks one technician is assigned to.
+ */
+public record TechnicianTaskCountRow(
+    Long technicianId,
+    Long count
+) {}
@@ -0,0 +1,9 @@
+package com.suport.api.repository.projection;
+
+/**
+ * The token version a user's bearer tokens must carry to be accepted.
+ */
+public record TokenVersionRow(
+    String login,
+    Long tokenVersion
+) {}
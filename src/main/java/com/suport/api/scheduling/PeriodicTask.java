@@ -0,0 +1,80 @@
+package com.suport.api.scheduling;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a background job on its own daemon thread, {@code interval} after the
+ * previous run ended. A run that throws is logged and the schedule goes on;
+ * an exception escaping a scheduled executor task would cancel every later run.
+ * Jobs that only run when asked, such as a one-off load at startup, are built
+ * with {@link #onDemand} and get the same thread, logging and shutdown.
+ */
+@Slf4j
+public final class PeriodicTask implements AutoCloseable {
+
+    private final String name;
+    private final Duration interval;
+    private final Runnable job;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param name names the thread and the failures in the log
+     */
+    public PeriodicTask(String name, Duration interval, Runnable job) {
+        this.name = name;
+        this.interval = interval;
+        this.job = job;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A job without a schedule, run only through {@link #runSoon()}.
+     */
+    public static PeriodicTask onDemand(String name, Runnable job) {
+        return new PeriodicTask(name, null, job);
+    }
+
+    /**
+     * Schedules the first run after {@code initialDelay} and every later one
+     * {@code interval} after the previous.
+     */
+    public void start(Duration initialDelay) {
+        if (interval == null) {
+            throw new IllegalStateException(name + " has no schedule; run it with runSoon()");
+        }
+        scheduler.scheduleWithFixedDelay(this::run, initialDelay.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues one extra run on the job's thread, outside the schedule.
+     */
+    public void runSoon() {
+        scheduler.execute(this::run);
+    }
+
+    private void run() {
+        try {
+            job.run();
+        } catch (RuntimeException e) {
+            if (interval == null) {
+                log.error("{} failed", name, e);
+            } else {
+                log.error("{} failed; retrying in {}", name, interval, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,80 @@
+package com.suport.api.service;
+
+import com.suport.api.repository.AddressRepository;
+import com.suport.api.scheduling.PeriodicTask;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cleanup of the {@code address} rows clients dropped, stamped with
+ * {@code superseded_at} by {@link ClientService}, once no client points at
+ * them. Addresses created through {@code /addresses} are never stamped and
+ * stay. Neither are the rows client updates orphaned before addresses were
+ * updated in place, and nothing tells them apart from the {@code /addresses}
+ * ones; with {@code unstampedMaxId} above 0, unreferenced rows up to that id
+ * are removed as well, stamped or not. Each batch of at most {@code batchSize}
+ * rows is its own transaction; the run stops at the first batch that comes
+ * back short, so it can be started again safely.
+ */
+@Slf4j
+public class AddressCompactor implements AutoCloseable {
+
+    public static final String COMPACTED = "addresses.compacted";
+
+    private final AddressRepository addressRepository;
+    private final int batchSize;
+    private final long unstampedMaxId;
+    private final Counter compactedCounter;
+    private final PeriodicTask runner;
+
+    public AddressCompactor(AddressRepository addressRepository, int batchSize, long unstampedMaxId, MeterRegistry meterRegistry) {
+        this.addressRepository = addressRepository;
+        this.batchSize = batchSize;
+        this.unstampedMaxId = unstampedMaxId;
+        this.compactedCounter = Counter.builder(COMPACTED)
+            .description("Superseded address rows removed by the compaction")
+            .register(meterRegistry);
+        this.runner = PeriodicTask.onDemand("address-compactor", this::run);
+    }
+
+    // a single run in the background, so the application does not wait for it to start
+    public void start() {
+        runner.runSoon();
+    }
+
+    /**
+     * Deletes every superseded address, and the unreferenced ones up to
+     * {@code unstampedMaxId}, batch by batch, and returns how many were removed.
+     */
+    public int compact() {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = addressRepository.deleteSuperseded(batchSize, unstampedMaxId);
+            compactedCounter.increment(deleted);
+            total += deleted;
+            if (deleted > 0) {
+                log.debug("Address compaction: {} rows removed so far", total);
+            }
+        } while (deleted == batchSize && !Thread.currentThread().isInterrupted());
+
+        log.info("Address compaction removed {} unreferenced rows", total);
+        return total;
+    }
+
+    private void run() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            // nothing retries a one-off run; the batches already committed stay removed
+            log.error("Address compaction failed; restart it to resume", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        runner.close();
+    }
+}
@@ -1,25 +1,30 @@
 package com.suport.api.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.suport.api.domain.Address;
 import com.suport.api.dtos.request.AddressRequestDTO;
 import com.suport.api.dtos.response.AddressResponseDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.exceptions.BadRequestException;
 import com.suport.api.mappers.AddressMapper;
+import com.suport.api.pagination.KeysetCursor;
 import com.suport.api.repository.AddressRepository;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 public class AddressService {
 
     private final AddressRepository addressRepository;
+    private final JsonMergePatch jsonMergePatch;
 
-    public AddressService(AddressRepository addressRepository) {
+    public AddressService(AddressRepository addressRepository, JsonMergePatch jsonMergePatch) {
         this.addressRepository = addressRepository;
+        this.jsonMergePatch = jsonMergePatch;
     }
 
     // =============================
@@ -27,8 +32,7 @@ public class AddressService {
     // =============================
     @Transactional
     public AddressResponseDTO save(AddressRequestDTO dto) {
-        Address address = new Address();
-        BeanUtils.copyProperties(dto, address);
+        Address address = AddressMapper.toEntity(dto);
 
         Address saved = addressRepository.save(address);
         return AddressMapper.createAddressResponseDTO(saved);
@@ -38,11 +42,18 @@ public class AddressService {
     // READ
     // =============================
     @Transactional(readOnly = true)
-    public List<AddressResponseDTO> findAll() {
-        return addressRepository.findAll()
-                .stream()
-                .map(AddressMapper::createAddressResponseDTO)
-                .toList();
+    public CursorPageResponseDTO<AddressResponseDTO> findAll(String after, Integer limit) {
+        int pageSize = KeysetCursor.boundedLimit(limit);
+        List<AddressResponseDTO> rows = addressRepository.findResponsesByIdGreaterThan(
+            KeysetCursor.decode(after), KeysetCursor.probe(pageSize));
+
+        return KeysetCursor.toPage(rows, pageSize, AddressResponseDTO::id, Function.identity());
+    }
+
+    @Transactional(readOnly = true)
+    public AddressResponseDTO findResponseByIdOrThrowBadRequestException(Long id) {
+        return addressRepository.findResponseById(id)
+                .orElseThrow(() -> new BadRequestException("No address found with the provided ID: " + id));
     }
     
     @Transactional(readOnly = true)
@@ -57,7 +68,19 @@ public class AddressService {
     @Transactional
     public AddressResponseDTO update(AddressRequestDTO dto, Long id) {
         Address address = findByIdOrThrowBadRequestException(id);
-        BeanUtils.copyProperties(dto, address);
+        AddressMapper.copyInto(dto, address);
+
+        Address updated = addressRepository.save(address);
+        return AddressMapper.createAddressResponseDTO(updated);
+    }
+
+    @Transactional
+    public AddressResponseDTO patch(JsonNode patch, Long id) {
+        Address address = findByIdOrThrowBadRequestException(id);
+
+        AddressRequestDTO patched = jsonMergePatch.apply(
+            patch, AddressMapper.toRequestDTO(address), AddressRequestDTO.class);
+        AddressMapper.copyInto(patched, address);
 
         Address updated = addressRepository.save(address);
         return AddressMapper.createAddressResponseDTO(updated);
@@ -4,16 +4,31 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.suport.api.config.TokenService;
+import com.suport.api.domain.UserModel;
+import com.suport.api.dtos.response.LoginResponseDTO;
+import com.suport.api.exceptions.BadRequestException;
+import com.suport.api.exceptions.TokenValidationException;
 import com.suport.api.repository.UserModelRepository;
 
 @Service
 public class AuthorizationService implements UserDetailsService {
 
     private final UserModelRepository userModelRepository;
+    private final TokenVersions tokenVersions;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenService tokenService;
+    private final TokenRevocations tokenRevocations;
 
-    public AuthorizationService(UserModelRepository userModelRepository){
+    public AuthorizationService(UserModelRepository userModelRepository, TokenVersions tokenVersions, UserDetailsCache userDetailsCache,
+        TokenService tokenService, TokenRevocations tokenRevocations){
         this.userModelRepository = userModelRepository;
+        this.tokenVersions = tokenVersions;
+        this.userDetailsCache = userDetailsCache;
+        this.tokenService = tokenService;
+        this.tokenRevocations = tokenRevocations;
     }
     
     // =============================
@@ -25,4 +40,64 @@ public class AuthorizationService implements UserDetailsService {
       .orElseThrow(() -> new UsernameNotFoundException("User not found" + login));
     }
 
+    // =============================
+    // REVOKE TOKENS
+    // =============================
+
+    /**
+     * Invalidates every token issued to {@code login} so far by bumping its
+     * token version; the user has to log in again. Returns the new version.
+     */
+    @Transactional
+    public long revokeTokens(String login) {
+      if (userModelRepository.incrementTokenVersion(login) == 0) {
+        throw new BadRequestException("User not found: " + login);
+      }
+      long tokenVersion = userModelRepository.findTokenVersionByLogin(login).orElseThrow();
+      tokenVersions.revoked(login, tokenVersion);
+      userDetailsCache.evict(login);
+      return tokenVersion;
+    }
+
+    // =============================
+    // REFRESH AND LOGOUT
+    // =============================
+
+    /**
+     * Exchanges a refresh token for a new access and refresh token pair. The
+     * refresh token is revoked by the exchange, so a replay of it fails.
+     */
+    public LoginResponseDTO refresh(String refreshToken) {
+      TokenService.VerifiedToken verified = tokenService.validate(refreshToken);
+      if (!verified.refresh() || !tokenVersions.isCurrent(verified.subject(), verified.tokenVersion())) {
+        throw new TokenValidationException("Invalid refresh token");
+      }
+      if (!tokenRevocations.revoke(verified.id(), verified.expiresAt())) {
+        throw new TokenValidationException("Refresh token was already used or revoked");
+      }
+      // read again, so the new access token carries the current role and version
+      UserModel user = (UserModel) userModelRepository.findByLogin(verified.subject())
+        .orElseThrow(() -> new TokenValidationException("User not found for token"));
+      return new LoginResponseDTO(tokenService.createToken(user), tokenService.createRefreshToken(user));
+    }
+
+    /**
+     * Revokes the access token of the request and, when given, the refresh
+     * token issued with it.
+     */
+    public void logout(String accessToken, String refreshToken) {
+      TokenService.VerifiedToken access = tokenService.validate(accessToken);
+      if (refreshToken != null) {
+        TokenService.VerifiedToken refresh = tokenService.validate(refreshToken);
+        if (!refresh.refresh() || !refresh.subject().equals(access.subject())) {
+          throw new BadRequestException("The refresh token does not belong to the logged in user");
+        }
+        tokenRevocations.revoke(refresh.id(), refresh.expiresAt());
+      }
+      // tokens issued before ids existed can only be revoked all at once, see revokeTokens
+      if (access.id() != null) {
+        tokenRevocations.revoke(access.id(), access.expiresAt());
+      }
+    }
+
 }
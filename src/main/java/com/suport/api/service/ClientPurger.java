@@ -0,0 +1,133 @@
+package com.suport.api.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.data.domain.Limit;
+
+import com.suport.api.repository.ClientRepository;
+import com.suport.api.repository.TaskRepository;
+import com.suport.api.scheduling.PeriodicTask;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Removes soft-deleted clients in the background: their tasks and join rows
+ * (hot and archived) in chunks of {@code chunkSize}, one transaction per
+ * chunk, then the client row and its address. A sweep runs right after each
+ * deletion and every {@code interval}, which also resumes purges cut short
+ * by a restart or a failure.
+ */
+@Slf4j
+public class ClientPurger implements AutoCloseable {
+
+    public static final String PURGED_TASKS = "clients.purge.tasks";
+    public static final String PURGES = "clients.purge";
+
+    // clients taken per sweep; a sweep that fills it is followed by another one
+    private static final int CLIENTS_PER_SWEEP = 100;
+
+    private final ClientRepository clientRepository;
+    private final TaskRepository taskRepository;
+    private final TaskSearchIndex taskSearchIndex;
+    private final int chunkSize;
+    private final Duration interval;
+    private final Counter purgedTasks;
+    private final Timer purges;
+    private final PeriodicTask scheduler;
+    private final AtomicBoolean sweepQueued = new AtomicBoolean();
+
+    public ClientPurger(ClientRepository clientRepository, TaskRepository taskRepository, TaskSearchIndex taskSearchIndex,
+        int chunkSize, Duration interval, MeterRegistry meterRegistry) {
+        this.clientRepository = clientRepository;
+        this.taskRepository = taskRepository;
+        this.taskSearchIndex = taskSearchIndex;
+        this.chunkSize = chunkSize;
+        this.interval = interval;
+        this.purgedTasks = Counter.builder(PURGED_TASKS)
+            .description("Tasks of deleted clients removed by the purger, hot and archived")
+            .register(meterRegistry);
+        this.purges = Timer.builder(PURGES)
+            .description("Time to purge one deleted client, from its first chunk to the client row")
+            .register(meterRegistry);
+        this.scheduler = new PeriodicTask("client-purger", interval, this::run);
+    }
+
+    public void start() {
+        scheduler.start(interval);
+    }
+
+    /**
+     * Queues a sweep on the purger thread; deletions arriving while one is
+     * queued share it.
+     */
+    public void purgeSoon() {
+        if (sweepQueued.compareAndSet(false, true)) {
+            scheduler.runSoon();
+        }
+    }
+
+    /**
+     * Purges every soft-deleted client, oldest deletion first, and returns how many were removed.
+     */
+    public int sweep() {
+        int purged = 0;
+        List<Long> clientIds;
+        do {
+            clientIds = clientRepository.findDeletedIds(Limit.of(CLIENTS_PER_SWEEP));
+            for (Long clientId : clientIds) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return purged;
+                }
+                if (purge(clientId)) {
+                    purged++;
+                }
+            }
+        } while (clientIds.size() == CLIENTS_PER_SWEEP);
+        return purged;
+    }
+
+    /**
+     * Removes everything of one soft-deleted client; false if it was not deleted or is already gone.
+     */
+    public boolean purge(Long clientId) {
+        long start = System.nanoTime();
+        long tasks = 0;
+        int deleted;
+        do {
+            List<Long> ids = taskRepository.deleteChunkOfDeletedClient(clientId, chunkSize);
+            taskSearchIndex.remove(ids);
+            deleted = ids.size();
+            purgedTasks.increment(deleted);
+            tasks += deleted;
+            if (deleted > 0) {
+                log.debug("Purging client {}: {} tasks removed so far", clientId, tasks);
+            }
+        } while (deleted > 0 && !Thread.currentThread().isInterrupted());
+        if (deleted > 0) {
+            return false;
+        }
+
+        boolean purged = clientRepository.purgeDeleted(clientId);
+        if (purged) {
+            purges.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("Purged deleted client {} and its {} tasks", clientId, tasks);
+        }
+        return purged;
+    }
+
+    private void run() {
+        sweepQueued.set(false);
+        sweep();
+    }
+
+    @Override
+    public void close() {
+        scheduler.close();
+    }
+}
@@ -1,27 +1,54 @@
 package com.suport.api.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import com.suport.api.domain.Address;
 import com.suport.api.domain.Client;
 import com.suport.api.dtos.request.ClientRequestCreateDTO;
 import com.suport.api.dtos.request.ClientRequestUpdateDTO;
+import com.suport.api.dtos.response.ClientDeletionResponseDTO;
 import com.suport.api.dtos.response.ClientResponseDTO;
+import com.suport.api.dtos.response.ClientSuggestionResponseDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.exceptions.BadRequestException;
+import com.suport.api.mappers.AddressMapper;
 import com.suport.api.mappers.ClientMapper;
+import com.suport.api.pagination.KeysetCursor;
 import com.suport.api.repository.ClientRepository;
+import com.suport.api.repository.TaskRepository;
 
 @Service
 public class ClientService {
 
     private final ClientRepository clientRepository;
+    private final TaskRepository taskRepository;
+    private final JsonMergePatch jsonMergePatch;
+    private final ClientPurger clientPurger;
+    private final ClientSuggestIndex clientSuggestIndex;
+
+    public ClientService(
+        ClientRepository clientRepository,
+        TaskRepository taskRepository,
+        JsonMergePatch jsonMergePatch,
+        ClientPurger clientPurger,
+        ClientSuggestIndex clientSuggestIndex) {
 
-    public ClientService(ClientRepository clientRepository) {
         this.clientRepository = clientRepository;
+        this.taskRepository = taskRepository;
+        this.jsonMergePatch = jsonMergePatch;
+        this.clientPurger = clientPurger;
+        this.clientSuggestIndex = clientSuggestIndex;
     }
 
     // =============================
@@ -29,16 +56,10 @@ public class ClientService {
     // =============================
     @Transactional
     public ClientResponseDTO save(ClientRequestCreateDTO dto) {
-        Client client = new Client();
-        BeanUtils.copyProperties(dto, client, "address");
-
-        if (dto.address() != null) {
-            Address address = new Address();
-            BeanUtils.copyProperties(dto.address(), address);
-            client.setAddress(address);
-        }
+        Client client = ClientMapper.toEntity(dto);
 
         Client savedClient = clientRepository.save(client);
+        clientSuggestIndex.index(savedClient);
         return ClientMapper.toResponseDTO(savedClient);
     }
 
@@ -47,44 +68,131 @@ public class ClientService {
     // =============================
     
     @Transactional(readOnly = true)
-    public List<ClientResponseDTO> findAll() {
-        return clientRepository.findAll()
-            .stream()
-            .map(ClientMapper::toResponseDTO)
-            .toList();
+    public CursorPageResponseDTO<ClientResponseDTO> findAll(String after, Integer limit) {
+        int pageSize = KeysetCursor.boundedLimit(limit);
+        List<ClientResponseDTO> rows = clientRepository.findResponsesByIdGreaterThan(
+            KeysetCursor.decode(after), KeysetCursor.probe(pageSize));
+
+        return KeysetCursor.toPage(rows, pageSize, ClientResponseDTO::id, Function.identity());
+    }
+
+    // served from memory, without a transaction or a query
+    public List<ClientSuggestionResponseDTO> suggest(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequestException("Prefix cannot be empty");
+        }
+        if (limit != null && limit < 1) {
+            throw new BadRequestException("Limit must be greater than zero");
+        }
+        int size = limit == null ? ClientSuggestIndex.DEFAULT_LIMIT : Math.min(limit, ClientSuggestIndex.MAX_LIMIT);
+        return clientSuggestIndex.suggest(prefix, size);
+    }
+
+    @Transactional(readOnly = true)
+    public ClientResponseDTO findResponseByIdOrThrowBadRequestException(Long id) {
+        return clientRepository.findResponseById(id)
+                .orElseThrow(() -> new BadRequestException("No client found with the provided ID: " + id));
     }
 
     @Transactional(readOnly = true)
     public Client findByIdOrThrowBadRequestException(Long id) {
-        return clientRepository.findById(id).orElseThrow(
+        // a deleted client is not found, even while its rows are still being purged
+        return clientRepository.findById(id).filter(client -> client.getDeletedAt() == null).orElseThrow(
             () -> new BadRequestException("No client found with the provided ID: " + id)
         );
     }
 
+    // one query for all ids; the first missing id fails like findByIdOrThrowBadRequestException
+    @Transactional(readOnly = true)
+    public Map<Long, Client> findAllByIdOrThrowBadRequestException(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Client> found = clientRepository.loadAllById(new LinkedHashSet<>(ids)).stream()
+                .filter(client -> client.getDeletedAt() == null)
+                .collect(Collectors.toMap(Client::getId, Function.identity()));
+
+        for (Long id : ids) {
+            if (!found.containsKey(id)) {
+                throw new BadRequestException("No client found with the provided ID: " + id);
+            }
+        }
+        return found;
+    }
+
     // =============================
     // UPDATE
     // =============================
     @Transactional
-    public ClientResponseDTO update(ClientRequestUpdateDTO dto, Long id) {
+    public ClientResponseDTO update(ClientRequestUpdateDTO dto, Long id, Long expectedVersion) {
         Client client = findByIdOrThrowBadRequestException(id);
-        BeanUtils.copyProperties(dto, client, "address");
+        Versions.requireMatch("Client", id, expectedVersion, client.getVersion());
+        ClientMapper.copyInto(dto, client);
 
+        // the current address row is updated in place; a new one is only inserted when there is none
         if (dto.address() != null) {
-            Address address = new Address();
-            BeanUtils.copyProperties(dto.address(), address);
-            client.setAddress(address);
+            if (client.getAddress() == null) {
+                client.setAddress(new Address());
+            }
+            AddressMapper.copyInto(dto.address(), client.getAddress());
         }
 
-        Client updatedClient = clientRepository.save(client);
+        // flushed here so the response carries the version this update produced
+        Client updatedClient = clientRepository.saveAndFlush(client);
+        clientSuggestIndex.index(updatedClient);
         return ClientMapper.toResponseDTO(updatedClient);
     }
 
+    @Transactional
+    public ClientResponseDTO patch(JsonNode patch, Long id, Long expectedVersion) {
+        Client client = findByIdOrThrowBadRequestException(id);
+        Versions.requireMatch("Client", id, expectedVersion, client.getVersion());
+
+        ClientRequestUpdateDTO patched = jsonMergePatch.apply(
+            patch, ClientMapper.toRequestUpdateDTO(client), ClientRequestUpdateDTO.class);
+
+        ClientMapper.copyInto(patched, client);
+
+        // the address is patched in place instead of being replaced by a new row
+        if (patched.address() == null) {
+            if (client.getAddress() != null) {
+                client.getAddress().setSupersededAt(LocalDateTime.now());
+            }
+            client.setAddress(null);
+        } else {
+            if (client.getAddress() == null) {
+                client.setAddress(new Address());
+            }
+            AddressMapper.copyInto(patched.address(), client.getAddress());
+        }
+
+        Client patchedClient = clientRepository.saveAndFlush(client);
+        clientSuggestIndex.index(patchedClient);
+        return ClientMapper.toResponseDTO(patchedClient);
+    }
+
     // =============================
     // DELETE
     // =============================
-    @Transactional
+    // Only marks the client as deleted; its tasks, address and row are removed
+    // by ClientPurger, so the request does not grow with the task history.
     public void deleteById(Long id) {
-        Client client = findByIdOrThrowBadRequestException(id);
-        clientRepository.delete(client);
+        if (clientRepository.softDeleteById(id, LocalDateTime.now()) == 0) {
+            throw new BadRequestException("No client found with the provided ID: " + id);
+        }
+        clientSuggestIndex.remove(id);
+        clientPurger.purgeSoon();
+    }
+
+    // a client that no longer exists at all counts as completed
+    @Transactional(readOnly = true)
+    public ClientDeletionResponseDTO findDeletionProgress(Long id) {
+        if (clientRepository.existsByIdAndDeletedAtIsNull(id)) {
+            throw new BadRequestException("Client is not being deleted: " + id);
+        }
+
+        long remainingTasks = taskRepository.countByClientId(id) + taskRepository.countArchivedByClientId(id);
+        return new ClientDeletionResponseDTO(id, remainingTasks, !clientRepository.existsById(id));
     }
 }
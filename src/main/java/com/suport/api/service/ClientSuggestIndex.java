@@ -0,0 +1,239 @@
+package com.suport.api.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import org.springframework.data.domain.Limit;
+
+import com.suport.api.domain.Client;
+import com.suport.api.dtos.response.ClientSuggestionResponseDTO;
+import com.suport.api.repository.ClientRepository;
+import com.suport.api.repository.projection.ClientSuggestRow;
+import com.suport.api.scheduling.PeriodicTask;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory prefix index over the live clients, for type-ahead lookups by
+ * name, email or tax ID. Every searchable term is a key of one sorted map, so
+ * a prefix lookup is a seek plus a short range scan and never touches the
+ * database. Terms are lower-cased and stripped of accents; each word of the
+ * name is a term of its own, and the tax ID is kept as digits only.
+ *
+ * <p>{@link ClientService} keeps the index current after its transactions
+ * commit; it is filled from the database in the background at startup.
+ * Entries carry the client version so an older row read by that load never
+ * replaces a newer write.
+ */
+@Slf4j
+public class ClientSuggestIndex implements AutoCloseable {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    // clients read per query while loading
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private static final char NAME = 'n';
+    private static final char EMAIL = 'e';
+    private static final char TAX_ID = 't';
+    // sorts before any character of a term, so "ana" + id comes before "anabel" + id
+    private static final char SEPARATOR = '\u0000';
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final Pattern TAX_ID_PREFIX = Pattern.compile("[\\d./\\-\\s]+");
+
+    // a deleted client, kept while a load runs so the load cannot bring it back
+    private static final Entry REMOVED = new Entry(null, Long.MAX_VALUE, List.of());
+
+    private record Entry(ClientSuggestionResponseDTO suggestion, long version, List<String> keys) {
+    }
+
+    private final ClientRepository clientRepository;
+    private final ConcurrentSkipListMap<String, Long> keys = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final PeriodicTask loader;
+    private volatile boolean loading;
+
+    public ClientSuggestIndex(ClientRepository clientRepository) {
+        this.clientRepository = clientRepository;
+        this.loader = PeriodicTask.onDemand("client-suggest-index", () -> {
+            try {
+                load();
+            } catch (RuntimeException e) {
+                log.error("Loading the client suggest index failed; suggestions only cover clients written since startup", e);
+            }
+        });
+    }
+
+    public void start() {
+        loader.runSoon();
+    }
+
+    /**
+     * Reads every live client into the index, batch by batch, and returns how many were read.
+     */
+    public int load() {
+        loading = true;
+        try {
+            int loaded = 0;
+            long after = 0;
+            List<ClientSuggestRow> rows;
+            do {
+                rows = clientRepository.findSuggestRowsByIdGreaterThan(after, Limit.of(LOAD_BATCH_SIZE));
+                for (ClientSuggestRow row : rows) {
+                    put(row.id(), row.name(), row.email(), row.taxId(), row.version());
+                }
+                loaded += rows.size();
+                if (!rows.isEmpty()) {
+                    after = rows.get(rows.size() - 1).id();
+                }
+            } while (rows.size() == LOAD_BATCH_SIZE && !Thread.currentThread().isInterrupted());
+
+            log.info("Client suggest index loaded with {} clients", loaded);
+            return loaded;
+        } finally {
+            loading = false;
+            entries.values().removeIf(entry -> entry == REMOVED);
+        }
+    }
+
+    // =============================
+    // WRITE
+    // =============================
+
+    /**
+     * Adds or replaces the client once the current transaction commits.
+     */
+    public void index(Client client) {
+        Long id = client.getId();
+        String name = client.getName();
+        String email = client.getEmail();
+        String taxId = client.getTaxId();
+        Long version = client.getVersion();
+        AfterCommit.run(() -> put(id, name, email, taxId, version));
+    }
+
+    /**
+     * Removes the client once the current transaction commits.
+     */
+    public void remove(Long id) {
+        AfterCommit.run(() -> entries.compute(id, (key, existing) -> {
+            if (existing != null) {
+                existing.keys().forEach(keys::remove);
+            }
+            return loading ? REMOVED : null;
+        }));
+    }
+
+    private void put(Long id, String name, String email, String taxId, Long version) {
+        long newVersion = version == null ? 0 : version;
+        entries.compute(id, (key, existing) -> {
+            if (existing != null && existing.version() > newVersion) {
+                return existing;
+            }
+            if (existing != null) {
+                existing.keys().forEach(keys::remove);
+            }
+            List<String> newKeys = keysOf(id, name, email, taxId);
+            newKeys.forEach(term -> keys.put(term, id));
+            return new Entry(new ClientSuggestionResponseDTO(id, name, email, taxId), newVersion, newKeys);
+        });
+    }
+
+    // =============================
+    // READ
+    // =============================
+
+    /**
+     * Returns up to {@code limit} clients with a name word, email or tax ID
+     * starting with {@code prefix}: name matches first, then email, then tax
+     * ID, each in alphabetical order.
+     */
+    public List<ClientSuggestionResponseDTO> suggest(String prefix, int limit) {
+        String term = normalize(prefix);
+        // only a prefix made of digits and tax ID punctuation is looked up as a tax ID
+        String digits = TAX_ID_PREFIX.matcher(prefix).matches() ? digitsOf(prefix) : "";
+
+        Set<Long> ids = new LinkedHashSet<>();
+        if (!term.isEmpty()) {
+            collect(NAME, term, ids, limit);
+            collect(EMAIL, term, ids, limit);
+        }
+        if (!digits.isEmpty()) {
+            collect(TAX_ID, digits, ids, limit);
+        }
+
+        List<ClientSuggestionResponseDTO> suggestions = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Entry entry = entries.get(id);
+            // removed between the key scan and here
+            if (entry != null && entry.suggestion() != null) {
+                suggestions.add(entry.suggestion());
+            }
+        }
+        return suggestions;
+    }
+
+    private void collect(char field, String term, Set<Long> ids, int limit) {
+        String from = field + term;
+        for (Long id : keys.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            if (ids.size() >= limit) {
+                return;
+            }
+            ids.add(id);
+        }
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private static List<String> keysOf(Long id, String name, String email, String taxId) {
+        Set<String> terms = new LinkedHashSet<>();
+        String normalizedName = normalize(name);
+        if (!normalizedName.isEmpty()) {
+            // the whole name serves prefixes spanning words and those of the first word
+            terms.add(NAME + normalizedName);
+            String[] words = SPACES.split(normalizedName);
+            for (int i = 1; i < words.length; i++) {
+                terms.add(NAME + words[i]);
+            }
+        }
+        String normalizedEmail = normalize(email);
+        if (!normalizedEmail.isEmpty()) {
+            terms.add(EMAIL + normalizedEmail);
+        }
+        String digits = digitsOf(taxId);
+        if (!digits.isEmpty()) {
+            terms.add(TAX_ID + digits);
+        }
+        return terms.stream().map(term -> term + SEPARATOR + id).toList();
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.strip(), Normalizer.Form.NFD);
+        return SPACES.matcher(MARKS.matcher(decomposed).replaceAll("")).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    static String digitsOf(String text) {
+        return text == null ? "" : NON_DIGITS.matcher(text).replaceAll("");
+    }
+
+    @Override
+    public void close() {
+        loader.close();
+    }
+}
@@ -0,0 +1,86 @@
+package com.suport.api.service;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.suport.api.exceptions.BadRequestException;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
+/**
+ * Applies a JSON merge patch (RFC 7386) to the request DTO of a resource: the
+ * current state is rendered as the DTO, the patch is merged into it and the
+ * result is validated like a PUT body. Services then copy only what differs
+ * onto the entity, and {@code @DynamicUpdate} keeps the UPDATE to those columns.
+ */
+@Component
+public class JsonMergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public JsonMergePatch(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    public <T> T apply(JsonNode patch, T current, Class<T> type) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("A merge patch must be a JSON object");
+        }
+
+        ObjectNode document = objectMapper.valueToTree(current);
+        merge(document, (ObjectNode) patch);
+
+        T patched;
+        try {
+            // unknown members are ignored on PUT, but in a patch they are almost always a typo
+            patched = objectMapper.readerFor(type)
+                .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(document);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestException("Invalid merge patch: " + e.getMessage());
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(patched);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return patched;
+    }
+
+    // null removes a member, an object merges into the member, anything else replaces it
+    private static void merge(ObjectNode target, ObjectNode patch) {
+        Iterator<Map.Entry<String, JsonNode>> members = patch.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            String name = member.getKey();
+            JsonNode value = member.getValue();
+
+            if (value.isNull()) {
+                target.putNull(name);
+            } else if (value.isObject()) {
+                JsonNode existing = target.get(name);
+                ObjectNode merged = existing != null && existing.isObject()
+                    ? (ObjectNode) existing
+                    : target.objectNode();
+                merge(merged, (ObjectNode) value);
+                target.set(name, merged);
+            } else {
+                target.set(name, value);
+            }
+        }
+    }
+}
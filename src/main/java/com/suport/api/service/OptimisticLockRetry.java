@@ -0,0 +1,64 @@
+package com.suport.api.service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs a change in a transaction of its own and, when it loses an optimistic
+ * lock race, runs it again on fresh state, up to {@code api.concurrency.max-attempts}
+ * times. Only for changes that commute with whatever the other writer did
+ * (adding or removing a technician); full replacements are guarded by If-Match
+ * instead. Must be called outside a transaction, or a retry would reuse it.
+ */
+@Component
+public class OptimisticLockRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticLockRetry(
+        PlatformTransactionManager transactionManager,
+        @Value("${api.concurrency.max-attempts:3}") int maxAttempts,
+        @Value("${api.concurrency.retry-backoff:10ms}") Duration backoff) {
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    public <T> T execute(Supplier<T> change) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> change.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                pause(attempt, e);
+            }
+        }
+    }
+
+    // random wait that grows with the attempt, so writers that collided once
+    // do not retry in lockstep and collide again
+    private void pause(int attempt, OptimisticLockingFailureException cause) {
+        long bound = backoff.toMillis() * attempt;
+        if (bound <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.suport.api.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.suport.api.repository.TaskRepository;
+import com.suport.api.scheduling.PeriodicTask;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves tasks that have been CLOSED or COMPLETED for longer than
+ * {@code closedFor} out of {@code tasks} into {@code tasks_archive}, keeping
+ * the hot table and its indexes down to the tasks still being worked on.
+ * Each batch of at most {@code batchSize} tasks is its own transaction, so a
+ * run never holds more than one batch of row locks at a time.
+ */
+@Slf4j
+public class TaskArchiver implements AutoCloseable {
+
+    public static final String ARCHIVED = "tasks.archived";
+
+    private final TaskRepository taskRepository;
+    private final TaskSearchIndex taskSearchIndex;
+    private final Duration closedFor;
+    private final int batchSize;
+    private final Duration interval;
+    private final Counter archivedCounter;
+    private final PeriodicTask scheduler;
+
+    public TaskArchiver(TaskRepository taskRepository, TaskSearchIndex taskSearchIndex, Duration closedFor, int batchSize, Duration interval, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.taskSearchIndex = taskSearchIndex;
+        this.closedFor = closedFor;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.archivedCounter = Counter.builder(ARCHIVED)
+            .description("Tasks moved to the archive tables")
+            .register(meterRegistry);
+        this.scheduler = new PeriodicTask("task-archiver", interval, this::archive);
+    }
+
+    public void start() {
+        scheduler.start(interval);
+    }
+
+    /**
+     * Archives every task closed before now minus {@code closedFor}, batch by
+     * batch, and returns how many were moved.
+     */
+    public int archive() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(closedFor);
+        int total = 0;
+        int moved;
+        do {
+            // each batch has committed by now; the search index only holds hot tasks
+            List<Long> ids = taskRepository.archiveClosedBefore(cutoff, batchSize, now);
+            taskSearchIndex.remove(ids);
+            moved = ids.size();
+            archivedCounter.increment(moved);
+            total += moved;
+        } while (moved == batchSize && !Thread.currentThread().isInterrupted());
+
+        if (total > 0) {
+            log.info("Archived {} tasks closed before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    @Override
+    public void close() {
+        scheduler.close();
+    }
+}
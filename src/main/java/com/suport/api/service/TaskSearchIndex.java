@@ -0,0 +1,401 @@
+package com.suport.api.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.springframework.data.domain.Limit;
+
+import com.suport.api.domain.Task;
+import com.suport.api.exceptions.ConflictException;
+import com.suport.api.repository.TaskRepository;
+import com.suport.api.repository.projection.TaskTextRow;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Embedded Lucene index over the title and description of the hot tasks.
+ * {@link TaskService} keeps it current after each transaction commits, and
+ * {@link TaskArchiver} and {@link ClientPurger} remove the tasks they move or
+ * delete with bulk SQL once each batch commits.
+ *
+ * <p>Writes are only committed to the directory by a rebuild and on close, so
+ * an on-disk index is rebuilt at startup to pick up what a crash lost. Both
+ * that rebuild and the ones asked for through the endpoint run on the index's
+ * own thread; a rebuild reads the tasks in {@code rebuildThreads} id ranges in parallel and
+ * replaces documents in place, so searches keep working while it runs.
+ */
+@Slf4j
+public class TaskSearchIndex implements AutoCloseable {
+
+    public static final String REBUILDS = "tasks.search.rebuild";
+
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    static final String GENERATION = "generation";
+
+    private static final String REBUILD_RUNNING = "A task search index rebuild is already running";
+
+    // rows read per query by each rebuild thread
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    // a title match weighs twice a description match
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(TITLE, 2f, DESCRIPTION, 1f);
+
+    // offsets in the postings let the highlighter skip re-analysing the stored text
+    private static final FieldType TEXT = new FieldType(TextField.TYPE_STORED);
+
+    static {
+        TEXT.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        TEXT.freeze();
+    }
+
+    /**
+     * One ranked match. {@code title} and {@code description} are HTML escaped
+     * snippets of the stored text with the matched words wrapped in {@code <b>}.
+     */
+    public record Hit(long taskId, float score, String title, String description) {
+    }
+
+    private final TaskRepository taskRepository;
+    private final Directory directory;
+    private final int rebuildThreads;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final Timer rebuilds;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // documents written before the running rebuild carry an older generation and are dropped at its end
+    private final AtomicLong generation = new AtomicLong(System.currentTimeMillis());
+    // set from the moment a background rebuild is queued until it ends
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final ExecutorService rebuilder;
+
+    public TaskSearchIndex(TaskRepository taskRepository, Directory directory, int rebuildThreads, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.directory = directory;
+        this.rebuildThreads = rebuildThreads;
+        try {
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the task search index", e);
+        }
+        this.rebuilds = Timer.builder(REBUILDS)
+            .description("Time to rebuild the task search index from the database")
+            .register(meterRegistry);
+        this.rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // the startup rebuild runs in the background; searches see tasks as it indexes them
+    public void start() {
+        rebuildInBackground();
+    }
+
+    // =============================
+    // WRITE
+    // =============================
+
+    /**
+     * Adds or replaces the task once the current transaction commits.
+     */
+    public void index(Task task) {
+        Long id = task.getId();
+        String title = task.getTitle();
+        String description = task.getDescription();
+        AfterCommit.run(() -> write("task " + id,
+            indexWriter -> indexWriter.updateDocument(idTerm(id), toDocument(id, title, description, generation.get()))));
+    }
+
+    /**
+     * Adds or replaces every task once the current transaction commits, with a
+     * single reader refresh for the whole batch.
+     */
+    public void index(Collection<Task> tasks) {
+        List<TaskTextRow> rows = tasks.stream()
+            .map(task -> new TaskTextRow(task.getId(), task.getTitle(), task.getDescription()))
+            .toList();
+        AfterCommit.run(() -> write(rows.size() + " tasks", indexWriter -> {
+            long current = generation.get();
+            for (TaskTextRow row : rows) {
+                indexWriter.updateDocument(idTerm(row.id()), toDocument(row.id(), row.title(), row.description(), current));
+            }
+        }));
+    }
+
+    /**
+     * Removes the task once the current transaction commits.
+     */
+    public void remove(Long id) {
+        AfterCommit.run(() -> write("task " + id, indexWriter -> indexWriter.deleteDocuments(idTerm(id))));
+    }
+
+    /**
+     * Removes every task once the current transaction commits, with a single
+     * reader refresh; the archiver and the client purger call it with the ids
+     * they moved or deleted in bulk.
+     */
+    public void remove(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Term[] terms = ids.stream().map(TaskSearchIndex::idTerm).toArray(Term[]::new);
+        AfterCommit.run(() -> write(ids.size() + " tasks", indexWriter -> indexWriter.deleteDocuments(terms)));
+    }
+
+    /**
+     * Queues a {@link #rebuild()} on the index's own thread and returns at once.
+     * Throws {@link ConflictException} while another rebuild is queued or running.
+     */
+    public void rebuildInBackground() {
+        if (rebuildLock.isLocked() || !rebuildQueued.compareAndSet(false, true)) {
+            throw new ConflictException(REBUILD_RUNNING);
+        }
+        rebuilder.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Task search index rebuild failed; run it again through the rebuild endpoint", e);
+            } finally {
+                rebuildQueued.set(false);
+            }
+        });
+    }
+
+    /**
+     * Re-indexes every hot task, in parallel id ranges, drops the documents of
+     * tasks that no longer exist and commits. Returns how many tasks were indexed.
+     */
+    public int rebuild() {
+        if (!rebuildLock.tryLock()) {
+            throw new ConflictException(REBUILD_RUNNING);
+        }
+        try {
+            long start = System.nanoTime();
+            long current = generation.updateAndGet(previous -> Math.max(previous + 1, System.currentTimeMillis()));
+            int indexed = indexAll(current);
+
+            writer.deleteDocuments(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, current - 1));
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+
+            rebuilds.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("Task search index rebuilt with {} tasks using {} threads", indexed, rebuildThreads);
+            return indexed;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Task search index rebuild failed", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private int indexAll(long current) {
+        long maxId = taskRepository.findMaxId();
+        long rangeSize = maxId / rebuildThreads + 1;
+        AtomicInteger indexed = new AtomicInteger();
+
+        ExecutorService workers = Executors.newFixedThreadPool(rebuildThreads, new RebuildThreads());
+        try {
+            List<Future<?>> ranges = new ArrayList<>(rebuildThreads);
+            for (int i = 0; i < rebuildThreads; i++) {
+                long after = i * rangeSize;
+                long upTo = Math.min(after + rangeSize, maxId);
+                ranges.add(workers.submit(() -> {
+                    indexed.addAndGet(indexRange(after, upTo, current));
+                    return null;
+                }));
+            }
+            for (Future<?> range : ranges) {
+                range.get();
+            }
+            return indexed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Task search index rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof IOException io) {
+                throw new UncheckedIOException("Task search index rebuild failed", io);
+            }
+            throw new IllegalStateException("Task search index rebuild failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // updateDocument rather than addDocument: a task written while the rebuild
+    // runs may already be in the index, and must not end up there twice
+    private int indexRange(long after, long upTo, long current) throws IOException {
+        int indexed = 0;
+        List<TaskTextRow> rows;
+        do {
+            rows = taskRepository.findTextRows(after, upTo, Limit.of(REBUILD_BATCH_SIZE));
+            for (TaskTextRow row : rows) {
+                writer.updateDocument(idTerm(row.id()), toDocument(row.id(), row.title(), row.description(), current));
+            }
+            indexed += rows.size();
+            if (!rows.isEmpty()) {
+                after = rows.get(rows.size() - 1).id();
+            }
+        } while (rows.size() == REBUILD_BATCH_SIZE && !Thread.currentThread().isInterrupted());
+        return indexed;
+    }
+
+    // =============================
+    // SEARCH
+    // =============================
+
+    /**
+     * Returns up to {@code limit} hits after the first {@code offset}, best
+     * first. Plain words must all match; the query accepts "phrases",
+     * -exclusions, a|b alternatives and prefix* terms.
+     */
+    public List<Hit> search(String text, int offset, int limit) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query query = parser.parse(text);
+        if (query == null) {
+            return List.of();
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] ranked = searcher.search(query, offset + limit).scoreDocs;
+                ScoreDoc[] page = Arrays.copyOfRange(ranked, Math.min(offset, ranked.length), ranked.length);
+                if (page.length == 0) {
+                    return List.of();
+                }
+
+                TopDocs pageDocs = new TopDocs(new TotalHits(page.length, TotalHits.Relation.EQUAL_TO), page);
+                Map<String, String[]> highlights = UnifiedHighlighter.builder(searcher, analyzer)
+                    .withFormatter(new DefaultPassageFormatter("<b>", "</b>", "... ", true))
+                    .build()
+                    .highlightFields(new String[] {TITLE, DESCRIPTION}, query, pageDocs, new int[] {1, 2});
+
+                List<Hit> hits = new ArrayList<>(page.length);
+                for (int i = 0; i < page.length; i++) {
+                    Document document = searcher.storedFields().document(page[i].doc, Set.of(ID));
+                    hits.add(new Hit(
+                        Long.parseLong(document.get(ID)),
+                        page[i].score,
+                        highlights.get(TITLE)[i],
+                        highlights.get(DESCRIPTION)[i]));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Task search failed", e);
+        }
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private static Term idTerm(Long id) {
+        return new Term(ID, String.valueOf(id));
+    }
+
+    private static Document toDocument(Long id, String title, String description, long generation) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(id), Field.Store.YES));
+        document.add(new LongPoint(GENERATION, generation));
+        if (title != null) {
+            document.add(new Field(TITLE, title, TEXT));
+        }
+        if (description != null) {
+            document.add(new Field(DESCRIPTION, description, TEXT));
+        }
+        return document;
+    }
+
+    private void write(String what, IndexWrite action) {
+        try {
+            action.apply(writer);
+            // blocking so the request that wrote the task can find it right after
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException | RuntimeException e) {
+            // the task itself is saved; only its search entry is stale until the next rebuild
+            log.warn("Could not update the task search index for {}", what, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexWrite {
+        void apply(IndexWriter indexWriter) throws IOException;
+    }
+
+    private static final class RebuildThreads implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "task-search-rebuild-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    @Override
+    public void close() {
+        rebuilder.shutdownNow();
+        try {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        } catch (IOException e) {
+            log.warn("Could not close the task search index cleanly", e);
+        }
+    }
+}
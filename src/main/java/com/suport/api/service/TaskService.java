@@ -1,37 +1,73 @@
 package com.suport.api.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import com.suport.api.domain.Client;
 import com.suport.api.domain.Task;
 import com.suport.api.domain.Technician;
 import com.suport.api.dtos.request.TaskRequestCreateDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.dtos.response.TaskResponseDTO;
+import com.suport.api.dtos.response.TaskSearchHitDTO;
+import com.suport.api.dtos.response.TaskStatsResponseDTO;
 import com.suport.api.exceptions.BadRequestException;
 import com.suport.api.mappers.TaskMapper;
+import com.suport.api.pagination.KeysetCursor;
 import com.suport.api.repository.TaskRepository;
+import com.suport.api.repository.filter.TaskFilter;
+import com.suport.api.repository.filter.TaskSort;
+import com.suport.api.repository.projection.TaskRow;
+import com.suport.api.repository.projection.TaskTechnicianRow;
 
 @Service
 public class TaskService {
 
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    // ranking deeper pages costs the index every hit before them
+    public static final int MAX_SEARCH_OFFSET = 10_000;
+
     private final TaskRepository taskRepository;
     private final ClientService clientService;
     private final TechnicianService technicianService;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final JsonMergePatch jsonMergePatch;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskStatistics taskStatistics;
 
     public TaskService(
         TaskRepository taskRepository,
         ClientService clientService,
-        TechnicianService technicianService){
+        TechnicianService technicianService,
+        OptimisticLockRetry optimisticLockRetry,
+        JsonMergePatch jsonMergePatch,
+        TaskSearchIndex taskSearchIndex,
+        TaskStatistics taskStatistics){
 
         this.taskRepository = taskRepository;
         this.clientService = clientService;
         this.technicianService = technicianService;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.jsonMergePatch = jsonMergePatch;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskStatistics = taskStatistics;
 
     }
 
@@ -40,36 +76,154 @@ public class TaskService {
     // =============================
     @Transactional
     public TaskResponseDTO save(TaskRequestCreateDTO dto) {
-        Task task = new Task();
-        BeanUtils.copyProperties(dto, task, "clientId", "technicianIds"  );
-        
+        Task task = TaskMapper.toEntity(dto);
+
         Client client = clientService.findByIdOrThrowBadRequestException( dto.clientId());
         task.setClient(client);
 
-       Set<Technician> technicians = dto.technicianIds() != null 
-       ? dto.technicianIds().stream()
-       .map(technicianService::findByIdOrThrowBadRequestException)
-       .collect(Collectors.toSet()) :  Set.of();
-        
-       task.setTechnicians(technicians);
+        task.setTechnicians(resolveTechnicians(dto.technicianIds()));
 
         Task savedTask = taskRepository.save(task);
+        taskSearchIndex.index(savedTask);
+        taskStatistics.add(savedTask);
         return TaskMapper.toResponseDTO(savedTask);
     }
 
+    @Transactional
+    public List<TaskResponseDTO> saveAll(List<TaskRequestCreateDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new BadRequestException("Task batch cannot be empty");
+        }
+        if (dtos.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Task batch cannot have more than " + MAX_BATCH_SIZE + " tasks");
+        }
+
+        // resolve every referenced client and technician up front, one query each
+        Set<Long> clientIds = new HashSet<>();
+        Set<Long> technicianIds = new HashSet<>();
+        for (TaskRequestCreateDTO dto : dtos) {
+            clientIds.add(dto.clientId());
+            if (dto.technicianIds() != null) {
+                technicianIds.addAll(dto.technicianIds());
+            }
+        }
+        Map<Long, Client> clients = clientService.findAllByIdOrThrowBadRequestException(clientIds);
+        Map<Long, Technician> technicians = technicianService.findAllByIdOrThrowBadRequestException(technicianIds);
+
+        List<Task> tasks = new ArrayList<>(dtos.size());
+        for (TaskRequestCreateDTO dto : dtos) {
+            Task task = TaskMapper.toEntity(dto);
+
+            task.setClient(clients.get(dto.clientId()));
+
+            Set<Technician> taskTechnicians = new HashSet<>();
+            if (dto.technicianIds() != null) {
+                for (Long technicianId : dto.technicianIds()) {
+                    taskTechnicians.add(technicians.get(technicianId));
+                }
+            }
+            task.setTechnicians(taskTechnicians);
+
+            tasks.add(task);
+        }
+
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        taskSearchIndex.index(savedTasks);
+        savedTasks.forEach(taskStatistics::add);
+        return savedTasks.stream()
+                .map(TaskMapper::toResponseDTO)
+                .toList();
+    }
+
     // =============================
     // READ
     // =============================
     @Transactional(readOnly = true)
-    public List<TaskResponseDTO> findAll() {
-        return taskRepository.findAll().stream()
-                .map(TaskMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public CursorPageResponseDTO<TaskResponseDTO> findAll(
+        TaskFilter filter, TaskSort sort, String after, Integer limit, boolean includeArchived) {
+
+        int pageSize = KeysetCursor.boundedLimit(limit);
+        if (filter.createdFrom() != null && filter.createdTo() != null
+                && !filter.createdFrom().isBefore(filter.createdTo())) {
+            throw new BadRequestException("createdFrom must be before createdTo");
+        }
+
+        KeysetCursor.Position position = KeysetCursor.decodePosition(after);
+        if (position != null && (position.value() != null) != (sort.field() == TaskSort.Field.CREATED_AT)) {
+            throw new BadRequestException("Cursor does not match the requested sort: " + after);
+        }
+
+        Limit probe = KeysetCursor.probe(pageSize);
+        List<TaskRow> rows = taskRepository.findRows(filter, sort, position, probe);
+        if (includeArchived) {
+            rows = mergeArchivedRows(rows, taskRepository.findArchivedRows(filter, sort, position, probe), sort, probe);
+        }
+        Map<Long, Set<Long>> technicianIds = findTechnicianIdsByTaskId(rows, includeArchived);
+
+        return KeysetCursor.toPageWithCursor(rows, pageSize, row -> cursorOf(row, sort),
+            row -> TaskMapper.toResponseDTO(row, technicianIds.getOrDefault(row.id(), Set.of())));
+    }
+
+    // The archiver and the purger take the tasks they remove out of the index,
+    // but a hit can still outlive its task when an index write failed; such
+    // hits are dropped here until the next rebuild.
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<TaskSearchHitDTO> search(String query, String after, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query cannot be empty");
+        }
+        int pageSize = KeysetCursor.boundedLimit(limit);
+        long offset = KeysetCursor.decode(after);
+        if (offset > MAX_SEARCH_OFFSET) {
+            throw new BadRequestException("Search results cannot be paged past the first " + MAX_SEARCH_OFFSET + " hits");
+        }
+
+        List<TaskSearchIndex.Hit> hits = taskSearchIndex.search(query, (int) offset, pageSize + 1);
+        boolean hasNext = hits.size() > pageSize;
+        List<TaskSearchIndex.Hit> pageHits = hasNext ? hits.subList(0, pageSize) : hits;
+        if (pageHits.isEmpty()) {
+            return new CursorPageResponseDTO<>(List.of(), null, false);
+        }
+
+        List<TaskRow> rows = taskRepository.findRowsByIdIn(pageHits.stream().map(TaskSearchIndex.Hit::taskId).toList());
+        Map<Long, TaskRow> rowsById = rows.stream().collect(Collectors.toMap(TaskRow::id, row -> row));
+        Map<Long, Set<Long>> technicianIds = findTechnicianIdsByTaskId(rows, false);
+
+        List<TaskSearchHitDTO> content = pageHits.stream()
+                .filter(hit -> rowsById.containsKey(hit.taskId()))
+                .map(hit -> new TaskSearchHitDTO(
+                    TaskMapper.toResponseDTO(rowsById.get(hit.taskId()), technicianIds.getOrDefault(hit.taskId(), Set.of())),
+                    hit.score(),
+                    hit.title(),
+                    hit.description()))
+                .toList();
+        return new CursorPageResponseDTO<>(content, hasNext ? KeysetCursor.encode(offset + pageSize) : null, hasNext);
+    }
+
+    public void rebuildSearchIndex() {
+        taskSearchIndex.rebuildInBackground();
+    }
+
+    public TaskStatsResponseDTO stats() {
+        return taskStatistics.snapshot();
+    }
+
+    @Transactional(readOnly = true)
+    public TaskResponseDTO findResponseByIdOrThrowBadRequestException(Long id, boolean includeArchived) {
+        Optional<TaskRow> hot = taskRepository.findRowById(id);
+        boolean archived = hot.isEmpty() && includeArchived;
+        TaskRow row = (archived ? taskRepository.findArchivedRowById(id) : hot)
+                .orElseThrow(() -> new BadRequestException("No Task found with the provided ID: " + id));
+
+        List<TaskTechnicianRow> technicianRows = archived
+            ? taskRepository.findArchivedTechnicianRowsByTaskIdIn(List.of(id))
+            : taskRepository.findTechnicianRowsByTaskIdIn(List.of(id));
+        return TaskMapper.toResponseDTO(row, groupTechnicianIds(technicianRows).getOrDefault(id, Set.of()));
     }
 
     @Transactional(readOnly = true)
     public Task findByIdOrThrowBadRequestException(Long id) {
-        return taskRepository.findById(id)
+        return taskRepository.findWithTechniciansById(id)
                 .orElseThrow(() -> new BadRequestException("No Task found with the provided ID: " + id));
     }
 
@@ -77,32 +231,139 @@ public class TaskService {
     // UPDATE
     // =============================
     @Transactional
-    public TaskResponseDTO update(TaskRequestCreateDTO dto, Long id) {
+    public TaskResponseDTO update(TaskRequestCreateDTO dto, Long id, Long expectedVersion) {
         Task task = findByIdOrThrowBadRequestException(id);
-        BeanUtils.copyProperties(dto, task);
+        Versions.requireMatch("Task", id, expectedVersion, task.getVersion());
+        TaskStatistics.Contribution before = TaskStatistics.Contribution.of(task);
+        TaskMapper.copyInto(dto, task);
 
         Client client = clientService.findByIdOrThrowBadRequestException( dto.clientId());
         task.setClient(client);
 
-       Set<Technician> technicians = dto.technicianIds() != null 
-       ? dto.technicianIds().stream()
-       .map(technicianService::findByIdOrThrowBadRequestException)
-       .collect(Collectors.toSet()) :  Set.of();
-        
-        task.setTechnicians(technicians);
+        task.setTechnicians(resolveTechnicians(dto.technicianIds()));
 
+        // flushed here so the response carries the version this update produced
+        taskRepository.saveAndFlush(task);
+        taskSearchIndex.index(task);
+        taskStatistics.update(before, task);
+        return TaskMapper.toResponseDTO(task);
+    }
 
-        taskRepository.save(task);
+    // Setting a field to the value it already has leaves it clean, so with
+    // @DynamicUpdate a status-only patch writes the status column and nothing else.
+    @Transactional
+    public TaskResponseDTO patch(JsonNode patch, Long id, Long expectedVersion) {
+        Task task = findByIdOrThrowBadRequestException(id);
+        Versions.requireMatch("Task", id, expectedVersion, task.getVersion());
+
+        TaskStatistics.Contribution before = TaskStatistics.Contribution.of(task);
+        TaskRequestCreateDTO current = TaskMapper.toRequestDTO(task);
+        TaskRequestCreateDTO patched = jsonMergePatch.apply(patch, current, TaskRequestCreateDTO.class);
+
+        TaskMapper.copyInto(patched, task);
+
+        if (!patched.clientId().equals(current.clientId())) {
+            task.setClient(clientService.findByIdOrThrowBadRequestException(patched.clientId()));
+        }
+
+        Set<Long> technicianIds = patched.technicianIds() != null ? patched.technicianIds() : Set.of();
+        if (!technicianIds.equals(current.technicianIds())) {
+            // changed in place so only the added and removed join rows are written
+            task.getTechnicians().removeIf(technician -> !technicianIds.contains(technician.getId()));
+            task.getTechnicians().addAll(resolveTechnicians(technicianIds));
+        }
+
+        taskRepository.saveAndFlush(task);
+        // status and assignment patches leave the searchable text alone
+        if (!Objects.equals(patched.title(), current.title())
+                || !Objects.equals(patched.description(), current.description())) {
+            taskSearchIndex.index(task);
+        }
+        taskStatistics.update(before, task);
         return TaskMapper.toResponseDTO(task);
     }
 
+    // Adding or removing one technician commutes with any other change to the
+    // task, so instead of failing with 412 a lost race is retried on fresh state.
+    public TaskResponseDTO addTechnician(Long id, Long technicianId) {
+        return optimisticLockRetry.execute(() -> {
+            Task task = findByIdOrThrowBadRequestException(id);
+            TaskStatistics.Contribution before = TaskStatistics.Contribution.of(task);
+            task.getTechnicians().add(technicianService.findByIdOrThrowBadRequestException(technicianId));
+            Task savedTask = taskRepository.saveAndFlush(task);
+            taskStatistics.update(before, savedTask);
+            return TaskMapper.toResponseDTO(savedTask);
+        });
+    }
+
+    public TaskResponseDTO removeTechnician(Long id, Long technicianId) {
+        return optimisticLockRetry.execute(() -> {
+            Task task = findByIdOrThrowBadRequestException(id);
+            TaskStatistics.Contribution before = TaskStatistics.Contribution.of(task);
+            task.getTechnicians().removeIf(technician -> technician.getId().equals(technicianId));
+            Task savedTask = taskRepository.saveAndFlush(task);
+            taskStatistics.update(before, savedTask);
+            return TaskMapper.toResponseDTO(savedTask);
+        });
+    }
+
     // =============================
     // DELETE
     // =============================
     @Transactional
     public void delete(Long id) {
-        findByIdOrThrowBadRequestException(id);
+        Task task = findByIdOrThrowBadRequestException(id);
         taskRepository.deleteById(id);
+        taskSearchIndex.remove(id);
+        taskStatistics.remove(TaskStatistics.Contribution.of(task));
+    }
+
+    // ids are unique across both tables, so a page mixing hot and archived rows
+    // asks each join table for all of its ids and the results never collide
+    private Map<Long, Set<Long>> findTechnicianIdsByTaskId(List<TaskRow> rows, boolean includeArchived) {
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Long> taskIds = rows.stream().map(TaskRow::id).toList();
+        List<TaskTechnicianRow> technicianRows = new ArrayList<>(taskRepository.findTechnicianRowsByTaskIdIn(taskIds));
+        if (includeArchived) {
+            technicianRows.addAll(taskRepository.findArchivedTechnicianRowsByTaskIdIn(taskIds));
+        }
+        return groupTechnicianIds(technicianRows);
+    }
+
+    private static Map<Long, Set<Long>> groupTechnicianIds(List<TaskTechnicianRow> technicianRows) {
+        return technicianRows.stream()
+                .collect(Collectors.groupingBy(TaskTechnicianRow::taskId,
+                    Collectors.mapping(TaskTechnicianRow::technicianId, Collectors.toSet())));
+    }
+
+    // Both lists hold the first rows after the cursor in the page order, so the
+    // first rows of their merge are the first rows of the union; the probe row
+    // past the page is kept so toPageWithCursor still sees whether more follow.
+    private static List<TaskRow> mergeArchivedRows(List<TaskRow> hot, List<TaskRow> archived, TaskSort sort, Limit probe) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+
+        Comparator<TaskRow> order = sort.field() == TaskSort.Field.CREATED_AT
+            ? Comparator.comparing(TaskRow::createdAt).thenComparing(TaskRow::id)
+            : Comparator.comparing(TaskRow::id);
+        return Stream.concat(hot.stream(), archived.stream())
+                .sorted(sort.descending() ? order.reversed() : order)
+                .limit(probe.max())
+                .toList();
+    }
+
+    private static String cursorOf(TaskRow row, TaskSort sort) {
+        return sort.field() == TaskSort.Field.CREATED_AT
+            ? KeysetCursor.encode(row.createdAt(), row.id())
+            : KeysetCursor.encode(row.id());
+    }
+
+    private Set<Technician> resolveTechnicians(Collection<Long> technicianIds) {
+        return new HashSet<>(technicianService.findAllByIdOrThrowBadRequestException(technicianIds).values());
     }
 
 
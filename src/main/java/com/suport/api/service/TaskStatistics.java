@@ -0,0 +1,266 @@
+package com.suport.api.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+import com.suport.api.domain.Task;
+import com.suport.api.domain.Technician;
+import com.suport.api.dtos.response.TaskStatsResponseDTO;
+import com.suport.api.enums.TaskPriority;
+import com.suport.api.enums.TaskStatus;
+import com.suport.api.repository.TaskRepository;
+import com.suport.api.repository.projection.TaskCountRow;
+import com.suport.api.repository.projection.TechnicianTaskCountRow;
+import com.suport.api.scheduling.PeriodicTask;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts of the tasks per status, priority, client and technician, hot and
+ * archived together, kept in memory so {@code GET /tasks/stats} never scans
+ * the task tables. Archival only moves tasks between the tables, so it
+ * leaves the counts as they are. {@link TaskService} applies what each write
+ * changed once its transaction commits. Every {@code reconcileInterval} both
+ * tables are recounted with two grouped queries and the result replaces the
+ * counters; that is also how tasks deleted in bulk (client purge) and writes
+ * made by other instances reach the counts.
+ *
+ * <p>Writes applied while a recount reads are replayed onto its result
+ * before it replaces the counters, so they are not lost. The one remaining
+ * race is a write whose transaction commits just before the recount's
+ * queries but whose after-commit step runs just after; it is counted twice
+ * until the next recount. {@value #DRIFT} reports by how much the replaced
+ * counters were off.
+ */
+@Slf4j
+public class TaskStatistics implements AutoCloseable {
+
+    public static final String RECONCILES = "tasks.stats.reconcile";
+    public static final String DRIFT = "tasks.stats.drift";
+
+    /**
+     * What one task adds to the counts, taken before a write changes it.
+     */
+    public record Contribution(TaskStatus status, TaskPriority priority, Long clientId, Set<Long> technicianIds) {
+
+        public static Contribution of(Task task) {
+            Set<Long> technicianIds = task.getTechnicians() == null ? Set.of()
+                : task.getTechnicians().stream().map(Technician::getId).collect(Collectors.toUnmodifiableSet());
+            return new Contribution(task.getStatus(), task.getPriority(),
+                task.getClient() == null ? null : task.getClient().getId(), technicianIds);
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final Timer reconciles;
+    private final Counter drift;
+    private final PeriodicTask scheduler;
+    private final Object lock = new Object();
+    private volatile Counts counts = new Counts(null);
+    // writes applied since the running recount started reading; null while none runs
+    private List<Change> changedDuringRecount;
+
+    public TaskStatistics(TaskRepository taskRepository, Duration reconcileInterval, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.reconciles = Timer.builder(RECONCILES)
+            .description("Time to recount the task statistics from the database")
+            .register(meterRegistry);
+        this.drift = Counter.builder(DRIFT)
+            .description("Sum of the differences between the task statistics and the recounts that replaced them")
+            .register(meterRegistry);
+        this.scheduler = new PeriodicTask("task-statistics", reconcileInterval, this::reconcile);
+    }
+
+    // the first recount runs right away and fills the counters
+    public void start() {
+        scheduler.start(Duration.ZERO);
+    }
+
+    /**
+     * Recounts the task tables, replaces the counters and returns by how much
+     * they were off in total.
+     */
+    public long reconcile() {
+        long start = System.nanoTime();
+        List<Change> changedDuringRead = new ArrayList<>();
+        synchronized (lock) {
+            changedDuringRecount = changedDuringRead;
+        }
+        // anything applied before this point committed before the queries and is in their result
+        Counts recounted = new Counts(LocalDateTime.now());
+        for (TaskCountRow row : taskRepository.countByStatusPriorityAndClient()) {
+            recounted.add(row.status(), row.priority(), row.clientId(), row.count());
+        }
+        for (TechnicianTaskCountRow row : taskRepository.countByTechnician()) {
+            Counts.add(recounted.byTechnician, row.technicianId(), row.count());
+        }
+
+        Counts previous;
+        synchronized (lock) {
+            changedDuringRead.forEach(change -> recounted.apply(change.task(), change.sign()));
+            changedDuringRecount = null;
+            previous = counts;
+            counts = recounted;
+        }
+        long off = previous.reconciledAt == null ? 0 : previous.distanceTo(recounted);
+        drift.increment(off);
+        reconciles.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (off > 0) {
+            log.info("Task statistics recounted; the counts were off by {}", off);
+        }
+        return off;
+    }
+
+    // =============================
+    // WRITE
+    // =============================
+
+    /**
+     * Counts a new task once the current transaction commits.
+     */
+    public void add(Task task) {
+        Contribution added = Contribution.of(task);
+        AfterCommit.run(() -> apply(added, 1));
+    }
+
+    /**
+     * Moves a changed task from the counts it had before the write to its
+     * current ones once the current transaction commits.
+     */
+    public void update(Contribution before, Task task) {
+        Contribution after = Contribution.of(task);
+        if (after.equals(before)) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            synchronized (lock) {
+                apply(before, -1);
+                apply(after, 1);
+            }
+        });
+    }
+
+    /**
+     * Uncounts a deleted task once the current transaction commits.
+     */
+    public void remove(Contribution before) {
+        AfterCommit.run(() -> apply(before, -1));
+    }
+
+    private void apply(Contribution task, long sign) {
+        synchronized (lock) {
+            counts.apply(task, sign);
+            if (changedDuringRecount != null) {
+                changedDuringRecount.add(new Change(task, sign));
+            }
+        }
+    }
+
+    // =============================
+    // READ
+    // =============================
+
+    public TaskStatsResponseDTO snapshot() {
+        Counts current = counts;
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, current.byStatus.get(status.ordinal()));
+        }
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, current.byPriority.get(priority.ordinal()));
+        }
+        return new TaskStatsResponseDTO(current.total.get(), byStatus, byPriority,
+            new TreeMap<>(current.byClient), new TreeMap<>(current.byTechnician), current.reconciledAt);
+    }
+
+    @Override
+    public void close() {
+        scheduler.close();
+    }
+
+    private record Change(Contribution task, long sign) {
+    }
+
+    // One generation of counters; a recount builds a new one and swaps it in,
+    // so readers never see a half-recounted state.
+    private static final class Counts {
+
+        private final LocalDateTime reconciledAt;
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLongArray byStatus = new AtomicLongArray(TaskStatus.values().length);
+        private final AtomicLongArray byPriority = new AtomicLongArray(TaskPriority.values().length);
+        private final ConcurrentHashMap<Long, Long> byClient = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, Long> byTechnician = new ConcurrentHashMap<>();
+
+        private Counts(LocalDateTime reconciledAt) {
+            this.reconciledAt = reconciledAt;
+        }
+
+        private void apply(Contribution task, long sign) {
+            add(task.status(), task.priority(), task.clientId(), sign);
+            for (Long technicianId : task.technicianIds()) {
+                add(byTechnician, technicianId, sign);
+            }
+        }
+
+        private void add(TaskStatus status, TaskPriority priority, Long clientId, long count) {
+            total.addAndGet(count);
+            if (status != null) {
+                byStatus.addAndGet(status.ordinal(), count);
+            }
+            if (priority != null) {
+                byPriority.addAndGet(priority.ordinal(), count);
+            }
+            if (clientId != null) {
+                add(byClient, clientId, count);
+            }
+        }
+
+        // a count back at zero is dropped, so deleted clients and technicians do not
+        // linger; a decrement of an id that is not counted never goes below zero
+        private static void add(ConcurrentHashMap<Long, Long> counts, Long id, long count) {
+            counts.compute(id, (key, current) -> {
+                long updated = (current == null ? 0 : current) + count;
+                return updated > 0 ? updated : null;
+            });
+        }
+
+        private long distanceTo(Counts other) {
+            long distance = Math.abs(total.get() - other.total.get());
+            for (int i = 0; i < byStatus.length(); i++) {
+                distance += Math.abs(byStatus.get(i) - other.byStatus.get(i));
+            }
+            for (int i = 0; i < byPriority.length(); i++) {
+                distance += Math.abs(byPriority.get(i) - other.byPriority.get(i));
+            }
+            return distance + distance(byClient, other.byClient) + distance(byTechnician, other.byTechnician);
+        }
+
+        private static long distance(Map<Long, Long> counts, Map<Long, Long> other) {
+            Set<Long> ids = new HashSet<>(counts.keySet());
+            ids.addAll(other.keySet());
+            long distance = 0;
+            for (Long id : ids) {
+                distance += Math.abs(counts.getOrDefault(id, 0l) - other.getOrDefault(id, 0l));
+            }
+            return distance;
+        }
+    }
+}
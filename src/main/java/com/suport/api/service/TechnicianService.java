@@ -1,30 +1,35 @@
 package com.suport.api.service;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.suport.api.domain.Task;
+import com.fasterxml.jackson.databind.JsonNode;
+
 import com.suport.api.domain.Technician;
 import com.suport.api.dtos.request.TechnicianRequestDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.dtos.response.TechnicianResponseDTO;
 import com.suport.api.exceptions.BadRequestException;
 import com.suport.api.mappers.TechnicianMapper;
-import com.suport.api.repository.TaskRepository;
+import com.suport.api.pagination.KeysetCursor;
 import com.suport.api.repository.TechnicianRepository;
 
 @Service
 public class TechnicianService {
 
     private final TechnicianRepository technicianRepository;
-    private final TaskRepository taskRepository;
+    private final JsonMergePatch jsonMergePatch;
 
-    public TechnicianService(TechnicianRepository technicianRepository,TaskRepository taskRepository) {
+    public TechnicianService(TechnicianRepository technicianRepository, JsonMergePatch jsonMergePatch) {
         this.technicianRepository = technicianRepository;
-        this.taskRepository = taskRepository;
+        this.jsonMergePatch = jsonMergePatch;
     }
 
     // =============================
@@ -32,8 +37,7 @@ public class TechnicianService {
     // =============================
     @Transactional
     public TechnicianResponseDTO save(TechnicianRequestDTO dto) {
-        Technician technician = new Technician();
-        BeanUtils.copyProperties(dto, technician);
+        Technician technician = TechnicianMapper.toEntity(dto);
 
         Technician savedTechnician = technicianRepository.save(technician);
         return TechnicianMapper.toResponseDTO(savedTechnician);
@@ -43,10 +47,18 @@ public class TechnicianService {
     // READ
     // =============================
     @Transactional(readOnly = true)
-    public List<TechnicianResponseDTO> findAll() {
-        return technicianRepository.findAll().stream()
-                .map(TechnicianMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public CursorPageResponseDTO<TechnicianResponseDTO> findAll(String after, Integer limit) {
+        int pageSize = KeysetCursor.boundedLimit(limit);
+        List<TechnicianResponseDTO> rows = technicianRepository.findResponsesByIdGreaterThan(
+            KeysetCursor.decode(after), KeysetCursor.probe(pageSize));
+
+        return KeysetCursor.toPage(rows, pageSize, TechnicianResponseDTO::id, Function.identity());
+    }
+
+    @Transactional(readOnly = true)
+    public TechnicianResponseDTO findResponseByIdOrThrowBadRequestException(Long id) {
+        return technicianRepository.findResponseById(id)
+                .orElseThrow(() -> new BadRequestException("No Technician found with the provided ID: " + id));
     }
 
     @Transactional(readOnly = true)
@@ -55,15 +67,49 @@ public class TechnicianService {
                 .orElseThrow(() -> new BadRequestException("No Technician found with the provided ID: " + id));
     }
 
+    // one query for all ids; the first missing id fails like findByIdOrThrowBadRequestException
+    @Transactional(readOnly = true)
+    public Map<Long, Technician> findAllByIdOrThrowBadRequestException(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Technician> found = technicianRepository.loadAllById(new LinkedHashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Technician::getId, Function.identity()));
+
+        for (Long id : ids) {
+            if (!found.containsKey(id)) {
+                throw new BadRequestException("No Technician found with the provided ID: " + id);
+            }
+        }
+        return found;
+    }
+
     // =============================
     // UPDATE
     // =============================
     @Transactional
-    public TechnicianResponseDTO update(TechnicianRequestDTO dto, Long id) {
+    public TechnicianResponseDTO update(TechnicianRequestDTO dto, Long id, Long expectedVersion) {
+        Technician technician = findByIdOrThrowBadRequestException(id);
+        Versions.requireMatch("Technician", id, expectedVersion, technician.getVersion());
+        TechnicianMapper.copyInto(dto, technician);
+
+        // flushed here so the response carries the version this update produced
+        technicianRepository.saveAndFlush(technician);
+        return TechnicianMapper.toResponseDTO(technician);
+    }
+
+    @Transactional
+    public TechnicianResponseDTO patch(JsonNode patch, Long id, Long expectedVersion) {
         Technician technician = findByIdOrThrowBadRequestException(id);
-        BeanUtils.copyProperties(dto, technician);
+        Versions.requireMatch("Technician", id, expectedVersion, technician.getVersion());
+
+        TechnicianRequestDTO patched = jsonMergePatch.apply(
+            patch, TechnicianMapper.toRequestDTO(technician), TechnicianRequestDTO.class);
+
+        TechnicianMapper.copyInto(patched, technician);
 
-        technicianRepository.save(technician);
+        technicianRepository.saveAndFlush(technician);
         return TechnicianMapper.toResponseDTO(technician);
     }
 
@@ -72,14 +118,9 @@ public class TechnicianService {
     // =============================
     @Transactional
     public void delete(Long id) {
-        Technician technician = findByIdOrThrowBadRequestException(id);
-
-          for (Task task : technician.getTasks()) {
-            task.getTechnicians().remove(technician);
-            taskRepository.save(task);
-        }
+        findByIdOrThrowBadRequestException(id);
 
-        technician.getTasks().clear();
-        technicianRepository.delete(technician);
+        technicianRepository.detachFromAllTasks(id);
+        technicianRepository.deleteById(id);
     }
 }
@@ -0,0 +1,204 @@
+package com.suport.api.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.suport.api.domain.RevokedToken;
+import com.suport.api.repository.RevokedTokenRepository;
+import com.suport.api.scheduling.PeriodicTask;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tokens revoked one by one (logout, refresh tokens already exchanged),
+ * stored in {@code revoked_tokens} and mirrored in memory by a Bloom filter
+ * of their ids. A token the filter has never seen is not revoked, which is
+ * the answer for almost every request and costs a few array reads, without
+ * allocating or touching the database; only when the filter says "maybe" is
+ * the table asked. Those false alarms are counted as {@value #FALSE_POSITIVES}.
+ *
+ * <p>Every {@code refreshInterval} the rows of expired tokens are deleted and
+ * the filter is rebuilt from the table, sized for twice what it holds and at
+ * least {@code expectedRevocations} at {@code falsePositiveRate}; that also
+ * brings in the revocations made by other instances. Revocations made here
+ * while a rebuild reads the table are carried over into the new filter.
+ */
+@Slf4j
+public class TokenRevocations implements AutoCloseable {
+
+    public static final String REFRESHES = "auth.token-revocations.refresh";
+    public static final String FALSE_POSITIVES = "auth.token-revocations.false-positives";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Timer refreshes;
+    private final Counter falsePositives;
+    private final PeriodicTask scheduler;
+    private final Object lock = new Object();
+    private volatile BloomFilter revoked;
+    // ids revoked since the running rebuild started reading
+    private List<String> revokedDuringRefresh = new ArrayList<>();
+
+    public TokenRevocations(RevokedTokenRepository revokedTokenRepository, long expectedRevocations, double falsePositiveRate,
+        Duration refreshInterval, MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revoked = BloomFilter.sized(expectedRevocations, falsePositiveRate);
+        this.refreshes = Timer.builder(REFRESHES)
+            .description("Time to purge the expired revoked tokens and rebuild their filter")
+            .register(meterRegistry);
+        this.falsePositives = Counter.builder(FALSE_POSITIVES)
+            .description("Tokens the filter reported as maybe revoked that the table did not hold")
+            .register(meterRegistry);
+        this.scheduler = new PeriodicTask("token-revocations", refreshInterval, this::refresh);
+    }
+
+    // the first rebuild runs right away and fills the filter
+    public void start() {
+        scheduler.start(Duration.ZERO);
+    }
+
+    /**
+     * Deletes the revocations of expired tokens, rebuilds the filter from the
+     * rest and returns how many it holds.
+     */
+    public int refresh() {
+        long start = System.nanoTime();
+        int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now(ZoneOffset.UTC));
+        List<String> revokedDuringRead = new ArrayList<>();
+        synchronized (lock) {
+            revokedDuringRefresh = revokedDuringRead;
+        }
+        // anything revoked before this point is in the table and in the result
+        List<String> jtis = revokedTokenRepository.findAllJtis();
+        BloomFilter rebuilt = BloomFilter.sized(Math.max(expectedRevocations, 2l * jtis.size()), falsePositiveRate);
+        jtis.forEach(rebuilt::add);
+        synchronized (lock) {
+            revokedDuringRead.forEach(rebuilt::add);
+            revoked = rebuilt;
+        }
+        refreshes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (purged > 0) {
+            log.debug("Deleted {} revocations of expired tokens", purged);
+        }
+        return jtis.size();
+    }
+
+    /**
+     * Whether the token with id {@code jti} was revoked. Tokens without an id
+     * (issued before ids existed) cannot be revoked one by one.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !revoked.mightContain(jti)) {
+            return false;
+        }
+        if (revokedTokenRepository.existsById(jti)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Revokes the token with id {@code jti} until it expires. Returns false
+     * when it was already revoked, here or by another instance.
+     */
+    public boolean revoke(String jti, Instant expiresAt) {
+        try {
+            revokedTokenRepository.saveAndFlush(new RevokedToken(jti, LocalDateTime.ofInstant(expiresAt, ZoneOffset.UTC)));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+        synchronized (lock) {
+            revoked.add(jti);
+            revokedDuringRefresh.add(jti);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        scheduler.close();
+    }
+
+    // Bits set by k hashes per id, derived from two 64-bit hashes of the
+    // characters (Kirsch-Mitzenmacher), so a lookup allocates nothing.
+    private static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bits;
+        private final int hashes;
+
+        private BloomFilter(long bits, int hashes) {
+            this.words = new AtomicLongArray((int) ((bits + 63) / 64));
+            this.bits = bits;
+            this.hashes = hashes;
+        }
+
+        private static BloomFilter sized(long expectedInsertions, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long bits = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2)));
+            int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * ln2));
+            return new BloomFilter(bits, hashes);
+        }
+
+        private void add(String key) {
+            long hash1 = hash(key);
+            long hash2 = mix(hash1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1l << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        private boolean mightContain(String key) {
+            long hash1 = hash(key);
+            long hash2 = mix(hash1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1l << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a over the characters, finished with a mix so every bit depends on every character
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325l;
+            for (int i = 0; i < key.length(); i++) {
+                hash ^= key.charAt(i);
+                hash *= 0x100000001b3l;
+            }
+            return mix(hash);
+        }
+
+        // the MurmurHash3 64-bit finalizer
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdl;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb53fe1a85ec3l;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
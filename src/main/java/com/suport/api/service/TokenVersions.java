@@ -0,0 +1,100 @@
+package com.suport.api.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.suport.api.repository.UserModelRepository;
+import com.suport.api.repository.projection.TokenVersionRow;
+import com.suport.api.scheduling.PeriodicTask;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The token version each user's bearer tokens must carry, kept in memory so
+ * {@link com.suport.api.config.SecurityFilter} can reject revoked tokens
+ * without reading the users table. Only users whose tokens were ever revoked
+ * are held; everyone else is at version 0.
+ *
+ * <p>A revocation made here applies as soon as its transaction commits; one
+ * made by another instance is read by the next refresh, every
+ * {@code refreshInterval}. A refresh replaces the map, so a user removed and
+ * created again under the same login starts over at version 0; revocations
+ * committed while it reads are carried over into the new map.
+ */
+public class TokenVersions implements AutoCloseable {
+
+    public static final String REFRESHES = "auth.token-versions.refresh";
+
+    private final UserModelRepository userModelRepository;
+    private final Timer refreshes;
+    private final PeriodicTask scheduler;
+    private final Object lock = new Object();
+    private volatile Map<String, Long> versions = new ConcurrentHashMap<>();
+    // revocations applied since the running refresh started reading
+    private Map<String, Long> revokedDuringRefresh = new ConcurrentHashMap<>();
+
+    public TokenVersions(UserModelRepository userModelRepository, Duration refreshInterval, MeterRegistry meterRegistry) {
+        this.userModelRepository = userModelRepository;
+        this.refreshes = Timer.builder(REFRESHES)
+            .description("Time to read the token versions of the revoked users")
+            .register(meterRegistry);
+        meterRegistry.gauge("auth.token-versions.users", this, tokenVersions -> tokenVersions.versions.size());
+        this.scheduler = new PeriodicTask("token-versions", refreshInterval, this::refresh);
+    }
+
+    // the first refresh runs right away and fills the map
+    public void start() {
+        scheduler.start(Duration.ZERO);
+    }
+
+    /**
+     * Reads the versions of the revoked users and returns how many there are.
+     */
+    public int refresh() {
+        long start = System.nanoTime();
+        Map<String, Long> revokedDuringRead = new ConcurrentHashMap<>();
+        synchronized (lock) {
+            revokedDuringRefresh = revokedDuringRead;
+        }
+        // anything revoked before this point committed before the query and is in its result
+        Map<String, Long> read = new ConcurrentHashMap<>();
+        for (TokenVersionRow row : userModelRepository.findRevokedTokenVersions()) {
+            read.put(row.login(), row.tokenVersion());
+        }
+        synchronized (lock) {
+            revokedDuringRead.forEach((login, tokenVersion) -> read.merge(login, tokenVersion, Math::max));
+            versions = read;
+        }
+        refreshes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return read.size();
+    }
+
+    /**
+     * Whether a token issued to {@code login} with {@code tokenVersion} was
+     * not revoked since.
+     */
+    public boolean isCurrent(String login, long tokenVersion) {
+        return tokenVersion >= versions.getOrDefault(login, 0l);
+    }
+
+    /**
+     * Rejects the tokens of {@code login} older than {@code tokenVersion}
+     * once the current transaction commits.
+     */
+    public void revoked(String login, long tokenVersion) {
+        AfterCommit.run(() -> {
+            synchronized (lock) {
+                versions.merge(login, tokenVersion, Math::max);
+                revokedDuringRefresh.merge(login, tokenVersion, Math::max);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        scheduler.close();
+    }
+}
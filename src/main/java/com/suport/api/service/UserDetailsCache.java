@@ -0,0 +1,56 @@
+package com.suport.api.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.suport.api.repository.UserModelRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Users behind the logins of bearer tokens, cached so an authenticated
+ * request does not read the users table. At most {@code maximumSize} users
+ * are kept, each for {@code timeToLive}; that bounds how long a change made
+ * without going through {@link #evict} (another instance, a manual update)
+ * stays unseen. Hits and misses are exported as {@code cache.*} meters
+ * tagged {@code cache=users}.
+ *
+ * <p>Logins without a user are not cached, so a user registered after a
+ * failed lookup is found on the next request.
+ */
+public class UserDetailsCache {
+
+    public static final String CACHE_NAME = "users";
+
+    private final UserModelRepository userModelRepository;
+    private final Cache<String, UserDetails> users;
+
+    public UserDetailsCache(UserModelRepository userModelRepository, long maximumSize, Duration timeToLive, MeterRegistry meterRegistry) {
+        this.userModelRepository = userModelRepository;
+        this.users = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, CACHE_NAME);
+    }
+
+    // concurrent misses on one login share a single query
+    public Optional<UserDetails> findByLogin(String login) {
+        return Optional.ofNullable(users.get(login, key -> userModelRepository.findByLogin(key).orElse(null)));
+    }
+
+    /**
+     * Drops the cached user once the current transaction commits, so the
+     * next request reads what that transaction wrote. To be called by
+     * anything that creates a user or changes its role or password.
+     */
+    public void evict(String login) {
+        AfterCommit.run(() -> users.invalidate(login));
+    }
+}
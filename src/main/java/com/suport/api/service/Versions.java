@@ -0,0 +1,19 @@
+package com.suport.api.service;
+
+import com.suport.api.exceptions.PreconditionFailedException;
+
+final class Versions {
+
+    private Versions() {
+    }
+
+    // expected comes from If-Match; null means the caller did not ask for a check.
+    // A write that passes here can still lose to a concurrent commit, which
+    // Hibernate's versioned UPDATE reports as an optimistic locking failure.
+    static void requireMatch(String resource, Long id, Long expected, Long actual) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new PreconditionFailedException(
+                resource + " " + id + " is at version " + actual + ", not " + expected);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+-- stamped by ClientService when a client drops its address; AddressCompactor
+-- only deletes stamped rows, so addresses created through /addresses stay
+alter table address add column superseded_at timestamp(6);
+
+create index idx_address_superseded_at on address (superseded_at);
@@ -0,0 +1,7 @@
+-- keyset pages sorted by createdAt need a value on every row; rows from before
+-- created_at was filled take the closest timestamp they have
+update tasks set created_at = coalesce(updated_at, closed_at, current_timestamp) where created_at is null;
+alter table tasks alter column created_at set not null;
+
+update tasks_archive set created_at = coalesce(updated_at, closed_at, archived_at) where created_at is null;
+alter table tasks_archive alter column created_at set not null;
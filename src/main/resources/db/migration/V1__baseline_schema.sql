@@ -0,0 +1,73 @@
+-- Schema as Hibernate generated it before migrations took over. Databases that
+-- already have these tables are baselined at this version and skip this script.
+
+create sequence address_seq start with 1 increment by 50;
+create sequence clients_seq start with 1 increment by 50;
+create sequence tasks_seq start with 1 increment by 50;
+create sequence technicians_seq start with 1 increment by 50;
+create sequence users_seq start with 1 increment by 50;
+
+create table address (
+    id bigint not null,
+    city varchar(255),
+    complement varchar(255),
+    district varchar(255),
+    number varchar(255),
+    postal_code varchar(255),
+    state varchar(255),
+    street varchar(255),
+    primary key (id)
+);
+
+create table clients (
+    id bigint not null,
+    address_id bigint unique,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    email varchar(255),
+    name varchar(255),
+    phone varchar(255),
+    tax_id varchar(255),
+    type varchar(255) check (type in ('INDIVIDUAL','BUSINESS')),
+    primary key (id)
+);
+
+create table technicians (
+    id bigint not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    name varchar(255),
+    phone varchar(255),
+    primary key (id)
+);
+
+create table tasks (
+    id bigint not null,
+    client_id bigint,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    description varchar(255),
+    priority varchar(255) check (priority in ('LOW','MEDIUM','HIGH','URGENT')),
+    status varchar(255) check (status in ('OPEN','IN_PROGRESS','COMPLETED','CLOSED')),
+    title varchar(255),
+    primary key (id)
+);
+
+create table task_technicians (
+    task_id bigint not null,
+    technician_id bigint not null,
+    primary key (task_id, technician_id)
+);
+
+create table users (
+    id bigint not null,
+    login varchar(255) not null unique,
+    password varchar(255),
+    role varchar(255) check (role in ('ADMIN','USER')),
+    primary key (id)
+);
+
+alter table clients add constraint fk_clients_address foreign key (address_id) references address (id);
+alter table tasks add constraint fk_tasks_client foreign key (client_id) references clients (id);
+alter table task_technicians add constraint fk_task_technicians_task foreign key (task_id) references tasks (id);
+alter table task_technicians add constraint fk_task_technicians_technician foreign key (technician_id) references technicians (id);
@@ -0,0 +1,10 @@
+-- GET /tasks filters by status and priority and seeks/sorts by created_at;
+-- the equality columns go first so the range and ORDER BY use the same index.
+create index idx_tasks_status_priority_created_at on tasks (status, priority, created_at);
+
+-- client filter, and the FK lookup done when a client is deleted
+create index idx_tasks_client_id on tasks (client_id);
+
+-- the primary key (task_id, technician_id) cannot serve lookups by technician:
+-- technician filter and the detach delete in TechnicianRepositoryCustomImpl
+create index idx_task_technicians_technician_id on task_technicians (technician_id);
@@ -0,0 +1,4 @@
+-- @Version columns for optimistic locking; existing rows start at version 0
+alter table tasks add column version bigint default 0 not null;
+alter table clients add column version bigint default 0 not null;
+alter table technicians add column version bigint default 0 not null;
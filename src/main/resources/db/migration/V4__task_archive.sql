@@ -0,0 +1,41 @@
+-- when the task was last moved to CLOSED or COMPLETED; null while it is open.
+-- Tasks already closed take their last update as the closing time.
+alter table tasks add column closed_at timestamp(6);
+update tasks set closed_at = updated_at where status in ('CLOSED', 'COMPLETED');
+
+-- the archival job seeks the oldest closed tasks through this index
+create index idx_tasks_closed_at on tasks (closed_at);
+
+-- Cold copies of tasks closed for longer than api.archive.closed-for, moved in
+-- batches by TaskArchiver. Same columns as the hot tables plus the time of the
+-- move; the foreign keys keep clients and technicians from being deleted while
+-- archived tasks still reference them, exactly as with the hot tables.
+create table tasks_archive (
+    id bigint not null,
+    client_id bigint,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    closed_at timestamp(6),
+    archived_at timestamp(6) not null,
+    description varchar(255),
+    priority varchar(255) check (priority in ('LOW','MEDIUM','HIGH','URGENT')),
+    status varchar(255) check (status in ('OPEN','IN_PROGRESS','COMPLETED','CLOSED')),
+    title varchar(255),
+    version bigint default 0 not null,
+    primary key (id)
+);
+
+create table task_technicians_archive (
+    task_id bigint not null,
+    technician_id bigint not null,
+    primary key (task_id, technician_id)
+);
+
+alter table tasks_archive add constraint fk_tasks_archive_client foreign key (client_id) references clients (id);
+alter table task_technicians_archive add constraint fk_task_technicians_archive_task foreign key (task_id) references tasks_archive (id);
+alter table task_technicians_archive add constraint fk_task_technicians_archive_technician foreign key (technician_id) references technicians (id);
+
+-- same lookups as on the hot tables, used by ?includeArchived=true
+create index idx_tasks_archive_status_priority_created_at on tasks_archive (status, priority, created_at);
+create index idx_tasks_archive_client_id on tasks_archive (client_id);
+create index idx_task_technicians_archive_technician_id on task_technicians_archive (technician_id);
@@ -0,0 +1,6 @@
+-- DELETE /clients/{id} only stamps deleted_at; ClientPurger removes the tasks,
+-- join rows, address and finally the client row in bulk, outside the request
+alter table clients add column deleted_at timestamp(6);
+
+-- the purger picks up deleted clients in deletion order
+create index idx_clients_deleted_at on clients (deleted_at);
@@ -0,0 +1,3 @@
+-- bumped to revoke every token issued to a user so far; tokens carry the
+-- version they were issued with and are rejected once it falls behind
+alter table users add column token_version bigint default 0 not null;
@@ -0,0 +1,10 @@
+-- Ids (jti) of access and refresh tokens revoked before their expiry: logged
+-- out, or refresh tokens already exchanged. TokenRevocations keeps a Bloom
+-- filter of them in memory and deletes the rows once the tokens expired.
+create table revoked_tokens (
+    jti varchar(36) not null,
+    expires_at timestamp(6) not null,
+    primary key (jti)
+);
+
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
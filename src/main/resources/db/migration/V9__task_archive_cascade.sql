@@ -0,0 +1,11 @@
+-- Removing a client removes its archived tasks, and removing an archived task its
+-- technician rows, so no delete path has to know about the archive to succeed.
+-- ClientPurger still deletes the archived tasks first, in chunks; the cascade
+-- only covers what reaches the client row some other way.
+alter table tasks_archive drop constraint fk_tasks_archive_client;
+alter table tasks_archive add constraint fk_tasks_archive_client
+    foreign key (client_id) references clients (id) on delete cascade;
+
+alter table task_technicians_archive drop constraint fk_task_technicians_archive_task;
+alter table task_technicians_archive add constraint fk_task_technicians_archive_task
+    foreign key (task_id) references tasks_archive (id) on delete cascade;
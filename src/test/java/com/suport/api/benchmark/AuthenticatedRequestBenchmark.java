@@ -0,0 +1,115 @@
+package com.suport.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.Filter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.suport.api.ApiApplication;
+import com.suport.api.config.TokenService;
+import com.suport.api.domain.Technician;
+import com.suport.api.domain.UserModel;
+import com.suport.api.enums.UserRole;
+import com.suport.api.repository.TechnicianRepository;
+import com.suport.api.repository.UserModelRepository;
+
+/**
+ * Authenticated GETs through the whole filter chain and dispatcher of the
+ * application on the test profile (H2), in process so socket latency does
+ * not drown the difference, with the user cache of the security filter on
+ * ({@code userCacheSize} 10000) and off (0, every request reads the users
+ * table). GET /tasks/stats does no database work of its own, so it shows
+ * the authentication cost alone; GET /technicians/{id} is a typical small read.
+ *
+ * <pre>mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=AuthenticatedRequestBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticatedRequestBenchmark {
+
+    @Param({"0", "10000"})
+    private int userCacheSize;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private RequestBuilder stats;
+    private RequestBuilder technician;
+
+    @Setup
+    public void setUp() {
+        // arguments, so they win over application-test.yml
+        context = new SpringApplicationBuilder(ApiApplication.class)
+            .profiles("test")
+            .run(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--api.search.rebuild-on-start=false",
+                "--api.security.user-cache.maximum-size=" + userCacheSize);
+
+        UserModel user = context.getBean(UserModelRepository.class).save(new UserModel(
+            "benchmark", context.getBean(PasswordEncoder.class).encode("benchmark"), UserRole.ADMIN));
+        Technician saved = context.getBean(TechnicianRepository.class).save(
+            Technician.builder().name("Vi").phone("(11) 1111-1111").build());
+        String token = context.getBean(TokenService.class).createToken(user);
+
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+            .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+            .build();
+        stats = authenticatedGet("/tasks/stats", token);
+        technician = authenticatedGet("/technicians/" + saved.getId(), token);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int taskStats() throws Exception {
+        return send(stats);
+    }
+
+    @Benchmark
+    public int technicianById() throws Exception {
+        return send(technician);
+    }
+
+    private int send(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException(result.getRequest().getRequestURI() + " answered " + result.getResponse().getStatus());
+        }
+        return result.getResponse().getContentLength();
+    }
+
+    private static RequestBuilder authenticatedGet(String url, String token) {
+        return MockMvcRequestBuilders.get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+}
@@ -0,0 +1,95 @@
+package com.suport.api.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.suport.api.domain.Client;
+import com.suport.api.dtos.response.ClientSuggestionResponseDTO;
+import com.suport.api.service.ClientSuggestIndex;
+
+/**
+ * Type-ahead lookups against a client suggest index holding {@code clients}
+ * synthetic clients. Sample mode, so the report carries the p99 and p99.9
+ * latencies and not just the mean.
+ *
+ * <pre>mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=ClientSuggestBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ClientSuggestBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+        "Ana", "João", "Maria", "José", "Joana", "Carlos", "Fernanda", "Lucas", "Mariana", "Paulo",
+        "Beatriz", "Rafael", "Camila", "Gustavo", "Larissa", "Pedro", "Juliana", "Bruno", "Patrícia", "Diego"
+    };
+    private static final String[] LAST_NAMES = {
+        "Silva", "Souza", "Oliveira", "Santos", "Pereira", "Costa", "Rodrigues", "Almeida", "Nascimento", "Lima",
+        "Araújo", "Fernandes", "Carvalho", "Gomes", "Martins", "Rocha", "Ribeiro", "Alves", "Monteiro", "Mendes"
+    };
+
+    @Param("500000")
+    private int clients;
+
+    private ClientSuggestIndex index;
+
+    @Setup
+    public void setUp() {
+        // no repository: the clients are written straight into the index
+        index = new ClientSuggestIndex(null);
+        Random random = new Random(42);
+        for (long id = 1; id <= clients; id++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            index.index(Client.builder()
+                .id(id)
+                .name(first + " " + last + " " + id)
+                .email(first.toLowerCase() + "." + id + "@mail.com")
+                .taxId(String.format("%011d", random.nextLong(100_000_000_000L)))
+                .version(0L)
+                .build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        index.close();
+    }
+
+    @Benchmark
+    public List<ClientSuggestionResponseDTO> suggest_twoLetters() {
+        return index.suggest("jo", ClientSuggestIndex.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public List<ClientSuggestionResponseDTO> suggest_lastName() {
+        return index.suggest("olive", ClientSuggestIndex.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public List<ClientSuggestionResponseDTO> suggest_taxId() {
+        return index.suggest("123.4", ClientSuggestIndex.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public List<ClientSuggestionResponseDTO> suggest_noMatch() {
+        return index.suggest("xyz", ClientSuggestIndex.MAX_LIMIT);
+    }
+}
@@ -0,0 +1,99 @@
+package com.suport.api.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import com.suport.api.domain.Address;
+import com.suport.api.domain.Client;
+import com.suport.api.domain.Task;
+import com.suport.api.dtos.request.AddressRequestDTO;
+import com.suport.api.dtos.request.ClientRequestCreateDTO;
+import com.suport.api.dtos.request.TaskRequestCreateDTO;
+import com.suport.api.enums.ClientType;
+import com.suport.api.enums.TaskPriority;
+import com.suport.api.enums.TaskStatus;
+import com.suport.api.mappers.ClientMapper;
+import com.suport.api.mappers.TaskMapper;
+
+/**
+ * Request DTO to entity copies: the hand-written mappers against the
+ * {@code BeanUtils.copyProperties} calls they replaced.
+ *
+ * <pre>mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=MapperBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final TaskRequestCreateDTO taskRequest = new TaskRequestCreateDTO(
+        "Printer with printing problem",
+        "when I try to print more than 2 sheets I get an error",
+        TaskStatus.OPEN,
+        TaskPriority.MEDIUM,
+        1L,
+        Set.of(2L, 7L));
+
+    private final ClientRequestCreateDTO clientRequest = new ClientRequestCreateDTO(
+        "Google",
+        "example@gmail.com",
+        "12.345.678/0001-00",
+        "(00) 0000-0000",
+        new AddressRequestDTO("Main Street", "123", "SP", "Los Angeles", "01000-000", "Apt 101", "Downtown"),
+        ClientType.BUSINESS);
+
+    private final Task managedTask = new Task();
+
+    @Benchmark
+    public Task taskToEntity_beanUtils() {
+        Task task = new Task();
+        BeanUtils.copyProperties(taskRequest, task, "clientId", "technicianIds");
+        return task;
+    }
+
+    @Benchmark
+    public Task taskToEntity_mapper() {
+        return TaskMapper.toEntity(taskRequest);
+    }
+
+    @Benchmark
+    public Task taskCopyInto_beanUtils() {
+        BeanUtils.copyProperties(taskRequest, managedTask);
+        return managedTask;
+    }
+
+    @Benchmark
+    public Task taskCopyInto_mapper() {
+        TaskMapper.copyInto(taskRequest, managedTask);
+        return managedTask;
+    }
+
+    @Benchmark
+    public Client clientToEntity_beanUtils() {
+        Client client = new Client();
+        BeanUtils.copyProperties(clientRequest, client, "address");
+        Address address = new Address();
+        BeanUtils.copyProperties(clientRequest.address(), address);
+        client.setAddress(address);
+        return client;
+    }
+
+    @Benchmark
+    public Client clientToEntity_mapper() {
+        return ClientMapper.toEntity(clientRequest);
+    }
+}
@@ -0,0 +1,77 @@
+package com.suport.api.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.suport.api.repository.RevokedTokenRepository;
+import com.suport.api.service.TokenRevocations;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The revocation check of every authenticated request, for token ids that
+ * were not revoked, with 100000 revoked ids loaded. Run with {@code -prof gc}:
+ * the filter itself allocates nothing, the few bytes per call reported come
+ * from the ~1% false positives asking the (mocked) table.
+ *
+ * <pre>mvn -Pbenchmarks test-compile exec:exec -Dbenchmark="TokenRevocationsBenchmark -prof gc"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationsBenchmark {
+
+    private static final int REVOKED = 100_000;
+    private static final int LOOKUPS = 1024;
+
+    private TokenRevocations tokenRevocations;
+    private String[] activeIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<String> revoked = new ArrayList<>(REVOKED);
+        for (int i = 0; i < REVOKED; i++) {
+            revoked.add(UUID.randomUUID().toString());
+        }
+        RevokedTokenRepository repository = Mockito.mock(RevokedTokenRepository.class);
+        Mockito.when(repository.findAllJtis()).thenReturn(revoked);
+        tokenRevocations = new TokenRevocations(repository, REVOKED, 0.01, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        tokenRevocations.refresh();
+
+        activeIds = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            activeIds[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        tokenRevocations.close();
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return tokenRevocations.isRevoked(activeIds[next]);
+    }
+}
@@ -0,0 +1,64 @@
+package com.suport.api.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.suport.api.config.TokenService;
+import com.suport.api.domain.UserModel;
+import com.suport.api.enums.UserRole;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Validating the same bearer token again and again, as every request of a
+ * client does: a verifier built per call (how tokens used to be validated),
+ * one shared verifier, and {@link TokenService} with its verified-token cache.
+ *
+ * <pre>mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=TokenServiceBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "benchmarkSecret";
+    private static final String ISSUER = "benchmark";
+
+    private final TokenService tokenService =
+        new TokenService(SECRET, ISSUER, 60, 600, 10_000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    private final JWTVerifier sharedVerifier = JWT.require(Algorithm.HMAC256(SECRET)).withIssuer(ISSUER).build();
+
+    private final String token = tokenService.createToken(new UserModel("benchmark", "hash", UserRole.ADMIN));
+
+    @Benchmark
+    public String verifierPerCall() {
+        return JWT.require(Algorithm.HMAC256(SECRET)).withIssuer(ISSUER).build().verify(token).getSubject();
+    }
+
+    @Benchmark
+    public String sharedVerifier() {
+        return sharedVerifier.verify(token).getSubject();
+    }
+
+    @Benchmark
+    public String tokenService() {
+        return tokenService.validate(token).subject();
+    }
+}
@@ -0,0 +1,93 @@
+package com.suport.api.config;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.suport.api.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Tests for the bounded password hashing")
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry registry;
+    private CountDownLatch release;
+    private CountDownLatch started;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        release = new CountDownLatch(1);
+        started = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    @DisplayName("Encode and matches: hash on the pool and time each operation")
+    void encodeAndMatches_HashOnPool_and_recordTime() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, registry);
+
+        String hash = encoder.encode("testPass123");
+
+        Assertions.assertThat(encoder.matches("testPass123", hash)).isTrue();
+        Assertions.assertThat(encoder.matches("wrong", hash)).isFalse();
+        Assertions.assertThat(registry.get(BoundedPasswordEncoder.HASHING).tag("operation", "encode").timer().count()).isEqualTo(1);
+        Assertions.assertThat(registry.get(BoundedPasswordEncoder.HASHING).tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Encode: refuse at once when every thread and queue slot is taken")
+    void encode_ThrowServiceUnavailable_when_saturated() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, registry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        while (registry.get(BoundedPasswordEncoder.QUEUED).gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        Assertions.assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(ServiceUnavailableException.class);
+        Assertions.assertThat(registry.get(BoundedPasswordEncoder.REJECTED).counter().count()).isEqualTo(1);
+        Assertions.assertThat(registry.get(BoundedPasswordEncoder.ACTIVE).gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        Assertions.assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+        Assertions.assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:second");
+    }
+
+    // hashes only once the test releases it
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.suport.api.config;
+
+import java.io.IOException;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.suport.api.controller.TaskController;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+@DisplayName("Tests for the per-request query metrics")
+class QueryMetricsFilterTest {
+
+    private static final String HANDLER = "TaskController.findById";
+    private static final String CLIENT = "com.suport.api.domain.Client";
+
+    private SimpleMeterRegistry registry;
+    private QueryMetricsFilter filter;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        registry = new SimpleMeterRegistry();
+        filter = new QueryMetricsFilter(registry, 3);
+        handler = new HandlerMethod(new TaskController(null), TaskController.class.getMethod("findById", Long.class, boolean.class));
+    }
+
+    @Test
+    @DisplayName("DoFilter: records the work of the whole request, security filters included, under its controller method")
+    void doFilter_recordsCounts_taggedByHandler() throws ServletException, IOException {
+        doFilter((request, response) -> {
+            // the security filter looking the user up, before the handler is resolved
+            RequestQueryCounts.statementPrepared();
+            request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+            RequestQueryCounts.statementPrepared();
+            RequestQueryCounts.entityLoaded("com.suport.api.domain.Task");
+            RequestQueryCounts.collectionFetched("com.suport.api.domain.Task.technicians");
+        });
+
+        Assertions.assertThat(total(QueryMetricsFilter.STATEMENTS, HANDLER)).isEqualTo(2);
+        Assertions.assertThat(total(QueryMetricsFilter.ENTITY_LOADS, HANDLER)).isEqualTo(1);
+        Assertions.assertThat(total(QueryMetricsFilter.COLLECTION_FETCHES, HANDLER)).isEqualTo(1);
+        Assertions.assertThat(registry.find(QueryMetricsFilter.N_PLUS_ONE).counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("DoFilter: records a request turned away before any handler under none")
+    void doFilter_recordsCountsUnderNone_whenNoHandlerRuns() throws ServletException, IOException {
+        doFilter((request, response) -> RequestQueryCounts.statementPrepared());
+
+        Assertions.assertThat(total(QueryMetricsFilter.STATEMENTS, QueryMetricsFilter.NO_HANDLER)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DoFilter: counts a collection role fetched threshold times as a suspected N+1")
+    void doFilter_countsNPlusOne_whenRoleReachesThreshold() throws ServletException, IOException {
+        doFilter((request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+            for (int i = 0; i < 3; i++) {
+                RequestQueryCounts.collectionFetched("com.suport.api.domain.Task.technicians");
+            }
+        });
+
+        Assertions.assertThat(nPlusOne("com.suport.api.domain.Task.technicians")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DoFilter: counts an entity type loaded by threshold separate statements as a suspected N+1")
+    void doFilter_countsNPlusOne_whenEntityLoadedByThresholdStatements() throws ServletException, IOException {
+        doFilter((request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+            // one to-one proxy initialized per task
+            for (int i = 0; i < 3; i++) {
+                RequestQueryCounts.statementPrepared();
+                RequestQueryCounts.entityLoaded(CLIENT);
+            }
+        });
+
+        Assertions.assertThat(nPlusOne(CLIENT)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DoFilter: does not count many entities loaded by one statement as an N+1")
+    void doFilter_doesNotCountNPlusOne_whenEntitiesLoadedByOneStatement() throws ServletException, IOException {
+        doFilter((request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+            RequestQueryCounts.statementPrepared();
+            for (int i = 0; i < 10; i++) {
+                RequestQueryCounts.entityLoaded(CLIENT);
+            }
+        });
+
+        Assertions.assertThat(total(QueryMetricsFilter.ENTITY_LOADS, HANDLER)).isEqualTo(10);
+        Assertions.assertThat(registry.find(QueryMetricsFilter.N_PLUS_ONE).counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Counts: nothing is recorded outside a request")
+    void counts_areIgnored_outsideRequest() {
+        RequestQueryCounts.statementPrepared();
+
+        Assertions.assertThat(RequestQueryCounts.stop()).isNull();
+    }
+
+    private void doFilter(FilterChain chain) throws ServletException, IOException {
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+    }
+
+    private double total(String meter, String handlerName) {
+        return registry.get(meter).tag(QueryMetricsFilter.HANDLER_TAG, handlerName).summary().totalAmount();
+    }
+
+    private double nPlusOne(String role) {
+        return registry.get(QueryMetricsFilter.N_PLUS_ONE)
+            .tag(QueryMetricsFilter.HANDLER_TAG, HANDLER)
+            .tag("role", role)
+            .counter().count();
+    }
+}
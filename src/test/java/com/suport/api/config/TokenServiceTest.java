@@ -0,0 +1,125 @@
+package com.suport.api.config;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.suport.api.domain.UserModel;
+import com.suport.api.enums.UserRole;
+import com.suport.api.exceptions.TokenValidationException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Tests for signing and verifying bearer tokens")
+class TokenServiceTest {
+
+    private static final String SECRET = "testSecret";
+    private static final String ISSUER = "test-issuer";
+
+    private SimpleMeterRegistry registry;
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        tokenService = new TokenService(SECRET, ISSUER, 60, 600, 100, Duration.ofMinutes(1), registry);
+    }
+
+    @Test
+    @DisplayName("Validate: return the subject, verifying a repeated token only once")
+    void validate_ReturnSubject_and_cacheVerifiedToken() {
+        String token = tokenService.createToken(new UserModel("testAdmin", "hash", UserRole.ADMIN));
+
+        Assertions.assertThat(tokenService.validate(token).subject()).isEqualTo("testAdmin");
+        Assertions.assertThat(tokenService.validate(token).subject()).isEqualTo("testAdmin");
+
+        Assertions.assertThat(cacheGets("hit")).isEqualTo(1);
+        Assertions.assertThat(cacheGets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Validate: reject a tampered token every time")
+    void validate_RejectTamperedToken() {
+        String token = tokenService.createToken(new UserModel("testAdmin", "hash", UserRole.ADMIN));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertThatThrownBy(() -> tokenService.validate(tampered))
+                .isInstanceOf(TokenValidationException.class);
+        }
+        Assertions.assertThat(tokenService.validate(token).subject()).isEqualTo("testAdmin");
+    }
+
+    @Test
+    @DisplayName("Validate: reject expired tokens and tokens of another issuer")
+    void validate_RejectExpiredAndForeignTokens() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        String expired = JWT.create().withIssuer(ISSUER).withSubject("testAdmin")
+            .withExpiresAt(Instant.now().minusSeconds(60)).sign(algorithm);
+        String foreign = JWT.create().withIssuer("someone-else").withSubject("testAdmin")
+            .withExpiresAt(Instant.now().plusSeconds(60)).sign(algorithm);
+
+        Assertions.assertThatThrownBy(() -> tokenService.validate(expired))
+            .isInstanceOf(TokenValidationException.class);
+        Assertions.assertThatThrownBy(() -> tokenService.validate(foreign))
+            .isInstanceOf(TokenValidationException.class);
+    }
+
+    @Test
+    @DisplayName("Validate: return the role and token version the token was issued with")
+    void validate_ReturnRoleAndTokenVersion() {
+        UserModel user = new UserModel("testUser", "hash", UserRole.USER);
+        user.setTokenVersion(3);
+
+        TokenService.VerifiedToken verified = tokenService.validate(tokenService.createToken(user));
+
+        Assertions.assertThat(verified.subject()).isEqualTo("testUser");
+        Assertions.assertThat(verified.role()).isEqualTo(UserRole.USER);
+        Assertions.assertThat(verified.tokenVersion()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Validate: read a token without role and version claims as version 0 without a role")
+    void validate_ReadTokenWithoutClaims() {
+        String legacy = JWT.create().withIssuer(ISSUER).withSubject("testAdmin")
+            .withExpiresAt(Instant.now().plusSeconds(60)).sign(Algorithm.HMAC256(SECRET));
+
+        TokenService.VerifiedToken verified = tokenService.validate(legacy);
+
+        Assertions.assertThat(verified.role()).isNull();
+        Assertions.assertThat(verified.tokenVersion()).isZero();
+    }
+
+    @Test
+    @DisplayName("CreateRefreshToken: issue a refresh token with its own id and no role")
+    void createRefreshToken_MarkRefreshToken() {
+        UserModel user = new UserModel("testUser", "hash", UserRole.USER);
+
+        TokenService.VerifiedToken access = tokenService.validate(tokenService.createToken(user));
+        TokenService.VerifiedToken refresh = tokenService.validate(tokenService.createRefreshToken(user));
+
+        Assertions.assertThat(access.refresh()).isFalse();
+        Assertions.assertThat(refresh.refresh()).isTrue();
+        Assertions.assertThat(refresh.role()).isNull();
+        Assertions.assertThat(refresh.id()).isNotNull().isNotEqualTo(access.id());
+        Assertions.assertThat(refresh.expiresAt()).isAfter(access.expiresAt());
+    }
+
+    @Test
+    @DisplayName("Constructor: reject access tokens that live as long as refresh tokens")
+    void constructor_ThrowIllegalArgumentException_when_accessTokenOutlivesRefreshToken() {
+        Assertions.assertThatThrownBy(() -> new TokenService(SECRET, ISSUER, 600, 600, 100, Duration.ofMinutes(1), registry))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private double cacheGets(String result) {
+        return registry.get("cache.gets").tag("cache", TokenService.CACHE_NAME).tag("result", result)
+            .functionCounter().count();
+    }
+}
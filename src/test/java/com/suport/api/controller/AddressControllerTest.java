@@ -17,10 +17,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.suport.api.domain.Address;
 import com.suport.api.dtos.request.AddressRequestDTO;
 import com.suport.api.dtos.response.AddressResponseDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.exceptions.BadRequestException;
+import com.suport.api.mappers.AddressMapper;
 import com.suport.api.service.AddressService;
 import com.suport.api.utils.AddressModelTests;
 
@@ -40,11 +44,11 @@ public class AddressControllerTest {
         addressValidWithId = AddressModelTests.createAddressValidWithId();
         AddressResponseDTO addressResponseDTO = AddressModelTests.createAddressResponseDTO();
 
-        BDDMockito.when(addressServiceMock.findByIdOrThrowBadRequestException(ArgumentMatchers.any(Long.class)))
-                .thenReturn(addressValidWithId);
+        BDDMockito.when(addressServiceMock.findResponseByIdOrThrowBadRequestException(ArgumentMatchers.any(Long.class)))
+                .thenReturn(AddressMapper.createAddressResponseDTO(addressValidWithId));
 
-        BDDMockito.when(addressServiceMock.findAll())
-                .thenReturn(List.of(addressResponseDTO));
+        BDDMockito.when(addressServiceMock.findAll(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(new CursorPageResponseDTO<>(List.of(addressResponseDTO), null, false));
 
         BDDMockito.when(addressServiceMock.save(ArgumentMatchers.any(AddressRequestDTO.class)))
                 .thenReturn(addressResponseDTO);
@@ -54,6 +58,9 @@ public class AddressControllerTest {
                 ArgumentMatchers.any(Long.class)))
                 .thenReturn(addressResponseDTO);
 
+        BDDMockito.when(addressServiceMock.patch(ArgumentMatchers.any(JsonNode.class), ArgumentMatchers.anyLong()))
+                .thenReturn(AddressModelTests.createAddressResponseDTO());
+
         BDDMockito.doNothing().when(addressServiceMock).deleteById(ArgumentMatchers.any(Long.class));
     }
 
@@ -94,7 +101,7 @@ public class AddressControllerTest {
     @Test
     @DisplayName("Find by ID: should throw BadRequestException when not found")
     void findById_ShouldThrowBadRequestException_whenNotExists() {
-        BDDMockito.when(addressServiceMock.findByIdOrThrowBadRequestException(ArgumentMatchers.any()))
+        BDDMockito.when(addressServiceMock.findResponseByIdOrThrowBadRequestException(ArgumentMatchers.any()))
                 .thenThrow(new BadRequestException("Address not found"));
 
         BadRequestException exception = assertThrows(
@@ -112,11 +119,11 @@ public class AddressControllerTest {
     @Test
     @DisplayName("Find All: should return list of addresses")
     void findAll_ShouldReturnListOfAddresses_whenSuccessful() {
-        ResponseEntity<List<AddressResponseDTO>> response = addressController.findAll();
+        ResponseEntity<CursorPageResponseDTO<AddressResponseDTO>> response = addressController.findAll(null, null);
 
         Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
 
-        List<AddressResponseDTO> body = response.getBody();
+        List<AddressResponseDTO> body = response.getBody().content();
 
         Assertions.assertThat(body).isNotNull().isNotEmpty();
         Assertions.assertThat(body).anyMatch(dto ->
@@ -175,4 +182,16 @@ public class AddressControllerTest {
 
         Assertions.assertThat(exception.getMessage()).isEqualTo("Address not found");
     }
+
+    @Test
+    @DisplayName("Patch: pass the merge patch to the service and return the address")
+    void patch_ReturnAddress_whenSuccessful() {
+        JsonNode patch = JsonNodeFactory.instance.objectNode().put("number", "42");
+
+        ResponseEntity<AddressResponseDTO> response = addressController.patch(patch, 5L);
+
+        BDDMockito.verify(addressServiceMock).patch(ArgumentMatchers.eq(patch), ArgumentMatchers.eq(5L));
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody()).isNotNull();
+    }
 }
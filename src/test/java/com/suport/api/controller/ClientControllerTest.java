@@ -17,11 +17,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.suport.api.dtos.request.ClientRequestCreateDTO;
 import com.suport.api.dtos.request.ClientRequestUpdateDTO;
+import com.suport.api.dtos.response.ClientDeletionResponseDTO;
 import com.suport.api.dtos.response.ClientResponseDTO;
+import com.suport.api.dtos.response.ClientSuggestionResponseDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.enums.ClientType;
 import com.suport.api.exceptions.BadRequestException;
+import com.suport.api.mappers.ClientMapper;
 import com.suport.api.service.ClientService;
 import com.suport.api.utils.ClientModelTest;
 
@@ -36,18 +42,22 @@ public class ClientControllerTest {
 
     @BeforeEach
     void setUp() {
-        BDDMockito.when(clientServiceMock.findByIdOrThrowBadRequestException(ArgumentMatchers.any(Long.class)))
-                .thenReturn(ClientModelTest.clientValid());
+        BDDMockito.when(clientServiceMock.findResponseByIdOrThrowBadRequestException(ArgumentMatchers.any(Long.class)))
+                .thenReturn(ClientMapper.toResponseDTO(ClientModelTest.clientValid()));
 
-        BDDMockito.when(clientServiceMock.findAll())
-                .thenReturn(List.of(ClientModelTest.clientResponseDTO()));
+        BDDMockito.when(clientServiceMock.findAll(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(new CursorPageResponseDTO<>(List.of(ClientModelTest.clientResponseDTO()), null, false));
 
         BDDMockito.when(clientServiceMock.save(ArgumentMatchers.any(ClientRequestCreateDTO.class)))
                 .thenReturn(ClientModelTest.clientResponseDTO());
 
         BDDMockito.when(clientServiceMock.update(
                 ArgumentMatchers.any(ClientRequestUpdateDTO.class),
-                ArgumentMatchers.anyLong()))
+                ArgumentMatchers.anyLong(),
+                ArgumentMatchers.any()))
+                .thenReturn(ClientModelTest.clientResponseDTO());
+
+        BDDMockito.when(clientServiceMock.patch(ArgumentMatchers.any(JsonNode.class), ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
                 .thenReturn(ClientModelTest.clientResponseDTO());
 
         BDDMockito.doNothing().when(clientServiceMock).deleteById(ArgumentMatchers.any(Long.class));
@@ -59,11 +69,24 @@ public class ClientControllerTest {
 
     @Test
     @DisplayName("Delete by id: delete client by id when successful")
-    void deleteClient_ReturnsNoContent_whenSuccessful() {
+    void deleteClient_ReturnsAccepted_whenSuccessful() {
         ResponseEntity<Void> response = clientController.deleteById(1L);
 
         Assertions.assertThat(response).isNotNull();
-        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        Assertions.assertThat(response.getHeaders().getLocation()).hasToString("/clients/1/deletion");
+    }
+
+    @Test
+    @DisplayName("Deletion progress: return what is left of a deleted client")
+    void findDeletionProgress_ReturnProgress_whenSuccessful() {
+        BDDMockito.when(clientServiceMock.findDeletionProgress(1L))
+                .thenReturn(new ClientDeletionResponseDTO(1L, 40, false));
+
+        ResponseEntity<ClientDeletionResponseDTO> response = clientController.findDeletionProgress(1L);
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody()).isEqualTo(new ClientDeletionResponseDTO(1L, 40, false));
     }
 
     // ----------------------------------------
@@ -91,7 +114,7 @@ public class ClientControllerTest {
     @Test
     @DisplayName("Find by id: throw BadRequestException when ID not found")
     void findById_ThrowsBadRequestException_whenIdNotExists() {
-        BDDMockito.when(clientServiceMock.findByIdOrThrowBadRequestException(ArgumentMatchers.any()))
+        BDDMockito.when(clientServiceMock.findResponseByIdOrThrowBadRequestException(ArgumentMatchers.any()))
                 .thenThrow(new BadRequestException("Address not found"));
 
         BadRequestException exception = assertThrows(
@@ -109,12 +132,12 @@ public class ClientControllerTest {
     @Test
     @DisplayName("Find all: return list of clients")
     void findAll_ReturnsListOfClients_whenSuccessful() {
-        ResponseEntity<List<ClientResponseDTO>> response = clientController.findAll();
+        ResponseEntity<CursorPageResponseDTO<ClientResponseDTO>> response = clientController.findAll(null, null);
 
         Assertions.assertThat(response).isNotNull();
         Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
 
-        List<ClientResponseDTO> body = response.getBody();
+        List<ClientResponseDTO> body = response.getBody().content();
 
         Assertions.assertThat(body).isNotEmpty().isNotNull();
         Assertions.assertThat(body).anyMatch(dto ->
@@ -124,6 +147,19 @@ public class ClientControllerTest {
         );
     }
 
+    @Test
+    @DisplayName("Suggest: return the clients matching the prefix")
+    void suggest_ReturnsMatchingClients_whenSuccessful() {
+        BDDMockito.when(clientServiceMock.suggest("dra", 5))
+                .thenReturn(List.of(new ClientSuggestionResponseDTO(1l, "Draven", "Draven@gmail.com", "123.456.789-00")));
+
+        ResponseEntity<List<ClientSuggestionResponseDTO>> response = clientController.suggest("dra", 5);
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody()).singleElement()
+                .extracting(ClientSuggestionResponseDTO::name).isEqualTo("Draven");
+    }
+
     // ----------------------------------------
     // SAVE
     // ----------------------------------------
@@ -154,7 +190,7 @@ public class ClientControllerTest {
     @Test
     @DisplayName("Update: update client and return ClientResponseDTO")
     void update_ReturnsClient_whenSuccessful() {
-        ResponseEntity<ClientResponseDTO> response = clientController.update(ClientModelTest.clientRequestUpdateDTO(), 5L);
+        ResponseEntity<ClientResponseDTO> response = clientController.update(ClientModelTest.clientRequestUpdateDTO(), 5L, null);
 
         Assertions.assertThat(response).isNotNull();
         Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -170,14 +206,28 @@ public class ClientControllerTest {
     void update_ThrowsBadRequestException_whenIdNotExists() {
         BDDMockito.when(clientServiceMock.update(
                 ArgumentMatchers.any(ClientRequestUpdateDTO.class),
-                ArgumentMatchers.any(Long.class)))
+                ArgumentMatchers.any(Long.class),
+                ArgumentMatchers.any()))
                 .thenThrow(new BadRequestException("Address not found"));
 
         BadRequestException exception = assertThrows(
                 BadRequestException.class,
-                () -> clientController.update(ClientModelTest.clientRequestUpdateDTO(), 9999L)
+                () -> clientController.update(ClientModelTest.clientRequestUpdateDTO(), 9999L, null)
         );
 
         Assertions.assertThat(exception.getMessage()).isEqualTo("Address not found");
     }
+
+    @Test
+    @DisplayName("Patch: pass the merge patch to the service and return the client")
+    void patch_ReturnClient_whenSuccessful() {
+        JsonNode patch = JsonNodeFactory.instance.objectNode().put("phone", "(11) 1111-1111");
+
+        ResponseEntity<ClientResponseDTO> response = clientController.patch(patch, 5L, "\"3\"");
+
+        BDDMockito.verify(clientServiceMock).patch(ArgumentMatchers.eq(patch), ArgumentMatchers.eq(5L), ArgumentMatchers.eq(3L));
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody()).isNotNull();
+        Assertions.assertThat(response.getHeaders().getETag()).isEqualTo("\"0\"");
+    }
 }
@@ -3,6 +3,7 @@ package com.suport.api.controller;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.List;
+import java.util.Map;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,11 +20,20 @@ import org.mockito.quality.Strictness;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.suport.api.dtos.request.TaskRequestCreateDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.dtos.response.TaskResponseDTO;
+import com.suport.api.dtos.response.TaskSearchHitDTO;
+import com.suport.api.dtos.response.TaskStatsResponseDTO;
 import com.suport.api.enums.TaskPriority;
 import com.suport.api.enums.TaskStatus;
 import com.suport.api.exceptions.BadRequestException;
+import com.suport.api.exceptions.PreconditionFailedException;
+import com.suport.api.mappers.TaskMapper;
+import com.suport.api.repository.filter.TaskFilter;
+import com.suport.api.repository.filter.TaskSort;
 import com.suport.api.service.TaskService;
 import com.suport.api.utils.TaskModelTests;
 
@@ -39,21 +49,42 @@ public class TaskControllerTest {
 
     @BeforeEach
     void setUp() {
-        BDDMockito.when(taskServiceMock.findByIdOrThrowBadRequestException(ArgumentMatchers.any(Long.class)))
-                .thenReturn(TaskModelTests.taskValid());
+        BDDMockito.when(taskServiceMock.findResponseByIdOrThrowBadRequestException(ArgumentMatchers.any(Long.class), ArgumentMatchers.anyBoolean()))
+                .thenReturn(TaskMapper.toResponseDTO(TaskModelTests.taskValid()));
 
-        BDDMockito.when(taskServiceMock.findAll())
-                .thenReturn(List.of(TaskModelTests.taskResponseDTO()));
+        BDDMockito.when(taskServiceMock.findAll(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.anyBoolean()))
+                .thenReturn(new CursorPageResponseDTO<>(List.of(TaskModelTests.taskResponseDTO()), null, false));
 
         BDDMockito.when(taskServiceMock.save(ArgumentMatchers.any(TaskRequestCreateDTO.class)))
                 .thenReturn(TaskModelTests.taskResponseDTO());
 
+        BDDMockito.when(taskServiceMock.saveAll(ArgumentMatchers.anyList()))
+                .thenReturn(List.of(TaskModelTests.taskResponseDTO()));
+
         BDDMockito.when(taskServiceMock.update(
                 ArgumentMatchers.any(TaskRequestCreateDTO.class),
-                ArgumentMatchers.anyLong()))
+                ArgumentMatchers.anyLong(),
+                ArgumentMatchers.any()))
+                .thenReturn(TaskModelTests.taskResponseDTO());
+
+        BDDMockito.when(taskServiceMock.addTechnician(ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong()))
+                .thenReturn(TaskModelTests.taskResponseDTO());
+
+        BDDMockito.when(taskServiceMock.removeTechnician(ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong()))
+                .thenReturn(TaskModelTests.taskResponseDTO());
+
+        BDDMockito.when(taskServiceMock.patch(ArgumentMatchers.any(JsonNode.class), ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
                 .thenReturn(TaskModelTests.taskResponseDTO());
 
         BDDMockito.doNothing().when(taskServiceMock).delete(ArgumentMatchers.any(Long.class));
+
+        BDDMockito.when(taskServiceMock.search(ArgumentMatchers.anyString(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(new CursorPageResponseDTO<>(List.of(
+                    new TaskSearchHitDTO(TaskModelTests.taskResponseDTO(), 1.5f, "<b>Login</b> system error", null)), null, false));
+
+        BDDMockito.when(taskServiceMock.stats())
+                .thenReturn(new TaskStatsResponseDTO(3, Map.of(TaskStatus.OPEN, 3l), Map.of(TaskPriority.HIGH, 3l),
+                    Map.of(1l, 3l), Map.of(), null));
     }
 
     // ----------------------------------------
@@ -76,7 +107,7 @@ public class TaskControllerTest {
     @Test
     @DisplayName("Find by id: find task by id when successful")
     void findById_ReturnTask_whenSuccessful() {
-        ResponseEntity<TaskResponseDTO> response = taskController.findById(1L);
+        ResponseEntity<TaskResponseDTO> response = taskController.findById(1L, false);
 
         Assertions.assertThat(response).isNotNull();
         Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -95,12 +126,12 @@ public class TaskControllerTest {
     @Test
     @DisplayName("Find by id: throw BadRequestException when ID not found")
     void findById_ThrowsBadRequestException_whenIdNotExists() {
-        BDDMockito.when(taskServiceMock.findByIdOrThrowBadRequestException(ArgumentMatchers.any()))
+        BDDMockito.when(taskServiceMock.findResponseByIdOrThrowBadRequestException(ArgumentMatchers.any(), ArgumentMatchers.anyBoolean()))
                 .thenThrow(new BadRequestException("task not found"));
 
         BadRequestException exception = assertThrows(
                 BadRequestException.class,
-                () -> taskController.findById(5L)
+                () -> taskController.findById(5L, false)
         );
 
         Assertions.assertThat(exception.getMessage()).isEqualTo("task not found");
@@ -113,12 +144,12 @@ public class TaskControllerTest {
     @Test
     @DisplayName("Find all: return list of tasks")
     void findAll_ReturnListOfTasks_whenSuccessful() {
-        ResponseEntity<List<TaskResponseDTO>> response = taskController.findAll();
+        ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> response = taskController.findAll(null, null, null, null, null, null, null, null, null, null, false);
 
         Assertions.assertThat(response).isNotNull();
         Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
 
-        List<TaskResponseDTO> body = response.getBody();
+        List<TaskResponseDTO> body = response.getBody().content();
 
         Assertions.assertThat(body).isNotEmpty().isNotNull();
         Assertions.assertThat(body).anyMatch(dto ->
@@ -128,6 +159,60 @@ public class TaskControllerTest {
         );
     }
 
+    @Test
+    @DisplayName("Find all: pass the filters and sort to the service")
+    void findAll_PassFiltersAndSort_whenSuccessful() {
+        taskController.findAll(TaskStatus.OPEN, TaskPriority.URGENT, 42l, 7l, null, null, "createdAt", "desc", null, 20, true);
+
+        BDDMockito.verify(taskServiceMock).findAll(
+            new TaskFilter(TaskStatus.OPEN, TaskPriority.URGENT, 42l, 7l, null, null),
+            new TaskSort(TaskSort.Field.CREATED_AT, true),
+            null,
+            20,
+            true);
+    }
+
+    @Test
+    @DisplayName("Find all: throw bad request exception when the sort field is unknown")
+    void findAll_ThrowBadRequestException_whenSortIsInvalid() {
+        assertThrows(BadRequestException.class,
+            () -> taskController.findAll(null, null, null, null, null, null, "title", null, null, null, false));
+    }
+
+    // ----------------------------------------
+    // SEARCH
+    // ----------------------------------------
+
+    @Test
+    @DisplayName("Search: return the ranked hits of the query")
+    void search_ReturnHits_whenSuccessful() {
+        ResponseEntity<CursorPageResponseDTO<TaskSearchHitDTO>> response = taskController.search("login", null, 10);
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody().content()).singleElement()
+            .extracting(TaskSearchHitDTO::titleHighlight).isEqualTo("<b>Login</b> system error");
+        BDDMockito.verify(taskServiceMock).search("login", null, 10);
+    }
+
+    @Test
+    @DisplayName("Rebuild search index: start the rebuild and answer right away")
+    void rebuildSearchIndex_ReturnAccepted_whenSuccessful() {
+        ResponseEntity<Void> response = taskController.rebuildSearchIndex();
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        BDDMockito.verify(taskServiceMock).rebuildSearchIndex();
+    }
+
+    @Test
+    @DisplayName("Stats: return the task counts")
+    void stats_ReturnCounts_whenSuccessful() {
+        ResponseEntity<TaskStatsResponseDTO> response = taskController.stats();
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody().total()).isEqualTo(3);
+        Assertions.assertThat(response.getBody().byClient()).containsEntry(1l, 3l);
+    }
+
     // ----------------------------------------
     // SAVE
     // ----------------------------------------
@@ -151,6 +236,17 @@ public class TaskControllerTest {
         Assertions.assertThat(body.clientId()).isEqualTo(1L);
     }
 
+    @Test
+    @DisplayName("Save all: save tasks in batch and return list of TaskResponseDTO")
+    void saveAll_ReturnTasks_whenSuccessful() {
+        ResponseEntity<List<TaskResponseDTO>> response = taskController.saveAll(List.of(TaskModelTests.taskRequestDTO(1L, 1L)));
+
+        Assertions.assertThat(response).isNotNull();
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Assertions.assertThat(response.getBody()).hasSize(1);
+        Assertions.assertThat(response.getBody().get(0).id()).isEqualTo(1L);
+    }
+
     // ----------------------------------------
     // UPDATE
     // ----------------------------------------
@@ -158,7 +254,7 @@ public class TaskControllerTest {
     @Test
     @DisplayName("Update: update task and return TaskResponseDTO")
     void update_ReturnTask_whenSuccessful() {
-        ResponseEntity<TaskResponseDTO> response = taskController.update(TaskModelTests.taskRequestDTO(1L, 1L), 5L);
+        ResponseEntity<TaskResponseDTO> response = taskController.update(TaskModelTests.taskRequestDTO(1L, 1L), 5L, null);
 
         Assertions.assertThat(response).isNotNull();
         Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -174,14 +270,74 @@ public class TaskControllerTest {
     void update_ThrowsBadRequestException_whenIdNotExists() {
         BDDMockito.when(taskServiceMock.update(
                 ArgumentMatchers.any(TaskRequestCreateDTO.class),
-                ArgumentMatchers.any(Long.class)))
+                ArgumentMatchers.any(Long.class),
+                ArgumentMatchers.any()))
                 .thenThrow(new BadRequestException("task not found"));
 
         BadRequestException exception = assertThrows(
                 BadRequestException.class,
-                () -> taskController.update(TaskModelTests.taskRequestDTO(999L, 9999L), 9999L)
+                () -> taskController.update(TaskModelTests.taskRequestDTO(999L, 9999L), 9999L, null)
         );
 
         Assertions.assertThat(exception.getMessage()).isEqualTo("task not found");
     }
+
+    @Test
+    @DisplayName("Update: pass the If-Match version to the service and return the new ETag")
+    void update_PassIfMatchVersionAndReturnETag_whenSuccessful() {
+        ResponseEntity<TaskResponseDTO> response = taskController.update(TaskModelTests.taskRequestDTO(1L, 1L), 5L, "\"3\"");
+
+        BDDMockito.verify(taskServiceMock).update(ArgumentMatchers.any(TaskRequestCreateDTO.class), ArgumentMatchers.eq(5L), ArgumentMatchers.eq(3L));
+        Assertions.assertThat(response.getHeaders().getETag()).isEqualTo("\"0\"");
+    }
+
+    @Test
+    @DisplayName("Update: throw BadRequestException when If-Match is not an entity tag")
+    void update_ThrowsBadRequestException_whenIfMatchIsMalformed() {
+        assertThrows(BadRequestException.class,
+                () -> taskController.update(TaskModelTests.taskRequestDTO(1L, 1L), 5L, "three"));
+    }
+
+    @Test
+    @DisplayName("Update: throw PreconditionFailedException when If-Match is a weak entity tag")
+    void update_ThrowsPreconditionFailedException_whenIfMatchIsWeak() {
+        assertThrows(PreconditionFailedException.class,
+                () -> taskController.update(TaskModelTests.taskRequestDTO(1L, 1L), 5L, "W/\"3\""));
+    }
+
+    // ----------------------------------------
+    // TECHNICIANS
+    // ----------------------------------------
+
+    @Test
+    @DisplayName("Add technician: add technician to task and return the new ETag")
+    void addTechnician_ReturnTaskAndETag_whenSuccessful() {
+        ResponseEntity<TaskResponseDTO> response = taskController.addTechnician(1L, 2L);
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody()).isNotNull();
+        Assertions.assertThat(response.getHeaders().getETag()).isEqualTo("\"0\"");
+    }
+
+    @Test
+    @DisplayName("Remove technician: remove technician from task and return the new ETag")
+    void removeTechnician_ReturnTaskAndETag_whenSuccessful() {
+        ResponseEntity<TaskResponseDTO> response = taskController.removeTechnician(1L, 2L);
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getHeaders().getETag()).isEqualTo("\"0\"");
+    }
+
+    @Test
+    @DisplayName("Patch: pass the merge patch to the service and return the task")
+    void patch_ReturnTask_whenSuccessful() {
+        JsonNode patch = JsonNodeFactory.instance.objectNode().put("status", "IN_PROGRESS");
+
+        ResponseEntity<TaskResponseDTO> response = taskController.patch(patch, 5L, "\"3\"");
+
+        BDDMockito.verify(taskServiceMock).patch(ArgumentMatchers.eq(patch), ArgumentMatchers.eq(5L), ArgumentMatchers.eq(3L));
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody()).isNotNull();
+        Assertions.assertThat(response.getHeaders().getETag()).isEqualTo("\"0\"");
+    }
 }
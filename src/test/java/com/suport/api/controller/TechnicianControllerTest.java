@@ -19,9 +19,13 @@ import org.mockito.quality.Strictness;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.suport.api.dtos.request.TechnicianRequestDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.dtos.response.TechnicianResponseDTO;
 import com.suport.api.exceptions.BadRequestException;
+import com.suport.api.mappers.TechnicianMapper;
 import com.suport.api.service.TechnicianService;
 import com.suport.api.utils.TechnicianModelTest;
 
@@ -37,18 +41,22 @@ public class TechnicianControllerTest {
 
     @BeforeEach
     void setUp() {
-        BDDMockito.when(technicianServiceMock.findByIdOrThrowBadRequestException(ArgumentMatchers.any(Long.class)))
-                .thenReturn(TechnicianModelTest.technicianValid());
+        BDDMockito.when(technicianServiceMock.findResponseByIdOrThrowBadRequestException(ArgumentMatchers.any(Long.class)))
+                .thenReturn(TechnicianMapper.toResponseDTO(TechnicianModelTest.technicianValid()));
 
-        BDDMockito.when(technicianServiceMock.findAll())
-                .thenReturn(List.of(TechnicianModelTest.technicianResponseDTO()));
+        BDDMockito.when(technicianServiceMock.findAll(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(new CursorPageResponseDTO<>(List.of(TechnicianModelTest.technicianResponseDTO()), null, false));
 
         BDDMockito.when(technicianServiceMock.save(ArgumentMatchers.any(TechnicianRequestDTO.class)))
                 .thenReturn(TechnicianModelTest.technicianResponseDTO());
 
         BDDMockito.when(technicianServiceMock.update(
                 ArgumentMatchers.any(TechnicianRequestDTO.class),
-                ArgumentMatchers.anyLong()))
+                ArgumentMatchers.anyLong(),
+                ArgumentMatchers.any()))
+                .thenReturn(TechnicianModelTest.technicianResponseDTO());
+
+        BDDMockito.when(technicianServiceMock.patch(ArgumentMatchers.any(JsonNode.class), ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
                 .thenReturn(TechnicianModelTest.technicianResponseDTO());
 
         BDDMockito.doNothing().when(technicianServiceMock).delete(ArgumentMatchers.any(Long.class));
@@ -92,7 +100,7 @@ public class TechnicianControllerTest {
     @Test
     @DisplayName("Find by id: throw BadRequestException when ID not found")
     void findById_ThrowsBadRequestException_whenIdNotExists() {
-        BDDMockito.when(technicianServiceMock.findByIdOrThrowBadRequestException(ArgumentMatchers.any()))
+        BDDMockito.when(technicianServiceMock.findResponseByIdOrThrowBadRequestException(ArgumentMatchers.any()))
                 .thenThrow(new BadRequestException("technician not found"));
 
         BadRequestException exception = assertThrows(
@@ -110,12 +118,12 @@ public class TechnicianControllerTest {
     @Test
     @DisplayName("Find all: return list of technicians")
     void findAll_ReturnListOfTechnicians_whenSuccessful() {
-        ResponseEntity<List<TechnicianResponseDTO>> response = technicianController.findAll();
+        ResponseEntity<CursorPageResponseDTO<TechnicianResponseDTO>> response = technicianController.findAll(null, null);
 
         Assertions.assertThat(response).isNotNull();
         Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
 
-        List<TechnicianResponseDTO> body = response.getBody();
+        List<TechnicianResponseDTO> body = response.getBody().content();
 
         Assertions.assertThat(body).isNotEmpty().isNotNull();
         Assertions.assertThat(body).anyMatch(dto ->
@@ -152,7 +160,7 @@ public class TechnicianControllerTest {
     @Test
     @DisplayName("Update: update technician and return technicianResponseDTO")
     void update_ReturnTechnician_whenSuccessful() {
-        ResponseEntity<TechnicianResponseDTO> response = technicianController.update(TechnicianModelTest.technicianResquestDTO(), 5L);
+        ResponseEntity<TechnicianResponseDTO> response = technicianController.update(TechnicianModelTest.technicianResquestDTO(), 5L, null);
 
         Assertions.assertThat(response).isNotNull();
         Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -168,15 +176,28 @@ public class TechnicianControllerTest {
     void update_ThrowsBadRequestException_whenIdNotExists() {
         BDDMockito.when(technicianServiceMock.update(
                 ArgumentMatchers.any(TechnicianRequestDTO.class),
-                ArgumentMatchers.any(Long.class)))
+                ArgumentMatchers.any(Long.class),
+                ArgumentMatchers.any()))
                 .thenThrow(new BadRequestException("tachnician not found"));
 
         BadRequestException exception = assertThrows(
                 BadRequestException.class,
-                () -> technicianController.update(TechnicianModelTest.technicianResquestDTO(), 9999L)
+                () -> technicianController.update(TechnicianModelTest.technicianResquestDTO(), 9999L, null)
         );
 
         Assertions.assertThat(exception.getMessage()).isEqualTo("tachnician not found");
     }
 
+    @Test
+    @DisplayName("Patch: pass the merge patch to the service and return the technician")
+    void patch_ReturnTechnician_whenSuccessful() {
+        JsonNode patch = JsonNodeFactory.instance.objectNode().put("phone", "(11) 1111-1111");
+
+        ResponseEntity<TechnicianResponseDTO> response = technicianController.patch(patch, 5L, "\"3\"");
+
+        BDDMockito.verify(technicianServiceMock).patch(ArgumentMatchers.eq(patch), ArgumentMatchers.eq(5L), ArgumentMatchers.eq(3L));
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody()).isNotNull();
+        Assertions.assertThat(response.getHeaders().getETag()).isEqualTo("\"0\"");
+    }
 }
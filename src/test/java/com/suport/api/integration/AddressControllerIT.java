@@ -35,16 +35,23 @@ import com.suport.api.dtos.request.AddressRequestDTO;
 import com.suport.api.dtos.request.AuthenticationDTO;
 
 import com.suport.api.dtos.response.AddressResponseDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.dtos.response.LoginResponseDTO;
 
 import com.suport.api.enums.UserRole;
 
 import com.suport.api.repository.AddressRepository;
 import com.suport.api.repository.UserModelRepository;
+import com.suport.api.service.UserDetailsCache;
 
 import com.suport.api.utils.AddressModelTests;
+import com.suport.api.utils.QueryBudget;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// authenticates from the token claims, so every test here also covers the stateless mode
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "api.security.stateless=true")
 @AutoConfigureTestDatabase
 class AddressControllerIT {
 
@@ -54,6 +61,7 @@ class AddressControllerIT {
     @Autowired private TestRestTemplate testRestTemplate;
     @Autowired private AddressRepository addressRepository;
     @Autowired private UserModelRepository userModelRepository;
+    @Autowired private MeterRegistry meterRegistry;
 
     @LocalServerPort
     private int port;
@@ -114,6 +122,11 @@ class AddressControllerIT {
         return response.getBody().token();
     }
 
+    private double userLookups() {
+        return meterRegistry.get("cache.gets").tag("cache", UserDetailsCache.CACHE_NAME).functionCounters().stream()
+            .mapToDouble(FunctionCounter::count).sum();
+    }
+
     // ----------------------
     // Test Cases
     // ----------------------
@@ -124,7 +137,7 @@ class AddressControllerIT {
         Address savedAddress = createAddressInDatabase();
         String token = authenticateAndGetToken("testAdmin", "testPass123");
 
-        ResponseEntity<List<AddressResponseDTO>> response = testRestTemplate.exchange(
+        ResponseEntity<CursorPageResponseDTO<AddressResponseDTO>> response = testRestTemplate.exchange(
             getBaseUrl(),
             HttpMethod.GET,
             jsonEntity(null, token),
@@ -132,7 +145,7 @@ class AddressControllerIT {
         );
 
         Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        List<AddressResponseDTO> addresses = response.getBody();
+        List<AddressResponseDTO> addresses = response.getBody().content();
         Assertions.assertThat(addresses).isNotEmpty();
         Assertions.assertThat(addresses.get(0).city()).isEqualTo(savedAddress.getCity());
     }
@@ -196,6 +209,27 @@ class AddressControllerIT {
         Assertions.assertThat(savedAddress.id()).isNotNull();
     }
 
+    @Test
+    @DisplayName("Update: should load and update the address without reading clients")
+    void update_StayWithinQueryBudget_when_successful() {
+        Address existingAddress = createAddressInDatabase();
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+        existingAddress.setCity("Sacramento");
+
+        ResponseEntity<AddressResponseDTO> response = QueryBudget.of(meterRegistry, "AddressController.update")
+            .statements(2)
+            .entityLoads(1)
+            .check(() -> testRestTemplate.exchange(
+                getBaseUrl() + "/" + existingAddress.getId(),
+                HttpMethod.PUT,
+                jsonEntity(existingAddress, token),
+                AddressResponseDTO.class
+            ));
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody().city()).isEqualTo("Sacramento");
+    }
+
     @Test
     @DisplayName("Update: should return updated Address")
     void update_ReturnAddress_when_successful() {
@@ -242,6 +276,27 @@ class AddressControllerIT {
     // Unauthorized Access Tests
     // ----------------------
 
+    @Test
+    @DisplayName("Auth: stateless requests never look the user up, and revoked tokens are rejected")
+    void findAll_AuthenticateFromTokenClaims_and_rejectRevokedToken() {
+        userModelRepository.save(new UserModel("revokedAddressUser", new BCryptPasswordEncoder().encode("testPass123"), UserRole.USER));
+        String adminToken = authenticateAndGetToken("testAdmin", "testPass123");
+        String userToken = authenticateAndGetToken("revokedAddressUser", "testPass123");
+        double lookupsBefore = userLookups();
+
+        ResponseEntity<String> beforeRevoke = testRestTemplate.exchange(
+            getBaseUrl(), HttpMethod.GET, jsonEntity(null, userToken), String.class);
+        ResponseEntity<Void> revoked = testRestTemplate.exchange(
+            "http://localhost:" + port + "/auth/revoke/revokedAddressUser", HttpMethod.POST, jsonEntity(null, adminToken), Void.class);
+        ResponseEntity<String> afterRevoke = testRestTemplate.exchange(
+            getBaseUrl(), HttpMethod.GET, jsonEntity(null, userToken), String.class);
+
+        Assertions.assertThat(beforeRevoke.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(revoked.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        Assertions.assertThat(afterRevoke.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        Assertions.assertThat(userLookups()).isEqualTo(lookupsBefore);
+    }
+
     @Test
     @DisplayName("FindAll: should return 401 when token is missing, invalid, or expired")
     void findAllAddress_shouldReturnUnauthorized_whenTokenIsMissingOrInvalid() {
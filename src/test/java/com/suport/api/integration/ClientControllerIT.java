@@ -1,5 +1,6 @@
 package com.suport.api.integration;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.assertj.core.api.Assertions;
@@ -28,20 +29,32 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import com.suport.api.domain.Client;
+import com.suport.api.domain.Technician;
 import com.suport.api.domain.UserModel;
 
 import com.suport.api.dtos.request.AuthenticationDTO;
 import com.suport.api.dtos.request.ClientRequestCreateDTO;
 
+import com.suport.api.dtos.response.ClientDeletionResponseDTO;
 import com.suport.api.dtos.response.ClientResponseDTO;
+import com.suport.api.dtos.response.ClientSuggestionResponseDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.dtos.response.LoginResponseDTO;
 
+import com.suport.api.enums.ClientType;
 import com.suport.api.enums.UserRole;
 
 import com.suport.api.repository.ClientRepository;
+import com.suport.api.repository.TaskRepository;
+import com.suport.api.repository.TechnicianRepository;
 import com.suport.api.repository.UserModelRepository;
 
 import com.suport.api.utils.ClientModelTest;
+import com.suport.api.utils.QueryBudget;
+import com.suport.api.utils.TaskModelTests;
+import com.suport.api.utils.TechnicianModelTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureTestDatabase
@@ -52,7 +65,10 @@ public class ClientControllerIT {
     // ----------------------
     @Autowired private TestRestTemplate testRestTemplate;
     @Autowired private ClientRepository clientRepository;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private TechnicianRepository technicianRepository;
     @Autowired private UserModelRepository userModelRepository;
+    @Autowired private MeterRegistry meterRegistry;
 
     @LocalServerPort
     private int port;
@@ -102,6 +118,22 @@ public class ClientControllerIT {
         return response.getBody().token();
     }
 
+    // the purge runs on its own thread; polls the progress resource until it is done
+    private ClientDeletionResponseDTO awaitDeletion(Long clientId, String token) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        ClientDeletionResponseDTO progress;
+        do {
+            ResponseEntity<ClientDeletionResponseDTO> response = testRestTemplate.exchange(
+                getBaseUrl() + "/" + clientId + "/deletion", HttpMethod.GET, jsonEntity(null, token), ClientDeletionResponseDTO.class);
+            Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            progress = response.getBody();
+            if (!progress.completed()) {
+                Thread.sleep(50);
+            }
+        } while (!progress.completed() && System.nanoTime() < deadline);
+        return progress;
+    }
+
     private Client createClientInDatabase() {
         return clientRepository.save(ClientModelTest.clientValid2());
     }
@@ -123,16 +155,16 @@ public class ClientControllerIT {
         Client savedClient = createClientInDatabase();
         String token = authenticateAndGetToken("testAdmin", "testPass123");
 
-        ResponseEntity<List<ClientResponseDTO>> response = testRestTemplate.exchange(
+        ResponseEntity<CursorPageResponseDTO<ClientResponseDTO>> response = testRestTemplate.exchange(
             getBaseUrl(),
             HttpMethod.GET,
             jsonEntity(null, token),
-            new ParameterizedTypeReference<List<ClientResponseDTO>>() {}
+            new ParameterizedTypeReference<CursorPageResponseDTO<ClientResponseDTO>>() {}
         );
 
         Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
 
-        List<ClientResponseDTO> clientList = response.getBody();
+        List<ClientResponseDTO> clientList = response.getBody().content();
 
         Assertions.assertThat(clientList)
             .isNotNull()
@@ -140,6 +172,27 @@ public class ClientControllerIT {
             .anyMatch(dto -> dto.id().equals(savedClient.getId()));
     }
 
+    @Test
+    @DisplayName("FindAll: should read the page and its addresses in one statement")
+    void findAll_StayWithinQueryBudget_when_clientsHaveAddresses() {
+        for (int i = 0; i < 5; i++) {
+            createClientInDatabase();
+        }
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+
+        ResponseEntity<CursorPageResponseDTO<ClientResponseDTO>> response = QueryBudget.of(meterRegistry, "ClientController.findAll")
+            .statements(1)
+            .entityLoads(0)
+            .check(() -> testRestTemplate.exchange(
+                getBaseUrl(),
+                HttpMethod.GET,
+                jsonEntity(null, token),
+                new ParameterizedTypeReference<CursorPageResponseDTO<ClientResponseDTO>>() {}
+            ));
+
+        Assertions.assertThat(response.getBody().content()).hasSizeGreaterThanOrEqualTo(5);
+    }
+
     @Test
     @DisplayName("FindById: should return client when id exists")
     void findById_ReturnAnClient_when_successful() {
@@ -224,9 +277,13 @@ public class ClientControllerIT {
     }
 
     @Test
-    @DisplayName("Delete: should delete client by id")
-    void delete_DeleteClientAndReturnNoContent_when_successful() {
+    @DisplayName("Delete: should accept the deletion and purge the client and its tasks in the background")
+    void delete_AcceptAndPurgeClientWithTasks_when_successful() throws InterruptedException {
         Client savedClient = createClientInDatabase();
+        Technician technician = technicianRepository.save(TechnicianModelTest.technicianValid2());
+        for (int i = 0; i < 5; i++) {
+            taskRepository.save(TaskModelTests.taskValid2(savedClient, technician));
+        }
         String token = authenticateAndGetToken("testAdmin", "testPass123");
 
         ResponseEntity<Void> response = testRestTemplate.exchange(
@@ -236,7 +293,68 @@ public class ClientControllerIT {
             Void.class
         );
 
-        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        Assertions.assertThat(response.getHeaders().getLocation())
+            .hasToString("/clients/" + savedClient.getId() + "/deletion");
+
+        ResponseEntity<Object> afterDelete = testRestTemplate.exchange(
+            getBaseUrl() + "/" + savedClient.getId(), HttpMethod.GET, jsonEntity(null, token), Object.class);
+        Assertions.assertThat(afterDelete.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        ClientDeletionResponseDTO progress = awaitDeletion(savedClient.getId(), token);
+        Assertions.assertThat(progress).isEqualTo(new ClientDeletionResponseDTO(savedClient.getId(), 0, true));
+        Assertions.assertThat(clientRepository.existsById(savedClient.getId())).isFalse();
+        Assertions.assertThat(taskRepository.countByClientId(savedClient.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Suggest: should find a created client by name prefix and drop it once deleted")
+    void suggest_FindCreatedClient_and_dropDeletedOne() {
+        ClientRequestCreateDTO request = new ClientRequestCreateDTO(
+            "Zephyra Quintana",
+            "zephyra@quintana.com",
+            "987.654.321-00",
+            "00 0000-0000",
+            ClientModelTest.addressRequestDTOValid(),
+            ClientType.INDIVIDUAL);
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+        ClientResponseDTO created = testRestTemplate.exchange(
+            getBaseUrl(), HttpMethod.POST, jsonEntity(request, token), ClientResponseDTO.class).getBody();
+
+        ResponseEntity<List<ClientSuggestionResponseDTO>> response = testRestTemplate.exchange(
+            getBaseUrl() + "/suggest?prefix=quint",
+            HttpMethod.GET,
+            jsonEntity(null, token),
+            new ParameterizedTypeReference<List<ClientSuggestionResponseDTO>>() {}
+        );
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody()).singleElement()
+            .isEqualTo(new ClientSuggestionResponseDTO(created.id(), request.name(), request.email(), request.taxId()));
+
+        testRestTemplate.exchange(getBaseUrl() + "/" + created.id(), HttpMethod.DELETE, jsonEntity(null, token), Void.class);
+
+        ResponseEntity<List<ClientSuggestionResponseDTO>> afterDelete = testRestTemplate.exchange(
+            getBaseUrl() + "/suggest?prefix=zephyra",
+            HttpMethod.GET,
+            jsonEntity(null, token),
+            new ParameterizedTypeReference<List<ClientSuggestionResponseDTO>>() {}
+        );
+
+        Assertions.assertThat(afterDelete.getBody()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Delete: deleting the same client twice should return BAD_REQUEST")
+    void delete_ReturnBadRequest_when_clientAlreadyDeleted() {
+        Client savedClient = createClientInDatabase();
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+        String url = getBaseUrl() + "/" + savedClient.getId();
+
+        testRestTemplate.exchange(url, HttpMethod.DELETE, jsonEntity(null, token), Void.class);
+        ResponseEntity<Object> second = testRestTemplate.exchange(url, HttpMethod.DELETE, jsonEntity(null, token), Object.class);
+
+        Assertions.assertThat(second.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
 
     @Test
@@ -1,6 +1,14 @@
 package com.suport.api.integration;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +23,8 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 
 import org.springframework.core.ParameterizedTypeReference;
 
+import org.springframework.jdbc.core.JdbcTemplate;
+
 import org.springframework.http.*;
 
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -22,11 +32,20 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import com.suport.api.domain.*;
 import com.suport.api.dtos.request.*;
 import com.suport.api.dtos.response.*;
+import com.suport.api.enums.TaskPriority;
+import com.suport.api.enums.TaskStatus;
 import com.suport.api.enums.UserRole;
 import com.suport.api.repository.*;
+import com.suport.api.service.TaskArchiver;
+import com.suport.api.service.TaskStatistics;
 import com.suport.api.utils.*;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+import io.micrometer.core.instrument.MeterRegistry;
+
+// concurrent technician additions collide on purpose; enough attempts that none gives up.
+// No startup rebuild, so the one the rebuild test asks for is never turned away
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"api.concurrency.max-attempts=10", "api.search.rebuild-on-start=false"})
 @AutoConfigureTestDatabase
 public class TaskControllerIT {
 
@@ -38,6 +57,10 @@ public class TaskControllerIT {
     @Autowired private ClientRepository clientRepository;
     @Autowired private TechnicianRepository technicianRepository;
     @Autowired private UserModelRepository userModelRepository;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private TaskArchiver taskArchiver;
+    @Autowired private TaskStatistics taskStatistics;
+    @Autowired private JdbcTemplate jdbcTemplate;
 
     @LocalServerPort 
     private int port;
@@ -49,6 +72,8 @@ public class TaskControllerIT {
     @BeforeEach
     void setUp() {
         userModelRepository.deleteAll();
+        jdbcTemplate.update("delete from task_technicians_archive");
+        jdbcTemplate.update("delete from tasks_archive");
         taskRepository.deleteAll();
         technicianRepository.deleteAll();
             clientRepository.deleteAll();
@@ -89,6 +114,22 @@ public class TaskControllerIT {
         return response.getBody().token();
     }
 
+    // the rebuild runs on the index's own thread; searches until something is found
+    private List<TaskSearchHitDTO> awaitSearch(String query, String token) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        List<TaskSearchHitDTO> hits;
+        do {
+            ResponseEntity<CursorPageResponseDTO<TaskSearchHitDTO>> response = testRestTemplate.exchange(
+                getBaseUrl() + "/search?q=" + query, HttpMethod.GET, jsonEntity(null, token), new ParameterizedTypeReference<>() {});
+            Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            hits = response.getBody().content();
+            if (hits.isEmpty()) {
+                Thread.sleep(50);
+            }
+        } while (hits.isEmpty() && System.nanoTime() < deadline);
+        return hits;
+    }
+
     private <T> HttpEntity<T> jsonEntity(T body, String token) {
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(token);
@@ -96,6 +137,13 @@ public class TaskControllerIT {
         return new HttpEntity<>(body, headers);
     }
 
+    private <T> HttpEntity<T> ifMatch(HttpEntity<T> entity, String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(entity.getHeaders());
+        headers.setIfMatch(eTag);
+        return new HttpEntity<>(entity.getBody(), headers);
+    }
+
     private Task createTaskWithClientAndTechnicianInDatabase() {
         Client client = clientRepository.save(ClientModelTest.clientValid2());
         Technician technician = technicianRepository.save(TechnicianModelTest.technicianValid2());
@@ -105,6 +153,13 @@ public class TaskControllerIT {
         return taskRepository.save(task);
     }
 
+    // the task counts as closed a year ago, well past api.archive.closed-for
+    private Task archiveTask(Task task) {
+        jdbcTemplate.update("update tasks set closed_at = ? where id = ?", LocalDateTime.now().minusYears(1), task.getId());
+        Assertions.assertThat(taskArchiver.archive()).isEqualTo(1);
+        return task;
+    }
+
      // ----------------------
     // Test Cases
     // ----------------------
@@ -117,7 +172,7 @@ public class TaskControllerIT {
          Task savedTask = createTaskWithClientAndTechnicianInDatabase();
         String token = authenticateAndGetToken("testAdmin", "testPass123");
 
-        ResponseEntity<List<TaskResponseDTO>> response = testRestTemplate.exchange(
+        ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> response = testRestTemplate.exchange(
             getBaseUrl(),
             HttpMethod.GET,
             jsonEntity(null, token),
@@ -125,7 +180,7 @@ public class TaskControllerIT {
         );
 
         Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        List<TaskResponseDTO> tasks = response.getBody();
+        List<TaskResponseDTO> tasks = response.getBody().content();
 
         Assertions.assertThat(tasks)
             .isNotNull()
@@ -133,6 +188,51 @@ public class TaskControllerIT {
             .anyMatch(dto -> dto.id().equals(savedTask.getId()));
     }
 
+    @Test
+    @DisplayName("FindAll: should stay within its query budget whatever the page size")
+    void findAll_StayWithinQueryBudget_when_pageHasManyTasks() {
+        for (int i = 0; i < 5; i++) {
+            createTaskWithClientAndTechnicianInDatabase();
+        }
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+
+        // one query for the rows and one for the technician ids of the whole page
+        ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> response = QueryBudget.of(meterRegistry, "TaskController.findAll")
+            .statements(2)
+            .entityLoads(0)
+            .collectionFetches(0)
+            .check(() -> testRestTemplate.exchange(
+                getBaseUrl(),
+                HttpMethod.GET,
+                jsonEntity(null, token),
+                new ParameterizedTypeReference<CursorPageResponseDTO<TaskResponseDTO>>() {}
+            ));
+
+        Assertions.assertThat(response.getBody().content()).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("FindAll: should return only tasks matching the filters")
+    void findAll_ReturnFilteredTasks_when_filtersAreGiven() {
+        Task match = createTaskWithClientAndTechnicianInDatabase();
+        Task other = TaskModelTests.taskValid2(match.getClient(), match.getTechnicians().iterator().next());
+        other.setStatus(TaskStatus.OPEN);
+        taskRepository.save(other);
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+
+        ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> response = testRestTemplate.exchange(
+            getBaseUrl() + "?status=CLOSED&priority=HIGH&clientId=" + match.getClient().getId() + "&sort=createdAt&direction=desc",
+            HttpMethod.GET,
+            jsonEntity(null, token),
+            new ParameterizedTypeReference<>() {}
+        );
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody().content())
+            .extracting(TaskResponseDTO::id)
+            .containsExactly(match.getId());
+    }
+
     @Test
     @DisplayName("FindById: should return task when id exists")
     void findById_ReturnTask_when_successful() {
@@ -154,6 +254,153 @@ public class TaskControllerIT {
         Assertions.assertThat(task.title()).isEqualTo(savedTask.getTitle());
     }
 
+    @Test
+    @DisplayName("FindById: should stay within its query budget")
+    void findById_StayWithinQueryBudget_when_successful() {
+        Task savedTask = createTaskWithClientAndTechnicianInDatabase();
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+
+        ResponseEntity<TaskResponseDTO> response = QueryBudget.of(meterRegistry, "TaskController.findById")
+            .statements(2)
+            .entityLoads(0)
+            .collectionFetches(0)
+            .check(() -> testRestTemplate.exchange(
+                getBaseUrl() + "/" + savedTask.getId(),
+                HttpMethod.GET,
+                jsonEntity(null, token),
+                TaskResponseDTO.class
+            ));
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("Archive: archived tasks are only read with includeArchived=true")
+    void archivedTask_ReturnedOnlyWhenIncluded_when_archived() {
+        Task archived = archiveTask(createTaskWithClientAndTechnicianInDatabase());
+        Long technicianId = archived.getTechnicians().iterator().next().getId();
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+
+        ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> hot = testRestTemplate.exchange(
+            getBaseUrl(), HttpMethod.GET, jsonEntity(null, token), new ParameterizedTypeReference<>() {});
+        ResponseEntity<CursorPageResponseDTO<TaskResponseDTO>> all = testRestTemplate.exchange(
+            getBaseUrl() + "?includeArchived=true", HttpMethod.GET, jsonEntity(null, token), new ParameterizedTypeReference<>() {});
+        ResponseEntity<Object> byIdHot = testRestTemplate.exchange(
+            getBaseUrl() + "/" + archived.getId(), HttpMethod.GET, jsonEntity(null, token), Object.class);
+        ResponseEntity<TaskResponseDTO> byIdAll = testRestTemplate.exchange(
+            getBaseUrl() + "/" + archived.getId() + "?includeArchived=true", HttpMethod.GET, jsonEntity(null, token), TaskResponseDTO.class);
+
+        Assertions.assertThat(hot.getBody().content()).isEmpty();
+        Assertions.assertThat(all.getBody().content()).singleElement()
+            .satisfies(task -> {
+                Assertions.assertThat(task.id()).isEqualTo(archived.getId());
+                Assertions.assertThat(task.technicianIds()).containsExactly(technicianId);
+            });
+        Assertions.assertThat(byIdHot.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Assertions.assertThat(byIdAll.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(byIdAll.getBody().title()).isEqualTo(archived.getTitle());
+    }
+
+    @Test
+    @DisplayName("Search: tasks are searchable as soon as they are saved and gone once deleted")
+    void search_FollowTaskWrites_when_successful() {
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+        Client client = clientRepository.save(ClientModelTest.clientValid2());
+        Technician technician = technicianRepository.save(TechnicianModelTest.technicianValid2());
+        TaskRequestCreateDTO taskDTO = new TaskRequestCreateDTO(
+            "Zeppelin printer jammed", "Paper stuck in the zeppelin tray", TaskStatus.OPEN, TaskPriority.HIGH,
+            client.getId(), Set.of(technician.getId()));
+
+        TaskResponseDTO saved = testRestTemplate.exchange(
+            getBaseUrl(), HttpMethod.POST, jsonEntity(taskDTO, token), TaskResponseDTO.class).getBody();
+        ResponseEntity<CursorPageResponseDTO<TaskSearchHitDTO>> found = testRestTemplate.exchange(
+            getBaseUrl() + "/search?q=zeppelin", HttpMethod.GET, jsonEntity(null, token), new ParameterizedTypeReference<>() {});
+
+        Assertions.assertThat(found.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(found.getBody().content()).singleElement().satisfies(hit -> {
+            Assertions.assertThat(hit.task().id()).isEqualTo(saved.id());
+            Assertions.assertThat(hit.task().technicianIds()).containsExactly(technician.getId());
+            Assertions.assertThat(hit.titleHighlight()).isEqualTo("<b>Zeppelin</b> printer jammed");
+            Assertions.assertThat(hit.descriptionHighlight()).contains("<b>zeppelin</b>");
+        });
+
+        testRestTemplate.exchange(getBaseUrl() + "/" + saved.id(), HttpMethod.DELETE, jsonEntity(null, token), Void.class);
+        ResponseEntity<CursorPageResponseDTO<TaskSearchHitDTO>> afterDelete = testRestTemplate.exchange(
+            getBaseUrl() + "/search?q=zeppelin", HttpMethod.GET, jsonEntity(null, token), new ParameterizedTypeReference<>() {});
+
+        Assertions.assertThat(afterDelete.getBody().content()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Search: a rebuild indexes tasks written around the service")
+    void searchRebuild_IndexTasksSavedDirectly_when_successful() throws InterruptedException {
+        Task task = createTaskWithClientAndTechnicianInDatabase();
+        jdbcTemplate.update("update tasks set title = 'Quasar monitor flickering' where id = ?", task.getId());
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+
+        ResponseEntity<Void> rebuilt = testRestTemplate.exchange(
+            getBaseUrl() + "/search/rebuild", HttpMethod.POST, jsonEntity(null, token), Void.class);
+
+        Assertions.assertThat(rebuilt.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        Assertions.assertThat(awaitSearch("quasar", token)).singleElement()
+            .satisfies(hit -> Assertions.assertThat(hit.task().id()).isEqualTo(task.getId()));
+    }
+
+    @Test
+    @DisplayName("Stats: counts follow task writes, and a recount picks up tasks deleted around the service")
+    void stats_FollowTaskWrites_and_reconcile() {
+        Task direct = createTaskWithClientAndTechnicianInDatabase();
+        Long clientId = direct.getClient().getId();
+        Long technicianId = direct.getTechnicians().iterator().next().getId();
+        taskStatistics.reconcile();
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+
+        TaskRequestCreateDTO taskDTO = new TaskRequestCreateDTO(
+            "Printer jammed", "Paper stuck in tray 1", TaskStatus.OPEN, TaskPriority.LOW, clientId, Set.of(technicianId));
+        TaskResponseDTO saved = testRestTemplate.exchange(
+            getBaseUrl(), HttpMethod.POST, jsonEntity(taskDTO, token), TaskResponseDTO.class).getBody();
+        HttpHeaders patchHeaders = new HttpHeaders();
+        patchHeaders.setBearerAuth(token);
+        patchHeaders.setContentType(MediaType.valueOf("application/merge-patch+json"));
+        testRestTemplate.exchange(getBaseUrl() + "/" + saved.id(), HttpMethod.PATCH,
+            new HttpEntity<>("{\"status\": \"IN_PROGRESS\"}", patchHeaders), TaskResponseDTO.class);
+        testRestTemplate.exchange(getBaseUrl() + "/" + direct.getId(), HttpMethod.DELETE, jsonEntity(null, token), Void.class);
+
+        ResponseEntity<TaskStatsResponseDTO> response = testRestTemplate.exchange(
+            getBaseUrl() + "/stats", HttpMethod.GET, jsonEntity(null, token), TaskStatsResponseDTO.class);
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody()).satisfies(stats -> {
+            Assertions.assertThat(stats.total()).isEqualTo(1);
+            Assertions.assertThat(stats.byStatus()).containsEntry(TaskStatus.IN_PROGRESS, 1l)
+                .containsEntry(TaskStatus.OPEN, 0l).containsEntry(TaskStatus.CLOSED, 0l);
+            Assertions.assertThat(stats.byPriority()).containsEntry(TaskPriority.LOW, 1l).containsEntry(TaskPriority.HIGH, 0l);
+            Assertions.assertThat(stats.byClient()).containsOnly(Map.entry(clientId, 1l));
+            Assertions.assertThat(stats.byTechnician()).containsOnly(Map.entry(technicianId, 1l));
+            Assertions.assertThat(stats.reconciledAt()).isNotNull();
+        });
+
+        jdbcTemplate.update("delete from task_technicians where task_id = ?", saved.id());
+        jdbcTemplate.update("delete from tasks where id = ?", saved.id());
+
+        // total, IN_PROGRESS, LOW, the client and the technician were each off by one
+        Assertions.assertThat(taskStatistics.reconcile()).isEqualTo(5);
+        Assertions.assertThat(testRestTemplate.exchange(
+            getBaseUrl() + "/stats", HttpMethod.GET, jsonEntity(null, token), TaskStatsResponseDTO.class).getBody().total())
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("Search: should return BAD_REQUEST when the query is blank")
+    void search_ReturnBadRequest_when_queryIsBlank() {
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+
+        ResponseEntity<Object> response = testRestTemplate.exchange(
+            getBaseUrl() + "/search?q= ", HttpMethod.GET, jsonEntity(null, token), Object.class);
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
     @Test
     @DisplayName("FindById: should return BAD_REQUEST when id does not exist")
     void findById_ReturnBadRequest_when_idNotExists() {
@@ -193,6 +440,76 @@ public class TaskControllerIT {
         Assertions.assertThat(task.description()).isEqualTo(taskDTO.description());
     }
 
+    @Test
+    @DisplayName("Save batch: should create and return all tasks")
+    void saveAll_ReturnTasks_when_successful() {
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+        Client client = clientRepository.save(ClientModelTest.clientValid2());
+        Technician technician = technicianRepository.save(TechnicianModelTest.technicianValid2());
+
+        List<TaskRequestCreateDTO> batch = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            batch.add(TaskModelTests.taskRequestDTO(client.getId(), technician.getId()));
+        }
+
+        ResponseEntity<List<TaskResponseDTO>> response = testRestTemplate.exchange(
+            getBaseUrl() + "/batch",
+            HttpMethod.POST,
+            jsonEntity(batch, token),
+            new ParameterizedTypeReference<>() {}
+        );
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Assertions.assertThat(response.getBody())
+            .hasSize(120)
+            .allMatch(dto -> dto.id() != null && dto.technicianIds().contains(technician.getId()));
+        Assertions.assertThat(taskRepository.count()).isEqualTo(120);
+    }
+
+    @Test
+    @DisplayName("Save batch: should return BAD_REQUEST and persist nothing when a client does not exist")
+    void saveAll_ReturnBadRequest_when_clientNotExists() {
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+        Client client = clientRepository.save(ClientModelTest.clientValid2());
+        Technician technician = technicianRepository.save(TechnicianModelTest.technicianValid2());
+
+        List<TaskRequestCreateDTO> batch = List.of(
+            TaskModelTests.taskRequestDTO(client.getId(), technician.getId()),
+            TaskModelTests.taskRequestDTO(999999999L, technician.getId()));
+
+        ResponseEntity<Object> response = testRestTemplate.exchange(
+            getBaseUrl() + "/batch",
+            HttpMethod.POST,
+            jsonEntity(batch, token),
+            new ParameterizedTypeReference<>() {}
+        );
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Assertions.assertThat(taskRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Save batch: should return BAD_REQUEST and persist nothing when one task is invalid")
+    void saveAll_ReturnBadRequest_when_oneTaskIsInvalid() {
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+        Client client = clientRepository.save(ClientModelTest.clientValid2());
+        Technician technician = technicianRepository.save(TechnicianModelTest.technicianValid2());
+
+        List<TaskRequestCreateDTO> batch = List.of(
+            TaskModelTests.taskRequestDTO(client.getId(), technician.getId()),
+            new TaskRequestCreateDTO("", "No title", TaskStatus.OPEN, TaskPriority.LOW, client.getId(), Set.of(technician.getId())));
+
+        ResponseEntity<Object> response = testRestTemplate.exchange(
+            getBaseUrl() + "/batch",
+            HttpMethod.POST,
+            jsonEntity(batch, token),
+            new ParameterizedTypeReference<>() {}
+        );
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Assertions.assertThat(taskRepository.count()).isZero();
+    }
+
     @Test
     @DisplayName("Update: should return updated task")
     void update_ReturnTask_when_successful() {
@@ -219,6 +536,100 @@ public class TaskControllerIT {
         Assertions.assertThat(task.description()).isEqualTo(updateDTO.description());
     }
 
+    @Test
+    @DisplayName("Update: should return 412 when If-Match carries an outdated ETag")
+    void update_ReturnPreconditionFailed_when_ifMatchIsStale() {
+        Task savedTask = createTaskWithClientAndTechnicianInDatabase();
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+
+        Long clientId = savedTask.getClient().getId();
+        Long technicianId = savedTask.getTechnicians().stream().findFirst().map(Technician::getId).orElseThrow();
+        TaskRequestCreateDTO updateDTO = TaskModelTests.taskRequestDTO(clientId, technicianId);
+
+        String eTag = testRestTemplate.exchange(
+            getBaseUrl() + "/" + savedTask.getId(),
+            HttpMethod.GET,
+            jsonEntity(null, token),
+            TaskResponseDTO.class
+        ).getHeaders().getETag();
+
+        HttpEntity<TaskRequestCreateDTO> request = ifMatch(jsonEntity(updateDTO, token), eTag);
+
+        ResponseEntity<TaskResponseDTO> first = testRestTemplate.exchange(
+            getBaseUrl() + "/" + savedTask.getId(), HttpMethod.PUT, request, TaskResponseDTO.class);
+        ResponseEntity<Object> second = testRestTemplate.exchange(
+            getBaseUrl() + "/" + savedTask.getId(), HttpMethod.PUT, request, Object.class);
+
+        Assertions.assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(first.getHeaders().getETag()).isNotEqualTo(eTag);
+        Assertions.assertThat(second.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    @DisplayName("Patch: should change only the status given in the merge patch")
+    void patch_ChangeOnlyStatus_when_successful() {
+        Task savedTask = createTaskWithClientAndTechnicianInDatabase();
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.valueOf("application/merge-patch+json"));
+
+        ResponseEntity<TaskResponseDTO> response = testRestTemplate.exchange(
+            getBaseUrl() + "/" + savedTask.getId(),
+            HttpMethod.PATCH,
+            new HttpEntity<>("{\"status\": \"IN_PROGRESS\"}", headers),
+            TaskResponseDTO.class
+        );
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        TaskResponseDTO task = response.getBody();
+
+        Assertions.assertThat(task.status()).isEqualTo(TaskStatus.IN_PROGRESS);
+        Assertions.assertThat(task.title()).isEqualTo(savedTask.getTitle());
+        Assertions.assertThat(task.technicianIds()).hasSize(1);
+        Assertions.assertThat(response.getHeaders().getETag()).isEqualTo("\"" + task.version() + "\"");
+    }
+
+    @Test
+    @DisplayName("Add technician: concurrent additions to one task should all be kept")
+    void addTechnician_KeepEveryTechnician_when_addedConcurrently() throws Exception {
+        Task savedTask = createTaskWithClientAndTechnicianInDatabase();
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+
+        List<Long> technicianIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            technicianIds.add(technicianRepository.save(
+                Technician.builder().name("Technician " + i).phone("(11) 1111-111" + i).build()).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(technicianIds.size());
+        try {
+            List<Future<ResponseEntity<TaskResponseDTO>>> responses = new ArrayList<>();
+            for (Long technicianId : technicianIds) {
+                responses.add(executor.submit(() -> testRestTemplate.exchange(
+                    getBaseUrl() + "/" + savedTask.getId() + "/technicians/" + technicianId,
+                    HttpMethod.POST,
+                    jsonEntity(null, token),
+                    TaskResponseDTO.class)));
+            }
+            for (Future<ResponseEntity<TaskResponseDTO>> response : responses) {
+                Assertions.assertThat(response.get().getStatusCode()).isEqualTo(HttpStatus.OK);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        TaskResponseDTO task = testRestTemplate.exchange(
+            getBaseUrl() + "/" + savedTask.getId(),
+            HttpMethod.GET,
+            jsonEntity(null, token),
+            TaskResponseDTO.class
+        ).getBody();
+
+        Assertions.assertThat(task.technicianIds()).containsAll(technicianIds).hasSize(technicianIds.size() + 1);
+    }
+
     @Test
     @DisplayName("Delete: should delete task by id")
     void delete_DeleteTaskAndReturnNoContent_when_successful() {
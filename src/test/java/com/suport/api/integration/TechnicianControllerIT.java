@@ -20,14 +20,20 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import com.suport.api.domain.Technician;
 import com.suport.api.domain.UserModel;
 import com.suport.api.dtos.request.AuthenticationDTO;
+import com.suport.api.dtos.request.RefreshTokenDTO;
+import com.suport.api.dtos.request.RegisterDTO;
 import com.suport.api.dtos.request.TechnicianRequestDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.dtos.response.LoginResponseDTO;
 import com.suport.api.dtos.response.TechnicianResponseDTO;
 import com.suport.api.enums.UserRole;
 import com.suport.api.repository.TechnicianRepository;
 import com.suport.api.repository.UserModelRepository;
+import com.suport.api.service.UserDetailsCache;
 import com.suport.api.utils.TechnicianModelTest;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureTestDatabase
 public class TechnicianControllerIT {
@@ -39,6 +45,7 @@ public class TechnicianControllerIT {
     @Autowired private TestRestTemplate testRestTemplate;
     @Autowired private TechnicianRepository technicianRepository;
     @Autowired private UserModelRepository userModelRepository;
+    @Autowired private MeterRegistry meterRegistry;
 
     @LocalServerPort
     private int port;
@@ -97,15 +104,120 @@ public class TechnicianControllerIT {
         return technicianRepository.save(TechnicianModelTest.updateTechnicianValid());
     }
 
+    private double cachedUserHits() {
+        return meterRegistry.get("cache.gets").tag("cache", UserDetailsCache.CACHE_NAME).tag("result", "hit")
+            .functionCounter().count();
+    }
+
     // ========== Test Cases ==========
 
+    @Test
+    @DisplayName("Auth: repeated requests with one token resolve the user from the cache")
+    void findAll_ResolveUserFromCache_when_tokenIsReused() {
+        String token = authenticateAndGetToken("testAdmin", "testPass123");
+        double hitsBefore = cachedUserHits();
+
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<Object> response = testRestTemplate.exchange(
+                getBaseUrl(), HttpMethod.GET, jsonEntity(null, token), Object.class);
+            Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        Assertions.assertThat(cachedUserHits() - hitsBefore).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Auth: a revoked token is rejected right away and a new login is accepted")
+    void revoke_RejectOldToken_and_acceptNewLogin() {
+        userModelRepository.save(new UserModel("revokedTechnicianUser", new BCryptPasswordEncoder().encode("testPass123"), UserRole.USER));
+        String adminToken = authenticateAndGetToken("testAdmin", "testPass123");
+        String revokedToken = authenticateAndGetToken("revokedTechnicianUser", "testPass123");
+
+        ResponseEntity<Void> revoked = testRestTemplate.exchange(
+            "http://localhost:" + port + "/auth/revoke/revokedTechnicianUser",
+            HttpMethod.POST, jsonEntity(null, adminToken), Void.class);
+        ResponseEntity<Object> withRevokedToken = testRestTemplate.exchange(
+            getBaseUrl(), HttpMethod.GET, jsonEntity(null, revokedToken), Object.class);
+        ResponseEntity<Object> withNewToken = testRestTemplate.exchange(
+            getBaseUrl(), HttpMethod.GET, jsonEntity(null, authenticateAndGetToken("revokedTechnicianUser", "testPass123")), Object.class);
+
+        Assertions.assertThat(revoked.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        Assertions.assertThat(withRevokedToken.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        Assertions.assertThat(withNewToken.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("Auth: revoking the tokens of an unknown login returns 400")
+    void revoke_ReturnBadRequest_when_loginDoesNotExist() {
+        String adminToken = authenticateAndGetToken("testAdmin", "testPass123");
+
+        ResponseEntity<String> response = testRestTemplate.exchange(
+            "http://localhost:" + port + "/auth/revoke/nobody",
+            HttpMethod.POST, jsonEntity(null, adminToken), String.class);
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Auth: a refresh token gives a working pair once, and logout revokes both tokens")
+    void refreshAndLogout_RotateAndRevokeTokens() {
+        ResponseEntity<LoginResponseDTO> login = testRestTemplate.postForEntity(
+            "http://localhost:" + port + "/auth/login", new AuthenticationDTO("testUser", "testPass123"), LoginResponseDTO.class);
+        String firstRefreshToken = login.getBody().refreshToken();
+
+        ResponseEntity<LoginResponseDTO> refreshed = testRestTemplate.postForEntity(
+            "http://localhost:" + port + "/auth/refresh", new RefreshTokenDTO(firstRefreshToken), LoginResponseDTO.class);
+        ResponseEntity<String> replayed = testRestTemplate.postForEntity(
+            "http://localhost:" + port + "/auth/refresh", new RefreshTokenDTO(firstRefreshToken), String.class);
+        ResponseEntity<Object> refreshAsBearer = testRestTemplate.exchange(
+            getBaseUrl(), HttpMethod.GET, jsonEntity(null, refreshed.getBody().refreshToken()), Object.class);
+
+        Assertions.assertThat(refreshed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        Assertions.assertThat(refreshAsBearer.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        String accessToken = refreshed.getBody().token();
+        String refreshToken = refreshed.getBody().refreshToken();
+        ResponseEntity<Object> beforeLogout = testRestTemplate.exchange(
+            getBaseUrl(), HttpMethod.GET, jsonEntity(null, accessToken), Object.class);
+        ResponseEntity<Void> logout = testRestTemplate.exchange(
+            "http://localhost:" + port + "/auth/logout", HttpMethod.POST, jsonEntity(new RefreshTokenDTO(refreshToken), accessToken), Void.class);
+        ResponseEntity<Object> afterLogout = testRestTemplate.exchange(
+            getBaseUrl(), HttpMethod.GET, jsonEntity(null, accessToken), Object.class);
+        ResponseEntity<String> refreshAfterLogout = testRestTemplate.postForEntity(
+            "http://localhost:" + port + "/auth/refresh", new RefreshTokenDTO(refreshToken), String.class);
+
+        Assertions.assertThat(beforeLogout.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(logout.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        Assertions.assertThat(afterLogout.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        Assertions.assertThat(refreshAfterLogout.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    @DisplayName("Auth: a newly registered user can call the API with its token right away")
+    void register_AuthenticateNewUser_when_successful() {
+        String adminToken = authenticateAndGetToken("testAdmin", "testPass123");
+        ResponseEntity<String> registered = testRestTemplate.exchange(
+            "http://localhost:" + port + "/auth/register",
+            HttpMethod.POST,
+            jsonEntity(new RegisterDTO("newTechnicianUser", "newPass123", UserRole.USER), adminToken),
+            String.class);
+        String token = authenticateAndGetToken("newTechnicianUser", "newPass123");
+
+        ResponseEntity<Object> response = testRestTemplate.exchange(
+            getBaseUrl(), HttpMethod.GET, jsonEntity(null, token), Object.class);
+
+        Assertions.assertThat(registered.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
     @Test
     @DisplayName("FindAll: should return list of technicians")
     void findAll_ReturnsListOfTechnicians_WhenSuccessful() {
         Technician savedTechnician = saveValidTechnician();
         String token = authenticateAndGetToken("testAdmin", "testPass123");
 
-        ResponseEntity<List<TechnicianResponseDTO>> response = testRestTemplate.exchange(
+        ResponseEntity<CursorPageResponseDTO<TechnicianResponseDTO>> response = testRestTemplate.exchange(
             getBaseUrl(),
             HttpMethod.GET,
             jsonEntity(null, token),
@@ -113,8 +225,8 @@ public class TechnicianControllerIT {
         );
 
         Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        Assertions.assertThat(response.getBody())
-            .isNotNull()
+        Assertions.assertThat(response.getBody()).isNotNull();
+        Assertions.assertThat(response.getBody().content())
             .isNotEmpty()
             .anyMatch(dto -> dto.id().equals(savedTechnician.getId()));
     }
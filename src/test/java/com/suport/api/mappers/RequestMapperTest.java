@@ -0,0 +1,85 @@
+package com.suport.api.mappers;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import com.suport.api.domain.Address;
+import com.suport.api.domain.Client;
+import com.suport.api.domain.Task;
+import com.suport.api.domain.Technician;
+import com.suport.api.dtos.request.ClientRequestCreateDTO;
+import com.suport.api.dtos.request.ClientRequestUpdateDTO;
+import com.suport.api.dtos.request.TaskRequestCreateDTO;
+import com.suport.api.dtos.request.TechnicianRequestDTO;
+import com.suport.api.utils.AddressModelTests;
+import com.suport.api.utils.ClientModelTest;
+import com.suport.api.utils.TaskModelTests;
+import com.suport.api.utils.TechnicianModelTest;
+
+// the mappers replaced BeanUtils.copyProperties, so they must fill exactly what it filled
+@DisplayName("Tests for the request DTO to entity mappers")
+class RequestMapperTest {
+
+    @Test
+    @DisplayName("Task: toEntity copies what BeanUtils copied")
+    void taskToEntity_matchesBeanUtils() {
+        TaskRequestCreateDTO dto = TaskModelTests.taskRequestDTO(1l, 2l);
+        Task expected = new Task();
+        BeanUtils.copyProperties(dto, expected, "clientId", "technicianIds");
+
+        Assertions.assertThat(TaskMapper.toEntity(dto)).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Technician: copyInto copies what BeanUtils copied")
+    void technicianCopyInto_matchesBeanUtils() {
+        TechnicianRequestDTO dto = TechnicianModelTest.technicianResquestDTO();
+        Technician expected = TechnicianModelTest.technicianValid();
+        BeanUtils.copyProperties(dto, expected);
+
+        Technician technician = TechnicianModelTest.technicianValid();
+        TechnicianMapper.copyInto(dto, technician);
+
+        Assertions.assertThat(technician).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Client: toEntity copies what BeanUtils copied, address included")
+    void clientToEntity_matchesBeanUtils() {
+        ClientRequestCreateDTO dto = ClientModelTest.clientRequestCreateDTO();
+        Client expected = new Client();
+        BeanUtils.copyProperties(dto, expected, "address");
+        Address address = new Address();
+        BeanUtils.copyProperties(dto.address(), address);
+        expected.setAddress(address);
+
+        Assertions.assertThat(ClientMapper.toEntity(dto)).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Client: copyInto copies what BeanUtils copied and leaves the address alone")
+    void clientCopyInto_matchesBeanUtils() {
+        ClientRequestUpdateDTO dto = ClientModelTest.clientRequestUpdateDTO();
+        Client expected = ClientModelTest.clientValid();
+        expected.setAddress(AddressModelTests.createAddressValidWithId());
+        BeanUtils.copyProperties(dto, expected, "address");
+
+        Client client = ClientModelTest.clientValid();
+        client.setAddress(AddressModelTests.createAddressValidWithId());
+        ClientMapper.copyInto(dto, client);
+
+        Assertions.assertThat(client).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Address: toEntity copies what BeanUtils copied")
+    void addressToEntity_matchesBeanUtils() {
+        Address expected = new Address();
+        BeanUtils.copyProperties(AddressModelTests.createAddressResquestDTOValid(), expected);
+
+        Assertions.assertThat(AddressMapper.toEntity(AddressModelTests.createAddressResquestDTOValid()))
+            .usingRecursiveComparison().isEqualTo(expected);
+    }
+}
@@ -1,5 +1,6 @@
 package com.suport.api.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,17 +10,27 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import com.suport.api.domain.Address;
+import com.suport.api.domain.Client;
 import com.suport.api.utils.AddressModelTests;
+import com.suport.api.utils.ClientModelTest;
+import com.suport.api.utils.SqlStatementRecorder;
 
-@DataJpaTest
+@DataJpaTest(properties = SqlStatementRecorder.PROPERTY)
 @DisplayName("Tests for the Address repository")
 public class AddressRepositoryTest {
 
     @Autowired
     private AddressRepository addressRepository;
 
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Address addressValid;
 
     @BeforeEach
@@ -103,4 +114,68 @@ public class AddressRepositoryTest {
         Assertions.assertThatCode(() -> addressRepository.deleteById(999L))
                   .doesNotThrowAnyException();
     }
+
+    @Test
+    @DisplayName("DeleteSuperseded: removes dropped addresses no client points at, batch by batch")
+    void deleteSuperseded_removesOnlySupersededUnreferencedAddresses() {
+        Client client = ClientModelTest.clientValid2();
+        Address clientAddress = AddressModelTests.createAddressValid();
+        clientAddress.setSupersededAt(LocalDateTime.now());
+        client.setAddress(clientAddress);
+        client = clientRepository.saveAndFlush(client);
+        Address superseded = AddressModelTests.createAddressValid();
+        superseded.setSupersededAt(LocalDateTime.now());
+        superseded = addressRepository.saveAndFlush(superseded);
+        Address supersededToo = AddressModelTests.createAddressValid();
+        supersededToo.setSupersededAt(LocalDateTime.now());
+        supersededToo = addressRepository.saveAndFlush(supersededToo);
+
+        Assertions.assertThat(addressRepository.deleteSuperseded(1, 0l)).isEqualTo(1);
+        Assertions.assertThat(addressRepository.deleteSuperseded(10, 0l)).isEqualTo(1);
+        Assertions.assertThat(addressRepository.deleteSuperseded(10, 0l)).isZero();
+
+        Assertions.assertThat(addressRepository.existsById(superseded.getId())).isFalse();
+        Assertions.assertThat(addressRepository.existsById(supersededToo.getId())).isFalse();
+        // created through /addresses: no client, but never superseded
+        Assertions.assertThat(addressRepository.existsById(addressValid.getId())).isTrue();
+        Assertions.assertThat(addressRepository.existsById(client.getAddress().getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("DeleteSuperseded: also removes unstamped addresses no client points at, up to the cutoff id")
+    void deleteSuperseded_removesUnstampedUnreferencedAddresses_upToCutoff() {
+        Client client = ClientModelTest.clientValid2();
+        client.setAddress(AddressModelTests.createAddressValid());
+        client = clientRepository.saveAndFlush(client);
+        Address orphan = addressRepository.saveAndFlush(AddressModelTests.createAddressValid());
+        Address afterCutoff = addressRepository.saveAndFlush(AddressModelTests.createAddressValid());
+
+        Assertions.assertThat(addressRepository.deleteSuperseded(10, orphan.getId())).isEqualTo(2);
+
+        Assertions.assertThat(addressRepository.existsById(addressValid.getId())).isFalse();
+        Assertions.assertThat(addressRepository.existsById(orphan.getId())).isFalse();
+        Assertions.assertThat(addressRepository.existsById(afterCutoff.getId())).isTrue();
+        Assertions.assertThat(addressRepository.existsById(client.getAddress().getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Find: loads addresses of clients without touching the clients table")
+    void find_doesNotSelectClients_whenAddressesBelongToClients() {
+        for (int i = 0; i < 3; i++) {
+            Client client = ClientModelTest.clientValid2();
+            client.setAddress(AddressModelTests.createAddressValid());
+            clientRepository.save(client);
+        }
+        Long addressId = clientRepository.saveAndFlush(ClientModelTest.clientValid2()).getAddress().getId();
+        entityManager.clear();
+        SqlStatementRecorder.clear();
+
+        List<Address> addresses = addressRepository.findAll();
+        Optional<Address> address = addressRepository.findById(addressId);
+
+        Assertions.assertThat(addresses).hasSize(5);
+        Assertions.assertThat(address).isPresent();
+        Assertions.assertThat(SqlStatementRecorder.statements()).hasSize(1)
+            .noneMatch(sql -> sql.toLowerCase().contains("clients"));
+    }
 }
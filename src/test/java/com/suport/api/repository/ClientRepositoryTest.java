@@ -1,5 +1,6 @@
 package com.suport.api.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,9 +10,16 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 import com.suport.api.domain.Client;
+import com.suport.api.domain.Task;
+import com.suport.api.domain.Technician;
+import com.suport.api.dtos.response.ClientResponseDTO;
 import com.suport.api.utils.ClientModelTest;
+import com.suport.api.utils.TaskModelTests;
+import com.suport.api.utils.TechnicianModelTest;
 
 @DataJpaTest
 @DisplayName("Tests for the Client repository")
@@ -20,6 +28,18 @@ class ClientRepositoryTest {
     @Autowired
     private ClientRepository clientRepository;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TechnicianRepository technicianRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     private  Client clientValid;
 
     @BeforeEach
@@ -104,4 +124,93 @@ class ClientRepositoryTest {
         Assertions.assertThatCode(() -> clientRepository.deleteById(1L))
                   .doesNotThrowAnyException();
     }
+
+    @Test
+    @DisplayName("FindResponsesByIdGreaterThan: projects clients with and without address in id order")
+    void findResponsesByIdGreaterThan_projectsNestedAddress_whenSuccessful() {
+        Client withAddress = clientRepository.save(clientValid);
+        Client withoutAddress = clientRepository.save(ClientModelTest.clientValid2());
+        withoutAddress.setAddress(null);
+        clientRepository.saveAndFlush(withoutAddress);
+
+        List<ClientResponseDTO> page = clientRepository.findResponsesByIdGreaterThan(withAddress.getId() - 1, Limit.of(10));
+
+        Assertions.assertThat(page).extracting(ClientResponseDTO::id)
+            .containsExactly(withAddress.getId(), withoutAddress.getId());
+        Assertions.assertThat(page.get(0).address()).isNotNull();
+        Assertions.assertThat(page.get(0).address().street()).isEqualTo(withAddress.getAddress().getStreet());
+        Assertions.assertThat(page.get(1).address()).isNull();
+        Assertions.assertThat(clientRepository.findResponseById(withAddress.getId())).contains(page.get(0));
+    }
+
+    @Test
+    @DisplayName("SoftDeleteById: hides the client from reads and bumps its version, once")
+    void softDeleteById_hidesClient_whenSuccessful() {
+        Client client = clientRepository.saveAndFlush(clientValid);
+        Long version = client.getVersion();
+        entityManager.clear();
+
+        Assertions.assertThat(clientRepository.softDeleteById(client.getId(), LocalDateTime.now())).isEqualTo(1);
+        Assertions.assertThat(clientRepository.softDeleteById(client.getId(), LocalDateTime.now())).isZero();
+
+        Assertions.assertThat(clientRepository.findResponseById(client.getId())).isEmpty();
+        Assertions.assertThat(clientRepository.findResponsesByIdGreaterThan(client.getId() - 1, Limit.of(10))).isEmpty();
+        Assertions.assertThat(clientRepository.findDeletedIds(Limit.of(10))).containsExactly(client.getId());
+        Assertions.assertThat(clientRepository.findById(client.getId())).get()
+            .extracting(Client::getVersion).isEqualTo(version + 1);
+    }
+
+    @Test
+    @DisplayName("Purge: removes hot and archived tasks in chunks, then the client and its address")
+    void purge_removesTasksInChunksThenClient_whenDeleted() {
+        Client client = clientRepository.save(clientValid);
+        Technician technician = technicianRepository.save(TechnicianModelTest.technicianValid2());
+        for (int i = 0; i < 3; i++) {
+            taskRepository.save(TaskModelTests.taskValid2(client, technician));
+        }
+        Task archived = TaskModelTests.taskValid2(client, technician);
+        archived.setClosedAt(LocalDateTime.now().minusYears(1));
+        taskRepository.save(archived);
+        entityManager.flush();
+        taskRepository.archiveClosedBefore(LocalDateTime.now().minusDays(90), 10, LocalDateTime.now());
+        Long addressId = client.getAddress().getId();
+        clientRepository.softDeleteById(client.getId(), LocalDateTime.now());
+
+        Assertions.assertThat(taskRepository.deleteChunkOfDeletedClient(client.getId(), 2)).hasSize(2);
+        Assertions.assertThat(taskRepository.deleteChunkOfDeletedClient(client.getId(), 2)).hasSize(1);
+        Assertions.assertThat(taskRepository.deleteChunkOfDeletedClient(client.getId(), 2)).hasSize(1);
+        Assertions.assertThat(taskRepository.deleteChunkOfDeletedClient(client.getId(), 2)).isEmpty();
+        Assertions.assertThat(clientRepository.purgeDeleted(client.getId())).isTrue();
+
+        Assertions.assertThat(clientRepository.existsById(client.getId())).isFalse();
+        Assertions.assertThat(addressRepository.existsById(addressId)).isFalse();
+        Assertions.assertThat(taskRepository.countByClientId(client.getId())).isZero();
+        Assertions.assertThat(taskRepository.countArchivedByClientId(client.getId())).isZero();
+        Assertions.assertThat(technicianRepository.existsById(technician.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Update: deletes the address row a client lets go of")
+    void update_deletesDetachedAddress() {
+        Client client = clientRepository.saveAndFlush(clientValid);
+        Long addressId = client.getAddress().getId();
+
+        client.setAddress(null);
+        clientRepository.saveAndFlush(client);
+
+        Assertions.assertThat(addressRepository.existsById(addressId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Purge: leaves a client that was not deleted alone")
+    void purge_doesNothing_whenClientNotDeleted() {
+        Client client = clientRepository.save(clientValid);
+        Technician technician = technicianRepository.save(TechnicianModelTest.technicianValid2());
+        taskRepository.save(TaskModelTests.taskValid2(client, technician));
+        entityManager.flush();
+
+        Assertions.assertThat(taskRepository.deleteChunkOfDeletedClient(client.getId(), 10)).isEmpty();
+        Assertions.assertThat(clientRepository.purgeDeleted(client.getId())).isFalse();
+        Assertions.assertThat(taskRepository.countByClientId(client.getId())).isEqualTo(1);
+    }
 }
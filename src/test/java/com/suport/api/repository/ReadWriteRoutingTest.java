@@ -0,0 +1,136 @@
+package com.suport.api.repository;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.jdbc.DataSourcePoolMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.suport.api.config.ReadWriteDataSourceConfiguration;
+import com.suport.api.config.ReplicaLagMonitor;
+import com.suport.api.domain.Technician;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// two H2 databases stand in for primary and replica; nothing replicates between
+// them, so a row written to the primary is only visible when a read hits it
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+    "api.datasource.replica.enabled=true",
+    "api.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+    "api.datasource.replica.username=sa",
+    "api.datasource.replica.lag-query=select coalesce(max(lag_millis), 0) from replica_lag",
+    "api.datasource.replica.max-lag=5s",
+    "api.datasource.replica.check-interval=1h"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReadWriteDataSourceConfiguration.class)
+@ImportAutoConfiguration({
+    MetricsAutoConfiguration.class,
+    SimpleMetricsExportAutoConfiguration.class,
+    DataSourcePoolMetricsAutoConfiguration.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Tests for the read/write data source routing")
+class ReadWriteRoutingTest {
+
+    @Autowired
+    private TechnicianRepository technicianRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure().dataSource(replicaDataSource).locations("classpath:db/migration", "classpath:db/vendor/h2").load().migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table if not exists replica_lag (lag_millis bigint)");
+        replica.update("delete from replica_lag");
+        replicaLagMonitor.check();
+
+        technicianRepository.save(Technician.builder().name("Ekko").phone("(11) 1111-1111").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        technicianRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions: read from the replica, other transactions from the primary")
+    void readOnlyTransaction_readsFromReplica_when_replicaIsUpToDate() {
+        Assertions.assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+        Assertions.assertThat(countTechnicians(true)).isZero();
+        Assertions.assertThat(countTechnicians(false)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Read-only transactions: fall back to the primary while the replica lags")
+    void readOnlyTransaction_readsFromPrimary_when_replicaLags() {
+        replica.update("insert into replica_lag (lag_millis) values (60000)");
+        replicaLagMonitor.check();
+
+        Assertions.assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        Assertions.assertThat(replicaLagMonitor.getLagMillis()).isEqualTo(60000);
+        Assertions.assertThat(countTechnicians(true)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Read-only transactions: fall back to the primary when the lag cannot be checked")
+    void readOnlyTransaction_readsFromPrimary_when_lagCheckFails() {
+        replica.execute("drop table replica_lag");
+        replicaLagMonitor.check();
+
+        Assertions.assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        Assertions.assertThat(replicaLagMonitor.getLagMillis()).isEqualTo(ReplicaLagMonitor.UNKNOWN_LAG);
+        Assertions.assertThat(countTechnicians(true)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Metrics: export Hikari meters per pool and the replica lag")
+    void metrics_exportPerPoolAndLag() {
+        countTechnicians(true);
+
+        Assertions.assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge()).isNotNull();
+        Assertions.assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "replica").gauge()).isNotNull();
+        Assertions.assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isZero();
+        Assertions.assertThat(meterRegistry.get("datasource.replica.usable").gauge().value()).isEqualTo(1);
+    }
+
+    private long countTechnicians(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> technicianRepository.count());
+    }
+}
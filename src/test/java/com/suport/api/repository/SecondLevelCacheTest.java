@@ -0,0 +1,162 @@
+package com.suport.api.repository;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.suport.api.config.SecondLevelCacheConfiguration;
+import com.suport.api.domain.CacheRegions;
+import com.suport.api.domain.Client;
+import com.suport.api.domain.Technician;
+import com.suport.api.utils.ClientModelTest;
+import com.suport.api.utils.TaskModelTests;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+// read-write regions only serve entries committed before the reading transaction
+// started, so every step runs in a transaction of its own instead of the test one
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(SecondLevelCacheConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Tests for the second-level cache")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TechnicianRepository technicianRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterBinder secondLevelCacheMetrics;
+
+    private Statistics statistics;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        technicianRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("FindById: serves a technician from the cache after the first load")
+    void findById_servesFromCache_afterFirstLoad() {
+        Long id = saveTechnician("Ekko", "(11) 1111-1111").getId();
+
+        technicianRepository.findById(id);
+        statistics.clear();
+
+        Assertions.assertThat(technicianRepository.findById(id)).isPresent();
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+        Assertions.assertThat(statistics.getDomainDataRegionStatistics(CacheRegions.TECHNICIANS).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("LoadAllById: serves cached technicians without a statement")
+    void loadAllById_servesFromCache_afterFirstLoad() {
+        List<Long> ids = List.of(
+            saveTechnician("Ekko", "(11) 1111-1111").getId(),
+            saveTechnician("Jinx", "(22) 2222-2222").getId());
+
+        technicianRepository.loadAllById(ids);
+        statistics.clear();
+
+        Assertions.assertThat(technicianRepository.loadAllById(ids)).extracting(Technician::getId)
+            .containsExactlyInAnyOrderElementsOf(ids);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+        Assertions.assertThat(statistics.getDomainDataRegionStatistics(CacheRegions.TECHNICIANS).getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Update: a changed technician is never read stale from the cache")
+    void update_isNotServedStale_whenCached() {
+        Long id = saveTechnician("Ekko", "(11) 1111-1111").getId();
+        technicianRepository.findById(id);
+
+        Technician technician = technicianRepository.findById(id).orElseThrow();
+        technician.setName("Silco");
+        technicianRepository.save(technician);
+
+        Assertions.assertThat(technicianRepository.findById(id)).get()
+            .extracting(Technician::getName).isEqualTo("Silco");
+    }
+
+    @Test
+    @DisplayName("DetachFromAllTasks: evicts the task technicians region and keeps technicians cached")
+    void detachFromAllTasks_evictsOnlyTaskTechnicians_when_Successful() {
+        Client client = clientRepository.save(ClientModelTest.clientValid2());
+        Technician technician = saveTechnician("Ekko", "(11) 1111-1111");
+        Long taskId = taskRepository.save(TaskModelTests.taskValid2(client, technician)).getId();
+
+        Assertions.assertThat(technicianCountOf(taskId)).isEqualTo(1);
+        technicianRepository.findById(technician.getId());
+
+        transaction.executeWithoutResult(status -> technicianRepository.detachFromAllTasks(technician.getId()));
+        statistics.clear();
+
+        Assertions.assertThat(technicianCountOf(taskId)).isZero();
+        Assertions.assertThat(technicianRepository.findById(technician.getId())).isPresent();
+        Assertions.assertThat(statistics.getDomainDataRegionStatistics(CacheRegions.TASK_TECHNICIANS).getHitCount()).isZero();
+        Assertions.assertThat(statistics.getDomainDataRegionStatistics(CacheRegions.TECHNICIANS).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Metrics: exports hits and misses of every region")
+    void metrics_exportHitsAndMisses_perRegion() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheMetrics.bindTo(registry);
+
+        Long id = saveTechnician("Ekko", "(11) 1111-1111").getId();
+        technicianRepository.findById(id);
+        technicianRepository.findById(id);
+
+        Assertions.assertThat(registry.get("cache.gets").tag("cache", CacheRegions.TECHNICIANS).tag("result", "hit")
+            .functionCounter().count()).isGreaterThanOrEqualTo(1);
+        Assertions.assertThat(registry.get("cache.gets").tag("cache", CacheRegions.TECHNICIANS).tag("result", "miss")
+            .functionCounter().count()).isGreaterThanOrEqualTo(1);
+        for (String region : CacheRegions.ALL) {
+            Assertions.assertThat(registry.find("cache.evictions").tag("cache", region).functionCounter()).isNotNull();
+        }
+    }
+
+    private Technician saveTechnician(String name, String phone) {
+        return technicianRepository.save(Technician.builder().name(name).phone(phone).build());
+    }
+
+    private int technicianCountOf(Long taskId) {
+        return transaction.execute(status -> taskRepository.findById(taskId).orElseThrow().getTechnicians().size());
+    }
+}
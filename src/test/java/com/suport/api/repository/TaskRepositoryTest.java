@@ -1,26 +1,46 @@
 package com.suport.api.repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 import com.suport.api.domain.Client;
 import com.suport.api.domain.Task;
 import com.suport.api.domain.Technician;
+import com.suport.api.enums.TaskPriority;
 import com.suport.api.enums.TaskStatus;
+import com.suport.api.pagination.KeysetCursor;
+import com.suport.api.repository.filter.TaskFilter;
+import com.suport.api.repository.filter.TaskSort;
+import com.suport.api.repository.projection.TaskCountRow;
+import com.suport.api.repository.projection.TaskRow;
+import com.suport.api.repository.projection.TaskTechnicianRow;
+import com.suport.api.repository.projection.TechnicianTaskCountRow;
 import com.suport.api.utils.ClientModelTest;
+import com.suport.api.utils.SqlStatementRecorder;
 import com.suport.api.utils.TaskModelTests;
 import com.suport.api.utils.TechnicianModelTest;
 
-@DataJpaTest
+import jakarta.persistence.PersistenceException;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    SqlStatementRecorder.PROPERTY
+})
 @DisplayName("Tests for the Task repository")
 public class TaskRepositoryTest {
 
@@ -33,6 +53,9 @@ public class TaskRepositoryTest {
 
     @Autowired
     private TechnicianRepository technicianRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
     
     private Task taskValid;
     private Technician technician;
@@ -78,6 +101,150 @@ public class TaskRepositoryTest {
 
     }
 
+    @Test
+    @DisplayName("Update: a status change writes only the status column")
+    void update_writesOnlyChangedColumns_when_statusChanges(){
+        // open to in progress: closed_at stays null, see trackClosedAt below
+        taskValid.setStatus(TaskStatus.OPEN);
+        Task task = taskRepository.saveAndFlush(taskValid);
+        SqlStatementRecorder.clear();
+
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        taskRepository.saveAndFlush(task);
+
+        // version and updated_at are maintained by Hibernate on every write
+        Assertions.assertThat(SqlStatementRecorder.updatesOf("tasks")).singleElement()
+            .satisfies(sql -> Assertions.assertThat(sql.toLowerCase())
+                .startsWith("update tasks set status=?,updated_at=?,version=? where")
+                .doesNotContain("title", "description", "priority", "client_id"));
+        Assertions.assertThat(SqlStatementRecorder.statements())
+            .noneMatch(sql -> sql.toLowerCase().contains("task_technicians"));
+    }
+
+    @Test
+    @DisplayName("Update: closing a task records when, reopening it clears it")
+    void update_tracksClosedAt_when_statusChanges(){
+        taskValid.setStatus(TaskStatus.OPEN);
+        Task task = taskRepository.saveAndFlush(taskValid);
+        Assertions.assertThat(task.getClosedAt()).isNull();
+
+        task.setStatus(TaskStatus.COMPLETED);
+        taskRepository.saveAndFlush(task);
+        LocalDateTime closedAt = task.getClosedAt();
+        Assertions.assertThat(closedAt).isNotNull();
+
+        task.setStatus(TaskStatus.CLOSED);
+        taskRepository.saveAndFlush(task);
+        Assertions.assertThat(task.getClosedAt()).isEqualTo(closedAt);
+
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        taskRepository.saveAndFlush(task);
+        Assertions.assertThat(task.getClosedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Archive: moves tasks closed before the cutoff and their technicians, oldest first")
+    void archiveClosedBefore_movesOldClosedTasks_when_Successful(){
+        LocalDateTime now = LocalDateTime.now();
+        Task oldest = saveClosedTask(now.minusDays(200));
+        Task old = saveClosedTask(now.minusDays(100));
+        Task recent = saveClosedTask(now.minusDays(1));
+        Task open = saveTask(client, technician, TaskStatus.OPEN, TaskPriority.HIGH);
+        entityManager.flush();
+        entityManager.clear();
+
+        Assertions.assertThat(taskRepository.archiveClosedBefore(now.minusDays(90), 1, now)).hasSize(1);
+        Assertions.assertThat(taskRepository.archiveClosedBefore(now.minusDays(90), 1, now)).hasSize(1);
+        Assertions.assertThat(taskRepository.archiveClosedBefore(now.minusDays(90), 1, now)).isEmpty();
+
+        Assertions.assertThat(taskRepository.findAllById(List.of(oldest.getId(), old.getId(), recent.getId(), open.getId())))
+            .extracting(Task::getId).containsExactlyInAnyOrder(recent.getId(), open.getId());
+        Assertions.assertThat(taskRepository.findTechnicianRowsByTaskIdIn(List.of(oldest.getId(), old.getId()))).isEmpty();
+
+        Assertions.assertThat(taskRepository.findArchivedRowById(old.getId())).get()
+            .satisfies(row -> {
+                Assertions.assertThat(row.title()).isEqualTo(old.getTitle());
+                Assertions.assertThat(row.status()).isEqualTo(TaskStatus.CLOSED);
+                Assertions.assertThat(row.clientId()).isEqualTo(client.getId());
+            });
+        Assertions.assertThat(taskRepository.findArchivedTechnicianRowsByTaskIdIn(List.of(oldest.getId(), old.getId())))
+            .extracting(TaskTechnicianRow::taskId).containsExactlyInAnyOrder(oldest.getId(), old.getId());
+    }
+
+    @Test
+    @DisplayName("Archive: deleting the client also deletes its archived tasks and their technician rows")
+    void archivedTasks_deletedWithClient_when_clientRowIsDeleted(){
+        LocalDateTime now = LocalDateTime.now();
+        Task archived = saveClosedTask(now.minusDays(200));
+        entityManager.flush();
+        entityManager.clear();
+        taskRepository.archiveClosedBefore(now.minusDays(90), 10, now);
+
+        entityManager.getEntityManager().createNativeQuery("delete from clients where id = :id")
+            .setParameter("id", client.getId()).executeUpdate();
+
+        Assertions.assertThat(taskRepository.findArchivedRowById(archived.getId())).isEmpty();
+        Assertions.assertThat(taskRepository.findArchivedTechnicianRowsByTaskIdIn(List.of(archived.getId()))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Count: count hot and archived tasks together, so archival leaves the counts alone")
+    void countByStatusPriorityAndClient_includesArchivedTasks_when_tasksAreArchived(){
+        LocalDateTime now = LocalDateTime.now();
+        saveClosedTask(now.minusDays(200));
+        saveClosedTask(now.minusDays(1));
+        saveTask(client, technician, TaskStatus.OPEN, TaskPriority.HIGH);
+        entityManager.flush();
+        entityManager.clear();
+        List<TaskCountRow> counts = taskRepository.countByStatusPriorityAndClient();
+        List<TechnicianTaskCountRow> technicianCounts = taskRepository.countByTechnician();
+
+        Assertions.assertThat(taskRepository.archiveClosedBefore(now.minusDays(90), 10, now)).hasSize(1);
+
+        Assertions.assertThat(taskRepository.countByStatusPriorityAndClient()).containsExactlyInAnyOrderElementsOf(counts);
+        Assertions.assertThat(taskRepository.countByTechnician()).containsExactlyInAnyOrderElementsOf(technicianCounts);
+    }
+
+    @Test
+    @DisplayName("CreatedAt: every hot and archived task has one, so createdAt cursors never meet a null")
+    void createdAt_rejectsNull_when_taskOrArchivedTaskIsUpdated(){
+        LocalDateTime now = LocalDateTime.now();
+        Task archived = saveClosedTask(now.minusDays(200));
+        Task hot = saveTask(client, technician, TaskStatus.OPEN, TaskPriority.HIGH);
+        entityManager.flush();
+        taskRepository.archiveClosedBefore(now.minusDays(90), 10, now);
+
+        Assertions.assertThatThrownBy(() -> entityManager.getEntityManager()
+                .createNativeQuery("update tasks set created_at = null where id = :id")
+                .setParameter("id", hot.getId()).executeUpdate())
+            .isInstanceOf(PersistenceException.class);
+        Assertions.assertThatThrownBy(() -> entityManager.getEntityManager()
+                .createNativeQuery("update tasks_archive set created_at = null where id = :id")
+                .setParameter("id", archived.getId()).executeUpdate())
+            .isInstanceOf(PersistenceException.class);
+    }
+
+    @Test
+    @DisplayName("FindArchivedRows: applies the same filters and seek as findRows")
+    void findArchivedRows_returnsOnlyMatchingTasks_when_filtered(){
+        LocalDateTime now = LocalDateTime.now();
+        Task first = saveClosedTask(now.minusDays(200));
+        Task second = saveClosedTask(now.minusDays(200));
+        Task otherTechnician = saveClosedTask(now.minusDays(200));
+        otherTechnician.setTechnicians(new HashSet<>(Set.of(
+            technicianRepository.save(Technician.builder().name("Ekko").phone("(11) 1111-1111").build()))));
+        entityManager.flush();
+        taskRepository.archiveClosedBefore(now.minusDays(90), 10, now);
+
+        TaskFilter filter = new TaskFilter(TaskStatus.CLOSED, null, client.getId(), technician.getId(), null, null);
+
+        Assertions.assertThat(taskRepository.findRows(filter, TaskSort.DEFAULT, null, Limit.of(10))).isEmpty();
+        Assertions.assertThat(taskRepository.findArchivedRows(filter, TaskSort.DEFAULT, null, Limit.of(10)))
+            .extracting(TaskRow::id).containsExactly(first.getId(), second.getId());
+        Assertions.assertThat(taskRepository.findArchivedRows(filter, TaskSort.DEFAULT, afterId(first), Limit.of(10)))
+            .extracting(TaskRow::id).containsExactly(second.getId());
+    }
+
     @Test
     @DisplayName("FindbyId: return optinal with task when successful")
     void findById_findByIdtask_when_Successful(){
@@ -122,6 +289,108 @@ public class TaskRepositoryTest {
         .contains(task);
     }
 
+    @Test
+    @DisplayName("FindRows: returns the rows of the next page in id order")
+    void findRows_returnsNextPage_when_Successful(){
+        Task first = taskRepository.save(TaskModelTests.taskValid2(client, technician));
+        Task second = taskRepository.save(TaskModelTests.taskValid2(client, technician));
+        Task third = taskRepository.save(TaskModelTests.taskValid2(client, technician));
+
+        List<TaskRow> page = taskRepository.findRows(TaskFilter.NONE, TaskSort.DEFAULT, afterId(first), Limit.of(1));
+
+        Assertions.assertThat(page).extracting(TaskRow::id).containsExactly(second.getId());
+        Assertions.assertThat(page.get(0).clientId()).isEqualTo(client.getId());
+        Assertions.assertThat(taskRepository.findRows(TaskFilter.NONE, TaskSort.DEFAULT, afterId(second), Limit.of(10)))
+            .extracting(TaskRow::id).containsExactly(third.getId());
+    }
+
+    @Test
+    @DisplayName("FindRows: applies status, priority, client and technician filters together")
+    void findRows_returnsOnlyMatchingTasks_when_filtered(){
+        Client otherClient = clientRepository.save(ClientModelTest.clientValid2());
+        Technician otherTechnician = technicianRepository.save(Technician.builder().name("Ekko").phone("(11) 1111-1111").build());
+
+        Task match = saveTask(client, technician, TaskStatus.OPEN, TaskPriority.URGENT);
+        saveTask(client, technician, TaskStatus.OPEN, TaskPriority.LOW);
+        saveTask(client, technician, TaskStatus.CLOSED, TaskPriority.URGENT);
+        saveTask(otherClient, technician, TaskStatus.OPEN, TaskPriority.URGENT);
+        saveTask(client, otherTechnician, TaskStatus.OPEN, TaskPriority.URGENT);
+
+        TaskFilter filter = new TaskFilter(TaskStatus.OPEN, TaskPriority.URGENT, client.getId(), technician.getId(), null, null);
+
+        Assertions.assertThat(taskRepository.findRows(filter, TaskSort.DEFAULT, null, Limit.of(10)))
+            .extracting(TaskRow::id).containsExactly(match.getId());
+    }
+
+    @Test
+    @DisplayName("FindRows: pages by creation time and breaks ties by id")
+    void findRows_pagesByCreatedAt_when_sortedDescending(){
+        LocalDateTime now = LocalDateTime.of(2025, 1, 10, 12, 0);
+        Task oldest = saveTask(client, technician, TaskStatus.OPEN, TaskPriority.HIGH);
+        Task tiedLow = saveTask(client, technician, TaskStatus.OPEN, TaskPriority.HIGH);
+        Task tiedHigh = saveTask(client, technician, TaskStatus.OPEN, TaskPriority.HIGH);
+        Task outOfRange = saveTask(client, technician, TaskStatus.OPEN, TaskPriority.HIGH);
+        setCreatedAt(oldest, now.minusDays(2));
+        setCreatedAt(tiedLow, now.minusDays(1));
+        setCreatedAt(tiedHigh, now.minusDays(1));
+        setCreatedAt(outOfRange, now);
+
+        TaskFilter filter = new TaskFilter(null, null, null, null, now.minusDays(7), now);
+        TaskSort sort = new TaskSort(TaskSort.Field.CREATED_AT, true);
+
+        List<TaskRow> firstPage = taskRepository.findRows(filter, sort, null, Limit.of(2));
+        TaskRow last = firstPage.get(1);
+        List<TaskRow> secondPage = taskRepository.findRows(filter, sort,
+            new KeysetCursor.Position(last.createdAt(), last.id()), Limit.of(2));
+
+        Assertions.assertThat(firstPage).extracting(TaskRow::id).containsExactly(tiedHigh.getId(), tiedLow.getId());
+        Assertions.assertThat(secondPage).extracting(TaskRow::id).containsExactly(oldest.getId());
+    }
+
+    @Test
+    @DisplayName("Migrations: create the indexes used by the task search")
+    void migrations_createTaskSearchIndexes(){
+        List<String> indexes = entityManager.getEntityManager().createNativeQuery(
+            "select lower(index_name) from information_schema.indexes where lower(index_name) like 'idx_%'", String.class)
+            .getResultList();
+
+        Assertions.assertThat(indexes).contains(
+            "idx_tasks_status_priority_created_at",
+            "idx_tasks_client_id",
+            "idx_task_technicians_technician_id",
+            "idx_tasks_closed_at",
+            "idx_tasks_archive_status_priority_created_at",
+            "idx_tasks_archive_client_id",
+            "idx_task_technicians_archive_technician_id");
+    }
+
+    @Test
+    @DisplayName("Projections: read a page and its technicians in two statements without loading entities")
+    void findRowsAndTechnicianRows_loadNoEntities_when_Successful(){
+        Technician other = technicianRepository.save(Technician.builder().name("Ekko").phone("(11) 1111-1111").build());
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Task task = TaskModelTests.taskValid2(client, technician);
+            task.getTechnicians().add(other);
+            ids.add(taskRepository.save(task).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<TaskRow> rows = taskRepository.findRows(TaskFilter.NONE, TaskSort.DEFAULT, null, Limit.of(10));
+        List<TaskTechnicianRow> technicianRows = taskRepository.findTechnicianRowsByTaskIdIn(ids);
+
+        Assertions.assertThat(rows).extracting(TaskRow::id).containsExactlyElementsOf(ids);
+        Assertions.assertThat(technicianRows).hasSize(10)
+            .extracting(TaskTechnicianRow::technicianId).containsOnly(technician.getId(), other.getId());
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
     @Test
     @DisplayName("Delete: deletes task when successful")
     void delete_deleteAddress_when_Successful(){
@@ -140,4 +409,32 @@ public class TaskRepositoryTest {
 
     }
 
+    private Task saveTask(Client owner, Technician assignee, TaskStatus status, TaskPriority priority) {
+        Task task = TaskModelTests.taskValid2(owner, assignee);
+        task.setStatus(status);
+        task.setPriority(priority);
+        return taskRepository.save(task);
+    }
+
+    // closedAt is only filled in when missing, so a given one is kept on insert
+    private Task saveClosedTask(LocalDateTime closedAt) {
+        Task task = TaskModelTests.taskValid2(client, technician);
+        task.setClosedAt(closedAt);
+        return taskRepository.save(task);
+    }
+
+    // createdAt is generated on insert, so tests move it with a plain update
+    private void setCreatedAt(Task task, LocalDateTime createdAt) {
+        entityManager.flush();
+        entityManager.getEntityManager().createNativeQuery("update tasks set created_at = :createdAt where id = :id")
+            .setParameter("createdAt", createdAt)
+            .setParameter("id", task.getId())
+            .executeUpdate();
+        entityManager.clear();
+    }
+
+    private static KeysetCursor.Position afterId(Task task) {
+        return new KeysetCursor.Position(null, task.getId());
+    }
+
 }
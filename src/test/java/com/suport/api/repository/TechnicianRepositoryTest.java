@@ -1,25 +1,41 @@
 package com.suport.api.repository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import com.suport.api.domain.Client;
 import com.suport.api.domain.Technician;
+import com.suport.api.utils.ClientModelTest;
+import com.suport.api.utils.TaskModelTests;
 import com.suport.api.utils.TechnicianModelTest;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @DisplayName("Tests for the Technician repository")
 public class TechnicianRepositoryTest {
 
     @Autowired
     private TechnicianRepository technicianRepository;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Technician technicianValid;
 
     @BeforeEach
@@ -110,4 +126,34 @@ public class TechnicianRepositoryTest {
         Assertions.assertThatCode(() -> technicianRepository.deleteById(1L))
                   .doesNotThrowAnyException();
     }
+
+    @Test
+    @DisplayName("DetachFromAllTasks: removes the join rows with the same statements whatever the task count")
+    void detachFromAllTasks_usesConstantStatements_whenTaskCountGrows() {
+        Client client = clientRepository.save(ClientModelTest.clientValid2());
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+
+        List<Long> statementCounts = new ArrayList<>();
+        for (int taskCount : new int[] {10, 1000}) {
+            Technician technician = technicianRepository.save(
+                Technician.builder().name("Tech " + taskCount).phone("(11) 0000-" + taskCount).build());
+            for (int i = 0; i < taskCount; i++) {
+                taskRepository.save(TaskModelTests.taskValid2(client, technician));
+            }
+            entityManager.flush();
+            entityManager.clear();
+            statistics.clear();
+
+            int detached = technicianRepository.detachFromAllTasks(technician.getId());
+            technicianRepository.deleteById(technician.getId());
+            entityManager.flush();
+
+            statementCounts.add(statistics.getPrepareStatementCount());
+            Assertions.assertThat(detached).isEqualTo(taskCount);
+            Assertions.assertThat(technicianRepository.findById(technician.getId())).isEmpty();
+        }
+
+        Assertions.assertThat(statementCounts.get(1)).isEqualTo(statementCounts.get(0));
+    }
 }
@@ -0,0 +1,51 @@
+package com.suport.api.scheduling;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Tests for the periodic task behind the background jobs")
+public class PeriodicTaskTest {
+
+    @Test
+    @DisplayName("Start: keep running the job after a run throws")
+    void start_KeepRunning_when_runThrows() throws InterruptedException {
+        CountDownLatch runs = new CountDownLatch(3);
+        try (PeriodicTask task = new PeriodicTask("test-task", Duration.ofMillis(10), () -> {
+            runs.countDown();
+            throw new IllegalStateException("failing run");
+        })) {
+            task.start(Duration.ZERO);
+
+            Assertions.assertThat(runs.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("RunSoon: run the job once without waiting for the schedule")
+    void runSoon_RunJob_when_notStarted() throws InterruptedException {
+        CountDownLatch runs = new CountDownLatch(1);
+        try (PeriodicTask task = new PeriodicTask("test-task", Duration.ofHours(1), runs::countDown)) {
+            task.runSoon();
+
+            Assertions.assertThat(runs.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("OnDemand: run the job only when asked, never on a schedule")
+    void onDemand_RunJobOnlyWhenAsked() throws InterruptedException {
+        CountDownLatch runs = new CountDownLatch(1);
+        try (PeriodicTask task = PeriodicTask.onDemand("test-task", runs::countDown)) {
+            Assertions.assertThatThrownBy(() -> task.start(Duration.ZERO)).isInstanceOf(IllegalStateException.class);
+
+            task.runSoon();
+
+            Assertions.assertThat(runs.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.suport.api.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.suport.api.repository.AddressRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for the superseded address compaction")
+public class AddressCompactorTest {
+
+    @Mock
+    private AddressRepository addressRepositoryMock;
+
+    private SimpleMeterRegistry registry;
+    private AddressCompactor addressCompactor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        addressCompactor = new AddressCompactor(addressRepositoryMock, 2, 0l, registry);
+    }
+
+    @Test
+    @DisplayName("Compact: repeat full batches until one comes back short")
+    void compact_RepeatsBatches_until_oneIsShort() {
+        BDDMockito.when(addressRepositoryMock.deleteSuperseded(2, 0l)).thenReturn(2, 2, 1);
+
+        int compacted = addressCompactor.compact();
+
+        Assertions.assertThat(compacted).isEqualTo(5);
+        Assertions.assertThat(registry.get(AddressCompactor.COMPACTED).counter().count()).isEqualTo(5);
+        BDDMockito.verify(addressRepositoryMock, Mockito.times(3)).deleteSuperseded(2, 0l);
+    }
+
+    @Test
+    @DisplayName("Compact: stop after one batch when there is nothing to remove")
+    void compact_StopsAfterOneBatch_when_nothingSuperseded() {
+        BDDMockito.when(addressRepositoryMock.deleteSuperseded(2, 0l)).thenReturn(0);
+
+        Assertions.assertThat(addressCompactor.compact()).isZero();
+        BDDMockito.verify(addressRepositoryMock, Mockito.times(1)).deleteSuperseded(2, 0l);
+    }
+
+    @Test
+    @DisplayName("Compact: hand the unstamped id cutoff to every batch")
+    void compact_PassesUnstampedCutoff_when_optedIn() {
+        addressCompactor = new AddressCompactor(addressRepositoryMock, 2, 500l, registry);
+        BDDMockito.when(addressRepositoryMock.deleteSuperseded(2, 500l)).thenReturn(2, 0);
+
+        Assertions.assertThat(addressCompactor.compact()).isEqualTo(2);
+        BDDMockito.verify(addressRepositoryMock, Mockito.times(2)).deleteSuperseded(2, 500l);
+    }
+}
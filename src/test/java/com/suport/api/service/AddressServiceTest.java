@@ -10,19 +10,28 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.suport.api.domain.Address;
 import com.suport.api.dtos.request.AddressRequestDTO;
 import com.suport.api.dtos.response.AddressResponseDTO;
 import com.suport.api.exceptions.BadRequestException;
+import com.suport.api.mappers.AddressMapper;
 import com.suport.api.repository.AddressRepository;
 import com.suport.api.utils.AddressModelTests;
 
+import jakarta.validation.Validation;
+
 @ExtendWith(SpringExtension.class)
 public class AddressServiceTest {
 
@@ -32,13 +41,17 @@ public class AddressServiceTest {
     @Mock
     private AddressRepository addressRepositoryMock;
 
+    @Spy
+    private JsonMergePatch jsonMergePatch = new JsonMergePatch(
+        new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+
     @BeforeEach
     void setUp(){
         BDDMockito.when(addressRepositoryMock.findById(ArgumentMatchers.any(Long.class)))
             .thenReturn(Optional.of(AddressModelTests.createAddressValidWithId()));
 
-        BDDMockito.when(addressRepositoryMock.findAll())
-            .thenReturn(List.of(AddressModelTests.createAddressValidWithId()));
+        BDDMockito.when(addressRepositoryMock.findResponsesByIdGreaterThan(ArgumentMatchers.anyLong(), ArgumentMatchers.any(Limit.class)))
+            .thenReturn(List.of(AddressMapper.createAddressResponseDTO(AddressModelTests.createAddressValidWithId())));
 
         BDDMockito.when(addressRepositoryMock.save(ArgumentMatchers.any(Address.class)))
             .thenReturn(AddressModelTests.createAddressValidWithId());
@@ -94,7 +107,7 @@ public class AddressServiceTest {
     void findAll_ReturnListOfAddress_when_sucessful() {
 
         Address addressValidWithId = AddressModelTests.createAddressValidWithId();
-        List<AddressResponseDTO> listAddresses = addressService.findAll();
+        List<AddressResponseDTO> listAddresses = addressService.findAll(null, null).content();
 
         Assertions.assertThat(listAddresses).isNotEmpty();
         Assertions.assertThat(listAddresses).anyMatch(dto ->
@@ -133,4 +146,37 @@ public class AddressServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Find response by id: project the address straight into the response")
+    void findResponseById_ReturnResponse_when_sucessful() {
+        AddressResponseDTO expected = AddressMapper.createAddressResponseDTO(AddressModelTests.createAddressValidWithId());
+        BDDMockito.when(addressRepositoryMock.findResponseById(ArgumentMatchers.anyLong()))
+            .thenReturn(Optional.of(expected));
+
+        Assertions.assertThat(addressService.findResponseByIdOrThrowBadRequestException(1l)).isEqualTo(expected);
+        BDDMockito.verify(addressRepositoryMock, Mockito.never()).findById(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("Find response by id: throw bad request exception when id does not exist")
+    void findResponseById_ThrowBadRequestException_when_idNotExits() {
+        BDDMockito.when(addressRepositoryMock.findResponseById(ArgumentMatchers.anyLong()))
+            .thenReturn(Optional.empty());
+
+        Assertions.assertThatThrownBy(() -> addressService.findResponseByIdOrThrowBadRequestException(9l))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("No address found with the provided ID: 9");
+    }
+
+    @Test
+    @DisplayName("Patch: change only the given members of the address")
+    void patch_ChangeOnlyGivenMembers_when_sucessful() {
+        addressService.patch(JsonNodeFactory.instance.objectNode().put("number", "42").putNull("complement"), 5l);
+
+        ArgumentCaptor<Address> saved = ArgumentCaptor.forClass(Address.class);
+        BDDMockito.verify(addressRepositoryMock).save(saved.capture());
+        Assertions.assertThat(saved.getValue().getNumber()).isEqualTo("42");
+        Assertions.assertThat(saved.getValue().getComplement()).isNull();
+        Assertions.assertThat(saved.getValue().getStreet()).isEqualTo("Main Street");
+    }
 }
@@ -0,0 +1,75 @@
+package com.suport.api.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.suport.api.repository.ClientRepository;
+import com.suport.api.repository.TaskRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for the client purger")
+public class ClientPurgerTest {
+
+    @Mock
+    private ClientRepository clientRepositoryMock;
+
+    @Mock
+    private TaskRepository taskRepositoryMock;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndexMock;
+
+    private SimpleMeterRegistry registry;
+    private ClientPurger clientPurger;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        clientPurger = new ClientPurger(clientRepositoryMock, taskRepositoryMock, taskSearchIndexMock, 2, Duration.ofMinutes(1), registry);
+        BDDMockito.when(clientRepositoryMock.purgeDeleted(ArgumentMatchers.anyLong())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Purge: delete task chunks until none is left, then the client")
+    void purge_DeletesChunksThenClient_when_clientIsDeleted() {
+        BDDMockito.when(taskRepositoryMock.deleteChunkOfDeletedClient(1l, 2))
+            .thenReturn(List.of(1l, 2l), List.of(3l, 4l), List.of(5l), List.of());
+
+        Assertions.assertThat(clientPurger.purge(1l)).isTrue();
+
+        InOrder order = Mockito.inOrder(taskRepositoryMock, clientRepositoryMock);
+        order.verify(taskRepositoryMock, Mockito.times(4)).deleteChunkOfDeletedClient(1l, 2);
+        order.verify(clientRepositoryMock).purgeDeleted(1l);
+        Assertions.assertThat(registry.get(ClientPurger.PURGED_TASKS).counter().count()).isEqualTo(5);
+        Assertions.assertThat(registry.get(ClientPurger.PURGES).timer().count()).isEqualTo(1);
+        BDDMockito.verify(taskSearchIndexMock).remove(List.of(1l, 2l));
+        BDDMockito.verify(taskSearchIndexMock).remove(List.of(5l));
+    }
+
+    @Test
+    @DisplayName("Sweep: purge every deleted client")
+    void sweep_PurgesEveryDeletedClient() {
+        BDDMockito.when(clientRepositoryMock.findDeletedIds(ArgumentMatchers.any(Limit.class)))
+            .thenReturn(List.of(1l, 2l));
+
+        Assertions.assertThat(clientPurger.sweep()).isEqualTo(2);
+
+        BDDMockito.verify(clientRepositoryMock).purgeDeleted(1l);
+        BDDMockito.verify(clientRepositoryMock).purgeDeleted(2l);
+    }
+}
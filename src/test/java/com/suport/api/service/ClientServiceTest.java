@@ -2,6 +2,7 @@ package com.suport.api.service;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,14 +15,29 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.suport.api.domain.Address;
 import com.suport.api.domain.Client;
+import com.suport.api.dtos.response.ClientDeletionResponseDTO;
 import com.suport.api.dtos.response.ClientResponseDTO;
+import com.suport.api.dtos.response.ClientSuggestionResponseDTO;
 import com.suport.api.exceptions.BadRequestException;
+import com.suport.api.exceptions.PreconditionFailedException;
+import com.suport.api.mappers.ClientMapper;
 import com.suport.api.repository.ClientRepository;
+import com.suport.api.repository.TaskRepository;
+import com.suport.api.utils.AddressModelTests;
 import com.suport.api.utils.ClientModelTest;
 
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+
 @ExtendWith(SpringExtension.class)
 public class ClientServiceTest {
 
@@ -31,28 +47,115 @@ public class ClientServiceTest {
     @Mock
     private ClientRepository clientRepositoryMock;
 
+    @Mock
+    private TaskRepository taskRepositoryMock;
+
+    @Mock
+    private ClientPurger clientPurger;
+
+    @Mock
+    private ClientSuggestIndex clientSuggestIndex;
+
+    @Spy
+    private JsonMergePatch jsonMergePatch = new JsonMergePatch(
+        new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+
      @BeforeEach
     void setUp(){
 
         BDDMockito.when(clientRepositoryMock.findById(ArgumentMatchers.any(Long.class)))
             .thenReturn(Optional.of(ClientModelTest.clientValid()));
 
-        BDDMockito.when(clientRepositoryMock.findAll())
-            .thenReturn( List.of(ClientModelTest.clientValid()));
+        BDDMockito.when(clientRepositoryMock.findResponsesByIdGreaterThan(ArgumentMatchers.anyLong(), ArgumentMatchers.any(Limit.class)))
+            .thenReturn( List.of(ClientMapper.toResponseDTO(ClientModelTest.clientValid())));
 
         BDDMockito.when(clientRepositoryMock.save(ArgumentMatchers.any(Client.class)))
             .thenReturn( ClientModelTest.clientValid());
-        
 
-        BDDMockito.doNothing().when(clientRepositoryMock).delete( ClientModelTest.clientValid());
+        BDDMockito.when(clientRepositoryMock.saveAndFlush(ArgumentMatchers.any(Client.class)))
+            .thenReturn( ClientModelTest.clientValid());
+        
+        BDDMockito.when(clientRepositoryMock.softDeleteById(ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
+            .thenReturn(1);
 
     }
 
     @Test
-    @DisplayName("Delete by id: delete client by id when successful ")
-    void delete_deleteClientAndReturnNoContent_when_Sucessful() {
+    @DisplayName("Delete by id: mark the client as deleted and leave the purge to the background ")
+    void delete_softDeleteClientAndWakePurger_when_Sucessful() {
 
         Assertions.assertThatCode(() -> clientService.deleteById(1l)).doesNotThrowAnyException();
+
+        BDDMockito.verify(clientRepositoryMock).softDeleteById(ArgumentMatchers.eq(1l), ArgumentMatchers.any());
+        BDDMockito.verify(clientPurger).purgeSoon();
+        BDDMockito.verify(clientSuggestIndex).remove(1l);
+        BDDMockito.verify(clientRepositoryMock, Mockito.never()).delete(ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("Suggest: ask the index with the default limit, capped at the maximum")
+    void suggest_AskIndexWithBoundedLimit() {
+        BDDMockito.when(clientSuggestIndex.suggest("dra", ClientSuggestIndex.DEFAULT_LIMIT))
+            .thenReturn(List.of(new ClientSuggestionResponseDTO(1l, "Draven", "Draven@gmail.com", "123.456.789-00")));
+
+        Assertions.assertThat(clientService.suggest("dra", null)).singleElement()
+            .extracting(ClientSuggestionResponseDTO::name).isEqualTo("Draven");
+        clientService.suggest("dra", 1000);
+        BDDMockito.verify(clientSuggestIndex).suggest("dra", ClientSuggestIndex.MAX_LIMIT);
+    }
+
+    @Test
+    @DisplayName("Suggest: throw bad request exception when the prefix is blank or the limit is not positive")
+    void suggest_ThrowBadRequestException_when_inputIsInvalid() {
+        assertThrows(BadRequestException.class, () -> clientService.suggest(" ", null));
+        assertThrows(BadRequestException.class, () -> clientService.suggest("dra", 0));
+        BDDMockito.verifyNoInteractions(clientSuggestIndex);
+    }
+
+    @Test
+    @DisplayName("Delete by id: throw bad request exception when the client does not exist or is already deleted ")
+    void delete_ThrowBadRequestException_when_clientNotFound() {
+        BDDMockito.when(clientRepositoryMock.softDeleteById(ArgumentMatchers.anyLong(), ArgumentMatchers.any()))
+            .thenReturn(0);
+
+        Assertions.assertThatThrownBy(() -> clientService.deleteById(9l))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("No client found with the provided ID: 9");
+        BDDMockito.verify(clientPurger, Mockito.never()).purgeSoon();
+    }
+
+    @Test
+    @DisplayName("Find by id: a deleted client is not found while it is being purged ")
+    void findById_ThrowBadRequestException_when_clientIsDeleted() {
+        Client deleted = ClientModelTest.clientValid();
+        deleted.setDeletedAt(LocalDateTime.now());
+        BDDMockito.when(clientRepositoryMock.findById(ArgumentMatchers.any(Long.class)))
+            .thenReturn(Optional.of(deleted));
+
+        Assertions.assertThatThrownBy(() -> clientService.findByIdOrThrowBadRequestException(1l))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Deletion progress: count the hot and archived tasks left ")
+    void findDeletionProgress_ReturnRemainingTasks_when_clientIsBeingPurged() {
+        BDDMockito.when(clientRepositoryMock.existsByIdAndDeletedAtIsNull(1l)).thenReturn(false);
+        BDDMockito.when(clientRepositoryMock.existsById(1l)).thenReturn(true);
+        BDDMockito.when(taskRepositoryMock.countByClientId(1l)).thenReturn(30l);
+        BDDMockito.when(taskRepositoryMock.countArchivedByClientId(1l)).thenReturn(12l);
+
+        Assertions.assertThat(clientService.findDeletionProgress(1l))
+            .isEqualTo(new ClientDeletionResponseDTO(1l, 42, false));
+    }
+
+    @Test
+    @DisplayName("Deletion progress: throw bad request exception when the client was not deleted ")
+    void findDeletionProgress_ThrowBadRequestException_when_clientNotDeleted() {
+        BDDMockito.when(clientRepositoryMock.existsByIdAndDeletedAtIsNull(1l)).thenReturn(true);
+
+        Assertions.assertThatThrownBy(() -> clientService.findDeletionProgress(1l))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("Client is not being deleted: 1");
     }
 
     @Test
@@ -90,7 +193,7 @@ public class ClientServiceTest {
     void findAll_ReturnListOfClients_when_sucessful() {
 
          Client clientValid = ClientModelTest.clientValid();
-        List<ClientResponseDTO> listClients = clientService.findAll();
+        List<ClientResponseDTO> listClients = clientService.findAll(null, null).content();
 
         Assertions.assertThat(listClients).isNotEmpty();
         Assertions.assertThat(listClients).anyMatch(dto ->
@@ -119,13 +222,148 @@ public class ClientServiceTest {
     @DisplayName("Update: update client with clientDTO and long id, return an clientResponse")
     void update_returnClientResponse_when_sucessfull() {
 
-         ClientResponseDTO clientResponse = clientService.update(ClientModelTest.clientRequestUpdateDTO(), 5l);
+         ClientResponseDTO clientResponse = clientService.update(ClientModelTest.clientRequestUpdateDTO(), 5l, null);
 
         Assertions.assertThat(clientResponse).isNotNull();
         Assertions.assertThat(clientResponse.id()).isNotNull();
 
     }
 
+    @Test
+    @DisplayName("Update: update the existing address in place instead of inserting a new one")
+    void update_UpdatesAddressInPlace_when_clientHasAddress() {
+        Client client = ClientModelTest.clientValid();
+        Address address = AddressModelTests.createAddressValidWithId();
+        client.setAddress(address);
+        BDDMockito.when(clientRepositoryMock.findById(ArgumentMatchers.any(Long.class)))
+            .thenReturn(Optional.of(client));
+
+        clientService.update(ClientModelTest.clientRequestUpdateDTO(), 5l, null);
+
+        Assertions.assertThat(client.getAddress()).isSameAs(address);
+        Assertions.assertThat(client.getAddress().getId()).isEqualTo(5l);
+        Assertions.assertThat(client.getAddress().getStreet())
+            .isEqualTo(ClientModelTest.clientRequestUpdateDTO().address().street());
+    }
 
+    @Test
+    @DisplayName("Patch: change the given members and patch the address in place")
+    void patch_ChangeGivenMembersAndAddressInPlace_when_sucessfull() {
+        Client client = ClientModelTest.clientValid();
+        client.setAddress(AddressModelTests.createAddressValidWithId());
+        BDDMockito.when(clientRepositoryMock.findById(ArgumentMatchers.any(Long.class)))
+            .thenReturn(Optional.of(client));
+        BDDMockito.when(clientRepositoryMock.saveAndFlush(ArgumentMatchers.any(Client.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        var patch = JsonNodeFactory.instance.objectNode().put("phone", "(11) 1111-1111");
+        patch.putObject("address").put("number", "42");
+        ClientResponseDTO clientResponse = clientService.patch(patch, 5l, null);
+
+        Assertions.assertThat(clientResponse.phone()).isEqualTo("(11) 1111-1111");
+        Assertions.assertThat(clientResponse.name()).isEqualTo(ClientModelTest.clientValid().getName());
+        Assertions.assertThat(client.getAddress().getId()).isEqualTo(5l);
+        Assertions.assertThat(client.getAddress().getNumber()).isEqualTo("42");
+        Assertions.assertThat(client.getAddress().getStreet()).isEqualTo("Main Street");
+    }
+
+    @Test
+    @DisplayName("Patch: mark the dropped address as superseded so the compaction can remove it")
+    void patch_MarksAddressSuperseded_when_addressIsRemoved() {
+        Client client = ClientModelTest.clientValid();
+        Address address = AddressModelTests.createAddressValidWithId();
+        client.setAddress(address);
+        BDDMockito.when(clientRepositoryMock.findById(ArgumentMatchers.any(Long.class)))
+            .thenReturn(Optional.of(client));
+        BDDMockito.when(clientRepositoryMock.saveAndFlush(ArgumentMatchers.any(Client.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        var removeAddress = JsonNodeFactory.instance.objectNode().putNull("address");
+        clientService.patch(removeAddress, 5l, null);
+
+        Assertions.assertThat(client.getAddress()).isNull();
+        Assertions.assertThat(address.getSupersededAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Patch: reject a patch that leaves the address incomplete")
+    void patch_ThrowConstraintViolationException_when_addressIsPartial() {
+        Client client = ClientModelTest.clientValid();
+        client.setAddress(AddressModelTests.createAddressValidWithId());
+        BDDMockito.when(clientRepositoryMock.findById(ArgumentMatchers.any(Long.class)))
+            .thenReturn(Optional.of(client));
+
+        var clearStreet = JsonNodeFactory.instance.objectNode();
+        clearStreet.putObject("address").putNull("street");
+
+        assertThrows(ConstraintViolationException.class, () -> clientService.patch(clearStreet, 5l, null));
+        Assertions.assertThat(client.getAddress().getStreet()).isEqualTo("Main Street");
+        Mockito.verify(clientRepositoryMock, Mockito.never()).saveAndFlush(ArgumentMatchers.any(Client.class));
+    }
+
+    @Test
+    @DisplayName("Patch: reject a partial address added to a client without one")
+    void patch_ThrowConstraintViolationException_when_newAddressIsPartial() {
+        Client client = ClientModelTest.clientValid();
+        client.setAddress(null);
+        BDDMockito.when(clientRepositoryMock.findById(ArgumentMatchers.any(Long.class)))
+            .thenReturn(Optional.of(client));
+
+        var addNumberOnly = JsonNodeFactory.instance.objectNode();
+        addNumberOnly.putObject("address").put("number", "42");
+
+        assertThrows(ConstraintViolationException.class, () -> clientService.patch(addNumberOnly, 5l, null));
+        Assertions.assertThat(client.getAddress()).isNull();
+        Mockito.verify(clientRepositoryMock, Mockito.never()).saveAndFlush(ArgumentMatchers.any(Client.class));
+    }
+
+    @Test
+    @DisplayName("Update: throw precondition failed exception when the If-Match version is stale")
+    void update_ThrowPreconditionFailedException_when_versionIsStale() {
+        Client client = ClientModelTest.clientValid();
+        client.setVersion(2l);
+        BDDMockito.when(clientRepositoryMock.findById(ArgumentMatchers.any(Long.class)))
+            .thenReturn(Optional.of(client));
+
+        assertThrows(PreconditionFailedException.class,
+            () -> clientService.update(ClientModelTest.clientRequestUpdateDTO(), 5l, 1l));
+        Mockito.verify(clientRepositoryMock, Mockito.never()).saveAndFlush(ArgumentMatchers.any(Client.class));
+    }
+
+    @Test
+    @DisplayName("Find all by id: throw bad request exception with the missing id")
+    void findAllById_ThrowBadRequestException_when_idNotExits() {
+
+        BDDMockito.when(clientRepositoryMock.loadAllById(ArgumentMatchers.anyCollection()))
+            .thenReturn(List.of(ClientModelTest.clientValid()));
+
+        Assertions.assertThat(clientService.findAllByIdOrThrowBadRequestException(List.of(1l)))
+            .containsOnlyKeys(1l);
+        Assertions.assertThatThrownBy(() -> clientService.findAllByIdOrThrowBadRequestException(List.of(1l, 9l)))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("No client found with the provided ID: 9");
+    }
+
+    @Test
+    @DisplayName("Find response by id: project the client straight into the response")
+    void findResponseById_ReturnResponse_when_sucessful() {
+        ClientResponseDTO expected = ClientMapper.toResponseDTO(ClientModelTest.clientValid());
+        BDDMockito.when(clientRepositoryMock.findResponseById(ArgumentMatchers.anyLong()))
+            .thenReturn(Optional.of(expected));
+
+        Assertions.assertThat(clientService.findResponseByIdOrThrowBadRequestException(1l)).isEqualTo(expected);
+        BDDMockito.verify(clientRepositoryMock, Mockito.never()).findById(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("Find response by id: throw bad request exception when id does not exist")
+    void findResponseById_ThrowBadRequestException_when_idNotExits() {
+        BDDMockito.when(clientRepositoryMock.findResponseById(ArgumentMatchers.anyLong()))
+            .thenReturn(Optional.empty());
+
+        Assertions.assertThatThrownBy(() -> clientService.findResponseByIdOrThrowBadRequestException(9l))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("No client found with the provided ID: 9");
+    }
 
 }
@@ -0,0 +1,105 @@
+package com.suport.api.service;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.suport.api.domain.Client;
+import com.suport.api.dtos.response.ClientSuggestionResponseDTO;
+import com.suport.api.repository.ClientRepository;
+import com.suport.api.repository.projection.ClientSuggestRow;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for the client type-ahead index")
+public class ClientSuggestIndexTest {
+
+    @Mock
+    private ClientRepository clientRepositoryMock;
+
+    private ClientSuggestIndex clientSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        clientSuggestIndex = new ClientSuggestIndex(clientRepositoryMock);
+        clientSuggestIndex.index(client(1l, "João Silva", "joao@acme.com", "123.456.789-00", 0l));
+        clientSuggestIndex.index(client(2l, "Joana Souza", "contato@souza.com.br", "12.345.678/0001-00", 0l));
+        clientSuggestIndex.index(client(3l, "Google", "example@gmail.com", "98.765.432/0001-10", 0l));
+    }
+
+    @Test
+    @DisplayName("Suggest: match any word of the name, ignoring case and accents")
+    void suggest_MatchNameWords_ignoringCaseAndAccents() {
+        Assertions.assertThat(ids(clientSuggestIndex.suggest("JOA", 10))).containsExactly(2l, 1l);
+        Assertions.assertThat(ids(clientSuggestIndex.suggest("silv", 10))).containsExactly(1l);
+        Assertions.assertThat(ids(clientSuggestIndex.suggest("joão s", 10))).containsExactly(1l);
+    }
+
+    @Test
+    @DisplayName("Suggest: match the email and the tax ID digits after the names")
+    void suggest_MatchEmailAndTaxId() {
+        Assertions.assertThat(ids(clientSuggestIndex.suggest("exa", 10))).containsExactly(3l);
+        Assertions.assertThat(ids(clientSuggestIndex.suggest("123.456.789", 10))).containsExactly(1l);
+        Assertions.assertThat(ids(clientSuggestIndex.suggest("1234", 10))).containsExactly(2l, 1l);
+        Assertions.assertThat(ids(clientSuggestIndex.suggest("contato@", 10))).containsExactly(2l);
+    }
+
+    @Test
+    @DisplayName("Suggest: return at most limit clients, each once")
+    void suggest_StopAtLimit() {
+        clientSuggestIndex.index(client(4l, "Jonas Jonas", "jonas@jonas.com", null, 0l));
+
+        Assertions.assertThat(ids(clientSuggestIndex.suggest("jo", 2))).containsExactly(2l, 1l);
+        Assertions.assertThat(ids(clientSuggestIndex.suggest("jonas", 10))).containsExactly(4l);
+    }
+
+    @Test
+    @DisplayName("Index: replace the terms of an updated client and drop those of a removed one")
+    void index_ReplaceAndRemoveTerms() {
+        clientSuggestIndex.index(client(3l, "Alphabet", "example@gmail.com", "98.765.432/0001-10", 1l));
+        clientSuggestIndex.remove(2l);
+
+        Assertions.assertThat(clientSuggestIndex.suggest("goo", 10)).isEmpty();
+        Assertions.assertThat(clientSuggestIndex.suggest("alpha", 10)).singleElement()
+            .extracting(ClientSuggestionResponseDTO::name).isEqualTo("Alphabet");
+        Assertions.assertThat(ids(clientSuggestIndex.suggest("jo", 10))).containsExactly(1l);
+    }
+
+    @Test
+    @DisplayName("Load: read every live client but never replace a newer version")
+    void load_ReadClients_and_keepNewerVersions() {
+        List<ClientSuggestRow> rows = LongStream.rangeClosed(3, 7002)
+            .mapToObj(id -> new ClientSuggestRow(id, "Client " + id, "client" + id + "@mail.com", null, 0l))
+            .toList();
+        BDDMockito.when(clientRepositoryMock.findSuggestRowsByIdGreaterThan(ArgumentMatchers.anyLong(), ArgumentMatchers.any(Limit.class)))
+            .thenAnswer(invocation -> {
+                long after = invocation.getArgument(0);
+                Limit limit = invocation.getArgument(1);
+                return rows.stream().filter(row -> row.id() > after).limit(limit.max()).toList();
+            });
+        clientSuggestIndex.index(client(3l, "Google", "example@gmail.com", null, 1l));
+
+        Assertions.assertThat(clientSuggestIndex.load()).isEqualTo(7000);
+
+        Assertions.assertThat(ids(clientSuggestIndex.suggest("goo", 10))).containsExactly(3l);
+        Assertions.assertThat(ids(clientSuggestIndex.suggest("7002", 10))).containsExactly(7002l);
+        Assertions.assertThat(clientSuggestIndex.suggest("client", 50)).hasSize(50);
+    }
+
+    private static List<Long> ids(List<ClientSuggestionResponseDTO> suggestions) {
+        return suggestions.stream().map(ClientSuggestionResponseDTO::id).toList();
+    }
+
+    private static Client client(Long id, String name, String email, String taxId, Long version) {
+        return Client.builder().id(id).name(name).email(email).taxId(taxId).version(version).build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.suport.api.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.suport.api.repository.TaskRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for the task archival job")
+public class TaskArchiverTest {
+
+    @Mock
+    private TaskRepository taskRepositoryMock;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndexMock;
+
+    private SimpleMeterRegistry registry;
+    private TaskArchiver taskArchiver;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        taskArchiver = new TaskArchiver(taskRepositoryMock, taskSearchIndexMock, Duration.ofDays(90), 2, Duration.ofHours(1), registry);
+    }
+
+    @Test
+    @DisplayName("Archive: repeat full batches until one comes back short")
+    void archive_RepeatsBatches_until_oneIsShort() {
+        BDDMockito.when(taskRepositoryMock.archiveClosedBefore(ArgumentMatchers.any(), ArgumentMatchers.eq(2), ArgumentMatchers.any()))
+            .thenReturn(List.of(1l, 2l), List.of(3l, 4l), List.of(5l));
+
+        int archived = taskArchiver.archive();
+
+        Assertions.assertThat(archived).isEqualTo(5);
+        Assertions.assertThat(registry.get(TaskArchiver.ARCHIVED).counter().count()).isEqualTo(5);
+        BDDMockito.verify(taskRepositoryMock, Mockito.times(3))
+            .archiveClosedBefore(ArgumentMatchers.any(), ArgumentMatchers.eq(2), ArgumentMatchers.any());
+        BDDMockito.verify(taskSearchIndexMock).remove(List.of(1l, 2l));
+        BDDMockito.verify(taskSearchIndexMock).remove(List.of(3l, 4l));
+        BDDMockito.verify(taskSearchIndexMock).remove(List.of(5l));
+    }
+
+    @Test
+    @DisplayName("Archive: only take tasks closed for longer than closedFor, with one cutoff per run")
+    void archive_UsesOneCutoff_closedForAgo() {
+        BDDMockito.when(taskRepositoryMock.archiveClosedBefore(ArgumentMatchers.any(), ArgumentMatchers.anyInt(), ArgumentMatchers.any()))
+            .thenReturn(List.of(1l, 2l), List.of());
+        ArgumentCaptor<LocalDateTime> cutoffs = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> archivedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        taskArchiver.archive();
+
+        BDDMockito.verify(taskRepositoryMock, Mockito.times(2))
+            .archiveClosedBefore(cutoffs.capture(), ArgumentMatchers.anyInt(), archivedAt.capture());
+        Assertions.assertThat(cutoffs.getAllValues()).containsOnly(cutoffs.getValue());
+        Assertions.assertThat(Duration.between(cutoffs.getValue(), archivedAt.getValue())).isEqualTo(Duration.ofDays(90));
+    }
+}
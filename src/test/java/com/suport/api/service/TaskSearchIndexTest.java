@@ -0,0 +1,173 @@
+package com.suport.api.service;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.suport.api.domain.Task;
+import com.suport.api.exceptions.ConflictException;
+import com.suport.api.repository.TaskRepository;
+import com.suport.api.repository.projection.TaskTextRow;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for the task full-text search index")
+public class TaskSearchIndexTest {
+
+    @Mock
+    private TaskRepository taskRepositoryMock;
+
+    private SimpleMeterRegistry registry;
+    private TaskSearchIndex taskSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        taskSearchIndex = new TaskSearchIndex(taskRepositoryMock, new ByteBuffersDirectory(), 4, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskSearchIndex.close();
+    }
+
+    @Test
+    @DisplayName("Search: rank a title match above a description match and highlight both")
+    void search_RankTitleMatchesFirst_and_highlight() {
+        taskSearchIndex.index(task(1l, "Email not syncing", "The printer next to it works"));
+        taskSearchIndex.index(task(2l, "Printer jammed", "Paper stuck in tray 1"));
+        taskSearchIndex.index(task(3l, "Password reset", "User locked out"));
+
+        List<TaskSearchIndex.Hit> hits = taskSearchIndex.search("printer", 0, 10);
+
+        Assertions.assertThat(hits).extracting(TaskSearchIndex.Hit::taskId).containsExactly(2l, 1l);
+        Assertions.assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+        Assertions.assertThat(hits.get(0).title()).isEqualTo("<b>Printer</b> jammed");
+        Assertions.assertThat(hits.get(1).description()).contains("<b>printer</b>");
+    }
+
+    @Test
+    @DisplayName("Search: require every plain word and escape the stored text")
+    void search_RequireAllWords_and_escapeHtml() {
+        taskSearchIndex.index(task(1l, "Printer <script> jammed", null));
+        taskSearchIndex.index(task(2l, "Printer offline", null));
+
+        List<TaskSearchIndex.Hit> hits = taskSearchIndex.search("printer jammed", 0, 10);
+
+        Assertions.assertThat(hits).singleElement().satisfies(hit -> {
+            Assertions.assertThat(hit.taskId()).isEqualTo(1l);
+            Assertions.assertThat(hit.title()).doesNotContain("<script>").contains("&lt;script&gt;");
+            Assertions.assertThat(hit.description()).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Search: skip the first offset hits")
+    void search_SkipOffsetHits() {
+        LongStream.rangeClosed(1, 5).forEach(id -> taskSearchIndex.index(task(id, "Printer " + id, null)));
+
+        Assertions.assertThat(taskSearchIndex.search("printer", 0, 3)).hasSize(3);
+        Assertions.assertThat(taskSearchIndex.search("printer", 3, 3)).hasSize(2);
+        Assertions.assertThat(taskSearchIndex.search("printer", 6, 3)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Index: replace the document of a task that is indexed again, and remove it on delete")
+    void index_ReplaceAndRemoveDocuments() {
+        taskSearchIndex.index(task(1l, "Printer jammed", null));
+        taskSearchIndex.index(task(1l, "Scanner jammed", null));
+
+        Assertions.assertThat(taskSearchIndex.search("printer", 0, 10)).isEmpty();
+        Assertions.assertThat(taskSearchIndex.search("jammed", 0, 10)).hasSize(1);
+
+        taskSearchIndex.remove(1l);
+
+        Assertions.assertThat(taskSearchIndex.search("jammed", 0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Index: add a whole batch of tasks, replacing the ones already indexed, and remove them in one go")
+    void index_AddAndRemoveBatchOfTasks() {
+        taskSearchIndex.index(task(1l, "Printer jammed", null));
+
+        taskSearchIndex.index(List.of(task(1l, "Scanner jammed", null), task(2l, "Printer offline", null)));
+
+        Assertions.assertThat(taskSearchIndex.search("printer", 0, 10))
+            .extracting(TaskSearchIndex.Hit::taskId).containsExactly(2l);
+        Assertions.assertThat(taskSearchIndex.search("jammed", 0, 10))
+            .extracting(TaskSearchIndex.Hit::taskId).containsExactly(1l);
+
+        taskSearchIndex.remove(List.of(1l, 2l));
+
+        Assertions.assertThat(taskSearchIndex.search("printer | jammed", 0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Rebuild: index every task across the id ranges and drop tasks that no longer exist")
+    void rebuild_IndexAllRanges_and_dropStaleDocuments() {
+        List<TaskTextRow> rows = LongStream.rangeClosed(1, 2500)
+            .mapToObj(id -> new TaskTextRow(id, "Printer " + id, "Task number " + id))
+            .toList();
+        BDDMockito.when(taskRepositoryMock.findMaxId()).thenReturn(2500l);
+        BDDMockito.when(taskRepositoryMock.findTextRows(ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong(), ArgumentMatchers.any(Limit.class)))
+            .thenAnswer(invocation -> {
+                long after = invocation.getArgument(0);
+                long upTo = invocation.getArgument(1);
+                Limit limit = invocation.getArgument(2);
+                return rows.stream().filter(row -> row.id() > after && row.id() <= upTo).limit(limit.max()).toList();
+            });
+        taskSearchIndex.index(task(9000l, "Printer archived long ago", null));
+
+        int indexed = taskSearchIndex.rebuild();
+
+        Assertions.assertThat(indexed).isEqualTo(2500);
+        Assertions.assertThat(taskSearchIndex.search("printer", 0, 3000)).hasSize(2500)
+            .noneMatch(hit -> hit.taskId() == 9000l);
+        Assertions.assertThat(taskSearchIndex.search("1234", 0, 10)).extracting(TaskSearchIndex.Hit::taskId).containsExactly(1234l);
+        Assertions.assertThat(registry.get(TaskSearchIndex.REBUILDS).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("RebuildInBackground: run the rebuild on the index's thread and turn away a second one while it runs")
+    void rebuildInBackground_ThrowConflictException_when_rebuildRunning() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BDDMockito.when(taskRepositoryMock.findMaxId()).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return 0l;
+        });
+
+        taskSearchIndex.rebuildInBackground();
+        Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Assertions.assertThatThrownBy(taskSearchIndex::rebuildInBackground).isInstanceOf(ConflictException.class);
+        Assertions.assertThatThrownBy(taskSearchIndex::rebuild).isInstanceOf(ConflictException.class);
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get(TaskSearchIndex.REBUILDS).timer().count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertThat(registry.get(TaskSearchIndex.REBUILDS).timer().count()).isEqualTo(1);
+    }
+
+    private static Task task(Long id, String title, String description) {
+        return Task.builder().id(id).title(title).description(description).build();
+    }
+}
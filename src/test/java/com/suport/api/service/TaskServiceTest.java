@@ -2,8 +2,15 @@ package com.suport.api.service;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,19 +21,40 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.suport.api.domain.Task;
+import com.suport.api.domain.Technician;
+import com.suport.api.dtos.request.TaskRequestCreateDTO;
+import com.suport.api.dtos.response.CursorPageResponseDTO;
 import com.suport.api.dtos.response.TaskResponseDTO;
+import com.suport.api.dtos.response.TaskSearchHitDTO;
+import com.suport.api.enums.TaskStatus;
 import com.suport.api.exceptions.BadRequestException;
+import com.suport.api.exceptions.PreconditionFailedException;
+import com.suport.api.pagination.KeysetCursor;
 import com.suport.api.repository.TaskRepository;
+import com.suport.api.repository.filter.TaskFilter;
+import com.suport.api.repository.filter.TaskSort;
+import com.suport.api.repository.projection.TaskRow;
+import com.suport.api.repository.projection.TaskTechnicianRow;
 import com.suport.api.utils.ClientModelTest;
 import com.suport.api.utils.TaskModelTests;
 import com.suport.api.utils.TechnicianModelTest;
 
+import jakarta.validation.Validation;
+import jakarta.validation.ConstraintViolationException;
+
 @ExtendWith(SpringExtension.class)
 public class TaskServiceTest {
 
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 10, 12, 0);
+
     @InjectMocks
     private TaskService taskService;
 
@@ -39,23 +67,48 @@ public class TaskServiceTest {
     @Mock
     private TechnicianService technicianService;
 
+    @Mock
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskStatistics taskStatistics;
+
+    @Spy
+    private JsonMergePatch jsonMergePatch = new JsonMergePatch(
+        new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+
 
     @BeforeEach
     void setUp(){
-        BDDMockito.when(taskRepositoryMock.findById(ArgumentMatchers.anyLong()))
+        BDDMockito.when(taskRepositoryMock.findWithTechniciansById(ArgumentMatchers.anyLong()))
         .thenReturn(Optional.of(TaskModelTests.taskValid()));
 
-        BDDMockito.when(taskRepositoryMock.findAll())
-        .thenReturn(List.of(TaskModelTests.taskValid()));
+        BDDMockito.when(taskRepositoryMock.findRows(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(Limit.class)))
+        .thenReturn(List.of(taskRow(1l)));
+
+        BDDMockito.when(taskRepositoryMock.findTechnicianRowsByTaskIdIn(ArgumentMatchers.anyCollection()))
+        .thenReturn(List.of(new TaskTechnicianRow(1l, 1l)));
 
         BDDMockito.when(taskRepositoryMock.save(ArgumentMatchers.any(Task.class)))
         .thenReturn(TaskModelTests.taskValid());
 
+        BDDMockito.when(taskRepositoryMock.saveAndFlush(ArgumentMatchers.any(Task.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+        BDDMockito.when(optimisticLockRetry.execute(ArgumentMatchers.any()))
+        .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+
          BDDMockito.when(clientService.findByIdOrThrowBadRequestException(ArgumentMatchers.anyLong()))
                 .thenReturn(ClientModelTest.clientValid());
 
-        BDDMockito.when(technicianService.findByIdOrThrowBadRequestException(ArgumentMatchers.anyLong()))
-                .thenReturn(TechnicianModelTest.technicianValid());
+        BDDMockito.when(clientService.findAllByIdOrThrowBadRequestException(ArgumentMatchers.anyCollection()))
+                .thenAnswer(invocation -> toMap(invocation.getArgument(0), ClientModelTest.clientValid()));
+
+        BDDMockito.when(technicianService.findAllByIdOrThrowBadRequestException(ArgumentMatchers.anyCollection()))
+                .thenAnswer(invocation -> toMap(invocation.getArgument(0), TechnicianModelTest.technicianValid()));
         
         }
 
@@ -77,7 +130,7 @@ public class TaskServiceTest {
     @DisplayName("when id does not exist: throw bad request exception ")
     void findById_ReturnthrowBadRequestException_when_idNotExits() {
 
-        BDDMockito.when(taskRepositoryMock.findById(ArgumentMatchers.any()))
+        BDDMockito.when(taskRepositoryMock.findWithTechniciansById(ArgumentMatchers.any()))
             .thenThrow(new BadRequestException("task not found"));
 
             BadRequestException exception = assertThrows(BadRequestException.class, () ->taskService.findByIdOrThrowBadRequestException(5l));
@@ -90,7 +143,7 @@ public class TaskServiceTest {
     @DisplayName("findALL: return list of task")
     void findAll_ReturnListOfTasks_when_sucessful() {
             Task taskValid = TaskModelTests.taskValid();
-         List<TaskResponseDTO> listTasks = taskService.findAll();
+         List<TaskResponseDTO> listTasks = taskService.findAll(TaskFilter.NONE, TaskSort.DEFAULT, null, null, false).content();
 
         Assertions.assertThat(listTasks).isNotEmpty();
         Assertions.assertThat(listTasks).anyMatch(dto ->
@@ -100,6 +153,135 @@ public class TaskServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("findALL: return next cursor when there are more tasks than the limit")
+    void findAll_ReturnNextCursor_when_moreTasksThanLimit() {
+        BDDMockito.when(taskRepositoryMock.findRows(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(Limit.class)))
+        .thenReturn(List.of(taskRow(1l), taskRow(2l)));
+
+        CursorPageResponseDTO<TaskResponseDTO> page = taskService.findAll(TaskFilter.NONE, TaskSort.DEFAULT, null, 1, false);
+
+        Assertions.assertThat(page.content()).hasSize(1);
+        Assertions.assertThat(page.content().get(0).technicianIds()).containsExactly(1l);
+        Assertions.assertThat(page.hasNext()).isTrue();
+        Assertions.assertThat(KeysetCursor.decode(page.nextCursor())).isEqualTo(1l);
+    }
+
+    @Test
+    @DisplayName("findALL: return a cursor carrying the creation time when sorted by createdAt")
+    void findAll_ReturnCreatedAtCursor_when_sortedByCreatedAt() {
+        BDDMockito.when(taskRepositoryMock.findRows(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(Limit.class)))
+        .thenReturn(List.of(taskRow(1l), taskRow(2l)));
+        TaskSort sort = new TaskSort(TaskSort.Field.CREATED_AT, true);
+
+        CursorPageResponseDTO<TaskResponseDTO> page = taskService.findAll(TaskFilter.NONE, sort, null, 1, false);
+
+        Assertions.assertThat(KeysetCursor.decodePosition(page.nextCursor()))
+            .isEqualTo(new KeysetCursor.Position(CREATED_AT, 1l));
+    }
+
+    @Test
+    @DisplayName("findALL: throw bad request exception when the cursor belongs to another sort")
+    void findAll_ThrowBadRequestException_when_cursorDoesNotMatchSort() {
+        String idCursor = KeysetCursor.encode(1l);
+        TaskSort sort = new TaskSort(TaskSort.Field.CREATED_AT, false);
+
+        Assertions.assertThatThrownBy(() -> taskService.findAll(TaskFilter.NONE, sort, idCursor, 10, false))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessageContaining("Cursor does not match");
+        BDDMockito.verify(taskRepositoryMock, Mockito.never())
+            .findRows(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("findALL: throw bad request exception when the creation range is empty")
+    void findAll_ThrowBadRequestException_when_createdRangeIsEmpty() {
+        TaskFilter filter = new TaskFilter(null, null, null, null, CREATED_AT, CREATED_AT);
+
+        Assertions.assertThatThrownBy(() -> taskService.findAll(filter, TaskSort.DEFAULT, null, 10, false))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("createdFrom must be before createdTo");
+    }
+
+    @Test
+    @DisplayName("Find response by id: project the task and its technician ids")
+    void findResponseById_ReturnTaskResponse_when_sucessful() {
+        BDDMockito.when(taskRepositoryMock.findRowById(ArgumentMatchers.anyLong()))
+        .thenReturn(Optional.of(taskRow(1l)));
+
+        TaskResponseDTO response = taskService.findResponseByIdOrThrowBadRequestException(1l, false);
+
+        Assertions.assertThat(response.id()).isEqualTo(1l);
+        Assertions.assertThat(response.clientId()).isEqualTo(1l);
+        Assertions.assertThat(response.technicianIds()).containsExactly(1l);
+        BDDMockito.verify(taskRepositoryMock, Mockito.never()).findWithTechniciansById(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("Find response by id: throw bad request exception when id does not exist")
+    void findResponseById_ThrowBadRequestException_when_idNotExits() {
+        BDDMockito.when(taskRepositoryMock.findRowById(ArgumentMatchers.anyLong()))
+        .thenReturn(Optional.empty());
+
+        Assertions.assertThatThrownBy(() -> taskService.findResponseByIdOrThrowBadRequestException(9l, false))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("No Task found with the provided ID: 9");
+    }
+
+    @Test
+    @DisplayName("findALL: leave the archive alone unless includeArchived is set")
+    void findAll_DoNotReadArchive_when_notIncluded() {
+        taskService.findAll(TaskFilter.NONE, TaskSort.DEFAULT, null, 10, false);
+
+        BDDMockito.verify(taskRepositoryMock, Mockito.never())
+            .findArchivedRows(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(Limit.class));
+        BDDMockito.verify(taskRepositoryMock, Mockito.never()).findArchivedTechnicianRowsByTaskIdIn(ArgumentMatchers.anyCollection());
+    }
+
+    @Test
+    @DisplayName("findALL: merge hot and archived tasks in page order when includeArchived is set")
+    void findAll_MergeArchivedTasks_when_included() {
+        BDDMockito.when(taskRepositoryMock.findRows(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(Limit.class)))
+        .thenReturn(List.of(taskRow(2l), taskRow(5l)));
+        BDDMockito.when(taskRepositoryMock.findArchivedRows(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(Limit.class)))
+        .thenReturn(List.of(taskRow(1l), taskRow(3l), taskRow(4l)));
+        BDDMockito.when(taskRepositoryMock.findArchivedTechnicianRowsByTaskIdIn(ArgumentMatchers.anyCollection()))
+        .thenReturn(List.of(new TaskTechnicianRow(3l, 7l)));
+
+        CursorPageResponseDTO<TaskResponseDTO> page = taskService.findAll(TaskFilter.NONE, TaskSort.DEFAULT, null, 3, true);
+
+        Assertions.assertThat(page.content()).extracting(TaskResponseDTO::id).containsExactly(1l, 2l, 3l);
+        Assertions.assertThat(page.content().get(2).technicianIds()).containsExactly(7l);
+        Assertions.assertThat(page.hasNext()).isTrue();
+        Assertions.assertThat(KeysetCursor.decode(page.nextCursor())).isEqualTo(3l);
+    }
+
+    @Test
+    @DisplayName("Find response by id: fall back to the archive when includeArchived is set")
+    void findResponseById_ReturnArchivedTask_when_included() {
+        BDDMockito.when(taskRepositoryMock.findRowById(ArgumentMatchers.anyLong()))
+        .thenReturn(Optional.empty());
+        BDDMockito.when(taskRepositoryMock.findArchivedRowById(9l))
+        .thenReturn(Optional.of(taskRow(9l)));
+        BDDMockito.when(taskRepositoryMock.findArchivedTechnicianRowsByTaskIdIn(List.of(9l)))
+        .thenReturn(List.of(new TaskTechnicianRow(9l, 7l)));
+
+        TaskResponseDTO response = taskService.findResponseByIdOrThrowBadRequestException(9l, true);
+
+        Assertions.assertThat(response.id()).isEqualTo(9l);
+        Assertions.assertThat(response.technicianIds()).containsExactly(7l);
+        Assertions.assertThatThrownBy(() -> taskService.findResponseByIdOrThrowBadRequestException(9l, false))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("findALL: throw bad request exception when cursor is invalid")
+    void findAll_ThrowBadRequestException_when_cursorIsInvalid() {
+
+        Assertions.assertThatThrownBy(() -> taskService.findAll(TaskFilter.NONE, TaskSort.DEFAULT, "not-a-cursor", 10, false))
+            .isInstanceOf(BadRequestException.class);
+    }
+
     @Test
     @DisplayName("Save: save taskRequestDTO and return an taskResponse")
     void save_ReturnAnTask_whenSucessful(){
@@ -113,23 +295,204 @@ public class TaskServiceTest {
         Assertions.assertThat(taskResponse.description()).isEqualTo(taskValid.getDescription());
     }
 
+    @Test
+    @DisplayName("Save all: save list of taskRequestDTO and resolve clients and technicians in one lookup each")
+    void saveAll_ReturnTasks_whenSucessful(){
+
+        BDDMockito.when(taskRepositoryMock.saveAll(ArgumentMatchers.anyList()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<TaskResponseDTO> tasks = taskService.saveAll(List.of(
+            TaskModelTests.taskRequestDTO(1l, 2l),
+            TaskModelTests.taskRequestDTO(1l, 2l),
+            TaskModelTests.taskRequestDTO(1l, 2l)));
+
+        Assertions.assertThat(tasks).hasSize(3);
+        BDDMockito.verify(clientService, Mockito.times(1)).findAllByIdOrThrowBadRequestException(Set.of(1l));
+        BDDMockito.verify(technicianService, Mockito.times(1)).findAllByIdOrThrowBadRequestException(Set.of(2l));
+        BDDMockito.verify(taskStatistics, Mockito.times(3)).add(ArgumentMatchers.any(Task.class));
+        BDDMockito.verify(taskSearchIndex).index(ArgumentMatchers.<Collection<Task>>argThat(batch -> batch.size() == 3));
+        BDDMockito.verify(taskSearchIndex, Mockito.never()).index(ArgumentMatchers.any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Save all: throw bad request exception when batch is bigger than the limit")
+    void saveAll_ThrowBadRequestException_when_batchTooLarge(){
+        List<TaskRequestCreateDTO> dtos = Collections.nCopies(TaskService.MAX_BATCH_SIZE + 1, TaskModelTests.taskRequestDTO(1l, 2l));
+
+        Assertions.assertThatThrownBy(() -> taskService.saveAll(dtos))
+            .isInstanceOf(BadRequestException.class);
+        BDDMockito.verifyNoInteractions(taskRepositoryMock);
+    }
+
+    @Test
+    @DisplayName("Save: throw bad request exception when a technician does not exist")
+    void save_ThrowBadRequestException_when_technicianNotFound(){
+
+        BDDMockito.when(technicianService.findAllByIdOrThrowBadRequestException(ArgumentMatchers.anyCollection()))
+            .thenThrow(new BadRequestException("No Technician found with the provided ID: 2"));
+
+        Assertions.assertThatThrownBy(() -> taskService.save(TaskModelTests.taskRequestDTO(1l, 2l)))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("No Technician found with the provided ID: 2");
+        BDDMockito.verify(technicianService, Mockito.never()).findByIdOrThrowBadRequestException(ArgumentMatchers.anyLong());
+        BDDMockito.verify(taskRepositoryMock, Mockito.never()).save(ArgumentMatchers.any(Task.class));
+    }
+
      @Test
     @DisplayName("Update: update task with taskDTO and long id, return an TaskResponse")
     void update_returnTaskResponse_when_sucessfull() {
 
-          TaskResponseDTO taskResponse = taskService.update(TaskModelTests.taskRequestDTO(1l, 1l), 5l);
+          TaskResponseDTO taskResponse = taskService.update(TaskModelTests.taskRequestDTO(1l, 1l), 5l, null);
 
         Assertions.assertThat(taskResponse).isNotNull();
         Assertions.assertThat(taskResponse.id()).isNotNull();
 
     }
+
+    @Test
+    @DisplayName("Update: throw precondition failed exception when the If-Match version is stale")
+    void update_ThrowPreconditionFailedException_when_versionIsStale() {
+        Task task = TaskModelTests.taskValid();
+        task.setVersion(2l);
+        BDDMockito.when(taskRepositoryMock.findWithTechniciansById(ArgumentMatchers.anyLong()))
+        .thenReturn(Optional.of(task));
+
+        assertThrows(PreconditionFailedException.class,
+            () -> taskService.update(TaskModelTests.taskRequestDTO(1l, 1l), 5l, 1l));
+        BDDMockito.verify(taskRepositoryMock, Mockito.never()).saveAndFlush(ArgumentMatchers.any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Patch: change only the status and keep the client and technicians")
+    void patch_ChangeOnlyStatus_when_onlyStatusIsGiven() {
+        Task task = TaskModelTests.taskValid();
+
+        TaskResponseDTO taskResponse = taskService.patch(
+            JsonNodeFactory.instance.objectNode().put("status", "IN_PROGRESS"), 1l, null);
+
+        Assertions.assertThat(taskResponse.status()).isEqualTo(TaskStatus.IN_PROGRESS);
+        Assertions.assertThat(taskResponse.title()).isEqualTo(task.getTitle());
+        Assertions.assertThat(taskResponse.technicianIds()).containsExactly(1l);
+        BDDMockito.verify(clientService, Mockito.never()).findByIdOrThrowBadRequestException(ArgumentMatchers.anyLong());
+        BDDMockito.verify(technicianService, Mockito.never()).findAllByIdOrThrowBadRequestException(ArgumentMatchers.anyCollection());
+        BDDMockito.verify(taskSearchIndex, Mockito.never()).index(ArgumentMatchers.any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Patch: move the task from its old status count to the new one")
+    void patch_UpdateStatistics_when_statusChanges() {
+        taskService.patch(JsonNodeFactory.instance.objectNode().put("status", "IN_PROGRESS"), 1l, null);
+
+        BDDMockito.verify(taskStatistics).update(
+            ArgumentMatchers.argThat(before -> before.status() == TaskStatus.CLOSED && before.technicianIds().equals(Set.of(1l))),
+            ArgumentMatchers.argThat(task -> task.getStatus() == TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    @DisplayName("Patch: re-index the task when its title changes")
+    void patch_IndexTask_when_titleChanges() {
+        taskService.patch(JsonNodeFactory.instance.objectNode().put("title", "Printer on fire"), 1l, null);
+
+        BDDMockito.verify(taskSearchIndex).index(ArgumentMatchers.<Task>argThat(task -> task.getTitle().equals("Printer on fire")));
+    }
+
+    @Test
+    @DisplayName("Patch: throw constraint violation exception when the patched task is invalid")
+    void patch_ThrowConstraintViolationException_when_titleIsCleared() {
+        assertThrows(ConstraintViolationException.class, () -> taskService.patch(
+            JsonNodeFactory.instance.objectNode().putNull("title"), 1l, null));
+        BDDMockito.verify(taskRepositoryMock, Mockito.never()).saveAndFlush(ArgumentMatchers.any(Task.class));
+    }
+
+    @Test
+    @DisplayName("Patch: throw bad request exception when the patch has an unknown member")
+    void patch_ThrowBadRequestException_when_memberIsUnknown() {
+        assertThrows(BadRequestException.class, () -> taskService.patch(
+            JsonNodeFactory.instance.objectNode().put("state", "OPEN"), 1l, null));
+    }
+
+    @Test
+    @DisplayName("Add technician: add the technician to the task through the optimistic lock retry")
+    void addTechnician_ReturnTaskWithTechnician_when_sucessful() {
+        Technician technician = Technician.builder().id(2l).name("Vi").phone("(11) 1111-1111").build();
+        BDDMockito.when(technicianService.findByIdOrThrowBadRequestException(2l)).thenReturn(technician);
+
+        TaskResponseDTO taskResponse = taskService.addTechnician(1l, 2l);
+
+        Assertions.assertThat(taskResponse.technicianIds()).contains(2l);
+        BDDMockito.verify(optimisticLockRetry).execute(ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("Remove technician: remove the technician from the task through the optimistic lock retry")
+    void removeTechnician_ReturnTaskWithoutTechnician_when_sucessful() {
+        Long technicianId = TechnicianModelTest.technicianValid().getId();
+
+        TaskResponseDTO taskResponse = taskService.removeTechnician(1l, technicianId);
+
+        Assertions.assertThat(taskResponse.technicianIds()).doesNotContain(technicianId);
+        BDDMockito.verify(optimisticLockRetry).execute(ArgumentMatchers.any());
+    }
     
     @Test
     @DisplayName("Delete by id: delete task by id when successful ")
     void delete_deleteClientAndReturnNoContent_when_Sucessful() {
 
         Assertions.assertThatCode(() -> taskService.delete(1l)).doesNotThrowAnyException();
+        BDDMockito.verify(taskSearchIndex).remove(1l);
+        BDDMockito.verify(taskStatistics).remove(ArgumentMatchers.argThat(before -> before.status() == TaskStatus.CLOSED));
     }
 
+    @Test
+    @DisplayName("Search: return the hits in rank order and drop those whose task is gone")
+    void search_ReturnHitsInRankOrder_when_sucessful() {
+        BDDMockito.when(taskSearchIndex.search("printer", 0, 3)).thenReturn(List.of(
+            new TaskSearchIndex.Hit(2l, 3f, "<b>Printer</b>", null),
+            new TaskSearchIndex.Hit(9l, 2f, "<b>Printer</b> archived", null),
+            new TaskSearchIndex.Hit(1l, 1f, "Old <b>printer</b>", "desc")));
+        BDDMockito.when(taskRepositoryMock.findRowsByIdIn(List.of(2l, 9l)))
+            .thenReturn(List.of(taskRow(2l)));
+
+        CursorPageResponseDTO<TaskSearchHitDTO> page = taskService.search("printer", null, 2);
+
+        Assertions.assertThat(page.content()).singleElement().satisfies(hit -> {
+            Assertions.assertThat(hit.task().id()).isEqualTo(2l);
+            Assertions.assertThat(hit.score()).isEqualTo(3f);
+            Assertions.assertThat(hit.titleHighlight()).isEqualTo("<b>Printer</b>");
+        });
+        Assertions.assertThat(page.hasNext()).isTrue();
+        Assertions.assertThat(KeysetCursor.decode(page.nextCursor())).isEqualTo(2l);
+    }
+
+    @Test
+    @DisplayName("Search: continue after the hits the cursor already returned")
+    void search_SkipReturnedHits_when_cursorIsGiven() {
+        BDDMockito.when(taskSearchIndex.search("printer", 2, 3)).thenReturn(List.of());
+
+        CursorPageResponseDTO<TaskSearchHitDTO> page = taskService.search("printer", KeysetCursor.encode(2l), 2);
+
+        Assertions.assertThat(page.content()).isEmpty();
+        Assertions.assertThat(page.hasNext()).isFalse();
+        BDDMockito.verify(taskRepositoryMock, Mockito.never()).findRowsByIdIn(ArgumentMatchers.anyCollection());
+    }
+
+    @Test
+    @DisplayName("Search: throw bad request exception when the query is blank")
+    void search_ThrowBadRequestException_when_queryIsBlank() {
+        assertThrows(BadRequestException.class, () -> taskService.search("  ", null, null));
+        BDDMockito.verifyNoInteractions(taskSearchIndex);
+    }
+
+    private static TaskRow taskRow(Long id) {
+        Task task = TaskModelTests.taskValid();
+        return new TaskRow(id, task.getTitle(), task.getDescription(), task.getStatus(), task.getPriority(), task.getClient().getId(), 0l, CREATED_AT);
+    }
+
+    private static <T> Map<Long, T> toMap(Collection<Long> ids, T value) {
+        Map<Long, T> map = new HashMap<>();
+        ids.forEach(id -> map.put(id, value));
+        return map;
+    }
 
 }
@@ -0,0 +1,165 @@
+package com.suport.api.service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.suport.api.domain.Client;
+import com.suport.api.domain.Task;
+import com.suport.api.domain.Technician;
+import com.suport.api.dtos.response.TaskStatsResponseDTO;
+import com.suport.api.enums.TaskPriority;
+import com.suport.api.enums.TaskStatus;
+import com.suport.api.repository.TaskRepository;
+import com.suport.api.repository.projection.TaskCountRow;
+import com.suport.api.repository.projection.TechnicianTaskCountRow;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for the incrementally maintained task statistics")
+public class TaskStatisticsTest {
+
+    @Mock
+    private TaskRepository taskRepositoryMock;
+
+    private SimpleMeterRegistry registry;
+    private TaskStatistics taskStatistics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        taskStatistics = new TaskStatistics(taskRepositoryMock, Duration.ofMinutes(5), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskStatistics.close();
+    }
+
+    @Test
+    @DisplayName("Add: count the task under its status, priority, client and technicians")
+    void add_CountEveryDimension() {
+        taskStatistics.add(task(TaskStatus.OPEN, TaskPriority.HIGH, 1l, 7l, 9l));
+        taskStatistics.add(task(TaskStatus.OPEN, TaskPriority.LOW, 2l, 7l));
+
+        TaskStatsResponseDTO stats = taskStatistics.snapshot();
+
+        Assertions.assertThat(stats.total()).isEqualTo(2);
+        Assertions.assertThat(stats.byStatus()).containsEntry(TaskStatus.OPEN, 2l).containsEntry(TaskStatus.CLOSED, 0l)
+            .hasSize(TaskStatus.values().length);
+        Assertions.assertThat(stats.byPriority()).containsEntry(TaskPriority.HIGH, 1l).containsEntry(TaskPriority.LOW, 1l);
+        Assertions.assertThat(stats.byClient()).containsEntry(1l, 1l).containsEntry(2l, 1l).hasSize(2);
+        Assertions.assertThat(stats.byTechnician()).containsEntry(7l, 2l).containsEntry(9l, 1l);
+        Assertions.assertThat(stats.reconciledAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Update and remove: move the task between counts and drop the counts that reach zero")
+    void updateAndRemove_MoveBetweenCounts() {
+        Task task = task(TaskStatus.OPEN, TaskPriority.HIGH, 1l, 7l);
+        taskStatistics.add(task);
+
+        TaskStatistics.Contribution before = TaskStatistics.Contribution.of(task);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setTechnicians(Set.of(technician(9l)));
+        taskStatistics.update(before, task);
+
+        TaskStatsResponseDTO stats = taskStatistics.snapshot();
+        Assertions.assertThat(stats.byStatus()).containsEntry(TaskStatus.OPEN, 0l).containsEntry(TaskStatus.IN_PROGRESS, 1l);
+        Assertions.assertThat(stats.byTechnician()).containsOnlyKeys(9l);
+
+        taskStatistics.remove(TaskStatistics.Contribution.of(task));
+
+        stats = taskStatistics.snapshot();
+        Assertions.assertThat(stats.total()).isZero();
+        Assertions.assertThat(stats.byClient()).isEmpty();
+        Assertions.assertThat(stats.byTechnician()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Reconcile: replace the counters with a recount and report by how much they were off")
+    void reconcile_ReplaceCounters_and_reportDrift() {
+        BDDMockito.when(taskRepositoryMock.countByStatusPriorityAndClient()).thenReturn(List.of(
+            new TaskCountRow(TaskStatus.OPEN, TaskPriority.HIGH, 1l, 3l),
+            new TaskCountRow(TaskStatus.CLOSED, TaskPriority.HIGH, 2l, 2l)));
+        BDDMockito.when(taskRepositoryMock.countByTechnician()).thenReturn(List.of(new TechnicianTaskCountRow(7l, 4l)));
+
+        Assertions.assertThat(taskStatistics.reconcile()).isZero();
+        Assertions.assertThat(taskStatistics.snapshot()).satisfies(stats -> {
+            Assertions.assertThat(stats.total()).isEqualTo(5);
+            Assertions.assertThat(stats.byStatus()).containsEntry(TaskStatus.OPEN, 3l).containsEntry(TaskStatus.CLOSED, 2l);
+            Assertions.assertThat(stats.byPriority()).containsEntry(TaskPriority.HIGH, 5l);
+            Assertions.assertThat(stats.byClient()).containsEntry(1l, 3l).containsEntry(2l, 2l);
+            Assertions.assertThat(stats.byTechnician()).containsEntry(7l, 4l);
+            Assertions.assertThat(stats.reconciledAt()).isNotNull();
+        });
+
+        // a task deleted in bulk, which the counters never heard of
+        BDDMockito.when(taskRepositoryMock.countByStatusPriorityAndClient()).thenReturn(List.of(
+            new TaskCountRow(TaskStatus.OPEN, TaskPriority.HIGH, 1l, 3l),
+            new TaskCountRow(TaskStatus.CLOSED, TaskPriority.HIGH, 2l, 1l)));
+
+        // total, CLOSED, HIGH and client 2 were each off by one
+        Assertions.assertThat(taskStatistics.reconcile()).isEqualTo(4);
+        Assertions.assertThat(taskStatistics.snapshot().total()).isEqualTo(4);
+        Assertions.assertThat(registry.get(TaskStatistics.DRIFT).counter().count()).isEqualTo(4);
+        Assertions.assertThat(registry.get(TaskStatistics.RECONCILES).timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Reconcile: keep a write applied while the recount reads")
+    void reconcile_KeepWriteAppliedDuringRecount() {
+        BDDMockito.when(taskRepositoryMock.countByStatusPriorityAndClient()).thenAnswer(invocation -> {
+            // committed after the recount's queries read the table
+            taskStatistics.add(task(TaskStatus.OPEN, TaskPriority.LOW, 2l, 7l));
+            return List.of(new TaskCountRow(TaskStatus.OPEN, TaskPriority.HIGH, 1l, 3l));
+        });
+        BDDMockito.when(taskRepositoryMock.countByTechnician()).thenReturn(List.of());
+
+        taskStatistics.reconcile();
+
+        TaskStatsResponseDTO stats = taskStatistics.snapshot();
+        Assertions.assertThat(stats.total()).isEqualTo(4);
+        Assertions.assertThat(stats.byClient()).containsEntry(1l, 3l).containsEntry(2l, 1l);
+        Assertions.assertThat(stats.byTechnician()).containsEntry(7l, 1l);
+    }
+
+    @Test
+    @DisplayName("Remove: never count a client or technician below zero")
+    void remove_NeverCountBelowZero() {
+        taskStatistics.remove(TaskStatistics.Contribution.of(task(TaskStatus.OPEN, TaskPriority.LOW, 2l, 7l)));
+
+        TaskStatsResponseDTO stats = taskStatistics.snapshot();
+        Assertions.assertThat(stats.byClient()).isEmpty();
+        Assertions.assertThat(stats.byTechnician()).isEmpty();
+    }
+
+    private static Task task(TaskStatus status, TaskPriority priority, Long clientId, Long... technicianIds) {
+        Set<Technician> technicians = new HashSet<>();
+        for (Long technicianId : technicianIds) {
+            technicians.add(technician(technicianId));
+        }
+        return Task.builder()
+            .status(status)
+            .priority(priority)
+            .client(Client.builder().id(clientId).build())
+            .technicians(technicians)
+            .build();
+    }
+
+    private static Technician technician(Long id) {
+        return Technician.builder().id(id).name("Technician " + id).build();
+    }
+}
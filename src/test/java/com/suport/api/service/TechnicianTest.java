@@ -3,6 +3,7 @@ package com.suport.api.service;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
@@ -14,14 +15,23 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.suport.api.domain.Technician;
 import com.suport.api.dtos.response.TechnicianResponseDTO;
 import com.suport.api.exceptions.BadRequestException;
+import com.suport.api.exceptions.PreconditionFailedException;
+import com.suport.api.mappers.TechnicianMapper;
 import com.suport.api.repository.TechnicianRepository;
 import com.suport.api.utils.TechnicianModelTest;
 
+import jakarta.validation.Validation;
+
 @ExtendWith(SpringExtension.class)
 public class TechnicianTest {
 
@@ -31,17 +41,24 @@ public class TechnicianTest {
     @Mock
     private TechnicianRepository technicianRepositoryMock;
 
+    @Spy
+    private JsonMergePatch jsonMergePatch = new JsonMergePatch(
+        new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+
     @BeforeEach
     void setUp(){
         BDDMockito.when(technicianRepositoryMock.findById(ArgumentMatchers.anyLong()))
         .thenReturn(Optional.of(TechnicianModelTest.technicianValid()));
 
-        BDDMockito.when(technicianRepositoryMock.findAll())
-        .thenReturn(List.of(TechnicianModelTest.technicianValid()));
+        BDDMockito.when(technicianRepositoryMock.findResponsesByIdGreaterThan(ArgumentMatchers.anyLong(), ArgumentMatchers.any(Limit.class)))
+        .thenReturn(List.of(TechnicianMapper.toResponseDTO(TechnicianModelTest.technicianValid())));
 
         BDDMockito.when(technicianRepositoryMock.save(ArgumentMatchers.any(Technician.class)))
         .thenReturn(TechnicianModelTest.technicianValid());
 
+        BDDMockito.when(technicianRepositoryMock.saveAndFlush(ArgumentMatchers.any(Technician.class)))
+        .thenReturn(TechnicianModelTest.technicianValid());
+
         BDDMockito.doNothing().when(technicianRepositoryMock).delete(ArgumentMatchers.any(Technician.class));
 
     }
@@ -78,7 +95,7 @@ public class TechnicianTest {
     @DisplayName("FindAll: return an list of technician  when successful ")
     void findAll_ReturnListTechnician_when_sucessful(){
         Technician technicianValid = TechnicianModelTest.technicianValid();
-        List<TechnicianResponseDTO> listTechnician = technicianService.findAll();
+        List<TechnicianResponseDTO> listTechnician = technicianService.findAll(null, null).content();
 
         Assertions.assertThat(listTechnician).isNotEmpty();
         Assertions.assertThat(listTechnician).anyMatch(dto ->
@@ -107,7 +124,7 @@ public class TechnicianTest {
     @DisplayName("Update: update technician with TechnicianDTO and long id, return an TechnicianResponse ")
     void  update_UpdatedAnTechnician_whenSucessful(){
         Technician technicianValid = TechnicianModelTest.technicianValid();
-       TechnicianResponseDTO technicianResponse = technicianService.update(TechnicianModelTest.technicianResquestDTO(),1l);
+       TechnicianResponseDTO technicianResponse = technicianService.update(TechnicianModelTest.technicianResquestDTO(), 1l, null);
 
          Assertions.assertThat(technicianResponse).isNotNull();
         Assertions.assertThat(technicianResponse.id()).isNotNull();
@@ -117,10 +134,82 @@ public class TechnicianTest {
 
     }
 
+    @Test
+    @DisplayName("Patch: change the phone and keep the name")
+    void patch_ChangeOnlyPhone_whenSucessful(){
+      TechnicianResponseDTO technicianResponse = technicianService.patch(
+          JsonNodeFactory.instance.objectNode().put("phone", "(11) 1111-1111"), 1l, null);
+
+      Assertions.assertThat(technicianResponse.phone()).isEqualTo("(11) 1111-1111");
+      Assertions.assertThat(technicianResponse.name()).isEqualTo(TechnicianModelTest.technicianValid().getName());
+    }
+
+    @Test
+    @DisplayName("Update: throw precondition failed exception when the If-Match version is stale")
+    void update_ThrowPreconditionFailedException_when_versionIsStale(){
+        Technician technician = TechnicianModelTest.technicianValid();
+        technician.setVersion(2l);
+        BDDMockito.when(technicianRepositoryMock.findById(ArgumentMatchers.anyLong()))
+        .thenReturn(Optional.of(technician));
+
+        assertThrows(PreconditionFailedException.class,
+            () -> technicianService.update(TechnicianModelTest.technicianResquestDTO(), 1l, 1l));
+        Mockito.verify(technicianRepositoryMock, Mockito.never()).saveAndFlush(ArgumentMatchers.any(Technician.class));
+    }
+
       @Test
     @DisplayName("Delete: delete an technician ")
     void  delete_deleteAnTechnician_whenSucessful(){
           Assertions.assertThatCode(() -> technicianService.delete(1l)).doesNotThrowAnyException();
+          BDDMockito.verify(technicianRepositoryMock).detachFromAllTasks(1l);
+          BDDMockito.verify(technicianRepositoryMock).deleteById(1l);
+    }
+
+    @Test
+    @DisplayName("Find all by id: resolve every technician with a single query")
+    void findAllById_ReturnTechniciansById_when_sucessful(){
+        Technician technicianValid = TechnicianModelTest.technicianValid();
+        BDDMockito.when(technicianRepositoryMock.loadAllById(ArgumentMatchers.anyCollection()))
+        .thenReturn(List.of(technicianValid));
+
+        Map<Long, Technician> technicians = technicianService.findAllByIdOrThrowBadRequestException(List.of(1l, 1l));
+
+        Assertions.assertThat(technicians).containsOnlyKeys(technicianValid.getId());
+        BDDMockito.verify(technicianRepositoryMock, Mockito.times(1)).loadAllById(ArgumentMatchers.anyCollection());
+        BDDMockito.verify(technicianRepositoryMock, Mockito.never()).findById(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("Find all by id: throw bad request exception with the missing id")
+    void findAllById_ThrowBadRequestException_when_idNotExits(){
+        BDDMockito.when(technicianRepositoryMock.loadAllById(ArgumentMatchers.anyCollection()))
+        .thenReturn(List.of(TechnicianModelTest.technicianValid()));
+
+        Assertions.assertThatThrownBy(() -> technicianService.findAllByIdOrThrowBadRequestException(List.of(1l, 9l)))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("No Technician found with the provided ID: 9");
+    }
+
+    @Test
+    @DisplayName("Find response by id: project the technician straight into the response")
+    void findResponseById_ReturnResponse_when_sucessful() {
+        TechnicianResponseDTO expected = TechnicianMapper.toResponseDTO(TechnicianModelTest.technicianValid());
+        BDDMockito.when(technicianRepositoryMock.findResponseById(ArgumentMatchers.anyLong()))
+            .thenReturn(Optional.of(expected));
+
+        Assertions.assertThat(technicianService.findResponseByIdOrThrowBadRequestException(1l)).isEqualTo(expected);
+        BDDMockito.verify(technicianRepositoryMock, Mockito.never()).findById(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    @DisplayName("Find response by id: throw bad request exception when id does not exist")
+    void findResponseById_ThrowBadRequestException_when_idNotExits() {
+        BDDMockito.when(technicianRepositoryMock.findResponseById(ArgumentMatchers.anyLong()))
+            .thenReturn(Optional.empty());
+
+        Assertions.assertThatThrownBy(() -> technicianService.findResponseByIdOrThrowBadRequestException(9l))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("No Technician found with the provided ID: 9");
     }
 
 }
@@ -0,0 +1,101 @@
+package com.suport.api.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.suport.api.domain.RevokedToken;
+import com.suport.api.repository.RevokedTokenRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for the Bloom filter of revoked tokens")
+public class TokenRevocationsTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepositoryMock;
+
+    private SimpleMeterRegistry registry;
+    private TokenRevocations tokenRevocations;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        tokenRevocations = new TokenRevocations(revokedTokenRepositoryMock, 1000, 0.01, Duration.ofMinutes(1), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenRevocations.close();
+    }
+
+    @Test
+    @DisplayName("IsRevoked: answer tokens never revoked without asking the database")
+    void isRevoked_SkipDatabase_when_neverRevoked() {
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertThat(tokenRevocations.isRevoked(UUID.randomUUID().toString())).isFalse();
+        }
+        Assertions.assertThat(tokenRevocations.isRevoked(null)).isFalse();
+
+        BDDMockito.verify(revokedTokenRepositoryMock, Mockito.never()).existsById(ArgumentMatchers.anyString());
+    }
+
+    @Test
+    @DisplayName("Revoke: store the token and confirm it against the table on lookup")
+    void revoke_StoreToken_and_confirmOnLookup() {
+        BDDMockito.when(revokedTokenRepositoryMock.existsById("jti-1")).thenReturn(true);
+
+        Assertions.assertThat(tokenRevocations.revoke("jti-1", Instant.now().plusSeconds(60))).isTrue();
+
+        Assertions.assertThat(tokenRevocations.isRevoked("jti-1")).isTrue();
+        BDDMockito.verify(revokedTokenRepositoryMock).saveAndFlush(ArgumentMatchers.any(RevokedToken.class));
+    }
+
+    @Test
+    @DisplayName("Revoke: report a token that was already revoked")
+    void revoke_ReturnFalse_when_alreadyRevoked() {
+        BDDMockito.when(revokedTokenRepositoryMock.saveAndFlush(ArgumentMatchers.any(RevokedToken.class)))
+            .thenThrow(new DataIntegrityViolationException("duplicate jti"));
+
+        Assertions.assertThat(tokenRevocations.revoke("jti-1", Instant.now().plusSeconds(60))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Refresh: purge expired revocations and load the rest, keeping the false positives rare")
+    void refresh_LoadRevokedTokens() {
+        List<String> revoked = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            revoked.add(UUID.randomUUID().toString());
+        }
+        BDDMockito.when(revokedTokenRepositoryMock.findAllJtis()).thenReturn(revoked);
+        BDDMockito.when(revokedTokenRepositoryMock.existsById(ArgumentMatchers.anyString()))
+            .thenAnswer(invocation -> revoked.contains(invocation.<String>getArgument(0)));
+
+        Assertions.assertThat(tokenRevocations.refresh()).isEqualTo(1000);
+
+        Assertions.assertThat(revoked).allMatch(tokenRevocations::isRevoked);
+        for (int i = 0; i < 10_000; i++) {
+            Assertions.assertThat(tokenRevocations.isRevoked(UUID.randomUUID().toString())).isFalse();
+        }
+        // sized for 2000 at 1%, so well under 1% of the 10000 lookups
+        Assertions.assertThat(registry.get(TokenRevocations.FALSE_POSITIVES).counter().count()).isLessThan(100);
+        BDDMockito.verify(revokedTokenRepositoryMock).deleteExpired(ArgumentMatchers.any(LocalDateTime.class));
+    }
+}
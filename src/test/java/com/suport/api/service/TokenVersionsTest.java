@@ -0,0 +1,90 @@
+package com.suport.api.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.suport.api.repository.UserModelRepository;
+import com.suport.api.repository.projection.TokenVersionRow;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for the token versions behind token revocation")
+public class TokenVersionsTest {
+
+    @Mock
+    private UserModelRepository userModelRepositoryMock;
+
+    private SimpleMeterRegistry registry;
+    private TokenVersions tokenVersions;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        tokenVersions = new TokenVersions(userModelRepositoryMock, Duration.ofSeconds(30), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenVersions.close();
+    }
+
+    @Test
+    @DisplayName("IsCurrent: accept any version of a user whose tokens were never revoked")
+    void isCurrent_AcceptUserNeverRevoked() {
+        Assertions.assertThat(tokenVersions.isCurrent("testUser", 0)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Refresh: reject tokens older than the version read from the database")
+    void refresh_RejectOlderTokens() {
+        BDDMockito.when(userModelRepositoryMock.findRevokedTokenVersions())
+            .thenReturn(List.of(new TokenVersionRow("testUser", 2l)));
+
+        Assertions.assertThat(tokenVersions.refresh()).isEqualTo(1);
+
+        Assertions.assertThat(tokenVersions.isCurrent("testUser", 1)).isFalse();
+        Assertions.assertThat(tokenVersions.isCurrent("testUser", 2)).isTrue();
+        Assertions.assertThat(tokenVersions.isCurrent("testAdmin", 0)).isTrue();
+        Assertions.assertThat(registry.get(TokenVersions.REFRESHES).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Revoked: apply right away outside a transaction and survive a refresh reading concurrently")
+    void revoked_SurviveConcurrentRefresh() {
+        // committed after the refresh read the table
+        BDDMockito.when(userModelRepositoryMock.findRevokedTokenVersions()).thenAnswer(invocation -> {
+            tokenVersions.revoked("testUser", 1);
+            Assertions.assertThat(tokenVersions.isCurrent("testUser", 0)).isFalse();
+            return List.of();
+        });
+
+        tokenVersions.refresh();
+
+        Assertions.assertThat(tokenVersions.isCurrent("testUser", 0)).isFalse();
+        Assertions.assertThat(tokenVersions.isCurrent("testUser", 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Refresh: forget the version of a user that is no longer revoked in the database")
+    void refresh_ForgetUserCreatedAgain() {
+        BDDMockito.when(userModelRepositoryMock.findRevokedTokenVersions())
+            .thenReturn(List.of(new TokenVersionRow("testUser", 2l)), List.of());
+        tokenVersions.refresh();
+
+        // removed and registered again under the same login
+        tokenVersions.refresh();
+
+        Assertions.assertThat(tokenVersions.isCurrent("testUser", 0)).isTrue();
+    }
+}
@@ -0,0 +1,74 @@
+package com.suport.api.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.suport.api.domain.UserModel;
+import com.suport.api.enums.UserRole;
+import com.suport.api.repository.UserModelRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for the cache of users resolved from tokens")
+public class UserDetailsCacheTest {
+
+    @Mock
+    private UserModelRepository userModelRepositoryMock;
+
+    private SimpleMeterRegistry registry;
+    private UserDetailsCache userDetailsCache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        userDetailsCache = new UserDetailsCache(userModelRepositoryMock, 100, Duration.ofMinutes(5), registry);
+    }
+
+    @Test
+    @DisplayName("FindByLogin: read the user once and serve later lookups from the cache")
+    void findByLogin_ReadUserOnce() {
+        UserModel user = new UserModel("admin", "hash", UserRole.ADMIN);
+        BDDMockito.when(userModelRepositoryMock.findByLogin("admin")).thenReturn(Optional.of(user));
+
+        Assertions.assertThat(userDetailsCache.findByLogin("admin")).containsSame(user);
+        Assertions.assertThat(userDetailsCache.findByLogin("admin")).containsSame(user);
+
+        BDDMockito.verify(userModelRepositoryMock, Mockito.times(1)).findByLogin("admin");
+        Assertions.assertThat(registry.get("cache.gets").tag("cache", UserDetailsCache.CACHE_NAME).tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("FindByLogin: do not cache a login without a user")
+    void findByLogin_DoNotCacheMissingUser() {
+        UserModel user = new UserModel("new", "hash", UserRole.USER);
+        BDDMockito.when(userModelRepositoryMock.findByLogin("new")).thenReturn(Optional.empty(), Optional.of(user));
+
+        Assertions.assertThat(userDetailsCache.findByLogin("new")).isEmpty();
+        Assertions.assertThat(userDetailsCache.findByLogin("new")).containsSame(user);
+    }
+
+    @Test
+    @DisplayName("Evict: read the user again after it was evicted")
+    void evict_ReadUserAgain() {
+        UserModel before = new UserModel("tech", "hash", UserRole.USER);
+        UserModel after = new UserModel("tech", "hash", UserRole.ADMIN);
+        BDDMockito.when(userModelRepositoryMock.findByLogin("tech")).thenReturn(Optional.of(before), Optional.of(after));
+        userDetailsCache.findByLogin("tech");
+
+        userDetailsCache.evict("tech");
+
+        Assertions.assertThat(userDetailsCache.findByLogin("tech")).containsSame(after);
+    }
+}
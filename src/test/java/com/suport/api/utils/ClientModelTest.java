@@ -53,7 +53,8 @@ public class ClientModelTest {
         "123.456.789-00", 
         "00 0000-0000", 
         null, 
-        ClientType.INDIVIDUAL);
+        ClientType.INDIVIDUAL,
+        0l);
      }
 
       public static ClientRequestCreateDTO clientRequestCreateDTO() {
@@ -0,0 +1,123 @@
+package com.suport.api.utils;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.assertj.core.api.Assertions;
+
+import com.suport.api.config.QueryMetricsFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Fails a test when one call to a controller method makes Hibernate do more
+ * than its budget, read from the {@code hibernate.request.*} meters:
+ *
+ * <pre>
+ * QueryBudget.of(meterRegistry, "TaskController.findAll")
+ *     .statements(2)
+ *     .check(() -> testRestTemplate.exchange(...));
+ * </pre>
+ *
+ * The call must reach the handler exactly once. A suspected N+1 always fails.
+ */
+public final class QueryBudget {
+
+    // the meters are recorded after the body was sent, so the client can be slightly ahead
+    private static final Duration RECORDING_WAIT = Duration.ofSeconds(2);
+
+    private final MeterRegistry meterRegistry;
+    private final String handler;
+    private long maxStatements = Long.MAX_VALUE;
+    private long maxEntityLoads = Long.MAX_VALUE;
+    private long maxCollectionFetches = Long.MAX_VALUE;
+
+    private QueryBudget(MeterRegistry meterRegistry, String handler) {
+        this.meterRegistry = meterRegistry;
+        this.handler = handler;
+    }
+
+    public static QueryBudget of(MeterRegistry meterRegistry, String handler) {
+        return new QueryBudget(meterRegistry, handler);
+    }
+
+    public QueryBudget statements(long max) {
+        this.maxStatements = max;
+        return this;
+    }
+
+    public QueryBudget entityLoads(long max) {
+        this.maxEntityLoads = max;
+        return this;
+    }
+
+    public QueryBudget collectionFetches(long max) {
+        this.maxCollectionFetches = max;
+        return this;
+    }
+
+    public <T> T check(Supplier<T> call) {
+        Snapshot before = snapshot();
+        T result = call.get();
+        Snapshot after = awaitNextRequest(before);
+
+        Assertions.assertThat(after.requests - before.requests)
+            .as("calls to %s", handler)
+            .isEqualTo(1);
+        Assertions.assertThat(after.statements - before.statements)
+            .as("statements issued by %s", handler)
+            .isLessThanOrEqualTo(maxStatements);
+        Assertions.assertThat(after.entityLoads - before.entityLoads)
+            .as("entities loaded by %s", handler)
+            .isLessThanOrEqualTo(maxEntityLoads);
+        Assertions.assertThat(after.collectionFetches - before.collectionFetches)
+            .as("collections fetched by %s", handler)
+            .isLessThanOrEqualTo(maxCollectionFetches);
+        Assertions.assertThat(after.nPlusOne - before.nPlusOne)
+            .as("suspected N+1 fetches in %s", handler)
+            .isZero();
+        return result;
+    }
+
+    private Snapshot awaitNextRequest(Snapshot before) {
+        long deadline = System.nanoTime() + RECORDING_WAIT.toNanos();
+        Snapshot current = snapshot();
+        while (current.requests == before.requests && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            current = snapshot();
+        }
+        return current;
+    }
+
+    private Snapshot snapshot() {
+        DistributionSummary statements = summary(QueryMetricsFilter.STATEMENTS);
+        return new Snapshot(
+            statements == null ? 0 : statements.count(),
+            total(statements),
+            total(summary(QueryMetricsFilter.ENTITY_LOADS)),
+            total(summary(QueryMetricsFilter.COLLECTION_FETCHES)),
+            meterRegistry.find(QueryMetricsFilter.N_PLUS_ONE)
+                .tag(QueryMetricsFilter.HANDLER_TAG, handler)
+                .counters().stream()
+                .mapToDouble(Counter::count)
+                .sum());
+    }
+
+    private DistributionSummary summary(String meter) {
+        return meterRegistry.find(meter).tag(QueryMetricsFilter.HANDLER_TAG, handler).summary();
+    }
+
+    private static double total(DistributionSummary summary) {
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private record Snapshot(long requests, double statements, double entityLoads, double collectionFetches, double nPlusOne) {
+    }
+}
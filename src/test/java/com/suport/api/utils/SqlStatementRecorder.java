@@ -0,0 +1,46 @@
+package com.suport.api.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Keeps every SQL statement Hibernate prepares, so a test can assert on the
+ * shape of what was sent. Register it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    public static final String PROPERTY =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.suport.api.utils.SqlStatementRecorder";
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    public static void clear() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+    }
+
+    public static List<String> statements() {
+        synchronized (STATEMENTS) {
+            return List.copyOf(STATEMENTS);
+        }
+    }
+
+    public static List<String> updatesOf(String table) {
+        String prefix = "update " + table + " ";
+        return statements().stream()
+            .filter(sql -> sql.toLowerCase().startsWith(prefix))
+            .toList();
+    }
+}
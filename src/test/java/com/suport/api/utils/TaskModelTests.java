@@ -56,7 +56,8 @@ public class TaskModelTests {
         TaskStatus.CLOSED,
         TaskPriority.HIGH,
         1l,
-        new HashSet<>(Set.of(2l))
+        new HashSet<>(Set.of(2l)),
+        0l
       );
     }
 
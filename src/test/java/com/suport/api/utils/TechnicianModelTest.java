@@ -31,7 +31,7 @@ public class TechnicianModelTest {
        
     }
     public static TechnicianResponseDTO technicianResponseDTO(){
-      return new TechnicianResponseDTO(1L, "Draven", "(00) 0000-0000");
+      return new TechnicianResponseDTO(1L, "Draven", "(00) 0000-0000", 0l);
     }
 
        public static TechnicianRequestDTO technicianResquestDTO(){